@@ -27,6 +27,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
@@ -623,4 +625,21 @@ public final class FileUtil {
             return false;
         }
     }
+
+    /**
+     * read {@code length} bytes of {@code channel} from {@code position} into {@code buffer}, which is cleared before
+     * and flipped after the read. Positional read does not change the position of {@code channel}, hence the same
+     * channel can be read by multiple threads at once.
+     */
+    public static ByteBuffer readFully(FileChannel channel, long position, int length, ByteBuffer buffer)
+        throws IOException {
+        buffer.clear().limit(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of file at position " + (position + buffer.position()));
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
 }
@@ -22,8 +22,10 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.map.LRUMap;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jdom2.Attribute;
@@ -34,6 +36,7 @@ import org.jdom2.filter.Filters;
 import org.jdom2.input.SAXBuilder;
 import org.jdom2.output.Format;
 import org.jdom2.output.XMLOutputter;
+import org.jdom2.xpath.XPathExpression;
 import org.jdom2.xpath.XPathFactory;
 import org.json.JSONException;
 import org.json.XML;
@@ -47,6 +50,12 @@ public final class XmlUtils {
                                                                                     .setLineSeparator("\n")
                                                                                     .setIndent("    "));
 
+    static final int XPATH_CACHE_SIZE = 512;
+    private static final ThreadLocal<Map<String, XPathExpression<Object>>> COMPILED_XPATHS =
+        ThreadLocal.withInitial(() -> new LRUMap<>(XPATH_CACHE_SIZE));
+    private static final ThreadLocal<Map<String, XPathExpression<Element>>> COMPILED_ELEMENT_XPATHS =
+        ThreadLocal.withInitial(() -> new LRUMap<>(XPATH_CACHE_SIZE));
+
     private XmlUtils() { }
 
     public static Document parse(File xmlFile) throws JDOMException, IOException {
@@ -118,20 +127,30 @@ public final class XmlUtils {
     }
 
     public static Element findElement(Document doc, String xpath) {
-        return XPathFactory.instance().compile(xpath, Filters.element()).evaluateFirst(doc);
+        return compileForElements(xpath).evaluateFirst(doc);
     }
 
     public static List<Element> findElements(Document doc, String xpath) {
-        return XPathFactory.instance().compile(xpath, Filters.element()).evaluate(doc);
+        return compileForElements(xpath).evaluate(doc);
     }
 
-    public static Object findNode(Document doc, String xpath) {
-        return XPathFactory.instance().compile(xpath).evaluateFirst(doc);
-    }
+    public static Object findNode(Document doc, String xpath) { return compile(xpath).evaluateFirst(doc); }
 
     /** @return a list of the XPath results (XML nodes). */
-    public static List findNodes(Document doc, String xpath) {
-        return XPathFactory.instance().compile(xpath).evaluate(doc);
+    public static List findNodes(Document doc, String xpath) { return compile(xpath).evaluate(doc); }
+
+    /**
+     * compiled form of {@code xpath}, reused across lookups. Compiled expressions are not thread-safe, hence they are
+     * cached per thread.
+     */
+    static XPathExpression<Object> compile(String xpath) {
+        return COMPILED_XPATHS.get().computeIfAbsent(xpath, path -> XPathFactory.instance().compile(path));
+    }
+
+    static XPathExpression<Element> compileForElements(String xpath) {
+        return COMPILED_ELEMENT_XPATHS.get()
+                                      .computeIfAbsent(xpath,
+                                                       path -> XPathFactory.instance().compile(path, Filters.element()));
     }
 
     /**
@@ -20,13 +20,16 @@ package org.nexial.core;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.SystemUtils;
 import org.apache.poi.xssf.usermodel.*;
 import org.nexial.commons.utils.FileUtil;
 import org.nexial.core.excel.Excel;
 import org.nexial.core.excel.Excel.Worksheet;
 import org.nexial.core.excel.ExcelStyleHelper;
 import org.nexial.core.excel.ext.CellTextReader;
+import org.nexial.core.model.ExecutionContext;
 import org.nexial.core.model.ExecutionDefinition;
 import org.nexial.core.model.ExecutionVariableConsole;
 import org.nexial.core.model.IterationManager;
@@ -63,8 +66,50 @@ import static org.nexial.core.utils.ExecUtils.IGNORED_CLI_OPT;
  */
 public class ExecutionInputPrep {
 
+    /**
+     * prepare the test script of {@code execDef} once for all its iterations: copy it to a temp location and remove
+     * all the worksheets not required for this execution. Each iteration would then start from a copy of this trimmed
+     * workbook (see {@link #prep(String, ExecutionDefinition, int, File)}) instead of repeating the same work against
+     * the original test script.
+     */
+    public static File prepScriptTemplate(String runId, ExecutionDefinition execDef) throws IOException {
+        assert execDef != null;
+
+        File testScript = new File(execDef.getTestScript());
+        File template = new File(SystemUtils.getJavaIoTmpDir().getAbsolutePath() + separator +
+                                 RandomStringUtils.randomAlphabetic(5) + separator +
+                                 testScript.getName());
+        FileUtils.copyFile(testScript, template);
+
+        // no common styles here; they will be added to each iteration output instead
+        Excel templateExcel = new Excel(template, false, false);
+        try {
+            if (removeUnusedWorksheets(templateExcel, execDef.getScenarios())) { templateExcel.save(); }
+        } finally {
+            templateExcel.close();
+        }
+
+        ConsoleUtils.log(runId, "prepared test script template " + template);
+        return template;
+    }
+
+    /** remove the test script template created via {@link #prepScriptTemplate(String, ExecutionDefinition)} */
+    public static void removeScriptTemplate(File template) {
+        if (template != null) { FileUtils.deleteQuietly(template.getParentFile()); }
+    }
+
     /** called from {@link ExecutionThread} for each iteration. */
     public static Excel prep(String runId, ExecutionDefinition execDef, int iterationIndex) throws IOException {
+        return prep(runId, execDef, iterationIndex, null);
+    }
+
+    /**
+     * called from {@link ExecutionThread} for each iteration. If {@code scriptTemplate} is readable, it will be used
+     * in place of the test script of {@code execDef} and it is expected to contain only the worksheets required for
+     * this execution (see {@link #prepScriptTemplate(String, ExecutionDefinition)}).
+     */
+    public static Excel prep(String runId, ExecutionDefinition execDef, int iterationIndex, File scriptTemplate)
+        throws IOException {
         assert StringUtils.isNotBlank(runId);
         assert execDef != null;
 
@@ -97,25 +142,16 @@ public class ExecutionInputPrep {
         outputFileName = OutputFileUtils.addTestPlan(outputFileName, execDef);
         File outputFile = new File(outputFileName);
 
-        FileUtils.copyFile(testScript, outputFile);
-        System.setProperty(OPT_INPUT_EXCEL_FILE, outputFileName);
+        boolean useTemplate = FileUtil.isFileReadable(scriptTemplate);
+        FileUtils.copyFile(useTemplate ? scriptTemplate : testScript, outputFile);
+        // kept in the context of this iteration (not as System property, which would be shared with the iterations
+        // running in parallel), so that the output file can be reported even if the remaining prep fails
+        ExecutionContext context = ExecutionThread.get();
+        if (context != null) { context.setData(OPT_INPUT_EXCEL_FILE, outputFileName); }
 
-        // 3. remove unused sheets
-        List<String> scenarios = execDef.getScenarios();
-        List<Integer> unusedWorksheetIndices = new ArrayList<>();
+        // 3. remove unused sheets (already done if we are using the script template)
         Excel outputExcel = new Excel(outputFile, false, true);
-
-        // collect the index of all unused worksheets
-        for (Worksheet worksheet : outputExcel.getWorksheetsStartWith("")) {
-            if (!StringUtils.equals(worksheet.getName(), SHEET_SYSTEM) && !scenarios.contains(worksheet.getName())) {
-                unusedWorksheetIndices.add(outputExcel.getWorkbook().getSheetIndex(worksheet.getSheet()));
-            }
-        }
-
-        // remove the latter ones first so that we don't need to deal with shift in positions
-        if (CollectionUtils.isNotEmpty(unusedWorksheetIndices)) {
-            Collections.reverse(unusedWorksheetIndices);
-            for (Integer index : unusedWorksheetIndices) { outputExcel.getWorkbook().removeSheetAt(index); }
+        if (!useTemplate && removeUnusedWorksheets(outputExcel, execDef.getScenarios())) {
             outputExcel.save();
             // (2018/12/16,automike): memory consumption precaution
             outputExcel.close();
@@ -208,6 +244,25 @@ public class ExecutionInputPrep {
         return true;
     }
 
+    /** return true if any worksheet is removed from {@code excel} */
+    private static boolean removeUnusedWorksheets(Excel excel, List<String> scenarios) {
+        List<Integer> unusedWorksheetIndices = new ArrayList<>();
+
+        // collect the index of all unused worksheets
+        for (Worksheet worksheet : excel.getWorksheetsStartWith("")) {
+            if (!StringUtils.equals(worksheet.getName(), SHEET_SYSTEM) && !scenarios.contains(worksheet.getName())) {
+                unusedWorksheetIndices.add(excel.getWorkbook().getSheetIndex(worksheet.getSheet()));
+            }
+        }
+
+        if (CollectionUtils.isEmpty(unusedWorksheetIndices)) { return false; }
+
+        // remove the latter ones first so that we don't need to deal with shift in positions
+        Collections.reverse(unusedWorksheetIndices);
+        for (Integer index : unusedWorksheetIndices) { excel.getWorkbook().removeSheetAt(index); }
+        return true;
+    }
+
     private static Excel mergeTestData(Excel excel, TestData testData, int iterationIndex) {
         XSSFSheet dataSheet = excel.getWorkbook().createSheet(SHEET_MERGED_DATA);
 
@@ -270,8 +325,7 @@ public class ExecutionInputPrep {
             cellValue.setCellStyle(styleTestDataValue);
         });
 
-        dataSheet.autoSizeColumn(0);
-        dataSheet.autoSizeColumn(1);
+        ExcelStyleHelper.fitDataColumnWidths(dataSheet);
 
         // save output file with expanded data
         // (2018/10/18,automike): skip saving because it'll need to be saved later anyway
@@ -22,6 +22,7 @@ import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.lang3.time.StopWatch;
 import org.nexial.commons.logging.LogbackUtils;
 import org.nexial.commons.utils.FileUtil;
@@ -44,6 +45,12 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.io.File.separator;
 import static org.nexial.core.NexialConst.*;
@@ -55,6 +62,7 @@ import static org.nexial.core.NexialConst.Project.appendLog;
 import static org.nexial.core.NexialConst.Web.*;
 import static org.nexial.core.SystemVariables.getDefault;
 import static org.nexial.core.SystemVariables.getDefaultBool;
+import static org.nexial.core.SystemVariables.getDefaultInt;
 import static org.nexial.core.excel.ExcelConfig.PLAN_ROW_START_INDEX;
 import static org.nexial.core.model.ExecutionEvent.*;
 import static org.nexial.core.model.ExecutionSummary.ExecutionLevel.ITERATION;
@@ -128,132 +136,290 @@ public final class ExecutionThread extends Thread {
             context.setData(OPT_INPUT_PLAN_FILE, execDef.getPlanFile());
         }
 
+        // the test script stripped down to the required worksheets once, instead of once per iteration
+        File scriptTemplate = null;
+
         ExecutionThread.set(context);
+        try {
+            // in case there were fail-immediate condition from previous script... or end-immediate condition
+            if (shouldFailNow(context) || BooleanUtils.toBoolean(System.getProperty(END_SCRIPT_IMMEDIATE, "false"))) {
+                return;
+            }
+
+            IterationManager iterationManager = execDef.getTestData().getIterationManager();
+            int totalIterations = iterationManager.getIterationCount();
+
+            String scriptLocation = execDef.getTestScript();
+            ConsoleUtils.log(runId, "executing " + scriptLocation + " with " + totalIterations + " iteration(s)");
+
+            String scriptName =
+                StringUtils.substringBeforeLast(
+                    StringUtils.substringAfterLast(StringUtils.replace(scriptLocation, "\\", "/"), "/"), ".") +
+                " (" + totalIterations + ")";
+            executionSummary.setName(scriptName);
+            executionSummary.setExecutionLevel(SCRIPT);
+            executionSummary.setStartTime(System.currentTimeMillis());
+            executionSummary.setScriptFile(scriptLocation);
+            executionSummary.setDataFile(execDef.getDataFile().getAbsolutePath());
+            executionSummary.setIterationTotal(totalIterations);
+            executionSummary.setPlanSequence(execDef.getPlanSequence());
+            executionSummary.setPlanName(execDef.getPlanName());
+            executionSummary.setPlanFile(execDef.getPlanFile());
+            executionSummary.setPlanDescription(execDef.getDescription());
+
+            try {
+                scriptTemplate = ExecutionInputPrep.prepScriptTemplate(runId, execDef);
+            } catch (IOException e) {
+                ConsoleUtils.error(runId, "Unable to prepare test script template; " +
+                                          "each iteration will be prepared from " + scriptLocation + ": " +
+                                          e.getMessage());
+            }
+
+            int parallelism = resolveIterationParallelism(context, totalIterations);
+            if (parallelism > 1) {
+                runIterationsInParallel(context, iterationManager, scriptTemplate, parallelism);
+            } else {
+                for (int iterationIndex = 1; iterationIndex <= totalIterations; iterationIndex++) {
+                    // SINGLE THREAD EXECUTION WITHIN FOR LOOP!
+                    if (BooleanUtils.toBoolean(System.getProperty(END_SCRIPT_IMMEDIATE, "false"))) { break; }
+
+                    // we need to infuse "between" #default and whatever data sheets is assigned for this test script
+                    execDef.infuseIntraExecutionData(intraExecutionData);
+
+                    IterationOutcome outcome =
+                        runIteration(context, iterationManager, iterationIndex, scriptTemplate, false);
+                    consolidate(outcome);
+                    if (outcome.stop) { break; }
+                }
+            }
+
+            onScriptComplete(context, executionSummary, iterationManager, ticktock);
 
-        // in case there were fail-immediate condition from previous script... or end-immediate condition
-        if (shouldFailNow(context) || BooleanUtils.toBoolean(System.getProperty(END_SCRIPT_IMMEDIATE, "false"))) {
-            return;
+            MemManager.recordMemoryChanges(scriptName + " completed");
+        } finally {
+            ExecutionInputPrep.removeScriptTemplate(scriptTemplate);
+            ExecutionThread.unset();
         }
+    }
 
-        IterationManager iterationManager = execDef.getTestData().getIterationManager();
+    /**
+     * execute one iteration of the current script. When {@code isolated} (i.e. parallel iterations), the data of
+     * {@code context} is captured in the returned outcome instead of being collected as intra-execution data, since
+     * the iteration order is not guaranteed.
+     */
+    private IterationOutcome runIteration(ExecutionContext context,
+                                          IterationManager iterationManager,
+                                          int iterationIndex,
+                                          File scriptTemplate,
+                                          boolean isolated) {
+        String runId = execDef.getRunId();
+        String scriptLocation = execDef.getTestScript();
         int totalIterations = iterationManager.getIterationCount();
+        int iterationRef = iterationManager.getIterationRef(iterationIndex - 1);
+        Excel testScript = null;
+        boolean allPass = true;
 
-        String scriptLocation = execDef.getTestScript();
-        ConsoleUtils.log(runId, "executing " + scriptLocation + " with " + totalIterations + " iteration(s)");
-
-        String scriptName =
-            StringUtils.substringBeforeLast(
-                StringUtils.substringAfterLast(StringUtils.replace(scriptLocation, "\\", "/"), "/"), ".") +
-            " (" + totalIterations + ")";
-        executionSummary.setName(scriptName);
-        executionSummary.setExecutionLevel(SCRIPT);
-        executionSummary.setStartTime(System.currentTimeMillis());
-        executionSummary.setScriptFile(scriptLocation);
-        executionSummary.setDataFile(execDef.getDataFile().getAbsolutePath());
-        executionSummary.setIterationTotal(totalIterations);
-        executionSummary.setPlanSequence(execDef.getPlanSequence());
-        executionSummary.setPlanName(execDef.getPlanName());
-        executionSummary.setPlanFile(execDef.getPlanFile());
-        executionSummary.setPlanDescription(execDef.getDescription());
-
-        for (int iterationIndex = 1; iterationIndex <= totalIterations; iterationIndex++) {
-            // SINGLE THREAD EXECUTION WITHIN FOR LOOP!
-            if (BooleanUtils.toBoolean(System.getProperty(END_SCRIPT_IMMEDIATE, "false"))) { break; }
-
-            int iterationRef = iterationManager.getIterationRef(iterationIndex - 1);
-            Excel testScript = null;
-            boolean allPass = true;
-
-            // we need to infuse "between" #default and whatever data sheets is assigned for this test script
-            execDef.infuseIntraExecutionData(intraExecutionData);
-
-            ExecutionSummary iterSummary = new ExecutionSummary();
-            iterSummary.setName(iterationIndex + " of " + totalIterations);
-            iterSummary.setExecutionLevel(ITERATION);
-            iterSummary.setStartTime(System.currentTimeMillis());
-            iterSummary.setScriptFile(scriptLocation);
-            iterSummary.setIterationIndex(iterationIndex);
-            iterSummary.setIterationTotal(totalIterations);
+        ExecutionSummary iterSummary = new ExecutionSummary();
+        iterSummary.setName(iterationIndex + " of " + totalIterations);
+        iterSummary.setExecutionLevel(ITERATION);
+        iterSummary.setStartTime(System.currentTimeMillis());
+        iterSummary.setScriptFile(scriptLocation);
+        iterSummary.setIterationIndex(iterationIndex);
+        iterSummary.setIterationTotal(totalIterations);
 
-            try {
-                testScript = ExecutionInputPrep.prep(runId, execDef, iterationIndex);
-                iterSummary.setTestScript(testScript.getOriginalFile());
-                context.useTestScript(testScript);
-
-                context.startIteration(iterationIndex, iterationRef, totalIterations, firstScript);
-
-                ExecutionLogger logger = context.getLogger();
-                logPlan(context, scriptLocation, iterationIndex);
-
-                logger.log(context, EXECUTING_ITERATION + iterationIndex + " of " + totalIterations +
-                                    "; Iteration Id " + iterationRef);
-                allPass = context.execute();
-
-                onIterationComplete(context, iterSummary, iterationIndex);
-                if (shouldStopNow(context, allPass)) { break; }
-            } catch (Throwable e) {
-                onIterationException(context, iterSummary, iterationIndex, e);
-                if (shouldStopNow(context, allPass)) { break; }
-            } finally {
-                context.setData(ITERATION_ENDED, true);
-                iterSummary.setEndTime(System.currentTimeMillis());
-                context.setCurrentActivity(null);
-
-                File testScriptFile = null;
-                if (testScript == null) {
-                    // possibly the script prep/parsing routine failed (ie ExecutionInputPrep.prep()), but the output
-                    // file might already be generated. If so then we should use the generated output file and generate
-                    // output (as much as possible).
-                    String scriptOutputFullPath = context.getStringData(OPT_INPUT_EXCEL_FILE);
-                    if (StringUtils.isNotBlank(scriptOutputFullPath)) {testScriptFile = new File(scriptOutputFullPath);}
-                } else {
-                    testScriptFile = testScript.getFile();
-                    // sync #data sheet with context
-                    ExecutionResultHelper.updateOutputDataSheet(context, testScript);
+        IterationOutcome outcome = new IterationOutcome(iterationRef, iterSummary);
+
+        // the output file of this iteration is recorded in context once it is created; see ExecutionInputPrep.prep()
+        context.removeDataForcefully(OPT_INPUT_EXCEL_FILE);
+
+        try {
+            if (isolated) {
+                // script prep reads (and might refetch) the test data shared by all iterations
+                synchronized (execDef) {
+                    testScript = ExecutionInputPrep.prep(runId, execDef, iterationIndex, scriptTemplate);
                 }
+            } else {
+                testScript = ExecutionInputPrep.prep(runId, execDef, iterationIndex, scriptTemplate);
+            }
+            iterSummary.setTestScript(testScript.getOriginalFile());
+            context.useTestScript(testScript);
 
-                String testScriptFileName = "UNKNOWN TEST SCRIPT";
+            context.startIteration(iterationIndex, iterationRef, totalIterations, firstScript);
 
-                if (FileUtil.isFileReadable(testScriptFile)) {
-                    testScriptFileName = testScriptFile.getName();
+            ExecutionLogger logger = context.getLogger();
+            logPlan(context, scriptLocation, iterationIndex);
+
+            logger.log(context, EXECUTING_ITERATION + iterationIndex + " of " + totalIterations +
+                                "; Iteration Id " + iterationRef);
+            allPass = context.execute();
+
+            onIterationComplete(context, iterSummary, iterationIndex);
+            outcome.stop = shouldStopNow(context, allPass);
+        } catch (Throwable e) {
+            onIterationException(context, iterSummary, iterationIndex, e);
+            outcome.stop = shouldStopNow(context, allPass);
+        } finally {
+            context.setData(ITERATION_ENDED, true);
+            iterSummary.setEndTime(System.currentTimeMillis());
+            context.setCurrentActivity(null);
+
+            File testScriptFile = null;
+            if (testScript == null) {
+                // possibly the script prep/parsing routine failed (ie ExecutionInputPrep.prep()), but the output
+                // file might already be generated. If so then we should use the generated output file and generate
+                // output (as much as possible).
+                String scriptOutputFullPath = context.getStringData(OPT_INPUT_EXCEL_FILE);
+                if (StringUtils.isNotBlank(scriptOutputFullPath)) {testScriptFile = new File(scriptOutputFullPath);}
+            } else {
+                testScriptFile = testScript.getFile();
+                // sync #data sheet with context
+                ExecutionResultHelper.updateOutputDataSheet(context, testScript);
+            }
 
-                    // now the execution for this iteration is done. We'll add new execution summary page to its output.
-                    iterSummary.setFailedFast(context.isFailFast());
-                    iterSummary.aggregatedNestedExecutions(context);
+            String testScriptFileName = "UNKNOWN TEST SCRIPT";
 
-                    // report status at iteration level
-                    CloudWebTestingPlatform.reportCloudBrowserStatus(context, iterSummary, IterationComplete);
+            if (FileUtil.isFileReadable(testScriptFile)) {
+                testScriptFileName = testScriptFile.getName();
 
-                    if (testScript != null) {
-                        iterSummary.generateExcelReport(testScript);
-                    } else {
-                        iterSummary.generateExcelReport(testScriptFile);
-                    }
+                // now the execution for this iteration is done. We'll add new execution summary page to its output.
+                iterSummary.setFailedFast(context.isFailFast());
+                iterSummary.aggregatedNestedExecutions(context);
 
-                    NexialListenerFactory.fireEvent(NexialExecutionEvent.newIterationEndEvent(scriptLocation,
-                                                                                              iterationIndex,
-                                                                                              iterSummary));
-                    executionSummary.addNestSummary(iterSummary);
-                    completedTests.add(testScriptFile);
+                // report status at iteration level
+                CloudWebTestingPlatform.reportCloudBrowserStatus(context, iterSummary, IterationComplete);
 
-                    ExecutionReporter.openExecutionResult(context, testScriptFile);
+                if (testScript != null) {
+                    iterSummary.generateExcelReport(testScript);
+                } else {
+                    iterSummary.generateExcelReport(testScriptFile);
                 }
 
+                NexialListenerFactory.fireEvent(NexialExecutionEvent.newIterationEndEvent(scriptLocation,
+                                                                                          iterationIndex,
+                                                                                          iterSummary));
+                outcome.testScriptFile = testScriptFile;
+
+                ExecutionReporter.openExecutionResult(context, testScriptFile);
+            }
+
+            if (isolated) {
+                outcome.endData = context.copyData();
+            } else {
                 collectIntraExecutionData(context, iterationRef);
-                ExecutionMailConfig.configure(context);
+            }
+            ExecutionMailConfig.configure(context);
 
-                context.endIteration();
+            context.endIteration();
 
-                MemManager.recordMemoryChanges(testScriptFileName + " completed");
+            MemManager.recordMemoryChanges(testScriptFileName + " completed");
+
+            context.setData(ITERATION_ENDED, false);
+        }
+
+        return outcome;
+    }
+
+    /**
+     * execute the iterations of the current script over {@code parallelism} threads. Each thread runs its iterations
+     * in its own {@link ExecutionContext#fork() forked context}; every iteration starts with the data as of the
+     * start of this script. The iteration summaries are consolidated in iteration order, the step counts of the
+     * forked contexts are added to {@code context}, and the data of the last completed iteration is carried forward
+     * to the subsequent scripts.
+     */
+    private void runIterationsInParallel(ExecutionContext context,
+                                         IterationManager iterationManager,
+                                         File scriptTemplate,
+                                         int parallelism) {
+        String runId = execDef.getRunId();
+        int totalIterations = iterationManager.getIterationCount();
+        ConsoleUtils.log(runId, "executing " + totalIterations + " iterations over " + parallelism + " threads");
+
+        execDef.infuseIntraExecutionData(intraExecutionData);
+        Map<String, Object> seedData = context.copyData();
+
+        IterationOutcome[] outcomes = new IterationOutcome[totalIterations];
+        AtomicInteger nextIteration = new AtomicInteger(1);
+        AtomicBoolean stopping = new AtomicBoolean(false);
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < parallelism; i++) {
+            workers.add(executor.submit(() -> {
+                ExecutionContext fork = context.fork();
+                ExecutionThread.set(fork);
+                try {
+                    while (!stopping.get() &&
+                           !BooleanUtils.toBoolean(System.getProperty(END_SCRIPT_IMMEDIATE, "false"))) {
+                        int iterationIndex = nextIteration.getAndIncrement();
+                        if (iterationIndex > totalIterations) { break; }
+
+                        fork.replaceData(seedData);
+                        IterationOutcome outcome =
+                            runIteration(fork, iterationManager, iterationIndex, scriptTemplate, true);
+                        outcomes[iterationIndex - 1] = outcome;
+                        if (outcome.stop) { stopping.set(true); }
+                    }
+                } finally {
+                    THREAD_LOCAL.remove();
+                    synchronized (context) {
+                        context.addScriptCounts(fork);
+                        context.adoptRowStores(fork);
+                    }
+                    fork.dispose();
+                }
+            }));
+        }
+        executor.shutdown();
 
-                context.setData(ITERATION_ENDED, false);
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                ConsoleUtils.error(runId, "Interrupted while waiting for parallel iterations to complete");
+            } catch (ExecutionException e) {
+                ConsoleUtils.error(runId, "Unable to complete parallel iterations: " + e.getCause().getMessage(), e);
             }
         }
 
-        onScriptComplete(context, executionSummary, iterationManager, ticktock);
+        IterationOutcome lastCompleted = null;
+        for (IterationOutcome outcome : outcomes) {
+            if (outcome == null) { continue; }
+            consolidate(outcome);
+            lastCompleted = outcome;
+        }
+
+        if (lastCompleted != null) {
+            context.replaceData(lastCompleted.endData);
+            collectIntraExecutionData(context, lastCompleted.iterationRef);
+        }
 
-        ExecutionThread.unset();
-        MemManager.recordMemoryChanges(scriptName + " completed");
+        // the query results of the other iterations are no longer referenced
+        context.releaseUnreferencedRowStores();
+    }
+
+    /**
+     * {@link NexialConst.Iteration#ITERATION_PARALLEL} can be specified as System property, or as data variable (carried over
+     * from previous script or defined in the data file).
+     */
+    private int resolveIterationParallelism(ExecutionContext context, int totalIterations) {
+        if (totalIterations < 2 || context.isInteractiveMode()) { return 1; }
+
+        String parallel = System.getProperty(ITERATION_PARALLEL);
+        if (StringUtils.isBlank(parallel)) { parallel = context.getStringData(ITERATION_PARALLEL); }
+        if (StringUtils.isBlank(parallel) && execDef.getTestData() != null) {
+            parallel = execDef.getTestData().getValue(1, ITERATION_PARALLEL);
+        }
+
+        int parallelism = NumberUtils.toInt(parallel, getDefaultInt(ITERATION_PARALLEL));
+        return Math.max(1, Math.min(parallelism, totalIterations));
+    }
+
+    /** add the outcome of a completed iteration to the script-level summary */
+    private void consolidate(IterationOutcome outcome) {
+        if (outcome.testScriptFile == null) { return; }
+        executionSummary.addNestSummary(outcome.summary);
+        completedTests.add(outcome.testScriptFile);
     }
 
     private void logPlan(ExecutionContext context, String scriptLocation, int iterationIndex) {
@@ -470,6 +636,8 @@ public final class ExecutionThread extends Thread {
             CloudWebTestingPlatform.reportCloudBrowserStatus(context, executionSummary, ExecutionComplete);
             context.getExecutionEventListener().onExecutionComplete();
             handleBrowserMetrics(context);
+            // no more script to refer to query results spilled to file
+            context.releaseRowStores();
         }
 
         // we don't want the reference data from this script to taint the next
@@ -528,4 +696,19 @@ public final class ExecutionThread extends Thread {
             execution.setTestScriptLink(testScript.getAbsolutePath());
         }
     }
+
+    private static final class IterationOutcome {
+        private final int iterationRef;
+        private final ExecutionSummary summary;
+        // null if the iteration output is not available
+        private File testScriptFile;
+        // context data at the end of the iteration; only captured for parallel iterations
+        private Map<String, Object> endData;
+        private boolean stop;
+
+        private IterationOutcome(int iterationRef, ExecutionSummary summary) {
+            this.iterationRef = iterationRef;
+            this.summary = summary;
+        }
+    }
 }
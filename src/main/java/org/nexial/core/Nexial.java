@@ -39,6 +39,9 @@ import org.nexial.core.mail.NexialMailer;
 import org.nexial.core.model.ExecutionDefinition;
 import org.nexial.core.model.ExecutionSummary;
 import org.nexial.core.model.TestProject;
+import org.nexial.core.plugins.db.DataAccess;
+import org.nexial.core.plugins.ssh.SshSessionPool;
+import org.nexial.core.plugins.ws.HttpClientRegistry;
 import org.nexial.core.reports.ExecutionMailConfig;
 import org.nexial.core.reports.ExecutionNotifier;
 import org.nexial.core.reports.ExecutionReporter;
@@ -49,6 +52,7 @@ import org.nexial.core.utils.CheckUtils;
 import org.nexial.core.utils.ConsoleUtils;
 import org.nexial.core.utils.ExecUtils;
 import org.nexial.core.utils.InputFileUtils;
+import org.nexial.core.utils.InvocationStats;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
 
 import java.io.File;
@@ -188,13 +192,11 @@ import static org.nexial.core.utils.ExecUtils.NEXIAL_MANIFEST;
  * </ol>
  */
 public class Nexial {
-    private static final int THREAD_WAIT_LOG_INTERVAL = 60;
     private static final String SPRING_CONTEXT = "classpath:/nexial-integration.xml";
 
     private ClassPathXmlApplicationContext springContext;
     private TestProject project;
     private List<ExecutionDefinition> executions;
-    private int threadWaitCounter;
     private ExecutionMode executionMode;
 
     public enum ExecutionMode { EXECUTE_SCRIPT, EXECUTE_PLAN, INTERACTIVE, INTEGRATION, READY }
@@ -762,79 +764,8 @@ public class Nexial {
         summary.setExecutionLevel(EXECUTION);
         summary.setStartTime(System.currentTimeMillis());
 
-        List<ExecutionThread> executionThreads = new ArrayList<>();
-        Map<String, Object> intraExecution = null;
-
-        int lastUse = executions.size() - 1;
         try {
-            for (int i = 0; i < executions.size(); i++) {
-                if (BooleanUtils.toBoolean(System.getProperty(LAST_PLAN_STEP, getDefault(LAST_PLAN_STEP)))) { break; }
-
-                ExecutionDefinition exec = executions.get(i);
-                if (BooleanUtils.toBoolean(System.getProperty(END_SCRIPT_IMMEDIATE, "false"))) {
-                    ConsoleUtils.log(runId, RB.Abort.text("script.endIf", exec.getTestScript()));
-                    continue;
-                }
-                // re-read data sheets to ensure the latest data being considered
-                exec.getTestData(true);
-                exec.setRunId(runId);
-
-                String msgPrefix = "[" + exec.getTestScript() + "] ";
-                ConsoleUtils.log(runId, msgPrefix + RESOLVE_RUN_ID + runId);
-
-                ExecutionThread launcherThread = ExecutionThread.newInstance(exec);
-                if (i == 0) { launcherThread.setFirstScript(true); }
-                if (i == lastUse) { launcherThread.setLastScript(true); }
-                if (MapUtils.isNotEmpty(intraExecution)) { launcherThread.setIntraExecutionData(intraExecution); }
-
-                ConsoleUtils.log(runId, msgPrefix + NEW_THREAD_STARTED);
-                launcherThread.start();
-
-                if (exec.isSerialMode()) {
-                    while (true) {
-                        if (launcherThread.isAlive()) {
-                            debugThread(runId, msgPrefix + "awaits execution thread to complete...");
-                            Thread.sleep(LAUNCHER_THREAD_COMPLETION_WAIT_MS);
-                        } else {
-                            ConsoleUtils.log(runId, msgPrefix + NOW_COMPLETED);
-                            // pass the post-execution state of data to the next execution
-                            intraExecution = launcherThread.getIntraExecutionData();
-                            summary.addNestSummary(launcherThread.getExecutionSummary());
-                            launcherThread = null;
-                            break;
-                        }
-                    }
-
-                    executions.set(i, null);
-                    exec = null;
-                } else {
-                    executionThreads.add(launcherThread);
-                    ConsoleUtils.log(runId, msgPrefix + "in progress, proceed to next execution");
-                }
-            }
-
-            while (true) {
-                final boolean[] stillRunning = {false};
-                for (int i = 0; i < executionThreads.size(); i++) {
-                    ExecutionThread t = executionThreads.get(i);
-                    if (t != null) {
-                        if (t.isAlive()) {
-                            stillRunning[0] = true;
-                        } else {
-                            summary.addNestSummary(t.getExecutionSummary());
-                            // relinquish reference to completed/dead threads
-                            executionThreads.set(i, null);
-                        }
-                    }
-                }
-
-                if (!stillRunning[0]) { break; }
-
-                debugThread(runId, "waiting for execution thread(s) to complete...");
-                Thread.yield();
-                Thread.sleep(LAUNCHER_THREAD_COMPLETION_WAIT_MS);
-            }
-
+            new PlanScheduler(runId, executions, summary).execute();
             ConsoleUtils.log(runId, MSG_THREAD_TERMINATED);
         } catch (Throwable e) {
             ConsoleUtils.error(e.getMessage());
@@ -917,6 +848,10 @@ public class Nexial {
 
         summary.setEndTime(stopTimeMs);
         summary.aggregatedNestedExecutions(null);
+        summary.setConnectionPools(DataAccess.gatherPoolStatistics());
+        DataAccess.closePools();
+        HttpClientRegistry.closeClients();
+        SshSessionPool.closeSessions();
         summary.setCustomHeader(System.getProperty(SUMMARY_CUSTOM_HEADER));
         summary.setCustomFooter(System.getProperty(SUMMARY_CUSTOM_FOOTER));
 
@@ -1261,6 +1196,7 @@ public class Nexial {
         // }
 
         beforeShutdownMemUsage();
+        beforeShutdownCommandStats();
 
         System.setProperty(EXIT_STATUS, exitStatus + "");
         ConsoleUtils.log(END_OF_EXECUTION2 + ":" + NL +
@@ -1312,6 +1248,19 @@ public class Nexial {
         }
     }
 
+    private static void beforeShutdownCommandStats() {
+        if (!BooleanUtils.toBoolean(System.getProperty(OPT_COMMAND_STATS, getDefault(OPT_COMMAND_STATS)))) { return; }
+
+        int top = NumberUtils.toInt(System.getProperty(OPT_COMMAND_STATS_TOP), getDefaultInt(OPT_COMMAND_STATS_TOP));
+        String stats = InvocationStats.showUsage("| »      ", top);
+        if (StringUtils.isNotBlank(stats)) {
+            ConsoleUtils.log(NL +
+                             "/-COMMAND-STATISTICS------------------------------------------------------------" + NL +
+                             stats +
+                             "\\-------------------------------------------------------------------------------");
+        }
+    }
+
     private void notifyCompletion(ExecutionSummary summary) {
         try {
             springContext.getBean("nexialMailer", ExecutionNotifier.class).notify(summary);
@@ -1319,21 +1268,4 @@ public class Nexial {
             ConsoleUtils.error(RB.Tools.text("mail.fail", e.getMessage()));
         }
     }
-
-    /**
-     * log {@code msg} to console if the System property {@code nexial.devLogging} is {@code "true"}.
-     */
-    private void debugThread(String runId, String msg) {
-        boolean debugOn = BooleanUtils.toBoolean(System.getProperty(OPT_DEVMODE_LOGGING, "false"));
-        if (!debugOn) { return; }
-
-        if (threadWaitCounter < THREAD_WAIT_LOG_INTERVAL) {
-            threadWaitCounter++;
-        } else if (threadWaitCounter == 60) {
-            ConsoleUtils.log(runId, msg);
-            threadWaitCounter++;
-        } else {
-            threadWaitCounter = 0;
-        }
-    }
 }
@@ -183,6 +183,9 @@ public final class NexialConst {
     // csv | [CSV(...) => ...]
     public static final String CSV_MAX_COLUMNS = registerSysVar(NAMESPACE + "csv.maxColumns", 512);
     public static final String CSV_MAX_COLUMN_WIDTH = registerSysVar(NAMESPACE + "csv.maxColumnWidth", 4096);
+    // combined size (in bytes) of the expected and actual files beyond which csv.compareExtended spills to disk
+    public static final String CSV_COMPARE_SPILL_THRESHOLD =
+        registerSysVar(NAMESPACE + "csv.compareExtended.spillThreshold", 256 * 1024 * 1024L);
 
     //plugin: xml
     public static XMLOutputter COMPRESSED_XML_OUTPUTTER = new XMLOutputter(Format.getCompactFormat());
@@ -310,9 +313,16 @@ public final class NexialConst {
     public static final String OPT_CLOUD_OUTPUT_BASE = registerSysVar(NAMESPACE + "outputCloudBase");
     public static final String OUTPUT_TO_CLOUD = registerSysVar(NAMESPACE + "outputToCloud", false);
     public static final String S3_PATH_SEP = "/";
+    // number of files transferred concurrently by the aws.s3 copy/move commands
+    public static final String S3_TRANSFER_THREADS = registerSysVar(NAMESPACE + "s3.transferThreads", 4);
+    // objects larger than this (in MB) are transferred in parts of this size, via ranged GETs or multipart upload
+    public static final String S3_PART_SIZE_MB = registerSysVar(NAMESPACE + "s3.partSizeMb", 16);
 
     // mem mgmt
     public static final String OPT_MANAGE_MEM = registerSysVar(NAMESPACE + "manageMemory", false);
+    // command/function call count and latency, displayed at the end of execution
+    public static final String OPT_COMMAND_STATS = registerSysVar(NAMESPACE + "commandStats", false);
+    public static final String OPT_COMMAND_STATS_TOP = registerSysVar(NAMESPACE + "commandStatsTop", 25);
 
     public static final Gson GSON = new GsonBuilder().setPrettyPrinting()
                                                      .disableHtmlEscaping()
@@ -467,6 +477,11 @@ public final class NexialConst {
 
         // controlled by user's script/data to end plan earlier than designed.
         public static final String LAST_PLAN_STEP = registerSysVar(NAMESPACE + "lastPlanStep", false);
+        // max. number of scripts (plan steps) to execute at the same time; 0 means no limit
+        public static final String PLAN_MAX_CONCURRENCY = registerSysVar(NAMESPACE + "plan.maxConcurrency", 0);
+        // execute each subplan as its own chain of plan steps, concurrent with the other subplans
+        public static final String PLAN_CONCURRENT_SUBPLANS =
+            registerSysVar(NAMESPACE + "plan.concurrentSubplans", false);
         public static final String OPT_CURRENT_ACTIVITY = registerSysVar(NAMESPACE + "currentActivity");
         public static final String OPT_CURRENT_SCENARIO = registerSysVar(NAMESPACE + "currentScenario");
 
@@ -474,6 +489,8 @@ public final class NexialConst {
         public static final String NS_VAR = NAMESPACE + "var.";
         public static final String OPT_VAR_EXCLUDE_LIST = registerSysVar(NS_VAR + "ignored");
         public static final String OPT_VAR_DEFAULT_AS_IS = registerSysVar(NS_VAR + "defaultAsIs", false);
+        // max. number of parsed cell text to keep for token replacement
+        public static final String OPT_VAR_TEMPLATE_CACHE_SIZE = registerSysVar(NS_VAR + "templateCacheSize", 4096);
 
         // runtime data variables
         public static final String NS_REQUIRED_VAR = SCOPE + "required.variables";
@@ -521,6 +538,12 @@ public final class NexialConst {
         public static final String COMPARE_RESULT_AS_CSV = registerSysVar(NS_JSON + "compareResultsAsCSV", false);
         public static final String COMPARE_RESULT_AS_HTML = registerSysVar(NS_JSON + "compareResultsAsHTML", false);
         public static final String TREAT_JSON_AS_IS = registerSysVar(NS_JSON + "treatJsonAsIs", true);
+        // number of parsed JSONPath expressions kept for reuse
+        public static final String JSON_PATH_CACHE_SIZE = registerSysVar(NS_JSON + "pathCacheSize", 1024);
+
+        // maximum size (in MB) of the JSON/XML text whose parsed documents are kept for reuse within an iteration;
+        // 0 to disable
+        public static final String PARSE_CACHE_MAX_MB = registerSysVar(NAMESPACE + "parseCache.maxMb", 64);
 
         /**
          * special prefix to mark certain data as contextual to a test scenario execution.  Such data will be displayed
@@ -616,6 +639,8 @@ public final class NexialConst {
             public static final String DATA_IMAGE = registerSysVar(_NS + "data.image", ImageOptions.type.name());
             public static final String DATA_TRIM = registerSysVar(_NS + "data.trim", true);
             public static final String END_TRIM = registerSysVar(_NS + "end.trim", false);
+            // collect each page via one script execution rather than inspecting one cell at a time
+            public static final String BULK_EXTRACT = registerSysVar(_NS + "bulkExtract", true);
 
             public enum InputOptions {
                 name, type, value, id, state;
@@ -660,6 +685,10 @@ public final class NexialConst {
         public static final String EXPRESSION_OPEN_FILE_AS_IS = registerSysVar(NS + "OpenFileAsIs", false);
 
         public static final String WEB_RESULT_ALWAYS_NEW = registerSysVar(NS + "web.alwaysNew", false);
+
+        // stream a CSV file through a chain of row-local functions (ending in save, rowCount, json or excel),
+        // instead of loading the entire file
+        public static final String CSV_STREAMING = registerSysVar(NS + "csv.streaming", true);
     }
 
     public static final class LogMessage {
@@ -668,7 +697,7 @@ public final class NexialConst {
         public static final String EXECUTING_ACTIVITY = "executing activity";
         public static final String ENDING_ACTIVITY = "ending activity";
         public static final String EXITING_CURRENT_SCRIPT_PLAN = "exiting current script/plan execution";
-        public static final String SAVING_TEST_SCENARIO = "saving test scenario";
+        public static final String UPDATED_TEST_SCENARIO = "test scenario result updated";
         public static final String TEST_COMPLETE = "TEST COMPLETE";
         public static final String ITERATION_COMPLETE = "ITERATION COMPLETE";
         public static final String SCRIPT_COMPLETE = "SCRIPT COMPLETE";
@@ -727,6 +756,10 @@ public final class NexialConst {
         public static final String ITERATION_SEP = ",";
         public static final String ITERATION_RANGE_SEP = "-";
 
+        // number of iterations of the same script to execute concurrently. Each concurrent iteration starts with the
+        // data as of the start of the script, and only the data of the last completed iteration is carried forward
+        public static final String ITERATION_PARALLEL = registerSysVar(NAMESPACE + "iteration.parallel", 1);
+
         private Iteration() { }
 
         // reference by enclosing class to force initialization (possibly prior to any reference at runtime)
@@ -1038,6 +1071,8 @@ public final class NexialConst {
         public static final String NEXIAL_INSTALLER_MIN_VERSION = "1.4.7";
         public static final String PROJECT_CACHE_LOCATION = USER_NEXIAL_HOME + "projectCache" + separator;
         public static final String BROWSER_META_CACHE_PATH = USER_NEXIAL_HOME + "browser-meta.json";
+        // elapsed time of each script from previous runs, to start the slowest ones first
+        public static final String SCRIPT_DURATION_CACHE_PATH = USER_NEXIAL_HOME + "script-durations.json";
         public static final String BATCH_EXT = (IS_OS_WINDOWS ? "cmd" : "sh");
 
         private Project() { }
@@ -1334,6 +1369,10 @@ public final class NexialConst {
         // todo: need to evaluate how to use these 3 to modify the nexial result and excel output
         public static final String COMPARE_INCLUDE_MOVED = registerSysVar(NS_IO + "compareIncludeMoved");
         public static final String OPT_IO_COPY_CONFIG = registerSysVar(NS_IO + "copyConfig", COPY_CONFIG_DEF);
+        // number of threads to parse and validate records via io.validate
+        public static final String OPT_IO_VALIDATE_THREADS = registerSysVar(NS_IO + "validateThreads", 4);
+        // number of distinct keys per query when resolving SQL key lookups of io.validate in batch; 1 to disable
+        public static final String OPT_IO_VALIDATE_SQL_BATCH = registerSysVar(NS_IO + "validateSqlBatchSize", 500);
 
         private Compare() { }
 
@@ -1524,6 +1563,12 @@ public final class NexialConst {
         public static final String SSH_HOST_KEY_CHECK = "strictHostKeyChecking";
         public static final String SSH_KNOWN_HOSTS = "knownHosts";
         public static final String DEF_SSH_PORT = "22";
+        // interval (ms) of the keep-alive messages sent over pooled SSH sessions; 0 to disable
+        public static final String SSH_KEEP_ALIVE_MS = registerSysVar(NAMESPACE + "sshPool.keepAliveMs", 30000);
+        // pooled SSH sessions left unused longer than this (ms) are disconnected
+        public static final String SSH_IDLE_TIMEOUT_MS = registerSysVar(NAMESPACE + "sshPool.idleTimeoutMs", 300000);
+        // number of SFTP channels used to transfer multiple files concurrently
+        public static final String SFTP_PARALLEL_CHANNELS = registerSysVar(NAMESPACE + "sftp.parallelChannels", 4);
 
         private Ssh() { }
 
@@ -1547,10 +1592,35 @@ public final class NexialConst {
         public static final boolean DEF_AUTOCOMMIT = true;
         public static final String OPT_TREAT_NULL_AS = ".treatNullAs";
         public static final String DEF_TREAT_NULL_AS = "";
+        // connection pool settings per db profile; pools are shared by all executions of the same run
+        public static final String OPT_POOL_MIN_IDLE = ".pool.minIdle";
+        public static final int DEF_POOL_MIN_IDLE = 0;
+        public static final String OPT_POOL_MAX_IDLE = ".pool.maxIdle";
+        public static final int DEF_POOL_MAX_IDLE = 8;
+        public static final String OPT_POOL_MAX_TOTAL = ".pool.maxTotal";
+        public static final int DEF_POOL_MAX_TOTAL = 8;
+        public static final String OPT_POOL_MAX_WAIT_MS = ".pool.maxWaitMs";
+        public static final int DEF_POOL_MAX_WAIT_MS = 60000;
+        public static final String OPT_POOL_VALIDATION_QUERY = ".pool.validationQuery";
+        // number of prepared statements cached per connection; 0 disables statement caching, -1 means no limit
+        public static final String OPT_POOL_STATEMENT_CACHE_SIZE = ".pool.statementCacheSize";
+        public static final int DEF_POOL_STATEMENT_CACHE_SIZE = -1;
+        // open (at least 1, or minIdle) connections at script start instead of upon first use
+        public static final String OPT_POOL_WARM_UP = ".pool.warmUp";
+        public static final boolean DEF_POOL_WARM_UP = false;
         public static final String SQL_LINE_SEP = "\n";
         public static final String CSV_ROW_SEP = "\n";
         public static final String CSV_FIELD_DEIM = ",";
-        public static final String IMPORT_BUFFER_SIZE = registerSysVar(NAMESPACE + "rdbms.importBufferSize", 100);
+        // number of rows per JDBC batch during import (rdbms.importCSV, localdb.importCSV, localdb.importRecords)
+        public static final String IMPORT_BUFFER_SIZE = registerSysVar(NAMESPACE + "rdbms.importBufferSize", 1000);
+        // number of rows fetched per round trip when reading query result; 0 means driver default
+        public static final String FETCH_SIZE = registerSysVar(NAMESPACE + "rdbms.fetchSize", 0);
+        // query result beyond this number of rows are kept in a file-backed row store; 0 means always in memory
+        public static final String RESULT_SPILL_THRESHOLD = registerSysVar(NAMESPACE + "rdbms.resultSpillThreshold",
+                                                                           100000);
+        // plugin:localdb; SQLite PRAGMA (name=value) in effect during import, restored afterwards
+        public static final String LOCALDB_IMPORT_PRAGMAS = registerSysVar(NAMESPACE + "localdb.importPragmas",
+                                                                           "synchronous=OFF,temp_store=MEMORY");
         // to overcome unknown but valid JDBC drivers
         public static final String OPT_DB_CLASSNAME = ".JavaClassName";
         // for mongodb jdbc connection only
@@ -1606,6 +1676,10 @@ public final class NexialConst {
         public static final String WS_ENABLE_REDIRECTS = registerSysVar(NS_WS + "enableRedirects", true);
         public static final String WS_READ_TIMEOUT = registerSysVar(NS_WS + "readTimeout", 5 * 60 * 1000);
         public static final String WS_CONN_TIMEOUT = registerSysVar(NS_WS + "connectionTimeout", 5 * 60 * 1000);
+        // connection pool of each HTTP client, shared by all requests of the same client configuration
+        public static final String WS_POOL_MAX_TOTAL = registerSysVar(NS_WS + "pool.maxTotal", 100);
+        public static final String WS_POOL_MAX_PER_ROUTE = registerSysVar(NS_WS + "pool.maxPerRoute", 20);
+        public static final String WS_POOL_IDLE_TIMEOUT = registerSysVar(NS_WS + "pool.idleTimeoutMs", 30000);
         public static final String WS_USER_AGENT = "User-Agent";
         public static final String WS_CONTENT_TYPE = "Content-Type";
         public static final String WS_CONTENT_LENGTH = "Content-Length";
@@ -1774,6 +1848,10 @@ public final class NexialConst {
     public static final class Pdf {
         /* pdf*/
         public static final String PDF_USE_ASCII = registerSysVar(NAMESPACE + "pdfUseAscii", true);
+        // maximum size (in MB) of the PDF text and page layouts kept for reuse within an iteration; 0 to disable
+        public static final String PDF_CACHE_MAX_MB = registerSysVar(NAMESPACE + "pdfCache.maxMb", 64);
+        // number of threads to extract the text of the pages of a PDF document
+        public static final String PDF_EXTRACT_THREADS = registerSysVar(NAMESPACE + "pdfExtractThreads", 4);
         public static final String PDFFORM_UNMATCHED_TEXT = "__UNMATCHED_TEXT";
         public static final String PDFFORM_PREFIX = registerSysVarGroup(NAMESPACE + "pdfFormStrategy.");
         public static final String PDFFORM_BASEDON = "basedOn";
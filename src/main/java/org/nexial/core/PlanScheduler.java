@@ -0,0 +1,327 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.nexial.core.model.ExecutionDefinition;
+import org.nexial.core.model.ExecutionSummary;
+import org.nexial.core.utils.ConsoleUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.nexial.core.NexialConst.*;
+import static org.nexial.core.NexialConst.Data.*;
+import static org.nexial.core.NexialConst.LogMessage.*;
+import static org.nexial.core.NexialConst.Project.SCRIPT_DURATION_CACHE_PATH;
+import static org.nexial.core.SystemVariables.getDefault;
+import static org.nexial.core.SystemVariables.getDefaultInt;
+
+/**
+ * schedule the executions (i.e. plan steps) of a run over a bounded pool of threads.
+ * <p>
+ * The executions are grouped into chains: one chain per run, or one chain per subplan when
+ * {@link NexialConst.Data#PLAN_CONCURRENT_SUBPLANS} is enabled. Within a chain, the existing plan semantics are
+ * maintained: a "wait" (serial) step must complete before any subsequent step of the same chain starts, and its
+ * post-execution data is passed to those steps. A "no-wait" step starts as soon as the serial step before it has
+ * completed. Chains are independent of each other.
+ * <p>
+ * When more steps are ready than the number of available threads
+ * ({@link NexialConst.Data#PLAN_MAX_CONCURRENCY}), the step with the longest expected duration (based on the
+ * previous run, including the steps it gates) is started first.
+ * <p>
+ * Execution summaries are collected as each script completes.
+ */
+final class PlanScheduler {
+    // scripts not run for this long are dropped from the duration cache
+    private static final long DURATION_RETENTION_MS = TimeUnit.DAYS.toMillis(30);
+
+    private final String runId;
+    private final List<ExecutionDefinition> executions;
+    private final ExecutionSummary summary;
+    private final File durationCache;
+    private final Consumer<ExecutionThread> runner;
+    private final Map<String, CachedDuration> previousDurations;
+    private final Map<String, Long> durations = new ConcurrentHashMap<>();
+    private final AtomicBoolean lastPlanStepReached = new AtomicBoolean(false);
+    private ThreadPoolExecutor executor;
+
+    PlanScheduler(String runId, List<ExecutionDefinition> executions, ExecutionSummary summary) {
+        this(runId, executions, summary, new File(SCRIPT_DURATION_CACHE_PATH), ExecutionThread::run);
+    }
+
+    /**
+     * {@code durationCache} keeps the duration of each script across runs, and {@code runner} runs the (not yet
+     * started) thread of each execution on the scheduled pool thread.
+     */
+    PlanScheduler(String runId,
+                  List<ExecutionDefinition> executions,
+                  ExecutionSummary summary,
+                  File durationCache,
+                  Consumer<ExecutionThread> runner) {
+        this.runId = runId;
+        this.executions = executions;
+        this.summary = summary;
+        this.durationCache = durationCache;
+        this.runner = runner;
+        this.previousDurations = loadDurations();
+    }
+
+    /** execute all executions and block until they are all completed (or skipped). */
+    void execute() throws InterruptedException {
+        if (executions.isEmpty()) { return; }
+
+        int maxConcurrency = NumberUtils.toInt(System.getProperty(PLAN_MAX_CONCURRENCY),
+                                               getDefaultInt(PLAN_MAX_CONCURRENCY));
+        if (maxConcurrency < 1) { maxConcurrency = executions.size(); }
+        executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency,
+                                          0, TimeUnit.MILLISECONDS,
+                                          new PriorityBlockingQueue<>());
+
+        List<CompletableFuture<Map<String, Object>>> launched = new ArrayList<>();
+        try {
+            toChains().forEach(chain -> launched.addAll(schedule(chain)));
+
+            try {
+                CompletableFuture.allOf(launched.toArray(new CompletableFuture[0])).get();
+            } catch (ExecutionException e) {
+                // should not happen since every failure is handled as completion
+                ConsoleUtils.error(runId, "Unable to complete plan execution: " + e.getCause().getMessage());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        saveDurations();
+    }
+
+    private Collection<List<Integer>> toChains() {
+        boolean concurrentSubplans = BooleanUtils.toBoolean(
+            System.getProperty(PLAN_CONCURRENT_SUBPLANS, getDefault(PLAN_CONCURRENT_SUBPLANS)));
+
+        Map<String, List<Integer>> chains = new LinkedHashMap<>();
+        for (int i = 0; i < executions.size(); i++) {
+            ExecutionDefinition exec = executions.get(i);
+            String chain = concurrentSubplans ? exec.getPlanFile() + "::" + exec.getPlanName() : "";
+            chains.computeIfAbsent(chain, key -> new ArrayList<>()).add(i);
+        }
+        return chains.values();
+    }
+
+    private List<CompletableFuture<Map<String, Object>>> schedule(List<Integer> chain) {
+        List<CompletableFuture<Map<String, Object>>> launched = new ArrayList<>();
+
+        // the completion of the last serial step is the gate for the subsequent steps
+        CompletableFuture<Map<String, Object>> gate = CompletableFuture.completedFuture(null);
+        for (int position = 0; position < chain.size(); position++) {
+            int index = chain.get(position);
+            ExecutionDefinition exec = executions.get(index);
+            long priority = expectedDuration(exec) +
+                            (exec.isSerialMode() ? expectedDuration(chain.subList(position + 1, chain.size())) : 0);
+
+            CompletableFuture<Map<String, Object>> step = gate.thenCompose(data -> launch(index, data, priority));
+            launched.add(step);
+            if (exec.isSerialMode()) { gate = step; }
+        }
+
+        return launched;
+    }
+
+    private CompletableFuture<Map<String, Object>> launch(int index, Map<String, Object> intraExecution, long priority) {
+        ExecutionDefinition exec = executions.get(index);
+
+        if (lastPlanStepReached.get() ||
+            BooleanUtils.toBoolean(System.getProperty(LAST_PLAN_STEP, getDefault(LAST_PLAN_STEP)))) {
+            lastPlanStepReached.set(true);
+            return CompletableFuture.completedFuture(intraExecution);
+        }
+
+        if (BooleanUtils.toBoolean(System.getProperty(END_SCRIPT_IMMEDIATE, "false"))) {
+            ConsoleUtils.log(runId, RB.Abort.text("script.endIf", exec.getTestScript()));
+            return CompletableFuture.completedFuture(intraExecution);
+        }
+
+        CompletableFuture<Map<String, Object>> completion = new CompletableFuture<>();
+        executor.execute(new ScheduledExecution(index, priority, () -> {
+            String msgPrefix = "[" + exec.getTestScript() + "] ";
+            ExecutionThread launcher = null;
+            try {
+                // re-read data sheets to ensure the latest data being considered
+                exec.getTestData(true);
+                exec.setRunId(runId);
+                ConsoleUtils.log(runId, msgPrefix + RESOLVE_RUN_ID + runId);
+
+                launcher = ExecutionThread.newInstance(exec);
+                if (index == 0) { launcher.setFirstScript(true); }
+                if (index == executions.size() - 1) { launcher.setLastScript(true); }
+                if (MapUtils.isNotEmpty(intraExecution)) { launcher.setIntraExecutionData(intraExecution); }
+
+                ConsoleUtils.log(runId, msgPrefix + NEW_THREAD_STARTED);
+                runner.accept(launcher);
+                ConsoleUtils.log(runId, msgPrefix + NOW_COMPLETED);
+            } catch (Throwable e) {
+                ConsoleUtils.error(runId, msgPrefix + "execution failed: " + e.getMessage(), e);
+            } finally {
+                if (launcher != null) { onCompletion(index, launcher); }
+                // pass the post-execution state of data to the next execution
+                completion.complete(launcher != null ? launcher.getIntraExecutionData() : intraExecution);
+            }
+        }));
+
+        return completion;
+    }
+
+    private void onCompletion(int index, ExecutionThread launcher) {
+        ExecutionSummary scriptSummary = launcher.getExecutionSummary();
+        synchronized (summary) { summary.addNestSummary(scriptSummary); }
+
+        ExecutionDefinition exec = executions.get(index);
+        if (scriptSummary.getStartTime() > 0 && scriptSummary.getEndTime() >= scriptSummary.getStartTime()) {
+            durations.put(durationKey(exec), scriptSummary.getElapsedTime());
+        }
+
+        // relinquish reference to completed execution
+        executions.set(index, null);
+    }
+
+    private long expectedDuration(ExecutionDefinition exec) {
+        CachedDuration cached = previousDurations.get(durationKey(exec));
+        return cached == null ? 0 : cached.duration;
+    }
+
+    private long expectedDuration(List<Integer> indices) {
+        return indices.stream().mapToLong(index -> expectedDuration(executions.get(index))).sum();
+    }
+
+    private static String durationKey(ExecutionDefinition exec) {
+        return exec.getTestScript() + "#" + String.join(",", exec.getScenarios());
+    }
+
+    /**
+     * each entry of the cache keeps the duration of a script along with the last time it was run. Entries of the
+     * older format (duration only) are considered last run when the cache was last updated.
+     */
+    private Map<String, CachedDuration> loadDurations() {
+        Map<String, CachedDuration> durations = new HashMap<>();
+        if (!durationCache.exists() || durationCache.length() < 5) { return durations; }
+
+        try {
+            JsonObject cache = GSON.fromJson(FileUtils.readFileToString(durationCache, DEF_CHARSET), JsonObject.class);
+            if (cache == null || cache.isJsonNull()) { return durations; }
+            long lastModified = durationCache.lastModified();
+            for (Map.Entry<String, JsonElement> entry : cache.entrySet()) {
+                JsonElement value = entry.getValue();
+                if (value.isJsonObject()) {
+                    JsonObject cached = value.getAsJsonObject();
+                    durations.put(entry.getKey(), new CachedDuration(cached.get("duration").getAsLong(),
+                                                                     cached.get("lastSeen").getAsLong()));
+                } else {
+                    durations.put(entry.getKey(), new CachedDuration(value.getAsLong(), lastModified));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            ConsoleUtils.log("unable to load script duration cache: " + e.getMessage());
+        }
+
+        return durations;
+    }
+
+    /**
+     * merge the durations of this run into the cache, and drop the scripts not run within
+     * {@link #DURATION_RETENTION_MS}. The cache is written to a temp file first and then moved in place, so that
+     * a concurrent run (or a crash) never leaves a partially written cache behind.
+     */
+    private void saveDurations() {
+        if (durations.isEmpty()) { return; }
+
+        long now = System.currentTimeMillis();
+        Map<String, CachedDuration> merged = new TreeMap<>(loadDurations());
+        merged.values().removeIf(cached -> cached.lastSeen < now - DURATION_RETENTION_MS);
+        durations.forEach((key, duration) -> merged.put(key, new CachedDuration(duration, now)));
+
+        JsonObject cache = new JsonObject();
+        merged.forEach((key, cached) -> {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("duration", cached.duration);
+            entry.addProperty("lastSeen", cached.lastSeen);
+            cache.add(key, entry);
+        });
+
+        File target = durationCache.getAbsoluteFile();
+        File temp = null;
+        try {
+            FileUtils.forceMkdirParent(target);
+            temp = File.createTempFile(target.getName() + ".", ".tmp", target.getParentFile());
+            FileUtils.writeStringToFile(temp, GSON.toJson(cache), DEF_CHARSET);
+            try {
+                Files.move(temp.toPath(), target.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), target.toPath(), REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            ConsoleUtils.log("unable to update script duration cache: " + e.getMessage());
+        } finally {
+            if (temp != null) { FileUtils.deleteQuietly(temp); }
+        }
+    }
+
+    private static final class CachedDuration {
+        private final long duration;
+        private final long lastSeen;
+
+        private CachedDuration(long duration, long lastSeen) {
+            this.duration = duration;
+            this.lastSeen = lastSeen;
+        }
+    }
+
+    /** longest expected duration first; plan order for the rest */
+    private static final class ScheduledExecution implements Runnable, Comparable<ScheduledExecution> {
+        private final int index;
+        private final long priority;
+        private final Runnable runnable;
+
+        private ScheduledExecution(int index, long priority, Runnable runnable) {
+            this.index = index;
+            this.priority = priority;
+            this.runnable = runnable;
+        }
+
+        @Override
+        public void run() { runnable.run(); }
+
+        @Override
+        public int compareTo(ScheduledExecution other) {
+            int compared = Long.compare(other.priority, priority);
+            return compared != 0 ? compared : Integer.compare(index, other.index);
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.nexial.commons.utils.CollectionUtil;
 import org.nexial.commons.utils.RegexUtils;
+import org.nexial.core.aws.S3TransferEngine.Transfer;
 import org.nexial.core.plugins.aws.AwsSettings;
 
 import com.amazonaws.auth.AWSCredentialsProvider;
@@ -36,6 +37,7 @@ import java.io.IOException;
 import java.net.URL;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -51,6 +53,8 @@ import static org.nexial.core.NexialConst.*;
 public class AwsS3Helper {
     // characters that must be escaped in order NOT to be mistaken as part of regex
     private static final char[] REGEX_ESCAPE_CHARS = ".-()[]+,".toCharArray();
+    // S3 rejects multipart uploads with parts (except the last) smaller than 5 MB
+    private static final long MIN_PART_SIZE = 5 * 1024 * 1024;
 
     private String accessKey;
     private String secretKey;
@@ -62,6 +66,8 @@ public class AwsS3Helper {
     private String subDir;
     private boolean s3PathStyleAccessEnabled = true;
     private String url;
+    private int transferThreads = 1;
+    private long partSize = MIN_PART_SIZE;
 
     public static class PutOption {
         private boolean publiclyReadable;
@@ -92,6 +98,12 @@ public class AwsS3Helper {
         this.s3PathStyleAccessEnabled = s3PathStyleAccessEnabled;
     }
 
+    /** number of files to transfer concurrently via {@link #copyFromS3(String, Map, boolean)} and the like */
+    public void setTransferThreads(int transferThreads) { this.transferThreads = transferThreads; }
+
+    /** size (in bytes) beyond which objects are transferred in parts of this size; 5 MB minimum */
+    public void setPartSize(long partSize) { this.partSize = Math.max(partSize, MIN_PART_SIZE); }
+
     public void setAssumeRoleArn(String assumeRoleArn) { this.assumeRoleArn = assumeRoleArn; }
 
     public void setAssumeRoleSession(String assumeRoleSession) { this.assumeRoleSession = assumeRoleSession; }
@@ -134,19 +146,8 @@ public class AwsS3Helper {
 
         PutObjectResult result = s3Client.putObject(request);
         if (result != null) {
-            URL url = s3Client.getUrl(bucketName, request.getKey());
-            if (url != null) {
-                String s3url = url.toString();
-                // convert
-                //      https://{bucket}.s3-{region}.amazonaws.com/{object_path}  OR
-                //      https://{bucket}.s3.{region}.amazonaws.com/{object_path}
-                // into
-                //      https://s3.{region}.amazonaws.com/{bucket}/{object_path}
-                s3url = RegexUtils.replace(s3url,
-                                           "(https\\:\\/\\/)(.+)\\.(s3)[\\.\\-](.+\\.amazonaws\\.com)(.+)",
-                                           "$1$3.$4/$2$5");
-                result.getMetadata().addUserMetadata(S3_PUBLIC_URL, s3url);
-            }
+            String s3url = toPublicUrl(s3Client, bucketName, request.getKey());
+            if (s3url != null) { result.getMetadata().addUserMetadata(S3_PUBLIC_URL, s3url); }
         }
 
         afterS3Connection();
@@ -185,6 +186,43 @@ public class AwsS3Helper {
         return publicUrl;
     }
 
+    /**
+     * Upload multiple files to S3 concurrently, streaming large files via multipart upload.
+     *
+     * @param sources     the files to upload.
+     * @param targetPath  the S3 path (bucket and optional sub-directory) to upload to.
+     * @param removeLocal flag to delete each local file once it is uploaded.
+     * @return the outcome of each upload in the order of {@code sources}, with the public URL as its target.
+     */
+    public List<Transfer> importToS3(@NotNull final List<File> sources,
+                                     @NotNull final String targetPath,
+                                     final boolean removeLocal) {
+        assert StringUtils.isNotBlank(accessKey);
+        assert StringUtils.isNotBlank(secretKey);
+        assert StringUtils.isNotBlank(targetPath);
+
+        parseObjectPath(targetPath);
+        assert StringUtils.isNotBlank(bucketName);
+        String prefix = subDir != null ? StringUtils.appendIfMissing(subDir, "/") : "";
+
+        beforeS3Connection();
+        AmazonS3 s3Client = newS3Client();
+        List<Transfer> transfers = new S3TransferEngine(s3Client, transferThreads, partSize)
+                                       .upload(bucketName, sources, file -> prefix + file.getName(), ReducedRedundancy);
+
+        transfers.stream().filter(Transfer::isSuccess).forEach(transfer -> {
+            String publicUrl = toPublicUrl(s3Client, bucketName, transfer.getTarget());
+            if (publicUrl != null) { transfer.setTarget(publicUrl); }
+            if (removeLocal && !FileUtils.deleteQuietly(new File(transfer.getSource()))) {
+                transfer.setError(new IOException("Unable to delete file " + transfer.getSource() +
+                                                  " after being copied to S3"));
+            }
+        });
+
+        afterS3Connection();
+        return transfers;
+    }
+
     public byte[] copyFromS3(String name) throws IOException {
         return copyFromS3(bucketName, StringUtils.appendIfMissing(subDir, "/") + name, false);
     }
@@ -217,6 +255,29 @@ public class AwsS3Helper {
         return contents;
     }
 
+    /**
+     * Download multiple objects from S3 concurrently, streaming each straight to its local file (via ranged GETs for
+     * large objects).
+     *
+     * @param bucket           bucket name.
+     * @param targets          the local file to download to, keyed by s3 object key.
+     * @param removeFromBucket flag to delete each object from the bucket once it is downloaded.
+     * @return the outcome of each download in the order of {@code targets}.
+     */
+    public List<Transfer> copyFromS3(@NotNull final String bucket,
+                                     @NotNull final Map<String, File> targets,
+                                     final boolean removeFromBucket) {
+        assert StringUtils.isNotBlank(accessKey);
+        assert StringUtils.isNotBlank(secretKey);
+        assert StringUtils.isNotBlank(bucket);
+
+        beforeS3Connection();
+        List<Transfer> transfers = new S3TransferEngine(newS3Client(), transferThreads, partSize)
+                                       .download(bucket, targets, removeFromBucket);
+        afterS3Connection();
+        return transfers;
+    }
+
     /**
      * Delete the S3 object in the bucket name with the specified key.
      *
@@ -358,6 +419,20 @@ public class AwsS3Helper {
         return regex;
     }
 
+    private static String toPublicUrl(AmazonS3 s3Client, String bucket, String key) {
+        URL url = s3Client.getUrl(bucket, key);
+        if (url == null) { return null; }
+
+        // convert
+        //      https://{bucket}.s3-{region}.amazonaws.com/{object_path}  OR
+        //      https://{bucket}.s3.{region}.amazonaws.com/{object_path}
+        // into
+        //      https://s3.{region}.amazonaws.com/{bucket}/{object_path}
+        return RegexUtils.replace(url.toString(),
+                                  "(https\\:\\/\\/)(.+)\\.(s3)[\\.\\-](.+\\.amazonaws\\.com)(.+)",
+                                  "$1$3.$4/$2$5");
+    }
+
     private AmazonS3 newS3Client() { return newS3Client(region == null ? DEFAULT_REGION : region); }
 
     private AmazonS3 newS3Client(@NotNull final Regions region) {
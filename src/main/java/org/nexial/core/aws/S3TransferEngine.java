@@ -0,0 +1,301 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.aws;
+
+import org.apache.commons.io.FileUtils;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import javax.validation.constraints.NotNull;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * transfer files between S3 and the local file system, with up to {@code threads} files in flight at a time. Content
+ * is streamed straight to/from disk. Objects larger than {@code partSize} are transferred in parts of that size -
+ * downloaded via ranged GETs written in place into the target file, or uploaded via multipart upload - and the parts
+ * of all the files in flight share another pool of {@code threads} workers. Note that S3 requires the parts of a
+ * multipart upload (except the last) to be at least 5 MB.
+ */
+public class S3TransferEngine {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AmazonS3 s3;
+    private final int threads;
+    private final long partSize;
+
+    /** outcome of the transfer of a single file */
+    public static class Transfer {
+        private final String source;
+        private String target;
+        private long bytes;
+        private long elapsedTime;
+        private Exception error;
+
+        Transfer(String source, String target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        public String getSource() { return source; }
+
+        public String getTarget() { return target; }
+
+        void setTarget(String target) { this.target = target; }
+
+        public long getBytes() { return bytes; }
+
+        public long getElapsedTime() { return elapsedTime; }
+
+        public Exception getError() { return error; }
+
+        void setError(Exception error) { this.error = error; }
+
+        public boolean isSuccess() { return error == null; }
+
+        /** transfer rate in bytes per second */
+        public long getThroughput() { return bytes * 1000 / Math.max(elapsedTime, 1); }
+    }
+
+    @FunctionalInterface
+    private interface TransferTask {
+        long transfer(Transfer transfer, ExecutorService parts) throws Exception;
+    }
+
+    public S3TransferEngine(@NotNull AmazonS3 s3, int threads, long partSize) {
+        this.s3 = s3;
+        this.threads = Math.max(threads, 1);
+        this.partSize = Math.max(partSize, 1);
+    }
+
+    /**
+     * download the objects of {@code bucket} keyed by {@code targets}, each into its respective local file. Objects
+     * sharing the same target file are downloaded one after another, in the order of {@code targets}, so that the
+     * last one wins. The downloaded objects are deleted from {@code bucket} if {@code removeFromBucket} is true.
+     *
+     * @return the outcome of each download, in the order of {@code targets}
+     */
+    public List<Transfer> download(@NotNull String bucket,
+                                   @NotNull Map<String, File> targets,
+                                   boolean removeFromBucket) {
+        List<Transfer> transfers = new ArrayList<>();
+        targets.forEach((key, file) -> transfers.add(new Transfer(key, file.getAbsolutePath())));
+        return transferAll(transfers, Transfer::getTarget, (transfer, parts) -> {
+            long bytes = download(bucket, transfer.source, new File(transfer.target), parts);
+            if (removeFromBucket) { s3.deleteObject(bucket, transfer.source); }
+            return bytes;
+        });
+    }
+
+    /**
+     * upload each of {@code sources} into {@code bucket} as the key resolved via {@code toKey}, with the specified
+     * {@code storageClass} (if any).
+     *
+     * @return the outcome of each upload, in the order of {@code sources}
+     */
+    public List<Transfer> upload(@NotNull String bucket,
+                                 @NotNull List<File> sources,
+                                 @NotNull Function<File, String> toKey,
+                                 StorageClass storageClass) {
+        List<Transfer> transfers = new ArrayList<>();
+        sources.forEach(file -> transfers.add(new Transfer(file.getPath(), toKey.apply(file))));
+        return transferAll(transfers, Transfer::getTarget, (transfer, parts) ->
+            upload(new File(transfer.source), bucket, transfer.target, storageClass, parts));
+    }
+
+    protected long download(String bucket, String key, File target, ExecutorService parts) throws IOException {
+        long size = s3.getObjectMetadata(bucket, key).getContentLength();
+
+        File dir = target.getAbsoluteFile().getParentFile();
+        if (dir != null) { FileUtils.forceMkdir(dir); }
+
+        try {
+            if (size <= partSize) {
+                try (S3Object object = s3.getObject(new GetObjectRequest(bucket, key));
+                     InputStream content = object.getObjectContent()) {
+                    Files.copy(content, target.toPath(), REPLACE_EXISTING);
+                }
+            } else {
+                try (FileChannel channel = FileChannel.open(target.toPath(), CREATE, WRITE, TRUNCATE_EXISTING)) {
+                    List<Future<Long>> futures = new ArrayList<>();
+                    for (long start = 0; start < size; start += partSize) {
+                        long from = start;
+                        long to = Math.min(start + partSize, size) - 1;
+                        futures.add(parts.submit(() -> downloadRange(bucket, key, from, to, channel)));
+                    }
+                    awaitAll(futures);
+                }
+            }
+
+            if (target.length() != size) {
+                throw new IOException("Downloaded file " + target + " (" + target.length() + " bytes) does not " +
+                                      "match the size of S3 object " + key + " (" + size + " bytes)");
+            }
+            return size;
+        } catch (IOException | RuntimeException e) {
+            FileUtils.deleteQuietly(target);
+            throw e;
+        }
+    }
+
+    protected long upload(File source, String bucket, String key, StorageClass storageClass, ExecutorService parts)
+        throws IOException {
+        long size = source.length();
+        if (size <= partSize) {
+            PutObjectRequest request = new PutObjectRequest(bucket, key, source);
+            if (storageClass != null) { request.setStorageClass(storageClass); }
+            s3.putObject(request);
+            return size;
+        }
+
+        InitiateMultipartUploadRequest initRequest = new InitiateMultipartUploadRequest(bucket, key);
+        if (storageClass != null) { initRequest.setStorageClass(storageClass); }
+        String uploadId = s3.initiateMultipartUpload(initRequest).getUploadId();
+
+        try {
+            List<Future<PartETag>> futures = new ArrayList<>();
+            int partNumber = 1;
+            for (long offset = 0; offset < size; offset += partSize, partNumber++) {
+                UploadPartRequest request = new UploadPartRequest().withBucketName(bucket)
+                                                                   .withKey(key)
+                                                                   .withUploadId(uploadId)
+                                                                   .withPartNumber(partNumber)
+                                                                   .withFile(source)
+                                                                   .withFileOffset(offset)
+                                                                   .withPartSize(Math.min(partSize, size - offset))
+                                                                   .withLastPart(offset + partSize >= size);
+                futures.add(parts.submit(() -> s3.uploadPart(request).getPartETag()));
+            }
+
+            s3.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, key, uploadId, awaitAll(futures)));
+            return size;
+        } catch (IOException | RuntimeException e) {
+            s3.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId));
+            throw e;
+        }
+    }
+
+    private long downloadRange(String bucket, String key, long from, long to, FileChannel channel) throws IOException {
+        try (S3Object object = s3.getObject(new GetObjectRequest(bucket, key).withRange(from, to));
+             InputStream content = object.getObjectContent()) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long position = from;
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, read);
+                while (bytes.hasRemaining()) { position += channel.write(bytes, position); }
+            }
+
+            if (position != to + 1) {
+                throw new IOException("Incomplete content for S3 object " + key + ": expected bytes " + from + "-" +
+                                      to + " but received up to " + (position - 1));
+            }
+            return position - from;
+        }
+    }
+
+    /**
+     * run {@code task} against all {@code transfers}, with up to {@link #threads} of them in flight. Transfers of the
+     * same {@code group} run one after another, in their original order.
+     */
+    private List<Transfer> transferAll(List<Transfer> transfers, Function<Transfer, String> group, TransferTask task) {
+        Map<String, List<Transfer>> groups = new LinkedHashMap<>();
+        transfers.forEach(transfer -> groups.computeIfAbsent(group.apply(transfer), g -> new ArrayList<>())
+                                            .add(transfer));
+
+        ExecutorService files = newPool(Math.min(threads, groups.size()), "nexial-s3-transfer");
+        ExecutorService parts = newPool(threads, "nexial-s3-part");
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            groups.values().forEach(sequence -> futures.add(files.submit(() -> {
+                sequence.forEach(transfer -> run(transfer, task, parts));
+                return 0L;
+            })));
+            awaitAll(futures);
+        } catch (IOException e) {
+            // transfers are individually guarded; only an interruption would get here
+            transfers.stream()
+                     .filter(transfer -> transfer.bytes == 0 && transfer.error == null)
+                     .forEach(transfer -> transfer.error = e);
+        } finally {
+            files.shutdownNow();
+            parts.shutdownNow();
+        }
+
+        return transfers;
+    }
+
+    private static void run(Transfer transfer, TransferTask task, ExecutorService parts) {
+        long startTime = System.currentTimeMillis();
+        try {
+            transfer.bytes = task.transfer(transfer, parts);
+        } catch (Exception e) {
+            transfer.error = e;
+        } finally {
+            transfer.elapsedTime = System.currentTimeMillis() - startTime;
+        }
+    }
+
+    /** wait for all {@code futures}, cancelling the remaining ones upon the first failure */
+    private static <T> List<T> awaitAll(List<Future<T>> futures) throws IOException {
+        try {
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) { results.add(future.get()); }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("S3 transfer interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) { throw (IOException) cause; }
+            if (cause instanceof RuntimeException) { throw (RuntimeException) cause; }
+            throw new IOException(cause);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private static ExecutorService newPool(int size, String name) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(size, 1), runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -880,6 +880,21 @@ public class Excel {
         if (initCommonStyles) { initCommonStyles(); }
     }
 
+    /**
+     * wrap {@code workbook} that is already in memory (hence not read from {@code file}). {@code file} is where the
+     * workbook originates, and would be overwritten upon {@link #save()}.
+     */
+    public Excel(XSSFWorkbook workbook, File file, boolean initCommonStyles) {
+        assert workbook != null && file != null;
+
+        this.file = file;
+        this.workbook = workbook;
+        allsheets = gatherWorksheets();
+        workbookStyles = gatherCellStyles();
+
+        if (initCommonStyles) { initCommonStyles(); }
+    }
+
     public void enableRecalcBeforeSave() { recalcBeforeSave = true; }
 
     public void disableRecalcBeforeSave() { recalcBeforeSave = false; }
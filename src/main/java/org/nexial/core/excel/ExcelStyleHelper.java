@@ -219,6 +219,64 @@ public final class ExcelStyleHelper {
         }
     }
 
+    /** size the activity, description, command, flow control, elapsed time and result columns to fit the test steps */
+    public static void fitScenarioColumnWidths(XSSFSheet sheet) {
+        fitColumnWidths(sheet,
+                        ADDR_HEADER_TEST_STEP.getRowStartIndex(),
+                        new int[]{COL_IDX_TESTCASE, COL_IDX_DESCRIPTION, COL_IDX_TARGET, COL_IDX_COMMAND,
+                                  COL_IDX_FLOW_CONTROLS, COL_IDX_ELAPSED_MS, COL_IDX_RESULT},
+                        new int[]{DEF_CHAR_WIDTH_FACTOR_TAHOMA_BOLD, DEF_CHAR_WIDTH_FACTOR_TAHOMA,
+                                  DEF_CHAR_WIDTH_FACTOR_CONSOLAS, DEF_CHAR_WIDTH_FACTOR_CONSOLAS,
+                                  DEF_CHAR_WIDTH_FACTOR_CONSOLAS, DEF_CHAR_WIDTH_FACTOR_TAHOMA,
+                                  DEF_CHAR_WIDTH_FACTOR_TAHOMA});
+    }
+
+    /** size the name and value columns of the #data sheet to fit its content */
+    public static void fitDataColumnWidths(XSSFSheet sheet) {
+        fitColumnWidths(sheet, 0, new int[]{0, 1},
+                        new int[]{DEF_CHAR_WIDTH_FACTOR_TAHOMA_BOLD, DEF_CHAR_WIDTH_FACTOR_TAHOMA});
+    }
+
+    /**
+     * estimate the width of {@code columns} from the longest line of text found in each, starting from
+     * {@code startRow}. Unlike {@link XSSFSheet#autoSizeColumn(int)}, which lays out every cell with the actual font,
+     * this uses a fixed width per character and reads all the columns in a single pass over the rows. Empty columns
+     * are left as is.
+     */
+    static void fitColumnWidths(XSSFSheet sheet, int startRow, int[] columns, int[] charWidthFactors) {
+        if (sheet == null) { return; }
+
+        int[] maxLengths = new int[columns.length];
+        int lastRow = sheet.getLastRowNum();
+        for (int i = startRow; i <= lastRow; i++) {
+            XSSFRow row = sheet.getRow(i);
+            if (row == null) { continue; }
+
+            for (int j = 0; j < columns.length; j++) {
+                XSSFCell cell = row.getCell(columns[j]);
+                if (cell == null) { continue; }
+                maxLengths[j] = Math.max(maxLengths[j], longestLine(Excel.getCellValue(cell)));
+            }
+        }
+
+        for (int j = 0; j < columns.length; j++) {
+            if (maxLengths[j] < 1) { continue; }
+            sheet.setColumnWidth(columns[j], Math.min((maxLengths[j] + 1) * charWidthFactors[j], MAX_CELL_WIDTH));
+        }
+    }
+
+    private static int longestLine(String text) {
+        if (StringUtils.isEmpty(text)) { return 0; }
+
+        int longest = 0;
+        int start = 0;
+        for (int end = text.indexOf('\n'); end != -1; end = text.indexOf('\n', start)) {
+            longest = Math.max(longest, end - start);
+            start = end + 1;
+        }
+        return Math.max(longest, text.length() - start);
+    }
+
     public static boolean isStepSkipped(XSSFRow stepRow) {
         if (stepRow == null) { return false; }
         XSSFCell resultCell = stepRow.getCell(COL_IDX_RESULT);
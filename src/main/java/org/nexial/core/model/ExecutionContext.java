@@ -48,9 +48,15 @@ import org.nexial.core.logs.TrackTimeLogs;
 import org.nexial.core.mail.NexialMailer;
 import org.nexial.core.plugins.CanTakeScreenshot;
 import org.nexial.core.plugins.NexialCommand;
+import org.nexial.core.plugins.db.DataAccess;
+import org.nexial.core.plugins.db.JdbcOutcome;
+import org.nexial.core.plugins.db.JdbcResult;
+import org.nexial.core.plugins.db.JdbcRowStore;
+import org.nexial.core.plugins.db.RdbmsCommand;
 import org.nexial.core.plugins.mobile.MobileProfile;
 import org.nexial.core.plugins.mobile.MobileService;
 import org.nexial.core.plugins.pdf.CommonKeyValueIdentStrategies;
+import org.nexial.core.plugins.pdf.PdfTextCache;
 import org.nexial.core.plugins.sound.SoundMachine;
 import org.nexial.core.plugins.web.Browser;
 import org.nexial.core.reports.ExecutionMailConfig;
@@ -59,12 +65,15 @@ import org.nexial.core.spi.NexialListenerFactory;
 import org.nexial.core.utils.ConsoleUtils;
 import org.nexial.core.utils.ExecUtils;
 import org.nexial.core.utils.OutputFileUtils;
+import org.nexial.core.utils.ParsedDocumentCache;
 import org.nexial.core.variable.ExpressionException;
 import org.nexial.core.variable.ExpressionProcessor;
 import org.nexial.core.variable.Syspath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
 import org.thymeleaf.TemplateEngine;
 
@@ -73,6 +82,9 @@ import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.TypeVariable;
 import java.util.*;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -89,11 +101,15 @@ import static org.nexial.core.NexialConst.FlowControls.*;
 import static org.nexial.core.NexialConst.Iteration.*;
 import static org.nexial.core.NexialConst.LogMessage.ERROR_LOG;
 import static org.nexial.core.NexialConst.LogMessage.STARTS;
+import static org.nexial.core.NexialConst.Rdbms.OPT_POOL_WARM_UP;
+import static org.nexial.core.NexialConst.Pdf.PDF_CACHE_MAX_MB;
+import static org.nexial.core.NexialConst.Pdf.PDF_EXTRACT_THREADS;
 import static org.nexial.core.NexialConst.Project.NEXIAL_HOME;
 import static org.nexial.core.NexialConst.TimeTrack.TRACK_EXECUTION;
 import static org.nexial.core.NexialConst.Web.*;
 import static org.nexial.core.SystemVariables.*;
 import static org.nexial.core.excel.ext.CipherHelper.CRYPT_IND;
+import static org.springframework.beans.factory.config.BeanDefinition.SCOPE_PROTOTYPE;
 
 /**
  * represent the state of a test execution.  Differ from {@link ExecutionDefinition}, it contains the derived
@@ -114,6 +130,8 @@ public class ExecutionContext {
     private static final String NAME_PLUGIN_MANAGER = "nexialInternal.pluginManager";
     private static final String NAME_TRACK_TIME_LOGS = "nexialInternal.trackTimeLogs";
     private static final String NAME_CURRENT_COMMAND_PROFILES = "nexialInternal.currentCommandProfiles";
+    private static final String NAME_ROW_STORES = "nexialInternal.rowStores";
+    private static final String NAME_FORKED_PLUGINS = "nexialInternal.forkedPlugins";
 
     // function parsing
     private static final String ESCAPED_DOLLAR = "\\$";
@@ -160,6 +178,8 @@ public class ExecutionContext {
     protected List<String> readOnlyVars;
     protected List<String> referenceDataForExecution = new ArrayList<>();
     protected ClassPathXmlApplicationContext springContext;
+    // true if this context is a fork of another, with which it shares the spring context
+    protected boolean forked;
     protected PluginManager plugins;
     protected Map<String, Object> data = new ListOrderedMap<>();
     protected ExpressionProcessor expression;
@@ -168,6 +188,10 @@ public class ExecutionContext {
     protected Syspath syspath;
     protected Map<String, String> currentCommandProfiles = new HashMap<>();
     protected Map<String, MobileService> mobileServices = new HashMap<>();
+    protected ParsedDocumentCache parsedDocumentCache;
+    protected PdfTextCache pdfTextCache;
+    // file-backed query results of the current iteration
+    protected List<JdbcRowStore> rowStores = new ArrayList<>();
     // protected ProfileHelper profileHelper;
 
     // spring-managed map of webdriver related configs.
@@ -177,6 +201,10 @@ public class ExecutionContext {
 
     protected boolean isInMacro = false;
 
+    // last parsed `nexial.var.ignored`, along with the exclusion list and text delimiter it was parsed from
+    private List<String> ignoredVars;
+    private String[] ignoredVarsSource;
+
     static final String KEY_COMPLEX = "__lAIxEn__";
     static final String DOT_LITERAL_REPLACER = "__53n7ry_4h34d__";
 
@@ -271,6 +299,10 @@ public class ExecutionContext {
 
             currentCommandProfiles = (Map<String, String>) intraExecutionData.remove(NAME_CURRENT_COMMAND_PROFILES);
 
+            // query results spilled to file by the previous scripts, possibly still referenced by data variables
+            List<JdbcRowStore> previousRowStores = (List<JdbcRowStore>) intraExecutionData.remove(NAME_ROW_STORES);
+            if (previousRowStores != null) { rowStores.addAll(previousRowStores); }
+
             data.putAll(intraExecutionData);
             data.remove(BREAK_CURRENT_ITERATION);
             data.remove(LAST_ITERATION);
@@ -450,6 +482,85 @@ public class ExecutionContext {
 
     public Map<String, MobileService> getMobileServices() { return mobileServices; }
 
+    /** cache of the JSON/XML documents parsed within the current iteration; see {@link ParsedDocumentCache} */
+    public synchronized ParsedDocumentCache getParsedDocumentCache() {
+        if (parsedDocumentCache == null) {
+            long maxMb = getIntData(PARSE_CACHE_MAX_MB, getDefaultInt(PARSE_CACHE_MAX_MB));
+            parsedDocumentCache = new ParsedDocumentCache(maxMb * 1024 * 1024);
+        }
+        return parsedDocumentCache;
+    }
+
+    /** cache of the text extracted from PDF documents within the current iteration; see {@link PdfTextCache} */
+    public synchronized PdfTextCache getPdfTextCache() {
+        if (pdfTextCache == null) {
+            long maxMb = getIntData(PDF_CACHE_MAX_MB, getDefaultInt(PDF_CACHE_MAX_MB));
+            pdfTextCache = new PdfTextCache(maxMb * 1024 * 1024,
+                                            getIntData(PDF_EXTRACT_THREADS, getDefaultInt(PDF_EXTRACT_THREADS)));
+        }
+        return pdfTextCache;
+    }
+
+    /** track {@code store} so that its file is released once no data variable refers to it; see {@link JdbcRowStore} */
+    public synchronized void addRowStore(JdbcRowStore store) { if (store != null) { rowStores.add(store); } }
+
+    /** take over the file-backed query results tracked by {@code other}, such as a {@link #fork() forked} context */
+    public synchronized void adoptRowStores(ExecutionContext other) {
+        if (other == null || other == this) { return; }
+        synchronized (other) {
+            rowStores.addAll(other.rowStores);
+            other.rowStores.clear();
+        }
+    }
+
+    /** release the file-backed query results that are no longer referenced by any data variable */
+    public synchronized void releaseUnreferencedRowStores() {
+        if (rowStores.isEmpty()) { return; }
+        Set<JdbcRowStore> referenced = collectRowStores(data.values());
+        releaseRowStoresIf(store -> !referenced.contains(store));
+    }
+
+    /** release all the file-backed query results, such as at the end of the execution */
+    public synchronized void releaseRowStores() { releaseRowStoresIf(store -> true); }
+
+    /** release the file-backed query results held by {@code replaced} (a data variable value) no longer referenced */
+    protected synchronized void releaseReplacedRowStores(Object replaced) {
+        if (replaced == null || rowStores.isEmpty()) { return; }
+
+        Set<JdbcRowStore> held = collectRowStores(Collections.singletonList(replaced));
+        if (held.isEmpty()) { return; }
+
+        Set<JdbcRowStore> referenced = collectRowStores(data.values());
+        releaseRowStoresIf(store -> held.contains(store) && !referenced.contains(store));
+    }
+
+    private void releaseRowStoresIf(Predicate<JdbcRowStore> releasable) {
+        rowStores.removeIf(store -> {
+            if (!releasable.test(store)) { return false; }
+            store.close();
+            return true;
+        });
+    }
+
+    /** file-backed query results held by {@code values}, either directly or via query results (by identity) */
+    private static Set<JdbcRowStore> collectRowStores(Collection<?> values) {
+        Set<JdbcRowStore> stores = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Object value : values) {
+            if (value instanceof JdbcRowStore) {
+                stores.add((JdbcRowStore) value);
+            } else if (value instanceof JdbcResult) {
+                collectRowStore((JdbcResult) value, stores);
+            } else if (value instanceof JdbcOutcome) {
+                ((JdbcOutcome) value).forEach(result -> collectRowStore(result, stores));
+            }
+        }
+        return stores;
+    }
+
+    private static void collectRowStore(JdbcResult result, Set<JdbcRowStore> stores) {
+        if (result != null && result.getData() instanceof JdbcRowStore) { stores.add((JdbcRowStore) result.getData()); }
+    }
+
     public Excel getTestScript() { return testScript; }
 
     public List<TestScenario> getTestScenarios() { return testScenarios; }
@@ -799,6 +910,7 @@ public class ExecutionContext {
     public String removeDataForcefully(String name) {
         name = adjustForMacroFlex(name);
         Object removedObj = data.remove(name);
+        releaseReplacedRowStores(removedObj);
         String removed;
         if (removedObj == null) {
             removed = null;
@@ -850,7 +962,7 @@ public class ExecutionContext {
             removeData(name);
         } else {
             value = mergeProperty(value);
-            data.put(name, value);
+            releaseReplacedRowStores(data.put(name, value));
 
             // logic updated; see below
             // if (updateSysProps || referenceDataForExecution.contains(name)) { System.setProperty(name, value); }
@@ -896,35 +1008,52 @@ public class ExecutionContext {
         return asBlank(value) || asEmpty(value) || asNull(value);
     }
 
+    /**
+     * true if {@code text} contains no data variable, built-in function, crypt or expression; i.e.
+     * {@link #replaceTokens(String)} would only normalize its line endings.
+     */
+    public boolean isLiteral(String text) { return TokenTemplate.parse(text).isLiteral(); }
+
     public String replaceTokens(String text) { return replaceTokens(text, false); }
 
     public String replaceTokens(String text, boolean retainCrypt) {
         if (StringUtils.isBlank(text)) { return text; }
         if (StringUtils.equals(text, getNullValueToken())) { return null; }
 
-        text = treatCommonValueShorthand(text);
+        // parse-once: the same cell text is likely to be resolved over and over again (across iterations, loops)
+        TokenTemplate template = TokenTemplate.compile(text);
+        text = template.getShorthand();
         if (text == null) { return null; }
 
+        // nothing to resolve
+        if (template.isLiteral()) { return enforceUnixEOL(text); }
+
         // pre-first pass  ;-)
         // substitute crypt value
-        if (!retainCrypt) { text = handleCryptValue(text); }
+        if (!retainCrypt && template.hasCrypt()) { text = handleCryptValue(text); }
 
         // first pass: cycle through the dyn var
-        text = handleFunction(text);
+        if (template.hasFunction()) { text = handleFunction(text); }
+
+        // derived text (decrypted or function-resolved) is parsed but not cached
+        if (!StringUtils.equals(text, template.getShorthand())) { template = TokenTemplate.parse(text); }
 
         // second pass: simple value ONLY
         Map<String, Object> collectionValues = new HashMap<>();
         Map<String, Object> complexValues = new HashMap<>();
-        Set<String> tokens = findTokens(text);
-
-        List<String> ignoredVars = TextUtils.toList(getRawStringData(OPT_VAR_EXCLUDE_LIST), getTextDelim(), false);
-        if (CollectionUtils.isNotEmpty(ignoredVars)) { ignoredVars.forEach(tokens::remove); }
+        Set<String> tokens = template.newTokenSet();
 
-        boolean allTokenResolvedToNull = CollectionUtils.isNotEmpty(tokens);
+        boolean allTokenResolvedToNull = false;
         boolean unresolvedAsIs = getDefaultBool(OPT_VAR_DEFAULT_AS_IS);
-        if (hasData(OPT_VAR_DEFAULT_AS_IS)) {
-            Object config = getObjectData(OPT_VAR_DEFAULT_AS_IS);
-            if (config != null) { unresolvedAsIs = BooleanUtils.toBoolean(config.toString()); }
+        if (!tokens.isEmpty()) {
+            List<String> ignoredVars = resolveIgnoredVars();
+            if (CollectionUtils.isNotEmpty(ignoredVars)) { ignoredVars.forEach(tokens::remove); }
+
+            allTokenResolvedToNull = CollectionUtils.isNotEmpty(tokens);
+            if (hasData(OPT_VAR_DEFAULT_AS_IS)) {
+                Object config = getObjectData(OPT_VAR_DEFAULT_AS_IS);
+                if (config != null) { unresolvedAsIs = BooleanUtils.toBoolean(config.toString()); }
+            }
         }
 
         for (String token : tokens) {
@@ -979,17 +1108,17 @@ public class ExecutionContext {
                 // it's possible that we might get a reference to an item of a string-based array (like "a,b,c,d")
                 // check to see if there's any reference to the ${var}[index] pattern
                 if (isListCompatible(stringValue)) {
-                    String regexIndexRef = ESCAPED_TOKEN_START + token + ESCAPED_TOKEN_END + "\\[.+?\\]";
-                    boolean hasIndexRef = RegexUtils.match(text, regexIndexRef, true);
+                    Matcher indexRefMatcher = template.indexRefPattern(token).matcher(text);
 
                     // if there's substitution for ${...}[#] and the `value` can be treated as list
-                    if (hasIndexRef) {
+                    if (indexRefMatcher.find()) {
                         String beforeIndex = TOKEN_START + token + TOKEN_END + TOKEN_ARRAY_START;
                         String afterIndex = TOKEN_ARRAY_END;
 
                         String[] array = StringUtils.splitPreserveAllTokens(stringValue, getTextDelim());
 
-                        List<String> indexRefs = RegexUtils.eagerCollectGroups(text, regexIndexRef, false, true);
+                        List<String> indexRefs = new ArrayList<>();
+                        do { indexRefs.add(indexRefMatcher.group()); } while (indexRefMatcher.find());
                         for (String indexRef : indexRefs) {
                             String indexStr = StringUtils.substringBetween(indexRef, beforeIndex, afterIndex);
                             String indexStr2;
@@ -1204,10 +1333,81 @@ public class ExecutionContext {
         intraExecutionData.put(NAME_PLUGIN_MANAGER, plugins);
         intraExecutionData.put(NAME_SPRING_CONTEXT, springContext);
         intraExecutionData.put(NAME_CURRENT_COMMAND_PROFILES, currentCommandProfiles);
+        intraExecutionData.put(NAME_ROW_STORES, rowStores);
         intraExecutionData.remove(IS_FIRST_ITERATION);
         intraExecutionData.remove(IS_LAST_ITERATION);
     }
 
+    /**
+     * create a new context for the same execution, with its own plugins and with a copy of the data of this context.
+     * The spring context, and the beans obtained from it, are shared with this context. Such context is meant to run
+     * alongside this one (e.g. parallel iterations) and should be {@link #dispose() disposed} after use.
+     */
+    public ExecutionContext fork() {
+        ExecutionContext fork = new ExecutionContext();
+        fork.execDef = execDef;
+        fork.project = project;
+        fork.hostname = hostname;
+        fork.springContext = springContext;
+        fork.forked = true;
+
+        fork.failfastCommands = failfastCommands;
+        fork.builtinFunctions = builtinFunctions;
+        fork.otc = otc;
+        fork.smsHelper = smsHelper;
+        fork.nexialMailer = nexialMailer;
+        fork.defaultContextProps = defaultContextProps;
+        fork.referenceDataForExecution = referenceDataForExecution;
+        fork.readOnlyVars = readOnlyVars;
+        fork.webdriverHelperConfig = webdriverHelperConfig;
+        fork.dbdriverHelperConfig = dbdriverHelperConfig;
+        fork.templateEngine = templateEngine;
+
+        // own listener, so that notifications are based on (and handled by) the data of the fork
+        if (executionEventListener != null) {
+            fork.executionEventListener = new ExecutionEventListener();
+            fork.executionEventListener.setContext(fork);
+            fork.executionEventListener.setMailIncludeMeta(executionEventListener.getMailIncludeMeta());
+            fork.executionEventListener.setSmsIncludeMeta(executionEventListener.getSmsIncludeMeta());
+        }
+
+        fork.plugins = newPluginManager();
+        fork.plugins.setContext(fork);
+
+        fork.replaceData(copyData());
+        fork.expression = new ExpressionProcessor(fork);
+        fork.executionLogger = new ExecutionLogger(fork);
+        return fork;
+    }
+
+    /** add the step counts of {@code other} (e.g. a {@link #fork() forked} context) to that of this context */
+    public void addScriptCounts(ExecutionContext other) {
+        if (other == null) { return; }
+        scriptStepCount += other.scriptStepCount;
+        scriptPassCount += other.scriptPassCount;
+        scriptWarnCount += other.scriptWarnCount;
+        scriptFailCount += other.scriptFailCount;
+    }
+
+    /** shallow copy of the data of this context */
+    public Map<String, Object> copyData() {
+        Map<String, Object> copy = new ListOrderedMap<>();
+        copy.putAll(data);
+        return copy;
+    }
+
+    /** replace all the data of this context with {@code newData}, such as those captured via {@link #copyData()} */
+    public void replaceData(Map<String, Object> newData) {
+        data.clear();
+        if (MapUtils.isNotEmpty(newData)) { data.putAll(newData); }
+    }
+
+    /** release the script of a {@link #fork() forked} context; the shared spring context is left open */
+    public void dispose() {
+        endScript();
+        if (springContext != null && !forked) { springContext.close(); }
+    }
+
     public Map<String, String> gatherScenarioReferenceData() { return gatherReferenceData(SCENARIO_REF_PREFIX); }
 
     public Map<String, String> gatherScriptReferenceData() { return gatherReferenceData(SCRIPT_REF_PREFIX); }
@@ -1236,10 +1436,32 @@ public class ExecutionContext {
         // handling events
         ExecutionEventListener eventListener = getExecutionEventListener();
         if (firstUse) { eventListener.onExecutionStart(); }
-        if (iterationIndex == 1) { eventListener.onScriptStart(); }
+        if (iterationIndex == 1) {
+            eventListener.onScriptStart();
+            warmUpConnectionPools();
+        }
         eventListener.onIterationStart();
     }
 
+    /** open ahead the connection pool of the db profiles configured to warm up (i.e. {@code <db>.pool.warmUp}) */
+    protected void warmUpConnectionPools() {
+        Collection<String> names = getDataNamesByRegex("^.+" + Pattern.quote(OPT_POOL_WARM_UP) + "$");
+        if (names.isEmpty()) { return; }
+
+        NexialCommand plugin = findPlugin("rdbms");
+        if (!(plugin instanceof RdbmsCommand)) { return; }
+
+        DataAccess dataAccess = ((RdbmsCommand) plugin).getDataAccess();
+        names.forEach(name -> {
+            String db = StringUtils.removeEnd(name, OPT_POOL_WARM_UP);
+            try {
+                dataAccess.warmUp(db);
+            } catch (Exception e) {
+                ConsoleUtils.error("Unable to warm up connection pool for '" + db + "': " + e.getMessage());
+            }
+        });
+    }
+
     public void endIteration() {
         if (getBooleanData(OPT_INTERACTIVE, false)) { return; }
 
@@ -1259,6 +1481,20 @@ public class ExecutionContext {
 
         currentTestStep = null;
 
+        // parsed documents are not expected to be reused across iterations
+        if (parsedDocumentCache != null) {
+            if (parsedDocumentCache.getHits() > 0) { ConsoleUtils.log("parsed document cache: " + parsedDocumentCache); }
+            parsedDocumentCache.clear();
+        }
+
+        if (pdfTextCache != null) {
+            if (pdfTextCache.getHits() > 0) { ConsoleUtils.log("PDF text cache: " + pdfTextCache); }
+            pdfTextCache.clear();
+        }
+
+        // query results spilled to file are kept for as long as a data variable refers to them
+        releaseUnreferencedRowStores();
+
         getExecutionEventListener().onIterationComplete();
         removeTrackTimeLogs();
 
@@ -1670,17 +1906,17 @@ public class ExecutionContext {
         }
 
         if (remove) {
-            data.remove(MACRO_FLEX_PREFIX + name);
-            data.remove(name);
+            releaseReplacedRowStores(data.remove(MACRO_FLEX_PREFIX + name));
+            releaseReplacedRowStores(data.remove(name));
             System.clearProperty(name);
             return;
         }
 
         if (StringUtils.isEmpty(System.getProperty(name))) {
             if (prefixedForMacroFlex(name)) {
-                data.put(MACRO_FLEX_PREFIX + name, value);
+                releaseReplacedRowStores(data.put(MACRO_FLEX_PREFIX + name, value));
             } else {
-                data.put(name, value);
+                releaseReplacedRowStores(data.put(name, value));
             }
 
             // some reference data are considered "special" and should be elevated to "execution" level so that they
@@ -1734,6 +1970,27 @@ public class ExecutionContext {
         setData(prefix + name, value);
     }
 
+    /**
+     * data variables to be excluded from token replacement, as per {@code nexial.var.ignored}.
+     * The parsed list is kept until either the exclusion list or the text delimiter changes.
+     */
+    protected List<String> resolveIgnoredVars() {
+        String ignored = getRawStringData(OPT_VAR_EXCLUDE_LIST);
+        if (StringUtils.isEmpty(ignored)) { return Collections.emptyList(); }
+
+        String delim = getTextDelim();
+        String[] source = ignoredVarsSource;
+        List<String> parsed = ignoredVars;
+        if (source == null || parsed == null ||
+            !StringUtils.equals(source[0], ignored) || !StringUtils.equals(source[1], delim)) {
+            parsed = Collections.unmodifiableList(TextUtils.toList(ignored, delim, false));
+            ignoredVars = parsed;
+            ignoredVarsSource = new String[]{ignored, delim};
+        }
+
+        return parsed;
+    }
+
     protected static Set<String> findTokens(String text) {
         String[] tokenArray = StringUtils.substringsBetween(text, TOKEN_START, TOKEN_END);
         Set<String> tokens = new HashSet<>();
@@ -2200,6 +2457,28 @@ public class ExecutionContext {
         ExecutionMailConfig.configure(this);
     }
 
+    /**
+     * new plugin manager with its own instances of the plugins, configured as the plugins of this context. The
+     * plugin definition of the spring context is registered once more as prototype, so that each lookup creates a
+     * new set of plugins.
+     */
+    private PluginManager newPluginManager() {
+        DefaultListableBeanFactory beanFactory = (DefaultListableBeanFactory) springContext.getBeanFactory();
+        synchronized (beanFactory) {
+            if (!beanFactory.containsBeanDefinition(NAME_FORKED_PLUGINS)) {
+                GenericBeanDefinition definition =
+                    new GenericBeanDefinition(beanFactory.getMergedBeanDefinition("plugins"));
+                definition.setScope(SCOPE_PROTOTYPE);
+                beanFactory.registerBeanDefinition(NAME_FORKED_PLUGINS, definition);
+            }
+        }
+
+        PluginManager pluginManager = new PluginManager();
+        pluginManager.setApplicationContext(springContext);
+        pluginManager.setPlugins(springContext.getBean(NAME_FORKED_PLUGINS, Map.class));
+        return pluginManager;
+    }
+
     private void initSpringBeans() {
         failfastCommands = springContext.getBean("failfastCommands", new ArrayList<String>().getClass());
 
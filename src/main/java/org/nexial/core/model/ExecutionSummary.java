@@ -148,6 +148,8 @@ public class ExecutionSummary {
     private String outputPath;
     private Map<String, Map<String, String>> screenRecordings;
     private WebServiceLogs wsLogs;
+    // statistics of the rdbms connection pools, keyed by db profile; only available at execution level
+    private Map<String, String> connectionPools;
 
     private final transient List<StepDetails> stepDetails = new LinkedList<>();
     private transient boolean stepDetailsHasError = false;
@@ -510,6 +512,10 @@ public class ExecutionSummary {
 
     public WebServiceLogs getWsLogs() { return wsLogs; }
 
+    public Map<String, String> getConnectionPools() { return connectionPools; }
+
+    public void setConnectionPools(Map<String, String> connectionPools) { this.connectionPools = connectionPools; }
+
     public String toString() {
         StringBuilder text = new StringBuilder();
 
@@ -587,10 +593,15 @@ public class ExecutionSummary {
 
             // set column widths
             for (int i = 0; i < COLUMN_WIDTHS.size(); i++) { summarySheet.setColumnWidth(i, COLUMN_WIDTHS.get(i)); }
+        } catch (Throwable e) {
+            ConsoleUtils.error("Unable to generate Excel report to " + testScript + ": " + e.getMessage());
+        }
 
+        // this is the only save per iteration; the scenario results are written along with the summary
+        try {
             testScript.save();
         } catch (Throwable e) {
-            ConsoleUtils.error("Unable to generate Excel report to " + testScript + ": " + e.getMessage());
+            ConsoleUtils.error("Unable to save Excel report to " + testScript + ": " + e.getMessage());
         }
     }
 
@@ -643,6 +654,10 @@ public class ExecutionSummary {
         String javaOpt = System.getProperty("execution." + JAVA_OPT);
         if (StringUtils.isNotBlank(javaOpt)) { map.put(JAVA_OPT, javaOpt); }
 
+        if (MapUtils.isNotEmpty(summary.connectionPools)) {
+            summary.connectionPools.forEach((db, stats) -> map.put("connection pool::" + db, stats));
+        }
+
         return map;
     }
 
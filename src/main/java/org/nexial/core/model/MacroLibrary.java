@@ -0,0 +1,230 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.validation.constraints.NotNull;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.nexial.core.ExecutionInputPrep;
+import org.nexial.core.excel.Excel;
+import org.nexial.core.excel.Excel.Worksheet;
+import org.nexial.core.excel.ExcelAddress;
+
+import static org.nexial.core.NexialConst.Data.DEF_OPEN_EXCEL_AS_DUP;
+import static org.nexial.core.excel.ExcelConfig.*;
+
+/**
+ * read-only view of all the macros in one macro sheet, with every macro name indexed to its steps. Libraries are
+ * cached by (file, sheet) and validated against the last modified time, size and (when the last modified time alone
+ * is not conclusive) the checksum of the macro file, so that changes to a macro file during execution or in
+ * interactive mode are picked up on the next invocation. The parsed macro sheet is kept as template, from which the
+ * steps of a macro are copied for each invocation (see {@link #copySteps(File, String)}).
+ */
+public final class MacroLibrary {
+    /** last modified time of a file may only be accurate to 2 seconds (e.g. FAT) */
+    private static final long MTIME_GRANULARITY_MS = 2000;
+    private static final int MACRO_COLUMN_COUNT = COL_IDX_REASON + 1;
+    private static final Map<String, MacroLibrary> LIBRARIES = new ConcurrentHashMap<>();
+
+    private final Stamp stamp;
+    private final Map<String, List<MacroRow>> macros;
+    private final XSSFSheet template;
+
+    /** one macro step, as read from the macro sheet */
+    public static final class MacroRow {
+        private final int rowIndex;
+        private final List<String> values;
+        private final boolean disabled;
+
+        private MacroRow(int rowIndex, List<String> values, boolean disabled) {
+            this.rowIndex = rowIndex;
+            this.values = Collections.unmodifiableList(values);
+            this.disabled = disabled;
+        }
+
+        /** zero-based row index of this step in the macro sheet */
+        public int getRowIndex() { return rowIndex; }
+
+        /** cell values of this step, from column A to {@link org.nexial.core.excel.ExcelConfig#COL_REASON} */
+        public List<String> getValues() { return values; }
+
+        public String getValue(int columnIndex) { return values.get(columnIndex); }
+
+        /** true if the command of this step is struck out */
+        public boolean isDisabled() { return disabled; }
+    }
+
+    private static final class Stamp {
+        private final long lastModified;
+        private final long length;
+        private final long checksum;
+        private final long stampedAt;
+
+        private Stamp(File file) throws IOException {
+            stampedAt = System.currentTimeMillis();
+            lastModified = file.lastModified();
+            length = file.length();
+            checksum = FileUtils.checksumCRC32(file);
+        }
+
+        private boolean matches(File file) throws IOException {
+            if (file.lastModified() != lastModified || file.length() != length) { return false; }
+            // a change made shortly after this stamp was taken might not alter the last modified time
+            if (lastModified + MTIME_GRANULARITY_MS < stampedAt) { return true; }
+            return FileUtils.checksumCRC32(file) == checksum;
+        }
+    }
+
+    private MacroLibrary(Stamp stamp, Map<String, List<MacroRow>> macros, XSSFSheet template) {
+        this.stamp = stamp;
+        this.macros = macros;
+        this.template = template;
+    }
+
+    /** the macros of {@code sheet} in {@code macroFile}, re-read only if the macro file has changed since last read */
+    @NotNull
+    public static MacroLibrary of(File macroFile, String sheet) throws IOException {
+        String key = macroFile.getCanonicalPath() + "::" + sheet;
+        MacroLibrary library = LIBRARIES.get(key);
+        if (library != null && library.stamp.matches(macroFile)) { return library; }
+
+        library = read(macroFile, sheet);
+        LIBRARIES.put(key, library);
+        return library;
+    }
+
+    /** steps of {@code macroName}, or an empty list if no such macro is found */
+    @NotNull
+    public List<MacroRow> getSteps(String macroName) {
+        List<MacroRow> steps = macros.get(macroName);
+        return steps == null ? Collections.emptyList() : steps;
+    }
+
+    public boolean hasMacro(String macroName) { return macros.containsKey(macroName); }
+
+    /**
+     * in-memory copy of the steps of {@code macroName} (values, styles and comments), for one invocation to record its
+     * step results in. The steps remain at the same rows as in the macro sheet; the rows before them are left blank.
+     * {@code macroFile} is where the copy originates, as the file of the returned workbook.
+     */
+    @NotNull
+    public Excel copySteps(File macroFile, String macroName) {
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        XSSFSheet sheet = workbook.createSheet(template.getSheetName());
+
+        List<MacroRow> steps = getSteps(macroName);
+        if (!steps.isEmpty()) {
+            for (int i = 0; i < steps.get(0).getRowIndex(); i++) { sheet.createRow(i); }
+
+            Map<Short, XSSFCellStyle> styles = new HashMap<>();
+            // template is shared by all invocations, possibly from parallel iterations
+            synchronized (template) {
+                for (MacroRow step : steps) {
+                    XSSFRow templateRow = template.getRow(step.getRowIndex());
+                    XSSFRow row = sheet.createRow(step.getRowIndex());
+                    for (int i = 0; i < MACRO_COLUMN_COUNT; i++) {
+                        XSSFCell cell = row.createCell(i);
+                        XSSFCell templateCell = templateRow == null ? null : templateRow.getCell(i);
+                        if (templateCell == null) { continue; }
+
+                        XSSFCellStyle templateStyle = templateCell.getCellStyle();
+                        cell.setCellStyle(styles.computeIfAbsent(templateStyle.getIndex(), index -> {
+                            XSSFCellStyle style = workbook.createCellStyle();
+                            style.cloneStyleFrom(templateStyle);
+                            return style;
+                        }));
+
+                        Excel.copyCellValue(templateCell, cell);
+
+                        XSSFComment comment = templateCell.getCellComment();
+                        if (comment != null) {
+                            Excel.createComment(cell, comment.getString().getString(), comment.getAuthor());
+                        }
+                    }
+                }
+            }
+        }
+
+        return new Excel(workbook, macroFile, true);
+    }
+
+    public int size() { return macros.size(); }
+
+    /** drop all cached macro libraries */
+    public static void clear() { LIBRARIES.clear(); }
+
+    private static MacroLibrary read(File macroFile, String sheet) throws IOException {
+        Stamp stamp = new Stamp(macroFile);
+
+        Excel macroExcel = new Excel(macroFile, DEF_OPEN_EXCEL_AS_DUP, false);
+        boolean read = false;
+        try {
+            Worksheet macroSheet = macroExcel.worksheet(sheet);
+            if (macroSheet == null) {
+                throw new IOException("Unable to read macro sheet '" + sheet + "' from file '" +
+                                      macroFile.getAbsolutePath() + "'");
+            }
+
+            int lastMacroRow = macroSheet.findLastDataRow(ADDR_MACRO_COMMAND_START);
+            List<List<XSSFCell>> macroStepArea = macroSheet.cells(new ExcelAddress("A2:" + COL_REASON + lastMacroRow));
+
+            Map<String, List<MacroRow>> macros = new HashMap<>();
+            String currentMacro = null;
+            List<MacroRow> steps = null;
+            for (List<XSSFCell> row : macroStepArea) {
+                String macroName = Excel.getCellValue(row.get(COL_IDX_TESTCASE));
+                if (StringUtils.isNotBlank(macroName) && !StringUtils.equals(macroName, currentMacro)) {
+                    // in case of duplicates, the first macro of the same name is used
+                    currentMacro = macroName;
+                    steps = macros.containsKey(macroName) ? null : new ArrayList<>();
+                    if (steps != null) { macros.put(macroName, steps); }
+                }
+
+                if (steps != null) { steps.add(toMacroRow(row)); }
+            }
+
+            macros.replaceAll((name, macroSteps) -> Collections.unmodifiableList(macroSteps));
+            read = true;
+            // parsed workbook is kept (in memory) as template
+            return new MacroLibrary(stamp, macros, macroSheet.getSheet());
+        } finally {
+            if (!read) { macroExcel.close(); }
+        }
+    }
+
+    private static MacroRow toMacroRow(List<XSSFCell> row) {
+        List<String> values = new ArrayList<>(MACRO_COLUMN_COUNT);
+        for (int i = 0; i < MACRO_COLUMN_COUNT; i++) { values.add(Excel.getCellValue(row.get(i))); }
+        return new MacroRow(row.get(0).getRowIndex(), values, ExecutionInputPrep.isMacroStepDisabled(row));
+    }
+}
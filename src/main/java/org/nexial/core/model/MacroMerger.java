@@ -32,6 +32,7 @@ import org.nexial.core.excel.Excel.Worksheet;
 import org.nexial.core.excel.ExcelAddress;
 import org.nexial.core.excel.ExcelArea;
 import org.nexial.core.excel.ExcelStyleHelper;
+import org.nexial.core.model.MacroLibrary.MacroRow;
 import org.nexial.core.utils.ConsoleUtils;
 import org.nexial.core.utils.InputFileUtils;
 
@@ -46,7 +47,6 @@ import static java.io.File.separator;
 import static org.apache.poi.ss.usermodel.CellType.STRING;
 import static org.apache.poi.ss.usermodel.Row.MissingCellPolicy.CREATE_NULL_AS_BLANK;
 import static org.nexial.core.CommandConst.*;
-import static org.nexial.core.NexialConst.Data.DEF_OPEN_EXCEL_AS_DUP;
 import static org.nexial.core.NexialConst.Data.SECTION_DESCRIPTION_PREFIX;
 import static org.nexial.core.NexialConst.Project.SCRIPT_FILE_EXT;
 import static org.nexial.core.NexialConst.Project.SCRIPT_FILE_SUFFIX;
@@ -56,8 +56,6 @@ import static org.nexial.core.excel.ExcelConfig.*;
 public class MacroMerger {
     private static final String TEST_STEPS_PREFIX = FIRST_STEP_ROW + ":" + COL_REASON;
     private static final String CONDITION_DISABLE = "SkipIf(true) ";
-    // (2018/12/9,automike): remove to support dynamic macro changes during execution and interactive mode
-    // private static final Map<String, List<List<String>>> MACRO_CACHE = new HashMap<>();
 
     private Excel excel;
     private ExecutionDefinition execDef;
@@ -374,56 +372,20 @@ public class MacroMerger {
 
         File macroFile = resolveMacroFile(project, StringUtils.appendIfMissing(paramFile, SCRIPT_FILE_EXT));
 
-        // (2018/12/9,automike): remove to support dynamic macro changes during execution and interactive mode
-        // String macroKey = macroFile + ":" + paramSheet + ":" + paramMacro;
-        // if (MACRO_CACHE.containsKey(macroKey)) {
-        //     shortcut: in case the same macro is referenced
-        // ConsoleUtils.log("reading macro from cache: " + macroKey);
-        // return MACRO_CACHE.get(macroKey);
-        // }
-
-        // open specified sheet
-        Excel macroExcel = new Excel(macroFile, DEF_OPEN_EXCEL_AS_DUP, false);
-        Worksheet macroSheet = macroExcel.worksheet(paramSheet);
-        int lastMacroRow = macroSheet.findLastDataRow(ADDR_MACRO_COMMAND_START);
-        ExcelArea macroArea = new ExcelArea(macroSheet, new ExcelAddress("A2:L" + lastMacroRow), false);
-        List<List<XSSFCell>> macroStepArea = macroArea.getWholeArea();
+        // macro library is cached, but re-read whenever the macro file changes (dynamic macro changes during
+        // execution and interactive mode)
         List<List<String>> macroSteps = new ArrayList<>();
-        boolean macroFound = false;
-
-        // 6. read test steps based on macro name
-        for (List<XSSFCell> macroRow : macroStepArea) {
-            String currentMacroName = Excel.getCellValue(macroRow.get(COL_IDX_TESTCASE));
-            if (StringUtils.equals(currentMacroName, paramMacro)) {
-                macroFound = true;
-                macroSteps.add(collectMacroStep(macroRow));
-                continue;
-            }
-
-            if (macroFound) {
-                if (StringUtils.isBlank(currentMacroName)) {
-                    macroSteps.add(collectMacroStep(macroRow));
-                } else {
-                    return macroSteps;
-                    // (2018/12/9,automike): remove to support dynamic macro changes during execution and interactive mode
-                    // MACRO_CACHE.put(macroKey, macroSteps);
-                    // macroSteps = new ArrayList<>();
-                    // macroFound = false;
-                    // break;
-                }
-            }
+        for (MacroRow macroRow : MacroLibrary.of(macroFile, paramSheet).getSteps(paramMacro)) {
+            macroSteps.add(collectMacroStep(macroRow));
         }
-
-        // (2018/12/16,automike): memory consumption precaution
-        macroExcel.close();
-
         return macroSteps;
+    }
 
-        // (2018/12/9,automike): remove to support dynamic macro changes during execution and interactive mode
-        // capture last one
-        // if (macroFound && !macroSteps.isEmpty()) { MACRO_CACHE.put(macroKey, macroSteps); }
-        // if (!MACRO_CACHE.containsKey(macroKey)) { ConsoleUtils.error("Unable to resolve macro via " + macroKey);}
-        // return MACRO_CACHE.get(macroKey);
+    protected List<String> collectMacroStep(MacroRow macroRow) {
+        List<String> oneStep = new ArrayList<>(macroRow.getValues().subList(COL_IDX_DESCRIPTION,
+                                                                            COL_IDX_CAPTURE_SCREEN + 1));
+        if (macroRow.isDisabled()) { oneStep.set(COL_IDX_FLOW_CONTROLS - COL_IDX_DESCRIPTION, CONDITION_DISABLE); }
+        return oneStep;
     }
 
     protected List<String> collectMacroStep(List<XSSFCell> macroRow) {
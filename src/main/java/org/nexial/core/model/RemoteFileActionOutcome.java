@@ -19,9 +19,12 @@ package org.nexial.core.model;
 
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.collections4.list.TreeList;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -42,6 +45,9 @@ public class RemoteFileActionOutcome implements Serializable {
     private TransferAction action;
     private String remotePath;
     private String localPath;
+    private long transferredBytes;
+    private int channels;
+    private Map<String, Long> fileThroughput = new LinkedHashMap<>();
 
     public enum TransferProtocol {SFTP, SCP, AWS}
 
@@ -137,6 +143,59 @@ public class RemoteFileActionOutcome implements Serializable {
         return this;
     }
 
+    /** total size (in bytes) of the files transferred */
+    public long getTransferredBytes() { return transferredBytes; }
+
+    public RemoteFileActionOutcome addTransferred(long bytes) {
+        this.transferredBytes += bytes;
+        return this;
+    }
+
+    /**
+     * track the successful transfer of {@code file}, which took {@code elapsedTime} ms to transfer {@code bytes} bytes
+     */
+    public RemoteFileActionOutcome addFileTransfer(String file, long bytes, long elapsedTime) {
+        addAffected(file);
+        addTransferred(bytes);
+        fileThroughput.put(file, bytes * 1000 / Math.max(elapsedTime, 1));
+        return this;
+    }
+
+    /** transfer rate (bytes per second) of each file tracked via {@link #addFileTransfer(String, long, long)} */
+    public Map<String, Long> getFileThroughput() { return fileThroughput; }
+
+    /** transfer rate in bytes per second, based on the elapsed time of the entire action */
+    public long getThroughput() { return elapsedTime < 1 ? 0 : transferredBytes * 1000 / elapsedTime; }
+
+    /** number of concurrent connections/channels used to transfer the files */
+    public int getChannels() { return channels; }
+
+    public RemoteFileActionOutcome setChannels(int channels) {
+        this.channels = channels;
+        return this;
+    }
+
+    /** new outcome for the same protocol, action and paths, to track the transfer of a subset of the files */
+    public RemoteFileActionOutcome newPartial() {
+        RemoteFileActionOutcome partial = new RemoteFileActionOutcome();
+        partial.protocol = protocol;
+        partial.action = action;
+        partial.remotePath = remotePath;
+        partial.localPath = localPath;
+        return partial;
+    }
+
+    /** fold the affected/failed files, errors and transferred bytes of {@code partial} into this outcome */
+    public RemoteFileActionOutcome merge(RemoteFileActionOutcome partial) {
+        if (partial == null) { return this; }
+        affected.addAll(partial.affected);
+        failed.addAll(partial.failed);
+        if (StringUtils.isNotEmpty(partial.errors)) { errors = StringUtils.defaultString(errors) + partial.errors; }
+        transferredBytes += partial.transferredBytes;
+        fileThroughput.putAll(partial.fileThroughput);
+        return this;
+    }
+
     public TransferProtocol getProtocol() { return protocol; }
 
     public RemoteFileActionOutcome setProtocol(TransferProtocol protocol) {
@@ -178,6 +237,10 @@ public class RemoteFileActionOutcome implements Serializable {
             "elapsedTime=" + elapsedTime,
             "remotePath=" + StringUtils.defaultString(remotePath),
             "localPath=" + StringUtils.defaultString(localPath),
+            (transferredBytes > 0 ? "transferredBytes=" + transferredBytes : ""),
+            (transferredBytes > 0 ? "throughput=" + getThroughput() + " bytes/s" : ""),
+            (channels > 1 ? "channels=" + channels : ""),
+            (MapUtils.isNotEmpty(fileThroughput) ? "fileThroughput(bytes/s)=" + fileThroughput : ""),
             (CollectionUtils.isNotEmpty(affected) ? "affected=" + affected : ""),
             (CollectionUtils.isNotEmpty(failed) ? "failed=" + failed : ""),
             (StringUtils.isNotBlank(errors) ? "errors=" + StringUtils.defaultString(errors) : ""));
@@ -46,7 +46,6 @@ import static org.nexial.core.CommandConst.CMD_SECTION;
 import static org.nexial.core.NexialConst.Data.END_SCRIPT_IMMEDIATE;
 import static org.nexial.core.NexialConst.LogMessage.EXECUTING_TEST_SCENARIO;
 import static org.nexial.core.NexialConst.RB;
-import static org.nexial.core.NexialConst.OPT_INPUT_EXCEL_FILE;
 import static org.nexial.core.excel.ExcelConfig.*;
 import static org.nexial.core.model.ExecutionSummary.ExecutionLevel.SCENARIO;
 
@@ -251,7 +250,8 @@ public class TestScenario {
 
             validateActivity(activity,
                              CollectionUtil.toList(testCaseMap.keySet()),
-                             scenarioRef + "[" + cellActivity.getReference() + "]:");
+                             scenarioRef + "[" + cellActivity.getReference() + "]:",
+                             worksheet.getFile().getAbsolutePath());
             if (StringUtils.isNotBlank(activity)) {
                 currentActivity = new TestCase();
                 currentActivity.setName(TextUtils.toOneLine(activity, true));
@@ -270,7 +270,11 @@ public class TestScenario {
         }
     }
 
-    public static void validateActivity(String activity, List<String> existingActivities, String errorPrefix) {
+    /** validate {@code activity} against {@code existingActivities}; {@code script} is reported as the offending file */
+    public static void validateActivity(String activity,
+                                        List<String> existingActivities,
+                                        String errorPrefix,
+                                        String script) {
         // detect space only activity name
         if (StringUtils.isNotEmpty(activity) && StringUtils.isAllBlank(activity)) {
             throw new RuntimeException(RB.Fatal.text("activity.bad", errorPrefix));
@@ -291,9 +295,8 @@ public class TestScenario {
         if (hasActivity && existingActivities.contains(activity)) {
             // found duplicate activity name!
             String error = RB.Fatal.text("activity.dup", errorPrefix, activity);
-            String currentExcelScript = System.getProperty(OPT_INPUT_EXCEL_FILE);
-            if (StringUtils.isNotBlank(currentExcelScript)) {
-                throw new InvalidInputRuntimeException(error, currentExcelScript);
+            if (StringUtils.isNotBlank(script)) {
+                throw new InvalidInputRuntimeException(error, script);
             } else {
                 throw new RuntimeException(error);
             }
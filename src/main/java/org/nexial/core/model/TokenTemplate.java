@@ -0,0 +1,131 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.model;
+
+import org.apache.commons.collections4.map.LRUMap;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import static java.util.regex.Pattern.*;
+import static org.nexial.core.NexialConst.*;
+import static org.nexial.core.NexialConst.Data.OPT_VAR_TEMPLATE_CACHE_SIZE;
+import static org.nexial.core.SystemVariables.getDefaultInt;
+import static org.nexial.core.excel.ext.CipherHelper.CRYPT_IND;
+
+/**
+ * parse-once representation of a cell text, as consumed by {@link ExecutionContext#replaceTokens(String, boolean)}.
+ * <p>
+ * A template captures everything that can be derived from the raw text alone: the common value shorthand
+ * substitution, whether the text contains any crypt, built-in function, data variable or expression, the data
+ * variables referenced and the compiled regex to find their index reference (i.e. {@code ${var}[i]}). The data
+ * variables are still resolved against the live data map on every call, since their values change from step to
+ * step.
+ * <p>
+ * Templates are cached (LRU, bounded by {@code nexial.var.templateCacheSize}) by their raw text; very large text is
+ * parsed but not cached.
+ * Text derived during token replacement (e.g. after decryption or function invocation) should be parsed via
+ * {@link #parse(String)} instead, so that decrypted or one-off values are never retained in the cache.
+ */
+final class TokenTemplate {
+    private static final String ESCAPED_TOKEN_START = "\\$\\{";
+    private static final String ESCAPED_TOKEN_END = "\\}";
+    private static final String REGEX_INDEX_REF_SUFFIX = "\\[.+?\\]";
+    private static final int REGEX_FLAGS = MULTILINE | UNIX_LINES | DOTALL;
+    private static final String EXPRESSION_IND = "=>";
+    // very large text (such as inline JSON or XML payload) are not likely to be repeated; no point caching them
+    private static final int MAX_CACHEABLE_LENGTH = 8 * 1024;
+
+    private static final Map<String, TokenTemplate> CACHE = Collections.synchronizedMap(
+        new LRUMap<>(NumberUtils.toInt(System.getProperty(OPT_VAR_TEMPLATE_CACHE_SIZE),
+                                       getDefaultInt(OPT_VAR_TEMPLATE_CACHE_SIZE))));
+
+    private final String text;
+    private final String shorthand;
+    private final boolean hasCrypt;
+    private final boolean hasFunction;
+    private final boolean literal;
+    private final String[] tokens;
+    private final Map<String, Pattern> indexRefPatterns = new ConcurrentHashMap<>();
+
+    private TokenTemplate(String text) {
+        this.text = text;
+        this.shorthand = treatCommonValueShorthand(text);
+        this.hasCrypt = StringUtils.contains(shorthand, CRYPT_IND);
+        this.hasFunction = StringUtils.contains(shorthand, TOKEN_FUNCTION_START);
+
+        String[] found = StringUtils.substringsBetween(shorthand, TOKEN_START, TOKEN_END);
+        this.tokens = found == null ? ArrayUtils.EMPTY_STRING_ARRAY : found;
+
+        // without crypt, function, token or expression, there's nothing to resolve
+        this.literal = !hasCrypt &&
+                       !hasFunction &&
+                       !StringUtils.contains(shorthand, TOKEN_START) &&
+                       !StringUtils.contains(shorthand, EXPRESSION_IND);
+    }
+
+    /** retrieve the cached template of {@code text}, or parse and cache it if none exists yet. */
+    static TokenTemplate compile(String text) {
+        if (text == null || text.length() > MAX_CACHEABLE_LENGTH) { return parse(text); }
+        TokenTemplate template = CACHE.get(text);
+        if (template == null) {
+            template = parse(text);
+            CACHE.put(text, template);
+        }
+        return template;
+    }
+
+    /** parse {@code text} without caching */
+    static TokenTemplate parse(String text) { return new TokenTemplate(text); }
+
+    static int cacheSize() { return CACHE.size(); }
+
+    static void clearCache() { CACHE.clear(); }
+
+    String getText() { return text; }
+
+    /** {@link #getText()} after common value shorthand (such as {@code (empty)}) is substituted */
+    String getShorthand() { return shorthand; }
+
+    boolean hasCrypt() { return hasCrypt; }
+
+    boolean hasFunction() { return hasFunction; }
+
+    /** true if this template contains nothing that would be resolved during token replacement */
+    boolean isLiteral() { return literal; }
+
+    boolean hasTokens() { return tokens.length > 0; }
+
+    /** a new (mutable) set of the data variables referenced in this template */
+    Set<String> newTokenSet() {
+        Set<String> set = new HashSet<>();
+        Collections.addAll(set, tokens);
+        return set;
+    }
+
+    /** compiled regex to find the {@code ${token}[index]} references of {@code token} */
+    Pattern indexRefPattern(String token) {
+        return indexRefPatterns.computeIfAbsent(token, t -> Pattern.compile(ESCAPED_TOKEN_START + t +
+                                                                            ESCAPED_TOKEN_END +
+                                                                            REGEX_INDEX_REF_SUFFIX, REGEX_FLAGS));
+    }
+}
@@ -30,6 +30,8 @@ class WebServiceSummaryLog(val file: File) {
     private val ttfbPosition = 9
     private val elapsedTimePosition = 10
     private val responseLengthPosition = 11
+    private val connectionReusedPosition = 12
+    private val connectTimePosition = 13
 
     val filename: String = file.name
     val records: List<Array<String>>
@@ -43,6 +45,11 @@ class WebServiceSummaryLog(val file: File) {
     val responseLengthMax: Long
     val responseLengthMin: Long
     val responseLengthAverage: Long
+    // connection-level metrics, only for the calls made over pooled connections
+    val connectionLeases: Int
+    val connectionReuseRate: Long
+    val connectTimeMax: Long
+    val connectTimeAverage: Long
 
     init {
         val parser = CsvParserBuilder()
@@ -70,6 +77,16 @@ class WebServiceSummaryLog(val file: File) {
         responseLengthMax = responseLengths.maxOrNull() ?: 0L
         responseLengthMin = responseLengths.minOrNull() ?: 0L
         responseLengthAverage = responseLengths.sum() / total
+
+        // log files created prior to the tracking of connection metrics would not have these columns
+        val leases = records.filter { row -> row.size > connectTimePosition && row[connectionReusedPosition] != "" }
+        connectionLeases = leases.size
+        connectionReuseRate = if (leases.isEmpty()) 0L
+        else leases.count { row -> row[connectionReusedPosition].toBoolean() } * 100L / leases.size
+        val connectTimes = leases.filter { row -> !row[connectionReusedPosition].toBoolean() }
+            .map { row -> row[connectTimePosition].toLong() }
+        connectTimeMax = connectTimes.maxOrNull() ?: 0L
+        connectTimeAverage = if (connectTimes.isEmpty()) 0L else connectTimes.sum() / connectTimes.size
     }
 }
 
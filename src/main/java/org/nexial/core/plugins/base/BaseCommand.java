@@ -33,9 +33,11 @@ import org.nexial.core.plugins.image.ImageCaptionHelper;
 import org.nexial.core.plugins.image.ImageCaptionHelper.CaptionModel;
 import org.nexial.core.plugins.ws.WsCommand;
 import org.nexial.core.tools.CommandDiscovery;
+import org.nexial.core.utils.BoundMethod;
 import org.nexial.core.utils.ClipboardUtils;
 import org.nexial.core.utils.ConsoleUtils;
 import org.nexial.core.utils.ExecUtils;
+import org.nexial.core.utils.InvocationStats;
 import org.nexial.core.utils.OutputFileUtils;
 import org.nexial.core.variable.Syspath;
 
@@ -80,6 +82,8 @@ public class BaseCommand implements NexialCommand {
     protected static final IncrementStrategy STRATEGY_DEFAULT = ALPHANUM;
 
     protected transient Map<String, Method> commandMethods = new HashMap<>();
+    // same command methods, bound once (along with commandMethods) for faster dispatch
+    protected transient Map<String, BoundMethod> boundCommands = new HashMap<>();
     protected transient ExecutionContext context;
 
     protected long pauseMs;
@@ -148,9 +152,19 @@ public class BaseCommand implements NexialCommand {
                                                     StringUtils.removeEnd(displayValues.toString(), ",") + ")");
         }
 
-        StepResult result = (StepResult) m.invoke(this, values);
         String methodName = StringUtils.substringBefore(StringUtils.substringBefore(command, "("), ".");
-        if (!PARAM_DERIVED_COMMANDS.contains(getTarget() + "." + methodName)) { result.setParamValues(values); }
+        String fqCommand = getTarget() + "." + methodName;
+        BoundMethod bound = boundCommands.get(m.getName());
+
+        long startNanos = System.nanoTime();
+        StepResult result;
+        try {
+            result = (StepResult) bound.invoke(this, values);
+        } finally {
+            InvocationStats.record(fqCommand, System.nanoTime() - startNanos);
+        }
+
+        if (!PARAM_DERIVED_COMMANDS.contains(fqCommand)) { result.setParamValues(values); }
         return result;
     }
 
@@ -1389,6 +1403,7 @@ public class BaseCommand implements NexialCommand {
                 !StringUtils.equals(m.getName(), "execute")) {
 
                 commandMethods.put(m.getName(), m);
+                boundCommands.put(m.getName(), BoundMethod.of(m));
 
                 if (CommandDiscovery.isInDiscoveryMode()) {
                     // workaround for kotlin (var is reserved in kotlin)
@@ -26,15 +26,19 @@ import java.sql.Connection;
 import java.sql.Driver;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.sql.DataSource;
 
 import org.apache.commons.beanutils.BeanUtils;
 import org.apache.commons.collections4.MapUtils;
-import org.apache.commons.dbcp2.BasicDataSource;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.jetbrains.annotations.NotNull;
 import org.nexial.commons.utils.TextUtils;
 import org.nexial.core.model.ExecutionContext;
 import org.nexial.core.plugins.ThirdPartyDriverInfo;
@@ -54,6 +58,7 @@ import static org.nexial.core.utils.CheckUtils.requiresNotNull;
 public class DataAccess implements ApplicationContextAware {
     private static final String ISAM_PROP_DD = "jdbc:connx:DD";
     private static final String ISAM_PROP_GW = "GateWay";
+    private static final Map<String, PooledDataSource> POOLS = new ConcurrentHashMap<>();
 
     protected Map<String, String> dbTypes;
     protected ApplicationContext spring;
@@ -140,38 +145,124 @@ public class DataAccess implements ApplicationContextAware {
         } else if (StringUtils.equals(dbType, "mongodb")) {
             dao = resolveMongoDao(db, className);
         } else {
-            BasicDataSource newDs = new BasicDataSource();
+            dao = new SimpleExtractionDao();
+            dao.setDataSource(resolvePool(db, className, url, isDriverConfiguredForDownload ? d : null));
+        }
+
+        // allow dao to treat 'true null' as empty string, or whatever user decides
+        dao.setTreatNullAs(context.getStringData(db + OPT_TREAT_NULL_AS, DEF_TREAT_NULL_AS));
+        dao.setContext(context);
+        dao.afterPropertiesSet();
+
+        return dao;
+    }
+
+    /**
+     * pre-open the connections of the pool of {@code db}, if it is configured to
+     * {@link org.nexial.core.NexialConst.Rdbms#OPT_POOL_WARM_UP warm up} and not yet in use.
+     */
+    public void warmUp(String db) {
+        if (!context.getBooleanData(db + OPT_POOL_WARM_UP, DEF_POOL_WARM_UP)) { return; }
+
+        SimpleExtractionDao dao = resolveDao(db);
+        if (!(dao.getDataSource() instanceof PooledDataSource)) { return; }
+
+        PooledDataSource pool = (PooledDataSource) dao.getDataSource();
+        try {
+            long startTime = System.currentTimeMillis();
+            pool.warmUp();
+            ConsoleUtils.log("connection pool for '" + db + "' warmed up with " + pool.getNumIdle() +
+                             " connection(s) in " + (System.currentTimeMillis() - startTime) + " ms");
+        } catch (SQLException e) {
+            ConsoleUtils.error("Unable to warm up connection pool for '" + db + "': " + e.getMessage());
+        }
+    }
+
+    /** statistics of all the connection pools opened during this run, keyed by db profile */
+    @NotNull
+    public static Map<String, String> gatherPoolStatistics() {
+        Map<String, String> stats = new TreeMap<>();
+        POOLS.values().forEach(pool -> {
+            String name = pool.getProfile();
+            for (int i = 2; stats.containsKey(name); i++) { name = pool.getProfile() + " #" + i; }
+            stats.put(name, pool.toString());
+        });
+        return stats;
+    }
+
+    /** close the connection pool backing {@code dataSource}, so that it is reopened upon next use */
+    public static void closePool(DataSource dataSource) {
+        if (!(dataSource instanceof PooledDataSource)) { return; }
+        POOLS.values().removeIf(pool -> pool == dataSource);
+        closeQuietly((PooledDataSource) dataSource);
+    }
+
+    /** close all the connection pools opened during this run */
+    public static void closePools() {
+        List<PooledDataSource> pools = new ArrayList<>(POOLS.values());
+        POOLS.clear();
+        pools.forEach(DataAccess::closeQuietly);
+    }
+
+    /**
+     * connection pools are shared across executions (i.e. {@link org.nexial.core.ExecutionThread}) in the same run, as
+     * long as they connect to the same database with the same credential and settings.
+     */
+    protected PooledDataSource resolvePool(String db, String className, String url, Driver driver) {
+        // username/password are not required
+        String username = context.getStringData(db + OPT_DB_USER);
+        String password = context.getStringData(db + OPT_DB_PASSWORD);
+        // handle auto commit (single transaction or not)
+        boolean autocommit = context.getBooleanData(db + OPT_DB_AUTOCOMMIT, DEF_AUTOCOMMIT);
+
+        int minIdle = context.getIntData(db + OPT_POOL_MIN_IDLE, DEF_POOL_MIN_IDLE);
+        int maxIdle = context.getIntData(db + OPT_POOL_MAX_IDLE, DEF_POOL_MAX_IDLE);
+        int maxTotal = context.getIntData(db + OPT_POOL_MAX_TOTAL, DEF_POOL_MAX_TOTAL);
+        int maxWaitMs = context.getIntData(db + OPT_POOL_MAX_WAIT_MS, DEF_POOL_MAX_WAIT_MS);
+        String validationQuery = context.getStringData(db + OPT_POOL_VALIDATION_QUERY);
+        int statementCacheSize = context.getIntData(db + OPT_POOL_STATEMENT_CACHE_SIZE,
+                                                    DEF_POOL_STATEMENT_CACHE_SIZE);
+        boolean warmUp = context.getBooleanData(db + OPT_POOL_WARM_UP, DEF_POOL_WARM_UP);
+
+        String key = String.join("\n", className, url, StringUtils.defaultString(username),
+                                 StringUtils.defaultString(password), autocommit + "", minIdle + "", maxIdle + "",
+                                 maxTotal + "", maxWaitMs + "", StringUtils.defaultString(validationQuery),
+                                 statementCacheSize + "", warmUp + "");
+
+        return POOLS.computeIfAbsent(key, k -> {
+            PooledDataSource newDs = new PooledDataSource(db);
             newDs.setDriverClassName(className);
             newDs.setAccessToUnderlyingConnectionAllowed(true);
-            newDs.setPoolPreparedStatements(true);
             newDs.setUrl(url);
-
-            // username/password are not required
-            String username = context.getStringData(db + OPT_DB_USER);
             if (StringUtils.isNotBlank(username)) { newDs.setUsername(username); }
-
-            String password = context.getStringData(db + OPT_DB_PASSWORD);
             if (StringUtils.isNotBlank(password)) { newDs.setPassword(password); }
 
-            // handle auto commit (single transaction or not)
-            boolean autocommit = context.getBooleanData(db + OPT_DB_AUTOCOMMIT, DEF_AUTOCOMMIT);
             newDs.setDefaultAutoCommit(autocommit);
             newDs.setAutoCommitOnReturn(autocommit);
             if (!autocommit) { newDs.setDefaultTransactionIsolation(TRANSACTION_SERIALIZABLE); }
 
-            //set driver from downloaded driver jar
-            if (isDriverConfiguredForDownload) { newDs.setDriver(d); }
+            newDs.setMinIdle(minIdle);
+            newDs.setMaxIdle(maxIdle);
+            newDs.setMaxTotal(maxTotal);
+            newDs.setMaxWaitMillis(maxWaitMs);
+            if (StringUtils.isNotBlank(validationQuery)) { newDs.setValidationQuery(validationQuery); }
+            newDs.setPoolPreparedStatements(statementCacheSize != 0);
+            if (statementCacheSize > 0) { newDs.setMaxOpenPreparedStatements(statementCacheSize); }
+            if (warmUp) { newDs.setInitialSize(Math.max(minIdle, 1)); }
 
-            dao = new SimpleExtractionDao();
-            dao.setDataSource(newDs);
-        }
+            //set driver from downloaded driver jar
+            if (driver != null) { newDs.setDriver(driver); }
 
-        // allow dao to treat 'true null' as empty string, or whatever user decides
-        dao.setTreatNullAs(context.getStringData(db + OPT_TREAT_NULL_AS, DEF_TREAT_NULL_AS));
-        dao.setContext(context);
-        dao.afterPropertiesSet();
+            return newDs;
+        });
+    }
 
-        return dao;
+    private static void closeQuietly(PooledDataSource pool) {
+        try {
+            pool.close();
+        } catch (SQLException e) {
+            ConsoleUtils.error("Unable to close connection pool for '" + pool.getProfile() + "': " + e.getMessage());
+        }
     }
 
     protected SimpleExtractionDao resolveIsamDao(String db) {
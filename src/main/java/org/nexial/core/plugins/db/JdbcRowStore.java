@@ -0,0 +1,154 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.db;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.util.*;
+
+import org.apache.commons.io.FileUtils;
+import org.nexial.core.utils.ConsoleUtils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+import static org.nexial.core.NexialConst.TEMP;
+
+/**
+ * compact, file-backed store of query result rows, used in place of an in-memory list once a query result exceeds
+ * {@link org.nexial.core.NexialConst.Rdbms#RESULT_SPILL_THRESHOLD} rows. Each row is encoded as a record of typed
+ * cells (null, text or binary) and appended to a temporary file; only the file offset of each row is kept in memory.
+ * <p>
+ * Rows are decoded (as a new map) upon access, hence iterating through this store only holds one row in memory at a
+ * time. This store is read-only once populated; modification via the {@link List} API is not supported. The
+ * underlying file is removed when this store is {@link #close() closed} (once no data variable refers to it, or at
+ * the end of the execution), or when the JVM exits.
+ */
+public class JdbcRowStore extends AbstractList<Map<String, Object>> implements Serializable, Closeable {
+    private static final byte CELL_NULL = 0;
+    private static final byte CELL_TEXT = 1;
+    private static final byte CELL_BINARY = 2;
+
+    private final transient List<String> columns;
+    private final transient File file;
+    private transient DataOutputStream out;
+    private transient FileChannel channel;
+    private transient long[] offsets = new long[1024];
+    private transient long length;
+    private transient int rowCount;
+    private transient boolean closed;
+
+    JdbcRowStore(List<String> columns) throws IOException {
+        this.columns = new ArrayList<>(columns);
+        this.file = File.createTempFile("nexial-jdbc-", ".rows", new File(TEMP));
+        this.file.deleteOnExit();
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024));
+    }
+
+    /** append one row, where {@code values} are ordered as per the columns of this store */
+    synchronized void append(Object[] values) throws IOException {
+        if (rowCount == offsets.length) { offsets = Arrays.copyOf(offsets, offsets.length * 2); }
+        offsets[rowCount++] = length;
+
+        for (Object value : values) {
+            if (value == null) {
+                out.writeByte(CELL_NULL);
+                length++;
+            } else {
+                byte[] bytes = value instanceof byte[] ? (byte[]) value : value.toString().getBytes(UTF_8);
+                out.writeByte(value instanceof byte[] ? CELL_BINARY : CELL_TEXT);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+                length += 5 + bytes.length;
+            }
+        }
+    }
+
+    void append(Map<String, Object> row) throws IOException {
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < values.length; i++) { values[i] = row.get(columns.get(i)); }
+        append(values);
+    }
+
+    @Override
+    public synchronized Map<String, Object> get(int index) {
+        if (index < 0 || index >= rowCount) { throw new IndexOutOfBoundsException("Index out of range: " + index); }
+        if (closed) { throw new IllegalStateException("Query result stored in " + file + " is no longer available"); }
+
+        try {
+            if (out != null) {
+                out.close();
+                out = null;
+                channel = FileChannel.open(Paths.get(file.getAbsolutePath()), READ);
+            }
+
+            long start = offsets[index];
+            long end = index + 1 < rowCount ? offsets[index + 1] : length;
+            ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) { break; }
+            }
+            buffer.flip();
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String column : columns) {
+                byte type = buffer.get();
+                if (type == CELL_NULL) {
+                    row.put(column, null);
+                } else {
+                    byte[] bytes = new byte[buffer.getInt()];
+                    buffer.get(bytes);
+                    row.put(column, type == CELL_BINARY ? bytes : new String(bytes, UTF_8));
+                }
+            }
+            return row;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read query result row " + index + " from " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized int size() { return rowCount; }
+
+    File getFile() { return file; }
+
+    @Override
+    public String toString() { return "[" + rowCount + " row(s) stored in " + file + "]"; }
+
+    /** release the underlying file; the rows of this store are no longer accessible afterwards */
+    @Override
+    public synchronized void close() {
+        if (closed) { return; }
+        closed = true;
+
+        try {
+            if (out != null) { out.close(); }
+            if (channel != null) { channel.close(); }
+        } catch (IOException e) {
+            ConsoleUtils.error("Unable to close query result stored in " + file + ": " + e.getMessage());
+        } finally {
+            out = null;
+            channel = null;
+            FileUtils.deleteQuietly(file);
+        }
+    }
+
+    /** serialized as a regular list of rows */
+    private Object writeReplace() { return new ArrayList<>(this); }
+}
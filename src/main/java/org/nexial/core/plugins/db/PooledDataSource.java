@@ -0,0 +1,92 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.commons.dbcp2.PoolableConnection;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+
+/**
+ * connection pool of a database profile, shared by all the executions within the same run that connect with the same
+ * driver, url, credential and pool settings. The time spent in obtaining a connection from this pool is tracked so
+ * that contention can be reported at the end of the run.
+ */
+public class PooledDataSource extends BasicDataSource {
+    private static final double NANOS_PER_MS = 1_000_000d;
+
+    private final String profile;
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder borrowNanos = new LongAdder();
+    private final LongAccumulator maxBorrowNanos = new LongAccumulator(Math::max, 0);
+
+    PooledDataSource(String profile) { this.profile = profile; }
+
+    public String getProfile() { return profile; }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long startNanos = System.nanoTime();
+        try {
+            return super.getConnection();
+        } finally {
+            long elapsed = System.nanoTime() - startNanos;
+            borrowCount.increment();
+            borrowNanos.add(elapsed);
+            maxBorrowNanos.accumulate(elapsed);
+        }
+    }
+
+    /** open the initial connections of this pool ahead of its first use */
+    void warmUp() throws SQLException {
+        // creating the first connection also fills the pool up to its initial size
+        if (getConnectionPool() == null) { super.getConnection().close(); }
+    }
+
+    public long getBorrowCount() { return borrowCount.sum(); }
+
+    public double getAverageBorrowMs() {
+        long count = borrowCount.sum();
+        return count == 0 ? 0 : borrowNanos.sum() / NANOS_PER_MS / count;
+    }
+
+    public double getMaxBorrowMs() { return maxBorrowNanos.get() / NANOS_PER_MS; }
+
+    /** longest time (ms) spent waiting for an available connection, as reported by the underlying pool */
+    public long getMaxWaitMs() {
+        GenericObjectPool<PoolableConnection> pool = getConnectionPool();
+        return pool == null ? 0 : pool.getMaxBorrowWaitTimeMillis();
+    }
+
+    /** average time (ms) spent waiting for an available connection, as reported by the underlying pool */
+    public long getAverageWaitMs() {
+        GenericObjectPool<PoolableConnection> pool = getConnectionPool();
+        return pool == null ? 0 : pool.getMeanBorrowWaitTimeMillis();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("active %d, idle %d, %d borrow(s) at %.2f ms avg / %.2f ms max, wait %d ms avg / %d ms max",
+                             getNumActive(), getNumIdle(), getBorrowCount(), getAverageBorrowMs(), getMaxBorrowMs(),
+                             getAverageWaitMs(), getMaxWaitMs());
+    }
+}
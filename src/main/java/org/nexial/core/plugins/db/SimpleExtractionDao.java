@@ -19,6 +19,7 @@ package org.nexial.core.plugins.db;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.aspectj.util.FileUtil;
@@ -37,6 +38,8 @@ import org.springframework.jdbc.core.support.JdbcDaoSupport;
 
 import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.sql.*;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
@@ -58,6 +61,8 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
     private static final String MSG_NULL_JDBC = "Unable to resolve data access; contain Nexial Support team";
     private static final List<Integer> BINARY_SQL_TYPES =
         Arrays.asList(BINARY, VARBINARY, LONGVARBINARY, JAVA_OBJECT, BLOB);
+    private static final List<Integer> CHARACTER_SQL_TYPES =
+        Arrays.asList(CHAR, VARCHAR, LONGVARCHAR, NCHAR, NVARCHAR, LONGNVARCHAR, CLOB, NCLOB);
 
     protected String treatNullAs = DEF_TREAT_NULL_AS;
     protected Connection transactedConnection;
@@ -117,6 +122,7 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
             String sql = result.getSql();
             boolean isRollback = result.getSqlType() != null && result.getSqlType().isRollback();
             try {
+                applyFetchSize(stmt);
                 if (stmt.execute(sql)) {
                     result = processResultSet(stmt, isRollback, result);
                 } else {
@@ -225,6 +231,7 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
         String sql = result.getSql();
 
         try (CallableStatement callStmt = connection.prepareCall(sql)) {
+            applyFetchSize(callStmt);
             //callStmt.setString(1, "...");
             //callStmt.registerOutParameter(2, OracleTypes.CURSOR);
 
@@ -315,6 +322,13 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
         return outcome;
     }
 
+    /** apply {@link org.nexial.core.NexialConst.Rdbms#FETCH_SIZE}, if specified, so that rows are fetched in chunks */
+    protected void applyFetchSize(Statement statement) throws SQLException {
+        int fetchSize = context != null ?
+                        context.getIntData(FETCH_SIZE, getDefaultInt(FETCH_SIZE)) : getDefaultInt(FETCH_SIZE);
+        if (fetchSize > 0) { statement.setFetchSize(fetchSize); }
+    }
+
     protected JdbcResult packData(JdbcResult result) {
         if (result == null || CollectionUtils.isEmpty(result.getData())) { return result; }
         result.setData(pack(result.getData()));
@@ -363,52 +377,273 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
                 return -1;
             }
 
-            // 2. generate DML to import data to target
-            int rowCount = 0;
-            int rowsAffected = 0;
-            int importBufferSize = context.getIntData(IMPORT_BUFFER_SIZE, getDefaultInt(IMPORT_BUFFER_SIZE));
-            StringBuilder error = new StringBuilder();
-            StringBuilder inserts = new StringBuilder();
+            // 2. import data to target, starting with the current row
             int numOfColumn = metaData.getColumnCount();
+            List<String> columns = new ArrayList<>();
+            for (int i = 1; i <= numOfColumn; i++) { columns.add("\"" + metaData.getColumnLabel(i) + "\""); }
 
-            do {
-                inserts.append("INSERT INTO ").append(tableGenerator.getTable()).append(" VALUES (");
+            AtomicReference<Boolean> hasNext = new AtomicReference<>(true);
+            JdbcResult importResult = dao.importRows(tableGenerator.getTable(), columns, () -> {
+                if (!hasNext.get()) { return null; }
+
+                Object[] row = new Object[numOfColumn];
                 for (int i = 1; i <= numOfColumn; i++) {
                     String data = rs.getString(i);
-                    if (rs.wasNull()) {
-                        data = "NULL";
-                    } else if (tableGenerator.isTextColumnType(metaData.getColumnType(i))) {
-                        data = "'" + StringUtils.replace(data, "'", "''") + "'";
+                    row[i - 1] = rs.wasNull() ? null : data;
+                }
+                hasNext.set(rs.next());
+                return row;
+            }, null);
+
+            if (importResult.hasError()) { result.setError(importResult.getError()); }
+            return importResult.getRowCount();
+        });
+
+        result.setRowCount(rowsImported == null ? -1 : rowsImported);
+        result.setTiming(startTime);
+
+        return result;
+    }
+
+    /**
+     * insert all the rows of {@code rows} into {@code table} via batched prepared statement, all within one
+     * transaction. Each row is expected to provide one value (or {@code null}) per column in {@code columns}. The
+     * number of rows per batch is controlled via {@link org.nexial.core.NexialConst.Rdbms#IMPORT_BUFFER_SIZE}.
+     * <p>
+     * {@code pragmas} (SQLite only; may be {@code null}) are applied on the importing connection for the duration of
+     * the import, and restored to their previous values afterwards.
+     * <p>
+     * Column names are quoted with the identifier quote of the target database, and values are bound per the type
+     * of their target column (as reported by the database). Any failure rolls back the entire import.
+     */
+    protected JdbcResult importRows(String table, List<String> columns, RowSupplier rows, Map<String, String> pragmas) {
+        long startTime = System.currentTimeMillis();
+
+        String values = " VALUES (" + StringUtils.repeat("?", ",", columns.size()) + ")";
+        JdbcResult result = new JdbcResult("INSERT INTO " + table + " (" + String.join(",", columns) + ")" + values);
+
+        int batchSize = context != null ?
+                        context.getIntData(IMPORT_BUFFER_SIZE, getDefaultInt(IMPORT_BUFFER_SIZE)) :
+                        getDefaultInt(IMPORT_BUFFER_SIZE);
+        if (batchSize < 1) { batchSize = getDefaultInt(IMPORT_BUFFER_SIZE); }
+
+        boolean transacted = !isAutoCommit();
+        Connection connection = null;
+        Map<String, String> previousPragmas = new LinkedHashMap<>();
+        int rowsImported = 0;
+
+        try {
+            if (transacted) {
+                initTransactedConnection();
+                connection = transactedConnection;
+            } else {
+                JdbcTemplate jdbc = getJdbcTemplate();
+                if (jdbc == null || jdbc.getDataSource() == null) { throw new RuntimeException(MSG_NULL_JDBC); }
+                connection = jdbc.getDataSource().getConnection();
+                previousPragmas = applyPragmas(connection, pragmas);
+                connection.setAutoCommit(false);
+            }
+
+            List<String> quotedColumns = quoteIdentifiers(connection, columns);
+            int[] columnTypes = resolveColumnTypes(connection, table, quotedColumns);
+            String sql = "INSERT INTO " + table + " (" + String.join(",", quotedColumns) + ")" + values;
+            result.setSql(sql);
+
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                int batched = 0;
+                Object[] row;
+                while ((row = rows.next()) != null) {
+                    for (int i = 0; i < columns.size(); i++) {
+                        bind(statement, i + 1, i < row.length ? row[i] : null, columnTypes[i]);
+                    }
+                    statement.addBatch();
+
+                    if (++batched == batchSize) {
+                        rowsImported += countRows(statement.executeBatch());
+                        batched = 0;
                     }
-                    inserts.append(data);
-                    if (i < numOfColumn) { inserts.append(","); }
                 }
 
-                inserts.append(");").append(NL);
+                if (batched > 0) { rowsImported += countRows(statement.executeBatch()); }
+            }
 
-                rowCount++;
+            connection.commit();
+            result.setRowCount(rowsImported);
+        } catch (SQLException | RuntimeException e) {
+            if (connection != null) {
+                try {
+                    connection.rollback();
+                } catch (SQLException e1) {
+                    ConsoleUtils.error("Error when rolling back import to " + table + ": " + e1.getMessage());
+                }
+            }
 
-                if (rowCount % importBufferSize == 0) {
-                    JdbcOutcome insertResults = dao.executeSqls(SqlComponent.toList(inserts.toString()));
-                    rowsAffected += insertResults.getRowsAffected();
-                    if (result.hasError()) { error.append(result.getError()).append(NL); }
-                    inserts = new StringBuilder();
+            result.setError("Error importing to " + table + ": " + e.getMessage());
+            result.setRolledBack(true);
+            result.setRowCount(0);
+        } finally {
+            if (connection != null) {
+                try {
+                    if (transacted) {
+                        close();
+                    } else {
+                        connection.setAutoCommit(true);
+                        applyPragmas(connection, previousPragmas);
+                        connection.close();
+                    }
+                } catch (SQLException e) {
+                    ConsoleUtils.log("Error when closing import connection: " + e.getMessage());
                 }
-            } while (rs.next());
+            }
+        }
 
-            JdbcOutcome insertResults = dao.executeSqls(SqlComponent.toList(inserts.toString()));
-            rowsAffected += insertResults.getRowsAffected();
-            if (result.hasError()) { error.append(result.getError()).append(NL); }
+        return result.setTiming(startTime);
+    }
 
-            if (error.length() > 0) { result.setError(error.toString()); }
+    /** source of the rows to import; {@code null} signifies no more row */
+    @FunctionalInterface
+    interface RowSupplier {
+        Object[] next() throws SQLException;
+    }
 
-            return rowsAffected;
-        });
+    /**
+     * quote {@code columns} with the identifier quote of the database so that column names with space or special
+     * character, or those conflicting with SQL keywords, can be imported. Names already quoted are kept as is.
+     * Unquoted names are first converted to the case in which the database stores unquoted identifiers, so that
+     * they continue to resolve to the same columns as their unquoted form.
+     */
+    private static List<String> quoteIdentifiers(Connection connection, List<String> columns) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        // a space would signify that quoted identifier is not supported
+        String quote = StringUtils.trim(metaData.getIdentifierQuoteString());
+        if (StringUtils.isEmpty(quote)) { return columns; }
+
+        boolean upper = metaData.storesUpperCaseIdentifiers();
+        boolean lower = metaData.storesLowerCaseIdentifiers();
+
+        List<String> quoted = new ArrayList<>();
+        for (String column : columns) {
+            if (isQuoted(column, quote)) {
+                quoted.add(column);
+            } else {
+                String name = upper ? StringUtils.upperCase(column) : lower ? StringUtils.lowerCase(column) : column;
+                quoted.add(quote + StringUtils.replace(name, quote, quote + quote) + quote);
+            }
+        }
+        return quoted;
+    }
 
-        result.setRowCount(rowsImported == null ? -1 : rowsImported);
-        result.setTiming(startTime);
+    private static boolean isQuoted(String column, String quote) {
+        return StringUtils.length(column) > 1 &&
+               ((column.startsWith(quote) && column.endsWith(quote)) ||
+                (column.startsWith("\"") && column.endsWith("\"")) ||
+                (column.startsWith("[") && column.endsWith("]")));
+    }
 
-        return result;
+    /**
+     * SQL types of {@code columns} of {@code table}, as reported via the metadata of an empty query against
+     * {@code table}. {@link Types#OTHER} is reported for all columns when such metadata isn't available, in which
+     * case the values are bound as is.
+     */
+    private static int[] resolveColumnTypes(Connection connection, String table, List<String> columns) {
+        int[] types = new int[columns.size()];
+        Arrays.fill(types, OTHER);
+
+        String sql = "SELECT " + String.join(",", columns) + " FROM " + table + " WHERE 1=0";
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            for (int i = 0; i < types.length && i < metaData.getColumnCount(); i++) {
+                types[i] = metaData.getColumnType(i + 1);
+            }
+        } catch (SQLException e) {
+            ConsoleUtils.log("Unable to resolve column types of " + table + "; values will be imported as is: " +
+                             e.getMessage());
+        }
+
+        return types;
+    }
+
+    /**
+     * bind {@code value} as the parameter {@code index} of {@code statement}, converting any text to the
+     * {@code sqlType} of its target column. Text not convertible to such type is bound as is, so that the database
+     * would decide on its validity (as would be the case for columns of unknown type).
+     */
+    private static void bind(PreparedStatement statement, int index, Object value, int sqlType) throws SQLException {
+        boolean typeKnown = sqlType != NULL && sqlType != OTHER;
+        if (value == null) {
+            statement.setNull(index, typeKnown ? sqlType : VARCHAR);
+            return;
+        }
+
+        if (!(value instanceof String) || !typeKnown || CHARACTER_SQL_TYPES.contains(sqlType)) {
+            statement.setObject(index, value);
+            return;
+        }
+
+        String text = StringUtils.trim((String) value);
+        try {
+            switch (sqlType) {
+                case BIT:
+                case BOOLEAN: {
+                    Boolean bool = BooleanUtils.toBooleanObject(text);
+                    statement.setBoolean(index, bool != null ? bool : new BigDecimal(text).signum() != 0);
+                    break;
+                }
+                case TINYINT:
+                case SMALLINT:
+                case INTEGER:
+                case BIGINT:
+                    statement.setLong(index, new BigDecimal(text).longValueExact());
+                    break;
+                case REAL:
+                case FLOAT:
+                case DOUBLE:
+                    statement.setDouble(index, Double.parseDouble(text));
+                    break;
+                case DECIMAL:
+                case NUMERIC:
+                    statement.setBigDecimal(index, new BigDecimal(text));
+                    break;
+                default:
+                    // date, time, etc.: conversion from text is done by the driver
+                    statement.setObject(index, value, sqlType);
+            }
+        } catch (NumberFormatException | ArithmeticException e) {
+            statement.setObject(index, value);
+        }
+    }
+
+    private static int countRows(int[] batchResults) {
+        int count = 0;
+        for (int rows : batchResults) { count += rows == Statement.SUCCESS_NO_INFO ? 1 : Math.max(rows, 0); }
+        return count;
+    }
+
+    /**
+     * apply {@code pragmas} to {@code connection} and return their previous values. Failure to apply any of them
+     * is logged and ignored since these are only meant as optimization.
+     */
+    private static Map<String, String> applyPragmas(Connection connection, Map<String, String> pragmas) {
+        Map<String, String> previous = new LinkedHashMap<>();
+        if (pragmas == null || pragmas.isEmpty()) { return previous; }
+
+        try (Statement statement = connection.createStatement()) {
+            for (Map.Entry<String, String> pragma : pragmas.entrySet()) {
+                String name = pragma.getKey();
+                try {
+                    try (ResultSet rs = statement.executeQuery("PRAGMA " + name)) {
+                        if (rs.next()) { previous.put(name, rs.getString(1)); }
+                    }
+                    statement.execute("PRAGMA " + name + "=" + pragma.getValue());
+                } catch (SQLException e) {
+                    ConsoleUtils.log("Unable to apply PRAGMA " + name + ": " + e.getMessage());
+                }
+            }
+        } catch (SQLException e) {
+            ConsoleUtils.log("Unable to apply PRAGMA " + pragmas + ": " + e.getMessage());
+        }
+
+        return previous;
     }
 
     protected void setAutoCommit(Boolean autoCommit) { this.autoCommit = autoCommit; }
@@ -487,21 +722,47 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
         List<Map<String, Object>> rows = new ArrayList<>();
         ResultSetMetaData metaData = rs.getMetaData();
 
-        // cycle through all rows
-        do {
-            Map<String, Object> row = new LinkedHashMap<>();
+        int columnCount = metaData.getColumnCount();
+        List<String> columns = new ArrayList<>();
+        boolean[] binary = new boolean[columnCount];
+        for (int i = 1; i <= columnCount; i++) {
+            columns.add(StringUtils.trim(metaData.getColumnLabel(i)));
+            binary[i - 1] = BINARY_SQL_TYPES.contains(metaData.getColumnType(i));
+        }
 
-            for (int i = 1; i <= metaData.getColumnCount(); i++) {
-                int columnType = metaData.getColumnType(i);
+        int spillThreshold = context != null ?
+                             context.getIntData(RESULT_SPILL_THRESHOLD, getDefaultInt(RESULT_SPILL_THRESHOLD)) :
+                             getDefaultInt(RESULT_SPILL_THRESHOLD);
+        JdbcRowStore store = null;
 
-                // rs.getString(): String representation of column value, or null if the column is SQL NULL.
-                Object value = BINARY_SQL_TYPES.contains(columnType) ? rs.getBytes(i) : rs.getString(i);
-                if (value == null && treatNullAs != null) { value = treatNullAs; }
-                row.put(StringUtils.trim(metaData.getColumnLabel(i)), value);
-            }
+        try {
+            // cycle through all rows
+            do {
+                Map<String, Object> row = new LinkedHashMap<>();
+
+                for (int i = 1; i <= columnCount; i++) {
+                    // rs.getString(): String representation of column value, or null if the column is SQL NULL.
+                    Object value = binary[i - 1] ? rs.getBytes(i) : rs.getString(i);
+                    if (value == null && treatNullAs != null) { value = treatNullAs; }
+                    row.put(columns.get(i - 1), value);
+                }
 
-            rows.add(row);
-        } while (rs.next());
+                if (store != null) {
+                    store.append(row);
+                } else {
+                    rows.add(row);
+                    if (spillThreshold > 0 && rows.size() > spillThreshold) {
+                        // too many rows to keep in memory; move them to file-backed store
+                        store = new JdbcRowStore(columns);
+                        if (context != null) { context.addRowStore(store); }
+                        for (Map<String, Object> kept : rows) { store.append(kept); }
+                        rows = store;
+                    }
+                }
+            } while (rs.next());
+        } catch (IOException e) {
+            throw new SQLException("Unable to store query result: " + e.getMessage(), e);
+        }
 
         result.setData(rows);
         return result;
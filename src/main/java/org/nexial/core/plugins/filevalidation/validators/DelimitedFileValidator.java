@@ -17,23 +17,19 @@
 
 package org.nexial.core.plugins.filevalidation.validators;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
-import org.apache.commons.collections4.map.ListOrderedMap;
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.LineIterator;
 import org.apache.commons.lang3.StringUtils;
+import org.nexial.core.ExecutionThread;
 import org.nexial.core.plugins.filevalidation.FieldBean;
 import org.nexial.core.plugins.filevalidation.RecordBean;
 import org.nexial.core.plugins.filevalidation.RecordData;
 import org.nexial.core.plugins.filevalidation.config.FieldConfig;
 import org.nexial.core.plugins.filevalidation.config.MasterConfig;
 import org.nexial.core.plugins.filevalidation.config.RecordConfig;
-import org.nexial.core.utils.ConsoleUtils;
+import org.nexial.core.plugins.filevalidation.validators.FileValidationEngine.RecordParser;
 
 import static org.nexial.core.utils.CheckUtils.requiresNotNull;
 import static org.nexial.core.utils.CheckUtils.requiresReadableFile;
@@ -50,78 +46,70 @@ public class DelimitedFileValidator implements MasterFileValidator {
     @Override
     public RecordData parseAndValidate(String targetFilePath) {
         requiresReadableFile(targetFilePath);
-        File targetFile = new File(targetFilePath);
-        RecordData recordData = new RecordData();
-        ValidationsExecutor validationsExecutor = new ValidationsExecutor();
-        File csvOutputFile = validationsExecutor.resolveCsvOutputFile();
-        Map<String, Number> mapValues = new ListOrderedMap<>();
-        Map<String, Object> tempDupValues = validationsExecutor.moveDupValuesFromContext(configs);
-        int i = 0;
-        int processedLines = 0;
-        try (BufferedOutputStream outputStream = new BufferedOutputStream(FileUtils.openOutputStream(csvOutputFile))) {
-            LineIterator iterator = FileUtils.lineIterator(targetFile, "UTF-8");
-            while (iterator.hasNext()) {
-                String targetLine = iterator.next();
-                List<FieldBean> fields = new ArrayList<>();
-                for (RecordConfig recordConfig : configs) {
-                    if (recordConfig == null || !recordConfig.isValid()) { continue; }
-                    List<FieldConfig> configs = recordConfig.getFieldConfigList();
-                    String[] fieldValues =
-                        StringUtils.splitByWholeSeparatorPreserveAllTokens(targetLine,
-                                                                           recordConfig.getFieldSeparator());
+        return new FileValidationEngine(configs, new DelimitedRecordParser())
+                   .validate(new File(targetFilePath), ExecutionThread.get());
+    }
+
+    static class DelimitedRecordParser implements RecordParser {
+        @Override
+        public String toRecordIdLocation(RecordConfig recordConfig) {
+            return recordConfig.getFieldSeparator() + "#" + findRecordIdPosition(recordConfig);
+        }
+
+        /** find the record id token without splitting the entire line */
+        @Override
+        public String toRecordId(String line, RecordConfig recordConfig) {
+            int position = findRecordIdPosition(recordConfig);
+            String separator = recordConfig.getFieldSeparator();
+            if (StringUtils.isEmpty(separator)) {
+                String[] fieldValues = StringUtils.splitByWholeSeparatorPreserveAllTokens(line, separator);
+                return fieldValues != null && position < fieldValues.length ? fieldValues[position] : null;
+            }
+
+            int start = 0;
+            for (int i = 0; i < position; i++) {
+                int index = line.indexOf(separator, start);
+                if (index == -1) { return null; }
+                start = index + separator.length();
+            }
+            int end = line.indexOf(separator, start);
+            return end == -1 ? line.substring(start) : line.substring(start, end);
+        }
+
+        @Override
+        public RecordBean parse(String line, int lineNumber, RecordConfig recordConfig) {
+            List<FieldConfig> configs = recordConfig.getFieldConfigList();
+            String[] fieldValues =
+                StringUtils.splitByWholeSeparatorPreserveAllTokens(line, recordConfig.getFieldSeparator());
 
-                    // find recordId position to get actual recordID value
-                    String expectedRecordIdValue = recordConfig.getRecordId();
-                    int recordIdPosition = 0;
-                    for (int n = 0; n < configs.size(); n++) {
-                        if (configs.get(n).getFieldname().equals(recordConfig.getRecordIdField())) {
-                            recordIdPosition = n;
-                            break;
-                        }
-                    }
+            RecordBean recordBean = new RecordBean();
+            recordBean.setRecordNumber(lineNumber);
+
+            int expectedRecords = configs.size() + 1;
+            if (fieldValues.length != expectedRecords) {
+                recordBean.setSkipped(true);
+                recordBean.setSkippedMsg("Skipped:" + lineNumber + "," + recordConfig.getRecordId() +
+                                         ",Expected records " + expectedRecords +
+                                         ". But Actual records found " + fieldValues.length + "\n");
+                return recordBean;
+            }
+
+            List<FieldBean> fields = new ArrayList<>();
+            for (int j = 0; j < configs.size(); j++) {
+                FieldBean field = new FieldBean(configs.get(j), fieldValues[j]);
+                field.setRecord(recordBean);
+                fields.add(field);
+            }
+            recordBean.setFields(fields);
+            return recordBean;
+        }
 
-                    // condition to identify the record with config
-                    if (fieldValues[recordIdPosition].equals(expectedRecordIdValue)) {
-                        RecordBean recordBean = new RecordBean();
-                        recordBean.setRecordNumber(i);
-                        int expectedRecords = configs.size() + 1;
-                        if (fieldValues.length != configs.size() + 1) {
-                            int totalSkipped = recordData.getTotalRecordsSkipped();
-                            String msg = "Skipped:" + i + "," + expectedRecordIdValue + ",Expected records "
-                                         + expectedRecords + ". But Actual records found "
-                                         + fieldValues.length;
-                            ConsoleUtils.log(msg);
-                            recordBean.setSkippedMsg(msg);
-                            recordData.setTotalRecordsSkipped(++totalSkipped);
-                            validationsExecutor.writeReportToFile(outputStream, recordBean);
-                            continue;
-                        }
-                        ConsoleUtils.log("validating line number: " + i + " Record ID: " + expectedRecordIdValue);
-                        processedLines++;
-                        for (int j = 0; j < configs.size(); j++) {
-                            FieldBean field = new FieldBean(configs.get(j), fieldValues[j]);
-                            field.setRecord(recordBean);
-                            fields.add(field);
-                        }
-                        recordBean.setFields(fields);
-                        validationsExecutor.doBasicValidations(recordBean);
-                        recordBean.setRecordData(recordData);
-                        mapValues = validationsExecutor.collectMapValues(recordConfig, recordBean, mapValues);
-                        recordData.setMapValues(mapValues);
-                        validationsExecutor.executeValidations(outputStream, recordBean);
-                        break;
-                    }
-                }
-                i++;
+        private static int findRecordIdPosition(RecordConfig recordConfig) {
+            List<FieldConfig> configs = recordConfig.getFieldConfigList();
+            for (int n = 0; n < configs.size(); n++) {
+                if (configs.get(n).getFieldname().equals(recordConfig.getRecordIdField())) { return n; }
             }
-        } catch (Exception e) {
-            ConsoleUtils.log("File validation failed. " + e.getMessage());
-        } finally {
-            validationsExecutor.restoreValuesToContext(tempDupValues);
+            return 0;
         }
-        recordData.printMapFunctionValues();
-        recordData.setTotalRecordsProcessed(processedLines);
-        recordData.calculateTotalPassed();
-        return recordData;
     }
-}
\ No newline at end of file
+}
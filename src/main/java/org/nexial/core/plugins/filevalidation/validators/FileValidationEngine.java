@@ -0,0 +1,368 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.filevalidation.validators;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.map.ListOrderedMap;
+import org.apache.commons.io.FileUtils;
+import org.nexial.commons.utils.FileUtil;
+import org.nexial.core.model.ExecutionContext;
+import org.nexial.core.plugins.filevalidation.RecordBean;
+import org.nexial.core.plugins.filevalidation.RecordData;
+import org.nexial.core.plugins.filevalidation.config.FieldConfig;
+import org.nexial.core.plugins.filevalidation.config.RecordConfig;
+import org.nexial.core.plugins.filevalidation.config.ValidationConfig;
+import org.nexial.core.plugins.filevalidation.validators.ValidationsExecutor.ValidationType;
+import org.nexial.core.utils.ConsoleUtils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.nexial.core.NexialConst.Compare.OPT_IO_VALIDATE_THREADS;
+import static org.nexial.core.SystemVariables.getDefaultInt;
+
+/**
+ * validates a record file over multiple threads. The file is read in line-aligned chunks, via positional read into a
+ * buffer reused by each thread; each chunk is parsed and its fields validated by a worker thread, with every line
+ * dispatched to its {@link RecordConfig} via a lookup keyed by record id. Steps that depend on the execution context
+ * (SQL validations, map functions and their conditions) and the report output are then applied on the calling
+ * thread, chunk by chunk in file order. Hence the map function values and the report are the same as those of a
+ * sequential scan. SQL key lookups are resolved in batches per chunk (see {@link SqlKeyLookup}).
+ */
+class FileValidationEngine {
+    private static final int CHUNK_SIZE = 1024 * 1024;
+    private static final int BLOCK_SIZE = 64 * 1024;
+    private static final int PROGRESS_INTERVAL = 100000;
+
+    private final List<RecordConfig> configs;
+    private final RecordParser parser;
+    private final RecordLookup lookup;
+    private final Set<RecordConfig> sqlValidated = new HashSet<>();
+    private final int chunkSize;
+    private final ThreadLocal<ByteBuffer> chunkBuffer =
+        ThreadLocal.withInitial(() -> ByteBuffer.allocate(chunkSize));
+
+    /** the record layout specific to a file format */
+    interface RecordParser {
+        /**
+         * identify where {@code config} expects its record id, so that configs sharing the same location are matched
+         * together
+         */
+        String toRecordIdLocation(RecordConfig config);
+
+        /** the record id found in {@code line} as per {@code config}, or {@code null} if not found */
+        String toRecordId(String line, RecordConfig config);
+
+        /** parse {@code line} into a record of {@code config}, or a skipped record if it does not fit {@code config} */
+        RecordBean parse(String line, int lineNumber, RecordConfig config);
+    }
+
+    /** precomputed record id -> {@link RecordConfig} lookup, in place of testing each config for every line */
+    static final class RecordLookup {
+        private final List<RecordConfig> configs;
+        private final RecordParser parser;
+        private final Map<String, RecordConfig> locations = new LinkedHashMap<>();
+        private final Map<String, Map<String, Integer>> indices = new HashMap<>();
+
+        RecordLookup(List<RecordConfig> configs, RecordParser parser) {
+            this.configs = configs;
+            this.parser = parser;
+            for (int i = 0; i < configs.size(); i++) {
+                RecordConfig config = configs.get(i);
+                if (config == null || !config.isValid()) { continue; }
+
+                String location = parser.toRecordIdLocation(config);
+                locations.putIfAbsent(location, config);
+                // the first config wins, as it would in a sequential search
+                indices.computeIfAbsent(location, key -> new HashMap<>()).putIfAbsent(config.getRecordId(), i);
+            }
+        }
+
+        RecordConfig find(String line) {
+            int found = Integer.MAX_VALUE;
+            for (Map.Entry<String, RecordConfig> location : locations.entrySet()) {
+                String recordId = parser.toRecordId(line, location.getValue());
+                if (recordId == null) { continue; }
+
+                Integer index = indices.get(location.getKey()).get(recordId);
+                if (index != null && index < found) { found = index; }
+            }
+            return found == Integer.MAX_VALUE ? null : configs.get(found);
+        }
+    }
+
+    private static final class Chunk {
+        private final long start;
+        private final long end;
+        private final boolean last;
+        private int firstLine;
+
+        private Chunk(long start, long end, boolean last) {
+            this.start = start;
+            this.end = end;
+            this.last = last;
+        }
+    }
+
+    private static final class ParsedRecord {
+        private final RecordConfig config;
+        private final RecordBean record;
+
+        private ParsedRecord(RecordConfig config, RecordBean record) {
+            this.config = config;
+            this.record = record;
+        }
+    }
+
+    FileValidationEngine(List<RecordConfig> configs, RecordParser parser) { this(configs, parser, CHUNK_SIZE); }
+
+    FileValidationEngine(List<RecordConfig> configs, RecordParser parser, int chunkSize) {
+        this.configs = configs;
+        this.parser = parser;
+        this.chunkSize = chunkSize;
+        this.lookup = new RecordLookup(configs, parser);
+        configs.stream()
+               .filter(config -> config != null && config.isValid() && hasSqlValidation(config))
+               .forEach(sqlValidated::add);
+    }
+
+    RecordData validate(File targetFile, ExecutionContext context) {
+        RecordData recordData = new RecordData();
+        Map<String, Number> mapValues = new ListOrderedMap<>();
+        recordData.setMapValues(mapValues);
+
+        ValidationsExecutor validationsExecutor = new ValidationsExecutor();
+        File csvOutputFile = validationsExecutor.resolveCsvOutputFile();
+        Map<String, Object> tempDupValues = validationsExecutor.moveDupValuesFromContext(configs);
+
+        int threads = Math.max(1, context.getIntData(OPT_IO_VALIDATE_THREADS,
+                                                     getDefaultInt(OPT_IO_VALIDATE_THREADS)));
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        int processedLines = 0;
+        try (FileChannel channel = FileChannel.open(targetFile.toPath(), StandardOpenOption.READ);
+             BufferedOutputStream outputStream =
+                 new BufferedOutputStream(FileUtils.openOutputStream(csvOutputFile))) {
+
+            List<Chunk> chunks = split(channel);
+            numberLines(channel, chunks, workers);
+            ConsoleUtils.log("validating " + targetFile + " in " + chunks.size() + " chunk(s) over " + threads +
+                             " thread(s)");
+
+            // keep a bounded number of chunks in flight; results are consumed in file order
+            Deque<Future<List<ParsedRecord>>> inFlight = new ArrayDeque<>();
+            Iterator<Chunk> pending = chunks.iterator();
+            while (pending.hasNext() || !inFlight.isEmpty()) {
+                while (pending.hasNext() && inFlight.size() <= threads) {
+                    Chunk chunk = pending.next();
+                    inFlight.add(workers.submit(() -> parseAndValidate(channel, chunk, validationsExecutor)));
+                }
+
+                List<ParsedRecord> parsedRecords = inFlight.poll().get();
+                if (!sqlValidated.isEmpty()) {
+                    validationsExecutor.prefetchSqlLookups(
+                        parsedRecords.stream()
+                                     .filter(parsed -> !parsed.record.isSkipped() &&
+                                                       sqlValidated.contains(parsed.config))
+                                     .map(parsed -> parsed.record)
+                                     .collect(Collectors.toList()));
+                }
+
+                for (ParsedRecord parsed : parsedRecords) {
+                    RecordBean recordBean = parsed.record;
+                    if (recordBean.isSkipped()) {
+                        ConsoleUtils.log(recordBean.getSkippedMsg());
+                        recordData.setTotalRecordsSkipped(recordData.getTotalRecordsSkipped() + 1);
+                        validationsExecutor.writeReportToFile(outputStream, recordBean);
+                        continue;
+                    }
+
+                    processedLines++;
+                    if (processedLines % PROGRESS_INTERVAL == 0) {
+                        ConsoleUtils.log("validated " + processedLines + " records; currently at line number " +
+                                         recordBean.getRecordNumber());
+                    }
+
+                    if (sqlValidated.contains(parsed.config)) { validationsExecutor.doSqlValidations(recordBean); }
+                    recordBean.setRecordData(recordData);
+                    mapValues = validationsExecutor.collectMapValues(parsed.config, recordBean, mapValues);
+                    recordData.setMapValues(mapValues);
+                    validationsExecutor.reportValidations(outputStream, recordBean);
+                }
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+            ConsoleUtils.log("File validation failed. " + cause.getMessage());
+        } catch (Exception e) {
+            ConsoleUtils.log("File validation failed. " + e.getMessage());
+        } finally {
+            workers.shutdownNow();
+            validationsExecutor.restoreValuesToContext(tempDupValues);
+        }
+
+        recordData.printMapFunctionValues();
+        recordData.setTotalRecordsProcessed(processedLines);
+        recordData.calculateTotalPassed();
+        return recordData;
+    }
+
+    /**
+     * split the file into chunks of about {@code chunkSize} bytes, each ending at a line terminator (or end of file).
+     * As with {@link java.io.BufferedReader#readLine()}, a line is terminated by {@code \n}, {@code \r} or
+     * {@code \r\n}; the latter is never split across 2 chunks.
+     */
+    private List<Chunk> split(FileChannel channel) throws IOException {
+        List<Chunk> chunks = new ArrayList<>();
+        long size = channel.size();
+        long start = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        while (start < size) {
+            long end = Math.min(start + chunkSize, size);
+            // extend to the end of the current line
+            while (end < size) {
+                buffer.clear();
+                int read = channel.read(buffer, end);
+                if (read < 1) { break; }
+
+                int terminator = -1;
+                for (int i = 0; i < read; i++) {
+                    if (isLineTerminator(buffer.get(i))) {
+                        terminator = i;
+                        break;
+                    }
+                }
+                if (terminator != -1) {
+                    boolean carriageReturn = buffer.get(terminator) == '\r';
+                    end += terminator + 1;
+                    if (carriageReturn && end < size) {
+                        buffer.clear().limit(1);
+                        if (channel.read(buffer, end) == 1 && buffer.get(0) == '\n') { end++; }
+                    }
+                    break;
+                }
+                end += read;
+            }
+
+            chunks.add(new Chunk(start, end, end >= size));
+            start = end;
+        }
+        return chunks;
+    }
+
+    /** count the lines of each chunk (in parallel) to derive the line number each chunk starts with */
+    private static void numberLines(FileChannel channel, List<Chunk> chunks, ExecutorService workers)
+        throws IOException, InterruptedException, ExecutionException {
+        List<Future<Integer>> counts = new ArrayList<>();
+        for (Chunk chunk : chunks) { counts.add(workers.submit(() -> countLines(channel, chunk))); }
+
+        int lineNumber = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            chunks.get(i).firstLine = lineNumber;
+            lineNumber += counts.get(i).get();
+        }
+    }
+
+    private static int countLines(FileChannel channel, Chunk chunk) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BLOCK_SIZE);
+        int lines = 0;
+        // chunks never start in the middle of \r\n
+        byte previous = 0;
+        for (long position = chunk.start; position < chunk.end; position += BLOCK_SIZE) {
+            int length = (int) Math.min(BLOCK_SIZE, chunk.end - position);
+            FileUtil.readFully(channel, position, length, buffer);
+            for (int i = 0; i < length; i++) {
+                byte b = buffer.get(i);
+                // \r\n counts as one
+                if (b == '\r' || (b == '\n' && previous != '\r')) { lines++; }
+                previous = b;
+            }
+        }
+        // last line without line terminator
+        if (chunk.last && chunk.end > chunk.start && !isLineTerminator(previous)) { lines++; }
+        return lines;
+    }
+
+    private static boolean isLineTerminator(byte b) { return b == '\n' || b == '\r'; }
+
+    private List<ParsedRecord> parseAndValidate(FileChannel channel, Chunk chunk, ValidationsExecutor executor)
+        throws IOException {
+        ByteBuffer buffer = readChunk(channel, chunk);
+        byte[] bytes = buffer.array();
+        int length = buffer.limit();
+
+        List<ParsedRecord> records = new ArrayList<>();
+        int lineNumber = chunk.firstLine;
+        int lineStart = 0;
+        for (int i = 0; i <= length; i++) {
+            boolean endOfLine = i < length && isLineTerminator(bytes[i]);
+            // last line without line terminator
+            boolean endOfFile = i == length && lineStart < length;
+            if (!endOfLine && !endOfFile) { continue; }
+
+            String line = new String(bytes, lineStart, i - lineStart, UTF_8);
+            // \r\n terminates one line
+            if (endOfLine && bytes[i] == '\r' && i + 1 < length && bytes[i + 1] == '\n') { i++; }
+            lineStart = i + 1;
+
+            RecordConfig config = lookup.find(line);
+            if (config != null) {
+                RecordBean recordBean = parser.parse(line, lineNumber, config);
+                if (!recordBean.isSkipped()) {
+                    executor.doBasicValidations(recordBean);
+                    executor.doFieldValidations(recordBean);
+                }
+                records.add(new ParsedRecord(config, recordBean));
+            }
+            lineNumber++;
+        }
+        return records;
+    }
+
+    /** content of {@code chunk}, read into the buffer of the current worker thread (reused across chunks) */
+    private ByteBuffer readChunk(FileChannel channel, Chunk chunk) throws IOException {
+        int length = (int) (chunk.end - chunk.start);
+        ByteBuffer buffer = chunkBuffer.get();
+        if (buffer.capacity() < length) {
+            buffer = ByteBuffer.allocate(length);
+            chunkBuffer.set(buffer);
+        }
+
+        return FileUtil.readFully(channel, chunk.start, length, buffer);
+    }
+
+    private static boolean hasSqlValidation(RecordConfig config) {
+        for (FieldConfig fieldConfig : config.getFieldConfigList()) {
+            List<ValidationConfig> validationConfigs = fieldConfig.getValidationConfigs();
+            if (CollectionUtils.isEmpty(validationConfigs)) { continue; }
+            for (ValidationConfig validationConfig : validationConfigs) {
+                if (ValidationType.SQL.toString().equals(validationConfig.getType())) { return true; }
+            }
+        }
+        return false;
+    }
+}
@@ -17,23 +17,19 @@
 
 package org.nexial.core.plugins.filevalidation.validators;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
-import org.apache.commons.collections4.map.ListOrderedMap;
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.LineIterator;
 import org.apache.commons.lang3.StringUtils;
+import org.nexial.core.ExecutionThread;
 import org.nexial.core.plugins.filevalidation.FieldBean;
 import org.nexial.core.plugins.filevalidation.RecordBean;
 import org.nexial.core.plugins.filevalidation.RecordData;
 import org.nexial.core.plugins.filevalidation.config.FieldConfig;
 import org.nexial.core.plugins.filevalidation.config.MasterConfig;
 import org.nexial.core.plugins.filevalidation.config.RecordConfig;
-import org.nexial.core.utils.ConsoleUtils;
+import org.nexial.core.plugins.filevalidation.validators.FileValidationEngine.RecordParser;
 
 import static org.nexial.core.utils.CheckUtils.requiresNotNull;
 import static org.nexial.core.utils.CheckUtils.requiresReadableFile;
@@ -50,84 +46,55 @@ public class FixedLengthFileValidator implements MasterFileValidator {
 
     public RecordData parseAndValidate(String targetFilePath) {
         requiresReadableFile(targetFilePath);
-        File targetFile = new File(targetFilePath);
-        RecordData recordData = new RecordData();
-        ValidationsExecutor validationsExecutor = new ValidationsExecutor();
-        File csvOutputFile = validationsExecutor.resolveCsvOutputFile();
-        Map<String, Number> mapValues = new ListOrderedMap<>();
-        int i = 0;
-        int processedLines = 0;
-        Map<String, Object> tempDupValues = validationsExecutor.moveDupValuesFromContext(configs);
-        try (BufferedOutputStream outputStream = new BufferedOutputStream(FileUtils.openOutputStream(csvOutputFile))) {
-            LineIterator iterator = FileUtils.lineIterator(targetFile, "UTF-8");
+        return new FileValidationEngine(configs, new FixedLengthRecordParser())
+                   .validate(new File(targetFilePath), ExecutionThread.get());
+    }
+
+    static class FixedLengthRecordParser implements RecordParser {
+        @Override
+        public String toRecordIdLocation(RecordConfig recordConfig) {
+            FieldConfig config = findRecordIdField(recordConfig);
+            return config == null ? "" : config.getPositionfrom() + "-" + config.getPositionto();
+        }
+
+        @Override
+        public String toRecordId(String line, RecordConfig recordConfig) {
+            FieldConfig config = findRecordIdField(recordConfig);
+            return config == null ?
+                   null : StringUtils.substring(line, config.getPositionfrom() - 1, config.getPositionto());
+        }
 
-            while (iterator.hasNext()) {
-                String targetLine = iterator.nextLine();
-                List<FieldBean> fields = new ArrayList<>();
-                for (RecordConfig recordConfig : configs) {
-                    if (recordConfig != null && recordConfig.isValid()) {
-                        List<FieldConfig> fieldConfigs = recordConfig.getFieldConfigList();
-                        String expectedRecordId = recordConfig.getRecordId();
-                        String actualRecordId = null;
-                        for (FieldConfig config : fieldConfigs) {
-                            if (config.getFieldname().equals(recordConfig.getRecordIdField())) {
-                                actualRecordId = StringUtils.substring(targetLine, config.getPositionfrom() - 1,
-                                                                       config.getPositionto());
-                                break;
-                            }
-                        }
-                        // condition to identify the record with config
-                        if (expectedRecordId.equals(actualRecordId)) {
-                            RecordBean recordBean = new RecordBean();
-                            recordBean.setRecordNumber(i);
-                            int expectedLength = fieldConfigs.get(fieldConfigs.size() - 1).getPositionto();
-                            if (targetLine.length() != expectedLength) {
-                                int totalSkipped = recordData.getTotalRecordsSkipped();
-                                String msg = "Skipped:" + i + "," + expectedRecordId + ",Expected record length "
-                                             + expectedLength + ". But Actual length found "
-                                             + targetLine.length() + "\n";
+        @Override
+        public RecordBean parse(String line, int lineNumber, RecordConfig recordConfig) {
+            List<FieldConfig> fieldConfigs = recordConfig.getFieldConfigList();
+            RecordBean recordBean = new RecordBean();
+            recordBean.setRecordNumber(lineNumber);
 
-                                ConsoleUtils.log(msg);
-                                recordBean.setSkipped(true);
-                                recordBean.setSkippedMsg(msg);
-                                recordData.setTotalRecordsSkipped(++totalSkipped);
-                                validationsExecutor.writeReportToFile(outputStream, recordBean);
-                                continue;
-                            }
-                            ConsoleUtils.log("validating line number: " + i + " Record ID: " + expectedRecordId);
-                            processedLines++;
-                            for (FieldConfig config : fieldConfigs) {
-                                String fieldValue = StringUtils.substring(targetLine,
-                                                                          config.getPositionfrom() - 1,
-                                                                          config.getPositionto());
-                                FieldBean field = new FieldBean(config, fieldValue);
-                                field.setRecord(recordBean);
-                                fields.add(field);
-                            }
+            int expectedLength = fieldConfigs.get(fieldConfigs.size() - 1).getPositionto();
+            if (line.length() != expectedLength) {
+                recordBean.setSkipped(true);
+                recordBean.setSkippedMsg("Skipped:" + lineNumber + "," + recordConfig.getRecordId() +
+                                         ",Expected record length " + expectedLength +
+                                         ". But Actual length found " + line.length() + "\n");
+                return recordBean;
+            }
 
-                            recordBean.setFields(fields);
-                            validationsExecutor.doBasicValidations(recordBean);
-                            recordBean.setRecordData(recordData);
-                            mapValues = validationsExecutor.collectMapValues(recordConfig, recordBean, mapValues);
-                            recordData.setMapValues(mapValues);
-                            validationsExecutor.executeValidations(outputStream, recordBean);
-                            break;
-                        }
-                    }
-                }
-                i++;
+            List<FieldBean> fields = new ArrayList<>();
+            for (FieldConfig config : fieldConfigs) {
+                String fieldValue = StringUtils.substring(line, config.getPositionfrom() - 1, config.getPositionto());
+                FieldBean field = new FieldBean(config, fieldValue);
+                field.setRecord(recordBean);
+                fields.add(field);
             }
+            recordBean.setFields(fields);
+            return recordBean;
+        }
 
-        } catch (Exception e) {
-            ConsoleUtils.log("File validation failed. " + e.getMessage());
-        } finally {
-            validationsExecutor.restoreValuesToContext(tempDupValues);
+        private static FieldConfig findRecordIdField(RecordConfig recordConfig) {
+            for (FieldConfig config : recordConfig.getFieldConfigList()) {
+                if (config.getFieldname().equals(recordConfig.getRecordIdField())) { return config; }
+            }
+            return null;
         }
-        recordData.printMapFunctionValues();
-        recordData.setTotalRecordsProcessed(processedLines);
-        recordData.calculateTotalPassed();
-        return recordData;
     }
-
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.filevalidation.validators;
+
+import java.util.Collection;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+
+import static java.util.regex.Pattern.CASE_INSENSITIVE;
+import static java.util.regex.Pattern.DOTALL;
+import static org.nexial.core.NexialConst.TOKEN_START;
+
+/**
+ * a SQL validation that looks up a single record field by key, such as
+ * {@code SELECT * FROM STATES WHERE ACTIVE = 'Y' AND CODE = '${state}'}. Such lookup can be resolved for many records
+ * at once via {@code ... WHERE ACTIVE = 'Y' AND CODE IN ('CA','NY',...)}.
+ */
+final class SqlKeyLookup {
+    private static final Pattern KEY_LOOKUP = Pattern.compile(
+        "^\\s*select\\s+.+?\\s+from\\s+(.+?)\\s+where\\s+(.*?)" +
+        // key column = '${field}'
+        "([\\w.\\[\\]\"`]+)\\s*=\\s*('?)\\$\\{\\s*([^}]+?)\\s*}\\4\\s*;?\\s*$",
+        CASE_INSENSITIVE | DOTALL);
+    private static final Pattern SELECT = Pattern.compile("\\bselect\\b", CASE_INSENSITIVE);
+    private static final Pattern OR = Pattern.compile("\\bor\\b", CASE_INSENSITIVE);
+    private static final Pattern AND_END = Pattern.compile("\\band\\s+$", CASE_INSENSITIVE);
+    private static final Pattern NUMBER = Pattern.compile("^\\s*[+-]?\\d+(\\.\\d+)?\\s*$");
+
+    private final String dbProfile;
+    private final String sql;
+    private final String from;
+    private final String predicates;
+    private final String column;
+    private final String fieldName;
+    private final boolean quoted;
+
+    private SqlKeyLookup(String dbProfile, String sql, Matcher matcher) {
+        this.dbProfile = dbProfile;
+        this.sql = sql;
+        this.from = matcher.group(1);
+        this.predicates = matcher.group(2);
+        this.column = matcher.group(3);
+        this.quoted = StringUtils.isNotEmpty(matcher.group(4));
+        this.fieldName = matcher.group(5);
+    }
+
+    /** {@code null} if {@code sql} is not a simple key lookup, or cannot be batched without changing its outcome */
+    static SqlKeyLookup parse(String dbProfile, String sql) {
+        if (StringUtils.isBlank(sql) || StringUtils.countMatches(sql, TOKEN_START) != 1) { return null; }
+
+        // sub-queries and unions are out
+        Matcher select = SELECT.matcher(sql);
+        int selects = 0;
+        while (select.find()) { selects++; }
+        if (selects != 1) { return null; }
+
+        Matcher matcher = KEY_LOOKUP.matcher(sql);
+        if (!matcher.matches()) { return null; }
+
+        // other predicates must be AND'ed with the key, or the rows found would not be specific to the key
+        String predicates = matcher.group(2);
+        if (StringUtils.isNotBlank(predicates) &&
+            (OR.matcher(predicates).find() || !AND_END.matcher(predicates).find())) { return null; }
+
+        return new SqlKeyLookup(dbProfile, sql, matcher);
+    }
+
+    String getDbProfile() { return dbProfile; }
+
+    /** the record field referenced as key */
+    String getFieldName() { return fieldName; }
+
+    /** the key as it would be compared in SQL, or {@code null} if {@code value} should be looked up on its own */
+    String toKey(String value) {
+        if (value == null) { return null; }
+        if (quoted) { return StringUtils.contains(value, "'") ? null : value; }
+        return NUMBER.matcher(value).matches() ? value.trim() : null;
+    }
+
+    /** query the {@code keys} found; the first (and only) column of the result is the key */
+    String toBatchQuery(Collection<String> keys) {
+        String quote = quoted ? "'" : "";
+        return "SELECT DISTINCT " + column + " FROM " + from + " WHERE " + predicates + column + " IN (" +
+               keys.stream().map(key -> quote + key + quote).collect(Collectors.joining(",")) + ")";
+    }
+
+    String toCacheKey(String key) { return dbProfile + "\n" + sql + "\n" + key; }
+}
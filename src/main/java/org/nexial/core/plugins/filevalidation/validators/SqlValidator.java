@@ -18,8 +18,7 @@
 package org.nexial.core.plugins.filevalidation.validators;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -38,9 +37,11 @@ import org.nexial.core.utils.ConsoleUtils;
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 
+import static org.nexial.core.NexialConst.Compare.OPT_IO_VALIDATE_SQL_BATCH;
 import static org.nexial.core.NexialConst.TOKEN_END;
 import static org.nexial.core.NexialConst.TOKEN_START;
 import static org.nexial.core.plugins.filevalidation.validators.ValidationsExecutor.Severity.ERROR;
+import static org.nexial.core.SystemVariables.getDefaultInt;
 import static org.nexial.core.plugins.filevalidation.validators.ValidationsExecutor.buildError;
 import static org.nexial.core.utils.CheckUtils.requiresNotBlank;
 
@@ -48,8 +49,17 @@ public class SqlValidator implements FieldValidator {
 
     private static final int DB_PROFILE_INDEX = 0;
     private static final int SQL_QUERY_INDEX = 1;
+    private static final int MAX_LOOKUP_CACHE = 100000;
     FieldValidator nextValidator;
 
+    /** validation configs that are key lookup, or {@code null} if not */
+    private final Map<ValidationConfig, SqlKeyLookup> keyLookups = new IdentityHashMap<>();
+    /** keys known to be found, via batched lookup */
+    private final Map<String, Boolean> foundKeys = new LinkedHashMap<String, Boolean>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) { return size() > MAX_LOOKUP_CACHE; }
+    };
+
     @Override
     public FieldValidator setNextValidator(FieldValidator nextValidator) {
         this.nextValidator = nextValidator;
@@ -67,6 +77,8 @@ public class SqlValidator implements FieldValidator {
 
             if (!resolveConditions(field, validationConfig)) { break; }
             if (validationConfig.getType().equals(ValidationType.SQL.toString())) {
+                if (isKeyFound(field, validationConfig)) { continue; }
+
                 JsonArray listValues = (JsonArray) validationConfig.getParams();
                 List stringList = new Gson().fromJson(listValues, ArrayList.class);
                 String actual = field.getFieldValue().trim();
@@ -102,6 +114,97 @@ public class SqlValidator implements FieldValidator {
         // nextValidator.validateField(field);
     }
 
+    /**
+     * resolve the key lookups of {@code records} in batches, so that {@link #validateField(FieldBean)} only needs to
+     * query for the keys not found (and report them as it would otherwise).
+     */
+    void prefetch(List<RecordBean> records) {
+        ExecutionContext context = ExecutionThread.get();
+        int batchSize = context.getIntData(OPT_IO_VALIDATE_SQL_BATCH, getDefaultInt(OPT_IO_VALIDATE_SQL_BATCH));
+        if (batchSize < 2) { return; }
+
+        Map<SqlKeyLookup, Set<String>> pendingKeys = new LinkedHashMap<>();
+        for (RecordBean record : records) {
+            for (FieldBean field : record.getFields()) {
+                List<ValidationConfig> validationConfigs = field.getConfig().getValidationConfigs();
+                if (validationConfigs == null) { continue; }
+
+                for (ValidationConfig validationConfig : validationConfigs) {
+                    SqlKeyLookup lookup = toKeyLookup(validationConfig);
+                    if (lookup == null) { continue; }
+
+                    FieldBean keyField = record.get(lookup.getFieldName());
+                    String key = keyField == null ? null : lookup.toKey(keyField.getFieldValue());
+                    if (key != null && !foundKeys.containsKey(lookup.toCacheKey(key))) {
+                        pendingKeys.computeIfAbsent(lookup, k -> new LinkedHashSet<>()).add(key);
+                    }
+                }
+            }
+        }
+
+        NexialCommand rdbms = context.findPlugin("rdbms");
+        pendingKeys.forEach((lookup, keys) -> {
+            List<String> batch = new ArrayList<>(batchSize);
+            for (String key : keys) {
+                batch.add(key);
+                if (batch.size() == batchSize) {
+                    lookup(context, (RdbmsCommand) rdbms, lookup, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) { lookup(context, (RdbmsCommand) rdbms, lookup, batch); }
+        });
+    }
+
+    private void lookup(ExecutionContext context, RdbmsCommand rdbms, SqlKeyLookup lookup, List<String> keys) {
+        String resultVar = getClass().getName() + System.currentTimeMillis() + "dbresult";
+        try {
+            rdbms.runSQL(resultVar, lookup.getDbProfile(), context.handleExpression(lookup.toBatchQuery(keys)));
+            JdbcResult result = (JdbcResult) context.getObjectData(resultVar);
+            if (result == null || result.hasError() || result.columnCount() < 1) { return; }
+
+            // keys not found here will be queried individually
+            Set<String> expected = new HashSet<>(keys);
+            for (Object found : result.cells(result.getColumns().get(0))) {
+                String key = String.valueOf(found);
+                if (expected.contains(key)) { foundKeys.put(lookup.toCacheKey(key), Boolean.TRUE); }
+            }
+        } catch (Exception e) {
+            ConsoleUtils.log("Unable to look up " + keys.size() + " key(s) in batch; will query individually: " +
+                             e.getMessage());
+        } finally {
+            context.removeData(resultVar);
+        }
+    }
+
+    private boolean isKeyFound(FieldBean field, ValidationConfig validationConfig) {
+        if (foundKeys.isEmpty()) { return false; }
+
+        SqlKeyLookup lookup = toKeyLookup(validationConfig);
+        if (lookup == null) { return false; }
+
+        FieldBean keyField = field.getRecord().get(lookup.getFieldName());
+        String key = keyField == null ? null : lookup.toKey(keyField.getFieldValue());
+        return key != null && foundKeys.containsKey(lookup.toCacheKey(key));
+    }
+
+    private SqlKeyLookup toKeyLookup(ValidationConfig validationConfig) {
+        if (!ValidationType.SQL.toString().equals(validationConfig.getType())) { return null; }
+        if (keyLookups.containsKey(validationConfig)) { return keyLookups.get(validationConfig); }
+
+        SqlKeyLookup lookup = null;
+        if (validationConfig.getParams() instanceof JsonArray) {
+            JsonArray params = (JsonArray) validationConfig.getParams();
+            if (params.size() > SQL_QUERY_INDEX &&
+                params.get(DB_PROFILE_INDEX).isJsonPrimitive() && params.get(SQL_QUERY_INDEX).isJsonPrimitive()) {
+                lookup = SqlKeyLookup.parse(params.get(DB_PROFILE_INDEX).getAsString(),
+                                            params.get(SQL_QUERY_INDEX).getAsString());
+            }
+        }
+        keyLookups.put(validationConfig, lookup);
+        return lookup;
+    }
+
     private boolean resolveConditions(FieldBean field, ValidationConfig validationConfig) {
         if (validationConfig.getConditionBeans() == null) { return true; }
 
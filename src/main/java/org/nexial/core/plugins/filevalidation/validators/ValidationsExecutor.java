@@ -55,6 +55,7 @@ public class ValidationsExecutor {
     private static final int DEC_SCALE = 25;
     private static final RoundingMode ROUND = UP;
     private final FieldValidator startValidator;
+    private final SqlValidator sqlValidator;
     private final ExecutionContext context;
 
     public enum ValidationType {
@@ -109,7 +110,18 @@ public class ValidationsExecutor {
         context = ExecutionThread.get();
         startValidator = new RegexValidator();
         startValidator.setNextValidator(new EqualsValidator()).setNextValidator(new InListValidator()).setNextValidator(
-            new DateValidator()).setNextValidator(new SqlValidator());
+            new DateValidator()).setNextValidator(new EndValidator());
+        // SQL validation depends on the execution context, hence it is not part of the (thread-safe) validator chain
+        sqlValidator = new SqlValidator();
+    }
+
+    /** end of the validator chain */
+    private static class EndValidator implements FieldValidator {
+        @Override
+        public FieldValidator setNextValidator(FieldValidator nextValidator) { return null; }
+
+        @Override
+        public void validateField(FieldBean field) { }
     }
 
     public void max(Map<String, Number> mapValues, String mapTo, BigDecimal big) {
@@ -144,11 +156,14 @@ public class ValidationsExecutor {
 
     // todo: make all number functions as generic methods
 
-    void executeValidations(OutputStream outputStream, RecordBean recordBean) {
-
+    /**
+     * collect the errors found by the prior validations and write them to {@code outputStream}. Must be called after
+     * {@link RecordBean#setRecordData(RecordData)}.
+     */
+    void reportValidations(OutputStream outputStream, RecordBean recordBean) {
         RecordData recordData = recordBean.getRecordData();
         int totalFailed = recordData.getTotalRecordsFailed();
-        doFieldValidations(recordBean);
+        recordBean.collectErrors();
         if (recordBean.isFailed()) {
             recordData.setTotalRecordsFailed(++totalFailed);
         }
@@ -360,14 +375,25 @@ public class ValidationsExecutor {
         return filters.isMatched(context, "filtering records with");
     }
 
-    private void doFieldValidations(RecordBean recordBean) {
-        List<FieldBean> fields = recordBean.getFields();
-
-        for (FieldBean field : fields) {
+    /** field validations except SQL; safe to run outside of the execution thread */
+    void doFieldValidations(RecordBean recordBean) {
+        for (FieldBean field : recordBean.getFields()) {
             if (CollectionUtils.isNotEmpty(field.getConfig().getValidationConfigs())) {
                 startValidator.validateField(field);
             }
         }
-        recordBean.collectErrors();
+    }
+
+    /** resolve SQL key lookups of {@code records} in batches, ahead of {@link #doSqlValidations(RecordBean)} */
+    void prefetchSqlLookups(List<RecordBean> records) {
+        if (CollectionUtils.isNotEmpty(records)) { sqlValidator.prefetch(records); }
+    }
+
+    void doSqlValidations(RecordBean recordBean) {
+        for (FieldBean field : recordBean.getFields()) {
+            if (CollectionUtils.isNotEmpty(field.getConfig().getValidationConfigs())) {
+                sqlValidator.validateField(field);
+            }
+        }
     }
 }
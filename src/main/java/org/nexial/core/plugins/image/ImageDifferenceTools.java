@@ -14,24 +14,30 @@
  * limitations under the License.
  *
  */
-
 package org.nexial.core.plugins.image;
 
 import java.awt.*;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 
 public class ImageDifferenceTools {
     // The threshold which means the max distance between non-equal pixels.
     private static int threshold = 5;
 
-    //The number which marks how many rectangles. Beginning from 2.
-    private int counter = 2;
+    // The first number which marks a region; 0 and 1 mark the equal and non-equal pixels.
+    private static final int FIRST_REGION = 2;
+
+    // The number of image rows compared together, as one unit of parallel work.
+    private static final int BAND_HEIGHT = 64;
 
-    // The number of the marking specific rectangle.
-    private int regionCount = counter;
+    // The number of rectangles drawn so far.
+    private int counter = 0;
 
     private int[][] matrix;
+    private final List<Rectangle> regions = new ArrayList<>();
     private List<Difference> differences = new ArrayList<>();
 
     public void setMatrix(int[][] matrix) { this.matrix = matrix; }
@@ -39,15 +45,56 @@ public class ImageDifferenceTools {
     public List<Difference> getDifferences() { return differences; }
 
     /**
-     * Group rectangle regions in binary matrix.
+     * Group rectangle regions in binary matrix. Non-equal pixels which are at most {@code threshold} apart,
+     * horizontally, vertically or diagonally, belong to the same region. Each region is marked in the matrix with its
+     * number, beginning from 2 in the order of the region's first pixel.
+     * <p>
+     * Regions are labelled in two passes over the matrix: the first pass assigns provisional labels and records the
+     * labels found to be connected; the second pass resolves the final label and the bounding rectangle of each
+     * region.
      */
     public void groupRegions() {
+        regions.clear();
+        counter = 0;
+        if (matrix == null) { return; }
+
+        Labels labels = new Labels();
         for (int row = 0; row < matrix.length; row++) {
             for (int col = 0; col < matrix[row].length; col++) {
-                if (matrix[row][col] == 1) {
-                    joinToRegion(row, col);
-                    regionCount++;
+                if (matrix[row][col] != 1) { continue; }
+
+                // only the pixels already scanned need be considered, since being within reach is symmetric
+                int label = 0;
+                for (int i = 1; i <= threshold; i++) {
+                    label = labels.join(label, labelAt(row - i, col));
+                    label = labels.join(label, labelAt(row, col - i));
+                    label = labels.join(label, labelAt(row - i, col - i));
+                    label = labels.join(label, labelAt(row - i, col + i));
                 }
+
+                matrix[row][col] = label == 0 ? labels.add() : label;
+            }
+        }
+
+        int[] regionByLabel = new int[labels.size()];
+        for (int row = 0; row < matrix.length; row++) {
+            for (int col = 0; col < matrix[row].length; col++) {
+                if (matrix[row][col] < FIRST_REGION) { continue; }
+
+                int label = labels.find(matrix[row][col]);
+                if (regionByLabel[label] == 0) {
+                    regionByLabel[label] = FIRST_REGION + regions.size();
+                    regions.add(new Rectangle());
+                }
+
+                int region = regionByLabel[label];
+                matrix[row][col] = region;
+
+                Rectangle rect = regions.get(region - FIRST_REGION);
+                if (col < rect.getMinX()) { rect.setMinX(col); }
+                if (col > rect.getMaxX()) { rect.setMaxX(col); }
+                if (row < rect.getMinY()) { rect.setMinY(row); }
+                if (row > rect.getMaxY()) { rect.setMaxY(row); }
             }
         }
     }
@@ -58,72 +105,86 @@ public class ImageDifferenceTools {
      * @param graphics the Graphics2D object for drawing rectangles.
      */
     public void drawRectangles(Graphics2D graphics) {
-        if (counter > regionCount) { return; }
+        for (; counter < regions.size(); counter++) {
+            Rectangle rectangle = regions.get(counter);
 
-        Rectangle rectangle = createRectangle(counter);
+            int x = rectangle.getMinY();
+            int y = rectangle.getMinX();
+            int width = rectangle.getWidth();
+            int height = rectangle.getHeight();
 
-        int x = rectangle.getMinY();
-        int y = rectangle.getMinX();
-        int width = rectangle.getWidth();
-        int height = rectangle.getHeight();
-        // return if x or y has not been changed
-        if (x == Integer.MAX_VALUE || y == Integer.MAX_VALUE) { return; }
+            graphics.drawRect(x, y, width, height);
+            differences.add(new Difference(x, y, width, height));
+        }
+    }
 
-        graphics.drawRect(x, y, width, height);
-        differences.add(new Difference(x, y, width, height));
-        counter++;
-        drawRectangles(graphics);
+    /**
+     * Determine if 2 images are of the same size and with all pixels equal. Bands of rows are compared in parallel,
+     * until the first different band.
+     */
+    public static boolean isIdentical(BufferedImage expected, BufferedImage actual) {
+        if (expected == null || actual == null) { return false; }
+        if (expected.getWidth() != actual.getWidth() || expected.getHeight() != actual.getHeight()) { return false; }
+
+        int width = expected.getWidth();
+        int height = expected.getHeight();
+        return IntStream.range(0, toBandCount(height)).parallel().allMatch(band -> {
+            int startY = band * BAND_HEIGHT;
+            int rows = Math.min(BAND_HEIGHT, height - startY);
+            return Arrays.equals(expected.getRGB(0, startY, width, rows, null, 0, width),
+                                 actual.getRGB(0, startY, width, rows, null, 0, width));
+        });
     }
 
     /**
-     * The recursive method which go to all directions and finds difference
-     * in binary matrix using {@code threshold} for setting max distance between values which equal "1".
-     * and set the {@code groupCount} to matrix.
-     *
-     * @param row the value of the row.
-     * @param col the value of the column.
+     * The region label of the matrix value at {@code row} and {@code col}, or 0 if none.
      */
-    private void joinToRegion(int row, int col) {
-        if (row < 0 || row >= matrix.length || col < 0 || col >= matrix[row].length || matrix[row][col] != 1) {
-            return;
-        }
+    private int labelAt(int row, int col) {
+        if (row < 0 || row >= matrix.length || col < 0 || col >= matrix[row].length) { return 0; }
+        int value = matrix[row][col];
+        return value < FIRST_REGION ? 0 : value;
+    }
 
-        matrix[row][col] = regionCount;
+    private static int toBandCount(int height) { return (height + BAND_HEIGHT - 1) / BAND_HEIGHT; }
 
-        for (int i = 0; i < threshold; i++) {
-            // goes to all directions.
-            joinToRegion(row - 1 - i, col);
-            joinToRegion(row + 1 + i, col);
-            joinToRegion(row, col - 1 - i);
-            joinToRegion(row, col + 1 + i);
+    /**
+     * Provisional region labels (disjoint sets), beginning from {@link #FIRST_REGION}.
+     */
+    private static final class Labels {
+        private int[] parents = new int[64];
+        private int size = FIRST_REGION;
+
+        private int add() {
+            if (size == parents.length) { parents = Arrays.copyOf(parents, size * 2); }
+            parents[size] = size;
+            return size++;
+        }
 
-            joinToRegion(row - 1 - i, col - 1 - i);
-            joinToRegion(row + 1 + i, col - 1 - i);
-            joinToRegion(row - 1 - i, col + 1 + i);
-            joinToRegion(row + 1 + i, col + 1 + i);
+        private int find(int label) {
+            while (parents[label] != label) {
+                parents[label] = parents[parents[label]];
+                label = parents[label];
+            }
+            return label;
         }
-    }
 
-    /**
-     * Create a {@link Rectangle} object.
-     *
-     * @param counter the number from marks regions.
-     * @return the {@link Rectangle} object.
-     */
-    private Rectangle createRectangle(int counter) {
-        Rectangle rect = new Rectangle();
-
-        for (int y = 0; y < matrix.length; y++) {
-            for (int x = 0; x < matrix[0].length; x++) {
-                if (matrix[y][x] == counter) {
-                    if (x < rect.getMinX()) { rect.setMinX(x); }
-                    if (x > rect.getMaxX()) { rect.setMaxX(x); }
-                    if (y < rect.getMinY()) { rect.setMinY(y); }
-                    if (y > rect.getMaxY()) { rect.setMaxY(y); }
-                }
+        /** merge the regions of {@code label} and {@code other} (0 for none), and return the merged label */
+        private int join(int label, int other) {
+            if (other == 0) { return label; }
+            int otherRoot = find(other);
+            if (label == 0) { return otherRoot; }
+
+            int root = find(label);
+            if (root == otherRoot) { return root; }
+            // the lower label wins; it belongs to the pixel scanned first
+            if (root < otherRoot) {
+                parents[otherRoot] = root;
+                return root;
             }
+            parents[root] = otherRoot;
+            return otherRoot;
         }
 
-        return rect;
+        private int size() { return size; }
     }
-}
\ No newline at end of file
+}
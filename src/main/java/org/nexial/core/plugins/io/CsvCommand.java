@@ -22,6 +22,7 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.nexial.commons.utils.TextUtils;
 import org.nexial.core.IntegrationConfigException;
 import org.nexial.core.model.ExecutionContext;
@@ -37,8 +38,10 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.util.*;
 
+import static org.nexial.core.NexialConst.CSV_COMPARE_SPILL_THRESHOLD;
 import static org.nexial.core.NexialConst.CSV_MAX_COLUMNS;
 import static org.nexial.core.NexialConst.CSV_MAX_COLUMN_WIDTH;
+import static org.nexial.core.SystemVariables.getDefaultLong;
 import static org.nexial.core.plugins.io.CsvExtendedComparison.CSV_EXT_COMP_HEADER;
 import static org.nexial.core.plugins.io.IoCommand.CompareMode.FAIL_FAST;
 import static org.nexial.core.plugins.io.IoCommand.CompareMode.THOROUGH;
@@ -78,6 +81,9 @@ public class CsvCommand extends IoCommand {
         comparison.setDelimiter(context.getTextDelim());
         comparison.setMaxColumns(context.getIntData(CSV_MAX_COLUMNS, -1));
         comparison.setMaxColumnWidth(context.getIntData(CSV_MAX_COLUMN_WIDTH, -1));
+        // large files (read as is) are compared via disk-based partitions
+        comparison.setSpillThreshold(NumberUtils.toLong(context.getStringData(CSV_COMPARE_SPILL_THRESHOLD),
+                                                        getDefaultLong(CSV_COMPARE_SPILL_THRESHOLD)));
 
         // expected can either be a file or content
         if (BooleanUtils.toBoolean(collectConfig(configKey + "expected.readAsIs").orElse("false"))) {
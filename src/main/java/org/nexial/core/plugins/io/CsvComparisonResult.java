@@ -22,9 +22,12 @@ import org.apache.commons.lang3.StringUtils;
 import org.nexial.commons.utils.TextUtils;
 import org.nexial.core.plugins.io.CsvExtendedComparison.ReportFormat;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import javax.validation.constraints.NotNull;
 
@@ -40,6 +43,8 @@ public class CsvComparisonResult {
     private String expectedField = "EXPECTED";
     private String actualField = "ACTUAL";
     private List<List<String>> discrepancies = new ArrayList<>();
+    // identity of each discrepancy, in the same order
+    private final List<String> discrepancyIdentities = new ArrayList<>();
     private Set<String> failedIdentities = new HashSet<>();
     private int expectedRowCount;
     private int actualRowCount;
@@ -104,6 +109,28 @@ public class CsvComparisonResult {
         discrepancies.add(newDiscrepancy(expected, "RECORD MISSING in '" + actualField + "'", expected[0], ""));
     }
 
+    /**
+     * add the discrepancies of {@code partials} in the order of their identity. Each partial result is expected to
+     * contain its own distinct set of identities, with discrepancies already in the order of identity.
+     */
+    void addSorted(List<CsvComparisonResult> partials) {
+        List<Entry<String, List<String>>> merged = new ArrayList<>();
+        for (CsvComparisonResult partial : partials) {
+            for (int i = 0; i < partial.discrepancies.size(); i++) {
+                merged.add(new SimpleImmutableEntry<>(partial.discrepancyIdentities.get(i),
+                                                      partial.discrepancies.get(i)));
+            }
+            failedIdentities.addAll(partial.failedIdentities);
+        }
+
+        // stable sort; discrepancies of the same identity remain in their original order
+        merged.sort(Map.Entry.comparingByKey());
+        merged.forEach(entry -> {
+            discrepancyIdentities.add(entry.getKey());
+            discrepancies.add(entry.getValue());
+        });
+    }
+
     @Override
     public String toString() {
         boolean readyForReport = CollectionUtils.isNotEmpty(discrepancies) &&
@@ -170,6 +197,7 @@ public class CsvComparisonResult {
     private List<String> newDiscrepancy(String[] record, String field, String expected, String actual) {
         // first field is ALWAYS the identity
         failedIdentities.add(record[0]);
+        discrepancyIdentities.add(record[0]);
 
         // if 'expected' is empty and the 'actual' is really the identity field of the record, then this means we
         // are reporting on missing 'EXPECTED' record ==> we need to use 'ACTUAL' header in this case
@@ -23,6 +23,7 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.IterableUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.collections4.map.ListOrderedMap;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
@@ -31,14 +32,17 @@ import org.nexial.core.IntegrationConfigException;
 import org.nexial.core.MemManager;
 import org.nexial.core.utils.ConsoleUtils;
 
-import java.io.File;
-import java.io.IOException;
-import java.io.Serializable;
-import java.io.StringReader;
+import java.io.*;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import static java.lang.Double.MIN_VALUE;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.nexial.commons.utils.TextUtils.CleanNumberStrategy.CSV;
 
 class CsvExtendedComparison implements Serializable {
@@ -46,6 +50,10 @@ class CsvExtendedComparison implements Serializable {
 
     static final String CSV_EXT_COMP_HEADER = "[csv >> compareExtended]: ";
     static final String PARSE_NUM_MSG = "resort to text comparison due to non-numeric value found: ";
+    private static final long DEF_PARTITION_SIZE = 32 * 1024 * 1024;
+    // all partitions of one file are open at once while partitioning, each with its own buffer
+    private static final int MAX_PARTITIONS = 256;
+    private static final int PARTITION_BUFFER_SIZE = 16 * 1024;
 
     private String expectedContent;
     private List<String> expectedIdentityColumns;
@@ -71,6 +79,9 @@ class CsvExtendedComparison implements Serializable {
     private String delimiter;
     private int maxColumns = -1;
     private int maxColumnWidth = -1;
+    // file size (expected + actual) beyond which the comparison is done via partitions spilled to disk
+    private long spillThreshold = -1;
+    private long partitionSize = DEF_PARTITION_SIZE;
 
     // support the comparison of field content as a list (ordered or unordered)
     private List<String> orderedListFields;
@@ -178,6 +189,11 @@ class CsvExtendedComparison implements Serializable {
 
     public void setMaxColumnWidth(int maxColumnWidth) { this.maxColumnWidth = maxColumnWidth; }
 
+    /** negative threshold means always compare in memory */
+    public void setSpillThreshold(long spillThreshold) { this.spillThreshold = spillThreshold; }
+
+    void setPartitionSize(long partitionSize) { this.partitionSize = partitionSize; }
+
     public String getExpectedField() { return expectedField; }
 
     public void setExpectedField(String expectedField) {
@@ -211,6 +227,8 @@ class CsvExtendedComparison implements Serializable {
     public CsvComparisonResult compare() throws IntegrationConfigException, IOException {
         sanityChecks();
 
+        if (isSpillRequired()) { return compareByPartitions(); }
+
         // parse and sort
         parseExpected();
         MemManager.gc(this);
@@ -227,6 +245,86 @@ class CsvExtendedComparison implements Serializable {
         int expectedLineCount = expectedRecords.size();
         int actualLineCount = actualRecords.size();
 
+        CsvComparisonResult result = newResult(expectedLineCount, actualLineCount);
+
+        // loop through expected
+        ConsoleUtils.log(CSV_EXT_COMP_HEADER + "processing " + expectedLineCount + " rows in expected");
+        ConsoleUtils.log(CSV_EXT_COMP_HEADER + "processing " + actualLineCount + " rows in actual");
+
+        compareSorted(expectedRecords, actualRecords, result, true);
+        return result;
+    }
+
+    /**
+     * compare large files with bounded memory: both files are hash-partitioned by their identity into temp files,
+     * and then each pair of partitions is compared (in parallel) in memory. Since a partition contains every record
+     * of the same identity, the combined discrepancies are the same as those of an in-memory comparison.
+     */
+    private CsvComparisonResult compareByPartitions() throws IntegrationConfigException, IOException {
+        long totalSize = expectedFile.length() + actualFile.length();
+        int partitions = (int) Math.max(2, Math.min(MAX_PARTITIONS, totalSize / Math.max(1, partitionSize) + 1));
+        File spillDir = Files.createTempDirectory("nexial-csv-compare-").toFile();
+        ConsoleUtils.log(CSV_EXT_COMP_HEADER + "comparing " + totalSize + " bytes via " + partitions +
+                         " partitions in " + spillDir);
+
+        ExecutorService executor = null;
+        try {
+            expectedHeaders = new ArrayList<>();
+            int expectedLineCount = partition(expectedParser, expectedFile, expectedHeaders, expectedIdentityColumns,
+                                              spillDir, "expected", partitions);
+            resolveFieldMapping();
+
+            actualHeaders = new ArrayList<>();
+            int actualLineCount = partition(actualParser, actualFile, actualHeaders, actualIdentityColumns,
+                                            spillDir, "actual", partitions);
+
+            ConsoleUtils.log(CSV_EXT_COMP_HEADER + "validate headers");
+            validateHeaders();
+
+            ConsoleUtils.log(CSV_EXT_COMP_HEADER + "processing " + expectedLineCount + " rows in expected");
+            ConsoleUtils.log(CSV_EXT_COMP_HEADER + "processing " + actualLineCount + " rows in actual");
+
+            executor = Executors.newFixedThreadPool(Math.min(partitions, Runtime.getRuntime().availableProcessors()));
+            List<Future<CsvComparisonResult>> comparisons = new ArrayList<>();
+            for (int i = 0; i < partitions; i++) {
+                File expectedPartition = toPartitionFile(spillDir, "expected", i);
+                File actualPartition = toPartitionFile(spillDir, "actual", i);
+                comparisons.add(executor.submit(() -> {
+                    List<String[]> expected = readPartition(expectedPartition);
+                    List<String[]> actual = readPartition(actualPartition);
+                    expected.sort(Comparator.comparing(row -> row[0]));
+                    actual.sort(Comparator.comparing(row -> row[0]));
+
+                    CsvComparisonResult partial = newResult(expected.size(), actual.size());
+                    compareSorted(expected, actual, partial, false);
+                    return partial;
+                }));
+            }
+
+            List<CsvComparisonResult> partials = new ArrayList<>();
+            for (Future<CsvComparisonResult> comparison : comparisons) { partials.add(comparison.get()); }
+
+            CsvComparisonResult result = newResult(expectedLineCount, actualLineCount);
+            result.addSorted(partials);
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Comparison interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause.getMessage(), cause);
+        } finally {
+            if (executor != null) { executor.shutdownNow(); }
+            FileUtils.deleteQuietly(spillDir);
+        }
+    }
+
+    private boolean isSpillRequired() {
+        return spillThreshold >= 0 && expectedFile != null && actualFile != null &&
+               expectedFile.length() + actualFile.length() > spillThreshold;
+    }
+
+    private CsvComparisonResult newResult(int expectedLineCount, int actualLineCount) {
         CsvComparisonResult result = new CsvComparisonResult();
         result.setExpectedHeaders(expectedHeaders);
         result.setActualHeaders(actualHeaders);
@@ -237,10 +335,16 @@ class CsvExtendedComparison implements Serializable {
         result.setActualField(actualField);
         result.setActualRowCount(actualLineCount);
         result.setExpectedRowCount(expectedLineCount);
+        return result;
+    }
 
-        // loop through expected
-        ConsoleUtils.log(CSV_EXT_COMP_HEADER + "processing " + expectedLineCount + " rows in expected");
-        ConsoleUtils.log(CSV_EXT_COMP_HEADER + "processing " + actualLineCount + " rows in actual");
+    /** walk through records of both sides (sorted by identity) and collect their discrepancies into {@code result} */
+    private void compareSorted(List<String[]> expectedRecords,
+                               List<String[]> actualRecords,
+                               CsvComparisonResult result,
+                               boolean feedback) {
+        int expectedLineCount = expectedRecords.size();
+        int actualLineCount = actualRecords.size();
 
         int expectedCurrentLine = 0;
         int actualCurrentLine = 0;
@@ -327,7 +431,7 @@ class CsvExtendedComparison implements Serializable {
                 });
 
                 // give a little feedback; let them know we are working on it
-                if (expectedCurrentLine % 5000 == 0) {
+                if (feedback && expectedCurrentLine % 5000 == 0) {
                     MemManager.gc(this);
                     ConsoleUtils.log(CSV_EXT_COMP_HEADER + "processed line #" + expectedCurrentLine + "...");
                 }
@@ -352,7 +456,7 @@ class CsvExtendedComparison implements Serializable {
             }
         }
 
-        ConsoleUtils.log(CSV_EXT_COMP_HEADER + "processed all lines");
+        if (feedback) { ConsoleUtils.log(CSV_EXT_COMP_HEADER + "processed all lines"); }
 
         if (expectedCurrentLine < expectedLineCount) {
             for (int i = expectedCurrentLine; i < expectedLineCount; i++) {
@@ -365,8 +469,6 @@ class CsvExtendedComparison implements Serializable {
                 result.addMissingExpected(actualRecords.get(i));
             }
         }
-
-        return result;
     }
 
     protected double toNum(String expectedField, String expectedValue) {
@@ -403,6 +505,10 @@ class CsvExtendedComparison implements Serializable {
             expectedRecords = parseContent(expectedParser, expectedContent, expectedHeaders, expectedIdentityColumns);
         }
 
+        resolveFieldMapping();
+    }
+
+    private void resolveFieldMapping() {
         if (MapUtils.isEmpty(fieldMapping)) {
             fieldMapping = new ListOrderedMap<>();
             expectedHeaders.forEach(header -> fieldMapping.put(header, header));
@@ -461,6 +567,19 @@ class CsvExtendedComparison implements Serializable {
                              List<String[]> records,
                              List<String> fileHeaders,
                              List<String> identityColumns) throws IOException {
+        RecordMetaData recordMetadata = resolveHeaders(parser, fileHeaders, identityColumns);
+        int[] identityIndices = toIdentityIndices(recordMetadata, identityColumns);
+        for (int i = 0; i < records.size(); i++) {
+            String[] record = records.get(i);
+            records.set(i, ArrayUtils.insert(0, record, toIdentity(record, identityIndices)));
+        }
+
+        // position 0 is the identity value
+        records.sort(Comparator.comparing(row -> row[0]));
+    }
+
+    private RecordMetaData resolveHeaders(CsvParser parser, List<String> fileHeaders, List<String> identityColumns)
+        throws IOException {
         // check file header
         RecordMetaData recordMetadata = parser.getRecordMetadata();
         if (recordMetadata != null) { fileHeaders.addAll(Arrays.asList(recordMetadata.headers())); }
@@ -477,24 +596,109 @@ class CsvExtendedComparison implements Serializable {
             }
         }
 
-        for (int i = 0; i < records.size(); i++) {
-            String[] record = records.get(i);
-            String identity = identityColumns.stream()
-                                             .map(column -> {
-                                                 if (recordMetadata != null) {
-                                                     if (!recordMetadata.containsColumn(column)) { return ""; }
-                                                     int index = recordMetadata.indexOf(column);
-                                                     return ArrayUtils.getLength(record) > index ? record[index] : "";
-                                                 } else {
-                                                     return "";
-                                                 }
-                                             })
-                                             .collect(Collectors.joining(identSeparator));
-            records.set(i, ArrayUtils.insert(0, record, identity));
+        return recordMetadata;
+    }
+
+    /** position of each identity column, or -1 if not found */
+    private static int[] toIdentityIndices(RecordMetaData recordMetadata, List<String> identityColumns) {
+        return identityColumns.stream()
+                              .mapToInt(column -> recordMetadata != null && recordMetadata.containsColumn(column) ?
+                                                  recordMetadata.indexOf(column) : -1)
+                              .toArray();
+    }
+
+    private String toIdentity(String[] record, int[] identityIndices) {
+        return Arrays.stream(identityIndices)
+                     .mapToObj(index -> index != -1 && ArrayUtils.getLength(record) > index ? record[index] : "")
+                     .collect(Collectors.joining(identSeparator));
+    }
+
+    /**
+     * parse {@code file} record by record, and write each record (with its identity prepended) to one of the
+     * {@code partitions} temp files as per the hash of its identity.
+     *
+     * @return the number of records parsed
+     */
+    private int partition(CsvParser parser,
+                          File file,
+                          List<String> fileHeaders,
+                          List<String> identityColumns,
+                          File spillDir,
+                          String side,
+                          int partitions) throws IOException {
+        ConsoleUtils.log(CSV_EXT_COMP_HEADER + "partitioning file " + file);
+
+        DataOutputStream[] outputs = new DataOutputStream[partitions];
+        int count = 0;
+        try {
+            for (int i = 0; i < partitions; i++) {
+                outputs[i] = new DataOutputStream(new BufferedOutputStream(
+                    new FileOutputStream(toPartitionFile(spillDir, side, i)), PARTITION_BUFFER_SIZE));
+            }
+
+            parser.beginParsing(file);
+            String[] record = parser.parseNext();
+            if (record == null) { throw new IOException("No record parsed from content"); }
+
+            int[] identityIndices = toIdentityIndices(resolveHeaders(parser, fileHeaders, identityColumns),
+                                                      identityColumns);
+            while (record != null) {
+                String identity = toIdentity(record, identityIndices);
+                writeRecord(outputs[Math.floorMod(identity.hashCode(), partitions)],
+                            ArrayUtils.insert(0, record, identity));
+                count++;
+                record = parser.parseNext();
+            }
+        } finally {
+            parser.stopParsing();
+            for (DataOutputStream output : outputs) { if (output != null) { output.close(); } }
         }
 
-        // position 0 is the identity value
-        records.sort(Comparator.comparing(row -> row[0]));
+        ConsoleUtils.log(CSV_EXT_COMP_HEADER + "partitioning file " + file + " - DONE");
+        return count;
+    }
+
+    private static File toPartitionFile(File spillDir, String side, int partition) {
+        return new File(spillDir, side + "-" + partition + ".bin");
+    }
+
+    private static void writeRecord(DataOutputStream output, String[] record) throws IOException {
+        output.writeInt(record.length);
+        for (String value : record) {
+            if (value == null) {
+                output.writeInt(-1);
+            } else {
+                byte[] bytes = value.getBytes(UTF_8);
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            }
+        }
+    }
+
+    private static List<String[]> readPartition(File file) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file),
+                                                                                 64 * 1024))) {
+            while (true) {
+                int length;
+                try {
+                    length = input.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+
+                String[] record = new String[length];
+                for (int i = 0; i < length; i++) {
+                    int size = input.readInt();
+                    if (size == -1) { continue; }
+                    byte[] bytes = new byte[size];
+                    input.readFully(bytes);
+                    record[i] = new String(bytes, UTF_8);
+                }
+                records.add(record);
+            }
+        }
+        return records;
     }
 
     private void sanityChecks() throws IntegrationConfigException {
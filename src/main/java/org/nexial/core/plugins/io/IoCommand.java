@@ -76,6 +76,7 @@ import javax.validation.constraints.NotNull;
 import static java.io.File.separator;
 import static java.lang.System.lineSeparator;
 import static org.apache.commons.lang3.SystemUtils.IS_OS_WINDOWS;
+import static org.nexial.commons.utils.EnvUtils.enforceUnixEOL;
 import static org.nexial.core.NexialConst.Compare.*;
 import static org.nexial.core.NexialConst.*;
 import static org.nexial.core.SystemVariables.getDefault;
@@ -973,7 +974,7 @@ public class IoCommand extends BaseCommand {
         File actualFile = files.getRight();
 
         try {
-            if (FileUtils.contentEquals(expectedFile, actualFile)) {
+            if (StreamingLineDiff.contentEquals(expectedFile, actualFile)) {
                 report.addFileMismatch(file(MSG_FILE_EXACT_MATCH));
                 return StepResult.success(MSG_FILE_EXACT_MATCH);
             }
@@ -984,8 +985,8 @@ public class IoCommand extends BaseCommand {
                 report.addFileMismatch(ComparisonResult.fileSizeDiff(expectedLength, actualLength));
             }
 
-            int expectedLines = CollectionUtils.size(FileUtils.readLines(expectedFile, DEF_CHARSET));
-            int actualLines = CollectionUtils.size(FileUtils.readLines(actualFile, DEF_CHARSET));
+            int expectedLines = StreamingLineDiff.countLines(expectedFile);
+            int actualLines = StreamingLineDiff.countLines(actualFile);
             if (expectedLines != actualLines) { report.addFileMismatch(fileLineDiff(expectedLines, actualLines)); }
         } catch (IOException e) {
             // unlikely since we've already gone through prepCompare()
@@ -1008,14 +1009,24 @@ public class IoCommand extends BaseCommand {
         return input;
     }
 
+    /** true if the content of both files is compared as is, i.e. there is no data variable to substitute */
+    protected boolean isLiteralContent(File expected, File actual) throws IOException {
+        return context.isResolveTextAsIs() ||
+               (OutputFileUtils.isLiteralContent(expected, context) && OutputFileUtils.isLiteralContent(actual, context));
+    }
+
     protected StepResult compare(String expected, String actual, CompareMode compareMode, String diffVar) {
         FileComparisonReport report = new FileComparisonReport();
 
         boolean failfast = compareMode == FAIL_FAST;
+        boolean logMatches = context.getBooleanData(LOG_MATCH, getDefaultBool(LOG_MATCH));
         // boolean textAsURL = context.isResolveTextAsURL();
 
         String expectedContent;
         String actualContent;
+        // lines common to both sides, before and after the differing lines
+        int leadingLines = 0;
+        int trailingLines = 0;
 
         try {
             // 1. compare file size and line count as physical files
@@ -1037,8 +1048,24 @@ public class IoCommand extends BaseCommand {
                 }
 
                 // not fail fast, so get content and get ready for line-by-line comparison
-                expectedContent = new OutputResolver(expected, context).getContent();
-                actualContent = new OutputResolver(actual, context).getContent();
+                if (!logMatches && isLiteralContent(expectedFile, actualFile)) {
+                    // content as is, so only the lines between the common leading and trailing lines need be loaded
+                    // and compared; the common lines are counted as matched without their content
+                    StreamingLineDiff.DifferingRange range =
+                        StreamingLineDiff.findDifferingRange(expectedFile, actualFile);
+                    expectedContent = range.readExpected();
+                    actualContent = range.readActual();
+                    if (!context.isResolveTextAsIs()) {
+                        // same as how literal content would have been resolved
+                        expectedContent = enforceUnixEOL(expectedContent);
+                        actualContent = enforceUnixEOL(actualContent);
+                    }
+                    leadingLines = range.getLeadingLines();
+                    trailingLines = range.getTrailingLines();
+                } else {
+                    expectedContent = new OutputResolver(expected, context).getContent();
+                    actualContent = new OutputResolver(actual, context).getContent();
+                }
             } else {
                 // 2. compare file size and line counts as string objects
                 expectedContent = new OutputResolver(expected, context).getContent();
@@ -1057,8 +1084,8 @@ public class IoCommand extends BaseCommand {
                     report.addFileMismatch(fileSizeDiff(expectedLength, actualLength));
                 }
 
-                int expectedLines = CollectionUtils.size(TextUtils.toListPreserveEmpty(expectedContent, "\n", false));
-                int actualLines = CollectionUtils.size(TextUtils.toListPreserveEmpty(actualContent, "\n", false));
+                int expectedLines = StreamingLineDiff.countLines(expectedContent);
+                int actualLines = StreamingLineDiff.countLines(actualContent);
                 if (expectedLines != actualLines) { report.addFileMismatch(fileLineDiff(expectedLines, actualLines)); }
 
                 if (failfast && report.hasMismatch()) { return failContentComparison(report); }
@@ -1081,29 +1108,46 @@ public class IoCommand extends BaseCommand {
         // }
 
         // 3. double check line count
-        List<String> expectedRows =
-            TextUtils.toListPreserveEmpty(StringUtils.replace(expectedContent, "\r\n", "\n"), "\n", false);
-        List<String> actualRows =
-            TextUtils.toListPreserveEmpty(StringUtils.replace(actualContent, "\r\n", "\n"), "\n", false);
+        // lines are extracted on demand (with \r\n treated as \n), rather than splitting the entire content upfront
+        List<String> expectedRows = new StreamingLineDiff.Lines(expectedContent);
+        List<String> actualRows = new StreamingLineDiff.Lines(actualContent);
         int eRowCount = CollectionUtils.size(expectedRows);
         int aRowCount = CollectionUtils.size(actualRows);
-        if (CollectionUtils.isEmpty(expectedRows) || CollectionUtils.isEmpty(actualRows)) {
-            report.addFileMismatch(contentEmpty(eRowCount, aRowCount));
+        int commonLines = leadingLines + trailingLines;
+        if (eRowCount + commonLines == 0 || aRowCount + commonLines == 0) {
+            report.addFileMismatch(contentEmpty(eRowCount + commonLines, aRowCount + commonLines));
             return compareMode == DIFF ? createDiff(diffVar, report) : failContentComparison(report);
         }
 
-        // 4. line-by-line compare here we go!
-        boolean logMatches = context.getBooleanData(LOG_MATCH, getDefaultBool(LOG_MATCH));
+        // 4. line-by-line compare here we go! line numbers are offset by the common leading lines
+        for (int i = 0; i < leadingLines; i++) { report.addLineMatch(null); }
+
         int currentErrorCounter = report.getMismatchCount();
         int aPos = -1;
         int aLastParsed = aPos;
+        // the remaining lines match once we reach the trailing lines common to both sides, in lockstep
+        int commonTrailingLines = StreamingLineDiff.countCommonTrailingLines(expectedRows, actualRows);
         for (int ePos = 0; ePos < expectedRows.size(); ePos++) {
             if (report.getMismatchCount() > currentErrorCounter && failfast) { return failContentComparison(report); }
 
             String eRow = expectedRows.get(ePos);
-            int pos = ePos + 1;
+            int pos = leadingLines + ePos + 1;
             aPos++;
 
+            int remaining = eRowCount - ePos;
+            if (remaining <= commonTrailingLines && remaining == aRowCount - aPos) {
+                for (int i = 0; i < remaining; i++) {
+                    if (logMatches) {
+                        report.addLineMatch(lineMatched(pos + i, "perfect match", expectedRows.get(ePos + i))
+                                                .maligned(pos + i, leadingLines + aPos + i + 1));
+                    } else {
+                        report.addLineMatch(null);
+                    }
+                }
+                aLastParsed = aRowCount - 1;
+                break;
+            }
+
             // 4.1 ACTUAL line not found
             if (actualRows.size() <= aPos) {
                 report.addLineMismatch(lineMissing(pos, eRow, null));
@@ -1112,13 +1156,14 @@ public class IoCommand extends BaseCommand {
 
             String aRow = actualRows.get(aPos);
             aLastParsed = aPos;
+            int aLinePos = leadingLines + aPos + 1;
 
             // this could be (1) exact match, (2) partial match, (3) completely off
 
             // 4.2 test for perfect match
             if (StringUtils.equals(eRow, aRow)) {
                 if (logMatches) {
-                    report.addLineMatch(lineMatched(pos, "perfect match", eRow).maligned(pos, aPos + 1));
+                    report.addLineMatch(lineMatched(pos, "perfect match", eRow).maligned(pos, aLinePos));
                 } else {
                     report.addLineMatch(null);
                 }
@@ -1127,7 +1172,7 @@ public class IoCommand extends BaseCommand {
 
             // 4.3 test for mismatched cases
             if (StringUtils.containsIgnoreCase(eRow, aRow)) {
-                report.addLineMismatch(line(pos, "mismatch due to letter case", eRow, aRow).maligned(pos, aPos + 1));
+                report.addLineMismatch(line(pos, "mismatch due to letter case", eRow, aRow).maligned(pos, aLinePos));
                 continue;
             }
 
@@ -1136,7 +1181,7 @@ public class IoCommand extends BaseCommand {
             String aRowTrimmed = StringUtils.trim(aRow);
             if (StringUtils.equals(eRowTrimmed, aRowTrimmed)) {
                 report.addLineMismatch(line(pos, "mismatch due to leading/trailing spaces", eRow, aRow)
-                                           .maligned(pos, aPos + 1));
+                                           .maligned(pos, aLinePos));
                 continue;
             }
 
@@ -1144,14 +1189,14 @@ public class IoCommand extends BaseCommand {
             String eRowNormalized = StringUtils.deleteWhitespace(eRowTrimmed);
             String aRowNormalized = StringUtils.deleteWhitespace(aRowTrimmed);
             if (StringUtils.equals(eRowNormalized, aRowNormalized)) {
-                report.addLineMismatch(line(pos, "mismatch due to extra spaces", eRow, aRow).maligned(pos, aPos + 1));
+                report.addLineMismatch(line(pos, "mismatch due to extra spaces", eRow, aRow).maligned(pos, aLinePos));
                 continue;
             }
 
             // 4.6 test for case and space mismatch
             if (StringUtils.equalsIgnoreCase(eRowNormalized, aRowNormalized)) {
                 report.addLineMismatch(line(pos, "mismatch due to extra spaces and letter cases", eRow, aRow)
-                                           .maligned(pos, aPos + 1));
+                                           .maligned(pos, aLinePos));
                 continue;
             }
 
@@ -1161,7 +1206,7 @@ public class IoCommand extends BaseCommand {
                 // match found, but it's after current line
                 // consider this as "extra lines found in ACTUAL
                 for (int j = ePos; j < aMatchedPosition; j++) {
-                    report.addLineMismatch(lineExtraFound((j + 1), null, actualRows.get(j)));
+                    report.addLineMismatch(lineExtraFound(leadingLines + j + 1, null, actualRows.get(j)));
                 }
                 ePos--;
                 aPos = aMatchedPosition - 1;
@@ -1173,7 +1218,7 @@ public class IoCommand extends BaseCommand {
                 // match found, but it's after current line
                 // consider this as "extra lines found in EXPECTED
                 for (int j = aPos; j < eMatchedPosition; j++) {
-                    report.addLineMismatch(lineMissing((j + 1), expectedRows.get(j), null));
+                    report.addLineMismatch(lineMissing(leadingLines + j + 1, expectedRows.get(j), null));
                 }
                 ePos = eMatchedPosition - 1;
                 aPos--;
@@ -1182,16 +1227,18 @@ public class IoCommand extends BaseCommand {
 
             // 4.8 test for character distance mismatch
             report.addLineMismatch(lineDiff(pos, levenshtein.apply(eRowNormalized, aRowNormalized), eRow, aRow)
-                                       .maligned(pos, aPos + 1));
+                                       .maligned(pos, aLinePos));
         }
 
         // scan all extra lines in ACTUAL
         if (actualRows.size() > expectedRows.size()) {
             for (int i = aLastParsed + 1; i < actualRows.size(); i++) {
-                report.addLineMismatch(lineExtraFound(i + 1, null, actualRows.get(i)));
+                report.addLineMismatch(lineExtraFound(leadingLines + i + 1, null, actualRows.get(i)));
             }
         }
 
+        for (int i = 0; i < trailingLines; i++) { report.addLineMatch(null); }
+
         return compareMode == DIFF ? createDiff(diffVar, report) : failContentComparison(report);
     }
 
@@ -0,0 +1,438 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.nexial.commons.utils.FileUtil;
+
+/**
+ * support for comparing large content line by line without materializing all the lines upfront. Files are compared
+ * and their lines counted over chunks in parallel, each chunk read in blocks via positional read into reused buffers
+ * (rather than memory-mapped, since mapped buffers hold on to address space until garbage collected). Content is
+ * viewed as lines on demand via {@link Lines}, and the common trailing lines of both sides are determined ahead so
+ * that the line-by-line comparison can stop as soon as the remaining lines are known to match. For files, the leading
+ * and trailing lines common to both sides are found via per-chunk digests (see {@link DifferingRange}), so that only
+ * the lines in between need be loaded and compared line by line.
+ */
+final class StreamingLineDiff {
+    static final int CHUNK_SIZE = 8 * 1024 * 1024;
+    private static final int BLOCK_SIZE = 64 * 1024;
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private StreamingLineDiff() { }
+
+    /**
+     * lines of {@code content}, split by {@code \n} (with {@code \r\n} treated as {@code \n}) and without the empty
+     * line after the last line feed. Each line is extracted only when requested.
+     */
+    static final class Lines extends AbstractList<String> implements RandomAccess {
+        private final String content;
+        private final int[] starts;
+        private final int size;
+
+        Lines(String content) {
+            this.content = content == null ? "" : content;
+            int length = this.content.length();
+
+            int count = 0;
+            int[] offsets = new int[16];
+            int start = 0;
+            while (start < length) {
+                if (count == offsets.length) { offsets = Arrays.copyOf(offsets, count * 2); }
+                offsets[count++] = start;
+                int lineFeed = this.content.indexOf('\n', start);
+                if (lineFeed == -1) { break; }
+                start = lineFeed + 1;
+            }
+
+            this.starts = offsets;
+            this.size = count;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+
+            int start = starts[index];
+            int lineFeed = content.indexOf('\n', start);
+            if (lineFeed == -1) { return content.substring(start); }
+
+            int end = lineFeed > start && content.charAt(lineFeed - 1) == '\r' ? lineFeed - 1 : lineFeed;
+            return content.substring(start, end);
+        }
+
+        @Override
+        public int size() { return size; }
+    }
+
+    /**
+     * the range of lines that differ between 2 files, i.e. after the leading lines and before the trailing lines that
+     * are common to both files. The common lines are the same in number (and content) on both sides, hence only the
+     * range in between need be read and compared line by line. Lines are as per {@link Lines}.
+     */
+    static final class DifferingRange {
+        private final File expected;
+        private final File actual;
+        private final long expectedStart;
+        private final long expectedEnd;
+        private final long actualStart;
+        private final long actualEnd;
+        private final int leadingLines;
+        private final int trailingLines;
+
+        private DifferingRange(File expected, long expectedStart, long expectedEnd,
+                               File actual, long actualStart, long actualEnd,
+                               int leadingLines, int trailingLines) {
+            this.expected = expected;
+            this.expectedStart = expectedStart;
+            this.expectedEnd = expectedEnd;
+            this.actual = actual;
+            this.actualStart = actualStart;
+            this.actualEnd = actualEnd;
+            this.leadingLines = leadingLines;
+            this.trailingLines = trailingLines;
+        }
+
+        /** number of lines, common to both files, before this range */
+        int getLeadingLines() { return leadingLines; }
+
+        /** number of lines, common to both files, after this range */
+        int getTrailingLines() { return trailingLines; }
+
+        /** the differing lines of the expected file, decoded the same way as the entire file would be */
+        String readExpected() throws IOException { return read(expected, expectedStart, expectedEnd); }
+
+        /** the differing lines of the actual file, decoded the same way as the entire file would be */
+        String readActual() throws IOException { return read(actual, actualStart, actualEnd); }
+
+        @Override
+        public String toString() {
+            return "expected [" + expectedStart + "," + expectedEnd + "), actual [" + actualStart + "," + actualEnd +
+                   "), " + leadingLines + " leading line(s), " + trailingLines + " trailing line(s)";
+        }
+
+        private static String read(File file, long start, long end) throws IOException {
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IOException("Differing content of " + file + " too large to compare line by line");
+            }
+
+            int length = (int) (end - start);
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                ByteBuffer buffer = FileUtil.readFully(channel, start, length, ByteBuffer.allocate(length));
+                // range begins and ends after a line feed, hence no character is split
+                return new String(buffer.array(), 0, buffer.limit());
+            }
+        }
+    }
+
+    /** digest of the same chunk of 2 files, along with the line feeds found in that of the expected file */
+    private static final class ChunkDigest {
+        private boolean matched;
+        private int lineFeeds;
+        private long firstLineFeed = -1;
+        private long lastLineFeed = -1;
+    }
+
+    /** number of lines in {@code content}, as per {@link Lines} */
+    static int countLines(String content) {
+        if (content == null || content.isEmpty()) { return 0; }
+        int lineFeeds = 0;
+        for (int i = content.indexOf('\n'); i != -1; i = content.indexOf('\n', i + 1)) { lineFeeds++; }
+        return content.charAt(content.length() - 1) == '\n' ? lineFeeds : lineFeeds + 1;
+    }
+
+    /** number of trailing lines shared by {@code expected} and {@code actual} */
+    static int countCommonTrailingLines(List<String> expected, List<String> actual) {
+        int eLast = expected.size() - 1;
+        int aLast = actual.size() - 1;
+        int count = 0;
+        while (eLast - count >= 0 && aLast - count >= 0 &&
+               expected.get(eLast - count).equals(actual.get(aLast - count))) {
+            count++;
+        }
+        return count;
+    }
+
+    /** same as {@link org.apache.commons.io.FileUtils#contentEquals(File, File)}, over chunks in parallel */
+    static boolean contentEquals(File expected, File actual) throws IOException {
+        if (expected.length() != actual.length()) { return false; }
+        if (expected.getCanonicalFile().equals(actual.getCanonicalFile())) { return true; }
+
+        long size = expected.length();
+        try (FileChannel expectedChannel = FileChannel.open(expected.toPath(), StandardOpenOption.READ);
+             FileChannel actualChannel = FileChannel.open(actual.toPath(), StandardOpenOption.READ)) {
+            return IntStream.range(0, toChunkCount(size)).parallel().allMatch(chunk -> {
+                long start = (long) chunk * CHUNK_SIZE;
+                long end = Math.min(start + CHUNK_SIZE, size);
+                ByteBuffer expectedBuffer = ByteBuffer.allocate(BLOCK_SIZE);
+                ByteBuffer actualBuffer = ByteBuffer.allocate(BLOCK_SIZE);
+                try {
+                    for (long position = start; position < end; position += BLOCK_SIZE) {
+                        int length = (int) Math.min(BLOCK_SIZE, end - position);
+                        FileUtil.readFully(expectedChannel, position, length, expectedBuffer);
+                        FileUtil.readFully(actualChannel, position, length, actualBuffer);
+                        if (!expectedBuffer.equals(actualBuffer)) { return false; }
+                    }
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * number of lines in {@code file}, counted the same way as {@link java.io.BufferedReader#readLine()} (i.e.
+     * {@code \n}, {@code \r} or {@code \r\n} as line terminator), over chunks in parallel. Applicable to file encoding
+     * where the line terminators are single bytes (such as UTF-8 or ISO-8859-1).
+     */
+    static int countLines(File file) throws IOException {
+        long size = file.length();
+        if (size == 0) { return 0; }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long terminators = IntStream.range(0, toChunkCount(size)).parallel().mapToLong(chunk -> {
+                long start = (long) chunk * CHUNK_SIZE;
+                long end = Math.min(start + CHUNK_SIZE, size);
+                ByteBuffer buffer = ByteBuffer.allocate(BLOCK_SIZE);
+                try {
+                    // every \r is a terminator, and so is every \n not preceded by \r (i.e. \r\n counts once)
+                    byte previous = start > 0 ? FileUtil.readFully(channel, start - 1, 1, buffer).get(0) : 0;
+                    long count = 0;
+                    for (long position = start; position < end; position += BLOCK_SIZE) {
+                        int length = (int) Math.min(BLOCK_SIZE, end - position);
+                        FileUtil.readFully(channel, position, length, buffer);
+                        for (int i = 0; i < length; i++) {
+                            byte b = buffer.get(i);
+                            if (b == '\r' || (b == '\n' && previous != '\r')) { count++; }
+                            previous = b;
+                        }
+                    }
+                    return count;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).sum();
+
+            // last line without terminator
+            byte lastByte = FileUtil.readFully(channel, size - 1, 1, ByteBuffer.allocate(1)).get(0);
+            return (int) (lastByte == '\n' || lastByte == '\r' ? terminators : terminators + 1);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * find the lines that differ between {@code expected} and {@code actual}. Both files are digested chunk by chunk,
+     * from the start for the leading lines and from the end for the trailing lines, with a batch of chunks digested in
+     * parallel at a time; only the first differing chunk from either end is then compared byte by byte. Applicable to
+     * file encoding where the line feed is a single byte (such as UTF-8 or ISO-8859-1).
+     */
+    static DifferingRange findDifferingRange(File expected, File actual) throws IOException {
+        long expectedSize = expected.length();
+        long actualSize = actual.length();
+        long limit = Math.min(expectedSize, actualSize);
+
+        try (FileChannel expectedChannel = FileChannel.open(expected.toPath(), StandardOpenOption.READ);
+             FileChannel actualChannel = FileChannel.open(actual.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer expectedBuffer = ByteBuffer.allocate(BLOCK_SIZE);
+            ByteBuffer actualBuffer = ByteBuffer.allocate(BLOCK_SIZE);
+
+            // 1. leading lines: those ending before the first differing byte
+            int chunkCount = toChunkCount(limit);
+            List<ChunkDigest> digests = digestUntilMismatch(chunkCount, chunk -> {
+                long start = (long) chunk * CHUNK_SIZE;
+                int length = (int) (Math.min(start + CHUNK_SIZE, limit) - start);
+                return digest(expectedChannel, start, actualChannel, start, length);
+            });
+
+            int lineFeeds = 0;
+            long lastLineFeed = -1;
+            int matchedChunks = 0;
+            for (ChunkDigest digest : digests) {
+                if (!digest.matched) { break; }
+                matchedChunks++;
+                lineFeeds += digest.lineFeeds;
+                if (digest.lastLineFeed != -1) { lastLineFeed = digest.lastLineFeed; }
+            }
+
+            if (matchedChunks < chunkCount) {
+                long start = (long) matchedChunks * CHUNK_SIZE;
+                long end = Math.min(start + CHUNK_SIZE, limit);
+                scan:
+                for (long position = start; position < end; position += BLOCK_SIZE) {
+                    int length = (int) Math.min(BLOCK_SIZE, end - position);
+                    FileUtil.readFully(expectedChannel, position, length, expectedBuffer);
+                    FileUtil.readFully(actualChannel, position, length, actualBuffer);
+                    for (int i = 0; i < length; i++) {
+                        byte b = expectedBuffer.get(i);
+                        if (b != actualBuffer.get(i)) { break scan; }
+                        if (b == '\n') {
+                            lineFeeds++;
+                            lastLineFeed = position + i;
+                        }
+                    }
+                }
+            }
+
+            // same offset on both sides
+            long start = lastLineFeed + 1;
+            int leadingLines = lineFeeds;
+
+            // 2. trailing lines: those starting after the first line feed after the last differing byte, without
+            // overlapping the leading lines
+            long tailLimit = limit - start;
+            chunkCount = toChunkCount(tailLimit);
+            digests = digestUntilMismatch(chunkCount, chunk -> {
+                long fromEnd = Math.min((long) (chunk + 1) * CHUNK_SIZE, tailLimit);
+                int length = (int) (fromEnd - (long) chunk * CHUNK_SIZE);
+                return digest(expectedChannel, expectedSize - fromEnd, actualChannel, actualSize - fromEnd, length);
+            });
+
+            lineFeeds = 0;
+            long firstLineFeed = -1;
+            matchedChunks = 0;
+            for (ChunkDigest digest : digests) {
+                if (!digest.matched) { break; }
+                matchedChunks++;
+                lineFeeds += digest.lineFeeds;
+                // chunks are digested from the end, hence each one precedes the previous one
+                if (digest.firstLineFeed != -1) { firstLineFeed = digest.firstLineFeed; }
+            }
+
+            if (matchedChunks < chunkCount) {
+                long fromEnd = (long) matchedChunks * CHUNK_SIZE;
+                long toEnd = Math.min(fromEnd + CHUNK_SIZE, tailLimit);
+                scan:
+                for (long offset = fromEnd; offset < toEnd; offset += BLOCK_SIZE) {
+                    int length = (int) Math.min(BLOCK_SIZE, toEnd - offset);
+                    long expectedPosition = expectedSize - offset - length;
+                    FileUtil.readFully(expectedChannel, expectedPosition, length, expectedBuffer);
+                    FileUtil.readFully(actualChannel, actualSize - offset - length, length, actualBuffer);
+                    for (int i = length - 1; i >= 0; i--) {
+                        byte b = expectedBuffer.get(i);
+                        if (b != actualBuffer.get(i)) { break scan; }
+                        if (b == '\n') {
+                            lineFeeds++;
+                            firstLineFeed = expectedPosition + i;
+                        }
+                    }
+                }
+            }
+
+            if (firstLineFeed == -1) {
+                return new DifferingRange(expected, start, expectedSize, actual, start, actualSize, leadingLines, 0);
+            }
+
+            // line feeds after the first one, plus the last line if it has no line feed
+            byte lastByte = FileUtil.readFully(expectedChannel, expectedSize - 1, 1, expectedBuffer).get(0);
+            int trailingLines = lineFeeds - 1 + (lastByte == '\n' ? 0 : 1);
+            long trailingStart = firstLineFeed + 1;
+            return new DifferingRange(expected, start, trailingStart,
+                                      actual, start, trailingStart - expectedSize + actualSize,
+                                      leadingLines, trailingLines);
+        }
+    }
+
+    /**
+     * digest the chunks in order, a batch of chunks in parallel at a time, until the first chunk that differs between
+     * both files (which is the last of the returned digests).
+     */
+    private static List<ChunkDigest> digestUntilMismatch(int chunkCount, IntFunction<ChunkDigest> digester)
+        throws IOException {
+        int batchSize = Math.max(1, Runtime.getRuntime().availableProcessors());
+        List<ChunkDigest> digests = new ArrayList<>();
+        try {
+            for (int first = 0; first < chunkCount; first += batchSize) {
+                List<ChunkDigest> batch = IntStream.range(first, Math.min(first + batchSize, chunkCount))
+                                                   .parallel()
+                                                   .mapToObj(digester)
+                                                   .collect(Collectors.toList());
+                for (ChunkDigest digest : batch) {
+                    digests.add(digest);
+                    if (!digest.matched) { return digests; }
+                }
+            }
+            return digests;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static ChunkDigest digest(FileChannel expectedChannel, long expectedStart,
+                                      FileChannel actualChannel, long actualStart,
+                                      int length) {
+        MessageDigest expectedDigest = newDigest();
+        MessageDigest actualDigest = newDigest();
+        ByteBuffer buffer = ByteBuffer.allocate(BLOCK_SIZE);
+        ChunkDigest chunk = new ChunkDigest();
+        try {
+            for (int offset = 0; offset < length; offset += BLOCK_SIZE) {
+                int blockLength = Math.min(BLOCK_SIZE, length - offset);
+                FileUtil.readFully(expectedChannel, expectedStart + offset, blockLength, buffer);
+                for (int i = 0; i < blockLength; i++) {
+                    if (buffer.get(i) != '\n') { continue; }
+                    long position = expectedStart + offset + i;
+                    if (chunk.firstLineFeed == -1) { chunk.firstLineFeed = position; }
+                    chunk.lastLineFeed = position;
+                    chunk.lineFeeds++;
+                }
+                expectedDigest.update(buffer);
+
+                FileUtil.readFully(actualChannel, actualStart + offset, blockLength, buffer);
+                actualDigest.update(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        chunk.matched = MessageDigest.isEqual(expectedDigest.digest(), actualDigest.digest());
+        return chunk;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // every JVM supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int toChunkCount(long size) { return (int) ((size + CHUNK_SIZE - 1) / CHUNK_SIZE); }
+}
@@ -53,6 +53,7 @@ import static org.nexial.core.NexialConst.Data.*;
 import static org.nexial.core.NexialConst.GSON;
 import static org.nexial.core.SystemVariables.getDefaultBool;
 import static org.nexial.core.utils.CheckUtils.*;
+import static org.nexial.core.utils.ParsedDocumentCache.KIND_JSON;
 
 public class JsonCommand extends BaseCommand {
     private static final String DIFF_HIGHLIGHT_HTML_START = "<span class=\"diff-highlight\"" +
@@ -476,7 +477,14 @@ public class JsonCommand extends BaseCommand {
         }
     }
 
-    protected Object toJSONObject(String json) { return resolveToJSONObject(retrieveJsonContent(json)); }
+    /**
+     * parse {@code json} for read-only use; the document parsed from the same json earlier within the same iteration
+     * is reused.
+     */
+    protected Object toJSONObject(String json) {
+        return context.getParsedDocumentCache()
+                      .get(KIND_JSON, retrieveJsonContent(json), JsonCommand::resolveToJSONObject);
+    }
 
     protected Object sanityCheck(String json, String jsonpath) {
         requiresNotBlank(jsonpath, "invalid jsonpath", jsonpath);
@@ -279,59 +279,46 @@ public class PdfTableExtractor {
 
     public Map<String, Object> extractRangeFromMap(LineRange lineRange, KeyValueIdentStrategy keyValueIdentStrategy)
         throws IOException {
-        try {
-            document = password != null ?
-                       PDDocument.load(new FileInputStream(input), password) :
-                       PDDocument.load(new FileInputStream(input));
-
-            int pageCount = document.getNumberOfPages();
-            int pageId = lineRange.getPageIdx();
-            if (pageId < 0 || pageId >= pageCount) {
-                ConsoleUtils.error("requested page > available page");
-                return new LinkedHashMap<>();
-            }
+        // page layout is cached per document, so that multiple forms on the same page are read only once
+        int pageId = lineRange.getPageIdx();
+        List<TextPosition> texts = PdfTextCache.current().getTextPositions(input, password, pageId,
+                                                                          PdfTableExtractor::extractTextPositions);
+        if (texts == null) {
+            ConsoleUtils.error("requested page > available page");
+            return new LinkedHashMap<>();
+        }
 
-            // List<TextPosition> texts = extractTextPositions(pageId);    //sorted by .getY() ASC
-            // List<Range<Integer>> lineRanges = getLineRanges(texts, lineRange);
+        // List<Range<Integer>> lineRanges = getLineRanges(texts, lineRange);
 
-            Map<Range<Integer>, Set<TextPosition>> pageContent = sortContent(extractTextPositions(pageId));
-            List<Range<Integer>> lineRanges = getLineRanges(pageContent, lineRange);
+        Map<Range<Integer>, Set<TextPosition>> pageContent = sortContent(texts);
+        List<Range<Integer>> lineRanges = getLineRanges(pageContent, lineRange);
 
-            //extract line ranges
-            Multimap<Integer, Range<Integer>> pageIdNLineRangesMap = LinkedListMultimap.create();
-            pageIdNLineRangesMap.putAll(pageId, lineRanges);
+        //extract line ranges
+        Multimap<Integer, Range<Integer>> pageIdNLineRangesMap = LinkedListMultimap.create();
+        pageIdNLineRangesMap.putAll(pageId, lineRanges);
 
-            //extract column ranges
-            Multimap<Integer, TextPosition> pageIdNTextsMap = LinkedListMultimap.create();
-            // pageIdNTextsMap.putAll(pageId, getTextsByLineRanges(lineRanges, texts));
-            pageIdNTextsMap.putAll(pageId, getTextsByLineRanges(lineRanges, pageContent));
+        //extract column ranges
+        Multimap<Integer, TextPosition> pageIdNTextsMap = LinkedListMultimap.create();
+        // pageIdNTextsMap.putAll(pageId, getTextsByLineRanges(lineRanges, texts));
+        pageIdNTextsMap.putAll(pageId, getTextsByLineRanges(lineRanges, pageContent));
 
-            // limit to specified line ranges
-            Map<Range<Integer>, Set<TextPosition>> limitedContent = limitContent(pageContent, lineRanges);
+        // limit to specified line ranges
+        Map<Range<Integer>, Set<TextPosition>> limitedContent = limitContent(pageContent, lineRanges);
 
-            //Calculate columnRanges
-            // List<Range<Integer>> columnRanges = getColumnRanges(pageIdNTextsMap.values());
-            List<Range<Integer>> columnRanges = getColumnRanges(limitedContent);
+        //Calculate columnRanges
+        // List<Range<Integer>> columnRanges = getColumnRanges(pageIdNTextsMap.values());
+        List<Range<Integer>> columnRanges = getColumnRanges(limitedContent);
 
-            // Table table = buildTable(pageId, (List) pageIdNTextsMap.get(pageId), (List) pageIdNLineRangesMap.get(pageId), columnRanges);
-            Table table = buildTable(pageId, limitedContent, columnRanges);
+        // Table table = buildTable(pageId, (List) pageIdNTextsMap.get(pageId), (List) pageIdNLineRangesMap.get(pageId), columnRanges);
+        Table table = buildTable(pageId, limitedContent, columnRanges);
 
-            //debug
-            logger.debug("Found " + table.getRows().size() + " row(s) " +
-                         "and " + columnRanges.size() + " column(s) of a table in page " + pageId);
+        //debug
+        logger.debug("Found " + table.getRows().size() + " row(s) " +
+                     "and " + columnRanges.size() + " column(s) of a table in page " + pageId);
 
-            MapFormatter formatter = TableFormatter.newMapFormatter(keyValueIdentStrategy);
-            if (MapUtils.isNotEmpty(existingFormValues)) { formatter.setExistingFormValues(existingFormValues); }
-            return formatter.format(table);
-        } finally {
-            if (document != null) {
-                try {
-                    document.close();
-                } catch (IOException ex) {
-                    logger.error(null, ex);
-                }
-            }
-        }
+        MapFormatter formatter = TableFormatter.newMapFormatter(keyValueIdentStrategy);
+        if (MapUtils.isNotEmpty(existingFormValues)) { formatter.setExistingFormValues(existingFormValues); }
+        return formatter.format(table);
     }
 
     /**
@@ -430,6 +417,10 @@ public class PdfTableExtractor {
     }
 
     private List<TextPosition> extractTextPositions(int pageId) throws IOException {
+        return extractTextPositions(document, pageId);
+    }
+
+    private static List<TextPosition> extractTextPositions(PDDocument document, int pageId) throws IOException {
         TextPositionExtractor extractor = new TextPositionExtractor(document, pageId);
         return extractor.extract();
     }
@@ -0,0 +1,325 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.pdf;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+import javax.validation.constraints.NotNull;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDDocumentNameDictionary;
+import org.apache.pdfbox.pdmodel.PDEmbeddedFilesNameTreeNode;
+import org.apache.pdfbox.pdmodel.common.filespecification.PDComplexFileSpecification;
+import org.apache.pdfbox.pdmodel.common.filespecification.PDEmbeddedFile;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
+import org.nexial.core.ExecutionThread;
+import org.nexial.core.model.ExecutionContext;
+import org.nexial.core.utils.ConsoleUtils;
+
+import static org.nexial.core.NexialConst.Pdf.MIME_PDF;
+import static org.nexial.core.NexialConst.Pdf.PDF_EXTRACT_THREADS;
+import static org.nexial.core.SystemVariables.getDefaultInt;
+
+/**
+ * cache of the text and page layouts extracted from PDF documents, so that a series of assertions against the same
+ * PDF document read it only once. Documents are keyed by their path, last modified time and size (and password, if
+ * any), so that a changed document is read anew. The cache is bounded by the estimated size of the cached content and
+ * evicts the least recently used documents first.
+ * <p>
+ * The pages of a document are extracted in parallel; each thread reads its share of pages from its own
+ * {@link PDDocument}, since {@link PDDocument} is not thread-safe.
+ */
+public class PdfTextCache {
+    // estimated footprint of one cached text position
+    private static final long TEXT_POSITION_BYTES = 256;
+    // documents with fewer pages per thread are extracted in the calling thread
+    private static final int MIN_PAGES_PER_THREAD = 8;
+
+    private final long maxBytes;
+    private final int threads;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long bytes;
+
+    @FunctionalInterface
+    public interface PageReader<T> {
+        T read(PDDocument document, int pageIndex) throws IOException;
+    }
+
+    private static final class Key {
+        private final String path;
+        private final long lastModified;
+        private final long length;
+        private final String password;
+
+        private Key(File pdf, String password) throws IOException {
+            this.path = pdf.getCanonicalPath();
+            this.lastModified = pdf.lastModified();
+            this.length = pdf.length();
+            this.password = password;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) { return true; }
+            if (!(o instanceof Key)) { return false; }
+            Key key = (Key) o;
+            return lastModified == key.lastModified &&
+                   length == key.length &&
+                   path.equals(key.path) &&
+                   Objects.equals(password, key.password);
+        }
+
+        @Override
+        public int hashCode() { return Objects.hash(path, lastModified, length, password); }
+    }
+
+    private static final class Entry {
+        private int pageCount;
+        private String text;
+        private final Map<Integer, List<TextPosition>> layouts = new HashMap<>();
+        private long bytes;
+    }
+
+    /** {@code maxBytes} of 0 or less disables caching */
+    public PdfTextCache(long maxBytes, int threads) {
+        this.maxBytes = maxBytes;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * return the text of all the pages of {@code pdf}, followed by the text of its embedded PDF documents (if any).
+     * The text is as extracted; it is not normalized.
+     */
+    public String getText(File pdf) throws IOException {
+        Key key = new Key(pdf, null);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.text != null) {
+                hits.increment();
+                return entry.text;
+            }
+        }
+
+        misses.increment();
+        int pageCount;
+        String text;
+        try (PDDocument document = load(pdf, null)) {
+            pageCount = document.getNumberOfPages();
+            text = String.join("", extractPages(pdf, null, document)) + extractEmbeddedText(document);
+        }
+
+        synchronized (this) {
+            Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+            entry.pageCount = pageCount;
+            if (entry.text == null) {
+                entry.text = text;
+                add(key, entry, text.length() * 2L);
+            }
+        }
+
+        return text;
+    }
+
+    /**
+     * return the text positions of the page at {@code pageIndex} (zero-based) of {@code pdf}, as read by
+     * {@code reader}, or {@code null} if no such page exists. The returned list must not be modified.
+     */
+    public List<TextPosition> getTextPositions(File pdf, String password, int pageIndex,
+                                               PageReader<List<TextPosition>> reader) throws IOException {
+        Key key = new Key(pdf, password);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (pageIndex < 0 || pageIndex >= entry.pageCount) { return null; }
+
+                List<TextPosition> positions = entry.layouts.get(pageIndex);
+                if (positions != null) {
+                    hits.increment();
+                    return positions;
+                }
+            }
+        }
+
+        misses.increment();
+        int pageCount;
+        List<TextPosition> positions;
+        try (PDDocument document = load(pdf, password)) {
+            pageCount = document.getNumberOfPages();
+            if (pageIndex < 0 || pageIndex >= pageCount) { return null; }
+            positions = Collections.unmodifiableList(reader.read(document, pageIndex));
+        }
+
+        synchronized (this) {
+            Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+            entry.pageCount = pageCount;
+            if (entry.layouts.putIfAbsent(pageIndex, positions) == null) {
+                add(key, entry, positions.size() * TEXT_POSITION_BYTES);
+            }
+        }
+
+        return positions;
+    }
+
+    /** the cache of the execution of the current thread, or a disabled cache if no execution is in progress */
+    @NotNull
+    public static PdfTextCache current() {
+        ExecutionContext context = ExecutionThread.get();
+        return context == null ? new PdfTextCache(0, getDefaultInt(PDF_EXTRACT_THREADS)) : context.getPdfTextCache();
+    }
+
+    /** drop all cached documents; the hit/miss counters are retained */
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    public long getHits() { return hits.sum(); }
+
+    public long getMisses() { return misses.sum(); }
+
+    public synchronized int size() { return entries.size(); }
+
+    public synchronized long getBytes() { return bytes; }
+
+    @Override
+    public String toString() {
+        long hit = getHits();
+        long total = hit + getMisses();
+        return String.format("%d hit(s), %d miss(es), hit rate %.1f%%, %d document(s) / %d bytes cached",
+                             hit, total - hit, total == 0 ? 0 : hit * 100d / total, size(), getBytes());
+    }
+
+    /** account for {@code size} more bytes of {@code entry}, then evict documents until within budget */
+    private void add(Key key, Entry entry, long size) {
+        entry.bytes += size;
+        bytes += size;
+
+        if (maxBytes <= 0 || entry.bytes > maxBytes) {
+            // too big to cache
+            entries.remove(key);
+            bytes -= entry.bytes;
+            return;
+        }
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Entry evicted = eldest.next();
+            if (evicted == entry) { continue; }
+            bytes -= evicted.bytes;
+            eldest.remove();
+        }
+    }
+
+    /** extract the text of each page of {@code document}, over multiple threads for larger documents */
+    private String[] extractPages(File pdf, String password, PDDocument document) throws IOException {
+        int pageCount = document.getNumberOfPages();
+        String[] pages = new String[pageCount];
+
+        int workers = Math.min(threads, pageCount / MIN_PAGES_PER_THREAD);
+        if (workers <= 1) {
+            extractPages(document, pages, 0, pageCount);
+            return pages;
+        }
+
+        int pagesPerWorker = (pageCount + workers - 1) / workers;
+        try {
+            IntStream.range(0, workers).parallel().forEach(worker -> {
+                int from = worker * pagesPerWorker;
+                int to = Math.min(pageCount, from + pagesPerWorker);
+                if (from >= to) { return; }
+
+                try {
+                    if (worker == 0) {
+                        extractPages(document, pages, from, to);
+                    } else {
+                        try (PDDocument copy = load(pdf, password)) { extractPages(copy, pages, from, to); }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        return pages;
+    }
+
+    private static void extractPages(PDDocument document, String[] pages, int from, int to) throws IOException {
+        PDFTextStripper stripper = newTextStripper();
+        for (int i = from; i < to; i++) {
+            stripper.setStartPage(i + 1);
+            stripper.setEndPage(i + 1);
+            pages[i] = stripper.getText(document);
+        }
+    }
+
+    private static String extractEmbeddedText(PDDocument document) throws IOException {
+        PDDocumentNameDictionary names = document.getDocumentCatalog().getNames();
+        if (names == null) { return ""; }
+
+        PDEmbeddedFilesNameTreeNode embeddedFiles = names.getEmbeddedFiles();
+        if (embeddedFiles == null) { return ""; }
+
+        Map<String, PDComplexFileSpecification> embeddedFileNames = embeddedFiles.getNames();
+        if (embeddedFileNames == null) { return ""; }
+
+        PDFTextStripper stripper = newTextStripper();
+        StringWriter output = new StringWriter();
+        for (PDComplexFileSpecification spec : embeddedFileNames.values()) {
+            PDEmbeddedFile file = spec.getEmbeddedFile();
+            if (file != null && StringUtils.equals(file.getSubtype(), MIME_PDF)) {
+                ConsoleUtils.log("Found embed PDF: '" + spec.getFilename() + "', size: " + file.getSize());
+                try (InputStream in = file.createInputStream(); PDDocument embedded = PDDocument.load(in)) {
+                    stripper.writeText(embedded, output);
+                }
+            }
+        }
+
+        return output.toString();
+    }
+
+    private static PDFTextStripper newTextStripper() throws IOException {
+        //use default encoding
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setSortByPosition(true);
+        //stripper.setShouldSeparateByBeads(true);
+        //stripper.setAddMoreFormatting(false);
+        return stripper;
+    }
+
+    private static PDDocument load(File pdf, String password) throws IOException {
+        return password == null ? PDDocument.load(pdf) : PDDocument.load(pdf, password);
+    }
+}
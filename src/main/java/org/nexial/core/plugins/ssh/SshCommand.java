@@ -27,12 +27,12 @@ import org.nexial.core.model.StepResult;
 import org.nexial.core.plugins.base.BaseCommand;
 import org.nexial.core.utils.ConsoleUtils;
 
-import java.io.File;
 import java.io.IOException;
-import java.util.Properties;
 
 import static com.jcraft.jsch.ChannelSftp.*;
 import static java.io.File.separator;
+import static org.nexial.core.NexialConst.Ssh.SFTP_PARALLEL_CHANNELS;
+import static org.nexial.core.SystemVariables.getDefaultInt;
 import static org.nexial.core.model.RemoteFileActionOutcome.TransferAction.*;
 import static org.nexial.core.model.RemoteFileActionOutcome.TransferProtocol.SCP;
 import static org.nexial.core.utils.CheckUtils.*;
@@ -52,7 +52,7 @@ public class SshCommand extends BaseCommand {
         requiresValidVariableName(var);
         requiresNotBlank(profile, "Invalid profile", profile);
         RemoteFileActionOutcome outcome =
-            new SftpWorker(COPY_FROM, remote, local).doAction(resolveSshClientConnection(profile));
+            newSftpWorker(COPY_FROM, remote, local).doAction(resolveSshClientConnection(profile));
         context.setData(var, outcome);
 
         if (outcome.hasError()) {
@@ -68,7 +68,7 @@ public class SshCommand extends BaseCommand {
         requiresValidVariableName(var);
         requiresNotBlank(profile, "Invalid profile", profile);
         RemoteFileActionOutcome outcome =
-            new SftpWorker(COPY_TO, remote, local).doAction(resolveSshClientConnection(profile));
+            newSftpWorker(COPY_TO, remote, local).doAction(resolveSshClientConnection(profile));
         context.setData(var, outcome);
 
         if (outcome.hasError()) {
@@ -84,7 +84,7 @@ public class SshCommand extends BaseCommand {
         requiresValidVariableName(var);
         requiresNotBlank(profile, "Invalid profile", profile);
         RemoteFileActionOutcome outcome =
-            new SftpWorker(MOVE_FROM, remote, local).doAction(resolveSshClientConnection(profile));
+            newSftpWorker(MOVE_FROM, remote, local).doAction(resolveSshClientConnection(profile));
         context.setData(var, outcome);
 
         if (outcome.hasError()) {
@@ -100,7 +100,7 @@ public class SshCommand extends BaseCommand {
         requiresValidVariableName(var);
         requiresNotBlank(profile, "Invalid profile", profile);
         RemoteFileActionOutcome outcome =
-            new SftpWorker(MOVE_TO, remote, local).doAction(resolveSshClientConnection(profile));
+            newSftpWorker(MOVE_TO, remote, local).doAction(resolveSshClientConnection(profile));
         context.setData(var, outcome);
 
         if (outcome.hasError()) {
@@ -115,7 +115,7 @@ public class SshCommand extends BaseCommand {
         requiresValidVariableName(var);
         requiresNotBlank(profile, "Invalid profile", profile);
         RemoteFileActionOutcome outcome =
-            new SftpWorker(LIST, remote, null).doAction(resolveSshClientConnection(profile));
+            newSftpWorker(LIST, remote, null).doAction(resolveSshClientConnection(profile));
         context.setData(var, outcome);
 
         if (outcome.hasError()) {
@@ -130,7 +130,7 @@ public class SshCommand extends BaseCommand {
         requiresValidVariableName(var);
         requiresNotBlank(profile, "Invalid profile", profile);
         RemoteFileActionOutcome outcome =
-            new SftpWorker(DELETE, remote, null).doAction(resolveSshClientConnection(profile));
+            newSftpWorker(DELETE, remote, null).doAction(resolveSshClientConnection(profile));
         context.setData(var, outcome);
 
         if (outcome.hasError()) {
@@ -328,7 +328,8 @@ public class SshCommand extends BaseCommand {
             channel.disconnect();
         }
 
-        if (session != null) { session.disconnect(); }
+        // session stays connected in the pool for subsequent steps
+        SshSessionPool.release(session);
     }
 
     protected String resolveLogPrefix(RemoteFileActionOutcome outcome) {
@@ -336,24 +337,7 @@ public class SshCommand extends BaseCommand {
     }
 
     protected Session connect(SshClientConnection connection) throws JSchException {
-        JSch ssh = new JSch();
-
-        File knownHostsFile = connection.getKnownHostsFile();
-        if (knownHostsFile != null) { ssh.setKnownHosts(knownHostsFile.getAbsolutePath()); }
-
-        Session session = ssh.getSession(connection.getUsername(), connection.getHost(), connection.getPort());
-
-        Properties config = new Properties();
-        if (!connection.isStrictHostKeyChecking()) { config.setProperty("StrictHostKeyChecking", "no"); }
-
-        // https://stackoverflow.com/questions/10881981/sftp-connection-through-java-asking-for-weird-authentication
-        config.setProperty("PreferredAuthentications", "publickey,keyboard-interactive,password");
-        session.setConfig(config);
-
-        if (StringUtils.isNotEmpty(connection.getPassword())) { session.setPassword(connection.getPassword()); }
-        session.connect();
-
-        return session;
+        return SshSessionPool.borrow(connection);
     }
 
     protected static StepResult requireValidRemotePath(String remotePath, boolean dirOK, boolean wildcardOK) {
@@ -388,6 +372,12 @@ public class SshCommand extends BaseCommand {
         return StringUtils.isNotBlank(path) && StringUtils.contains(path, "*");
     }
 
+    protected SftpWorker newSftpWorker(TransferAction action, String remote, String local) {
+        SftpWorker worker = new SftpWorker(action, remote, local);
+        worker.setParallelChannels(context.getIntData(SFTP_PARALLEL_CHANNELS, getDefaultInt(SFTP_PARALLEL_CHANNELS)));
+        return worker;
+    }
+
     protected SshClientConnection resolveSshClientConnection(String profile) throws IntegrationConfigException {
         SshClientConnection connection = SshClientConnection.resolveFrom(context, profile);
         requiresNotNull(connection, "Unable to resolve SSH connection");
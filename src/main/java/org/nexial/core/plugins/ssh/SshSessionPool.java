@@ -0,0 +1,232 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.ssh;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import com.jcraft.jsch.JSch;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.nexial.core.ExecutionThread;
+import org.nexial.core.model.ExecutionContext;
+import org.nexial.core.utils.ConsoleUtils;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.nexial.core.NexialConst.Ssh.SSH_IDLE_TIMEOUT_MS;
+import static org.nexial.core.NexialConst.Ssh.SSH_KEEP_ALIVE_MS;
+import static org.nexial.core.SystemVariables.getDefaultInt;
+
+/**
+ * pool of the SSH sessions shared by all the SSH commands of the same run. One session is kept per distinct connection
+ * (user, host, port and credential), and is reused across steps and iterations; each command opens its own channel(s)
+ * over the borrowed session. Pooled sessions are kept alive via SSH keep-alive messages, and those left unused longer
+ * than the idle timeout ({@link org.nexial.core.NexialConst.Ssh#SSH_IDLE_TIMEOUT_MS}) are disconnected.
+ */
+public final class SshSessionPool {
+    private static final long EVICTION_INTERVAL_MS = 10000;
+    private static final Map<String, PooledSession> SESSIONS = new LinkedHashMap<>();
+    private static final Map<Session, PooledSession> BORROWED = new IdentityHashMap<>();
+    private static final Map<String, long[]> STATS = new LinkedHashMap<>();
+    private static ScheduledExecutorService evictor;
+
+    private SshSessionPool() { }
+
+    private static final class PooledSession {
+        private final String key;
+        private final Session session;
+        private final long idleTimeoutMs;
+        private int leases;
+        private long lastUsed;
+
+        private PooledSession(String key, Session session, long idleTimeoutMs) {
+            this.key = key;
+            this.session = session;
+            this.idleTimeoutMs = idleTimeoutMs;
+            this.lastUsed = System.currentTimeMillis();
+        }
+
+        private boolean isIdle(long now) { return leases < 1 && now - lastUsed > idleTimeoutMs; }
+    }
+
+    /**
+     * borrow the connected session for {@code connection}, or connect a new one if none is pooled or the pooled one
+     * is no longer connected. The session must be returned via {@link #release(Session)} and not disconnected.
+     */
+    public static synchronized Session borrow(SshClientConnection connection) throws JSchException {
+        String key = toKey(connection);
+        long[] stats = STATS.computeIfAbsent(key, k -> new long[2]);
+        stats[0]++;
+
+        PooledSession pooled = SESSIONS.get(key);
+        if (pooled != null && !pooled.session.isConnected()) {
+            ConsoleUtils.log("pooled SSH session " + describe(key) + " was disconnected; reconnecting...");
+            SESSIONS.remove(key);
+            if (pooled.leases < 1) { BORROWED.remove(pooled.session); }
+            pooled = null;
+        }
+
+        if (pooled == null) {
+            pooled = new PooledSession(key,
+                                       connect(connection, resolveConfig(SSH_KEEP_ALIVE_MS)),
+                                       resolveConfig(SSH_IDLE_TIMEOUT_MS));
+            SESSIONS.put(key, pooled);
+            stats[1]++;
+            startEvictor();
+        }
+
+        pooled.leases++;
+        BORROWED.put(pooled.session, pooled);
+        return pooled.session;
+    }
+
+    /**
+     * return {@code session} to the pool. A session not (or no longer) pooled, such as one borrowed prior to
+     * {@link #closeSessions()}, is disconnected once released.
+     */
+    public static synchronized void release(Session session) {
+        if (session == null) { return; }
+
+        PooledSession pooled = BORROWED.get(session);
+        if (pooled == null) {
+            session.disconnect();
+            return;
+        }
+
+        pooled.leases--;
+        pooled.lastUsed = System.currentTimeMillis();
+        if (pooled.leases < 1 && SESSIONS.get(pooled.key) != pooled) {
+            BORROWED.remove(session);
+            session.disconnect();
+        }
+    }
+
+    /**
+     * evict {@code session} from the pool, such as when it no longer opens channels even though it appears to be
+     * connected. Subsequent borrowing would connect a new session, and {@code session} is disconnected once released
+     * by all its borrowers.
+     */
+    public static synchronized void invalidate(Session session) {
+        PooledSession pooled = session == null ? null : BORROWED.get(session);
+        if (pooled != null) { SESSIONS.remove(pooled.key, pooled); }
+    }
+
+    /** number of sessions currently pooled */
+    public static synchronized int size() { return SESSIONS.size(); }
+
+    /** session statistics of each connection, as a list of one-line description */
+    public static synchronized List<String> gatherStatistics() {
+        List<String> stats = new ArrayList<>();
+        STATS.forEach((key, counts) -> stats.add(String.format(
+            "%s: %d borrow(s), %d session(s) opened, reuse rate %.1f%%",
+            describe(key), counts[0], counts[1], (counts[0] - counts[1]) * 100d / counts[0])));
+        return stats;
+    }
+
+    /** disconnect all the pooled sessions; subsequent borrowing would be served by newly connected sessions */
+    public static synchronized void closeSessions() {
+        gatherStatistics().forEach(stats -> ConsoleUtils.log("ssh session pool: " + stats));
+        STATS.clear();
+
+        new ArrayList<>(SESSIONS.values()).forEach(pooled -> {
+            SESSIONS.remove(pooled.key);
+            if (pooled.leases < 1) { disconnect(pooled); }
+        });
+
+        if (evictor != null) {
+            evictor.shutdownNow();
+            evictor = null;
+        }
+    }
+
+    /** disconnect the sessions not used within their idle timeout */
+    static synchronized void evictIdle() {
+        long now = System.currentTimeMillis();
+        new ArrayList<>(SESSIONS.values()).forEach(pooled -> {
+            if (pooled.isIdle(now) || !pooled.session.isConnected()) {
+                ConsoleUtils.log("disconnecting idle SSH session " + describe(pooled.key));
+                SESSIONS.remove(pooled.key);
+                if (pooled.leases < 1) { disconnect(pooled); }
+            }
+        });
+    }
+
+    static Session connect(SshClientConnection connection, long keepAliveMs) throws JSchException {
+        JSch ssh = new JSch();
+
+        File knownHostsFile = connection.getKnownHostsFile();
+        if (knownHostsFile != null) { ssh.setKnownHosts(knownHostsFile.getAbsolutePath()); }
+
+        Session session = ssh.getSession(connection.getUsername(), connection.getHost(), connection.getPort());
+
+        Properties config = new Properties();
+        if (!connection.isStrictHostKeyChecking()) { config.setProperty("StrictHostKeyChecking", "no"); }
+
+        // https://stackoverflow.com/questions/10881981/sftp-connection-through-java-asking-for-weird-authentication
+        config.setProperty("PreferredAuthentications", "publickey,keyboard-interactive,password");
+        session.setConfig(config);
+
+        if (StringUtils.isNotEmpty(connection.getPassword())) { session.setPassword(connection.getPassword()); }
+        if (keepAliveMs > 0) { session.setServerAliveInterval((int) keepAliveMs); }
+        session.connect();
+
+        return session;
+    }
+
+    private static String toKey(SshClientConnection connection) {
+        File knownHostsFile = connection.getKnownHostsFile();
+        return connection.getUsername() + "@" + connection.getHost() + ":" + connection.getPort() +
+               (connection.isStrictHostKeyChecking() ? "|strict" : "") +
+               (knownHostsFile != null ? "|" + knownHostsFile.getAbsolutePath() : "") +
+               // digest, so that the password itself isn't kept in the pool
+               "|" + DigestUtils.sha256Hex(StringUtils.defaultString(connection.getPassword()));
+    }
+
+    /** user@host:port of the pooled session, without the credential and host key settings */
+    private static String describe(String key) { return StringUtils.substringBefore(key, "|"); }
+
+    private static void disconnect(PooledSession pooled) {
+        BORROWED.remove(pooled.session);
+        pooled.session.disconnect();
+    }
+
+    private static long resolveConfig(String name) {
+        ExecutionContext context = ExecutionThread.get();
+        return context == null ? getDefaultInt(name) : context.getIntData(name, getDefaultInt(name));
+    }
+
+    private static void startEvictor() {
+        if (evictor != null) { return; }
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "nexial-ssh-session-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(SshSessionPool::evictIdle,
+                                       EVICTION_INTERVAL_MS, EVICTION_INTERVAL_MS, MILLISECONDS);
+    }
+}
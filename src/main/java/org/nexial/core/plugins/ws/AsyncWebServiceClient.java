@@ -19,7 +19,6 @@ package org.nexial.core.plugins.ws;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.MalformedURLException;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
@@ -38,7 +37,6 @@ import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.concurrent.FutureCallback;
 import org.apache.http.impl.client.LaxRedirectStrategy;
 import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
-import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 import org.apache.http.impl.nio.client.HttpAsyncClients;
 import org.nexial.core.ShutdownAdvisor;
 import org.nexial.core.model.ExecutionContext;
@@ -49,7 +47,7 @@ import com.google.gson.JsonObject;
 
 import static org.nexial.core.NexialConst.DEF_FILE_ENCODING;
 import static org.nexial.core.NexialConst.GSON;
-import static org.nexial.core.NexialConst.Ws.WS_ASYNC_SHUTDOWN_TIMEOUT;
+import static org.nexial.core.NexialConst.Ws.*;
 import static org.nexial.core.SystemVariables.getDefaultInt;
 import static org.nexial.core.plugins.ws.NaiveConnectionSocketFactory.I_TRUST_EVERYONE;
 import static org.nexial.core.plugins.ws.NaiveConnectionSocketFactory.NOOP_HOST_VERIFIER;
@@ -145,6 +143,7 @@ public class AsyncWebServiceClient extends WebServiceClient implements ForcefulT
         }
 
         ASYNC_EXEC_SERVICE.shutdown();
+        HttpClientRegistry.closeAsyncClients();
     }
 
     public void invokeRequest(@NotNull Request request, @NotNull File output) throws IOException {
@@ -189,25 +188,25 @@ public class AsyncWebServiceClient extends WebServiceClient implements ForcefulT
         // RequestConfig requestConfig = prepRequestConfig(request, proxy, credsProvider);
         RequestConfig requestConfig = prepRequestConfig(request, null, null);
 
-        HttpAsyncClientBuilder httpClientBuilder = HttpAsyncClients.custom()
-                                                                   .setSSLHostnameVerifier(NOOP_HOST_VERIFIER)
-                                                                   .setSSLContext(I_TRUST_EVERYONE)
-                                                                   .setDefaultRequestConfig(requestConfig)
-                                                                   .setRedirectStrategy(LaxRedirectStrategy.INSTANCE);
+        // shared (and already started) client; authentication is applied per request via its context
+        int maxTotal = getIntConfiguration(WS_POOL_MAX_TOTAL);
+        int maxPerRoute = getIntConfiguration(WS_POOL_MAX_PER_ROUTE);
+        String key = "async|auth=" + resolveAuthIdentity() + "|pool=" + maxTotal + "/" + maxPerRoute;
+        CloseableHttpAsyncClient client = HttpClientRegistry.getAsyncClient(
+            key, k -> HttpAsyncClients.custom()
+                                      .setSSLHostnameVerifier(NOOP_HOST_VERIFIER)
+                                      .setSSLContext(I_TRUST_EVERYONE)
+                                      .setDefaultRequestConfig(requestConfig)
+                                      .setRedirectStrategy(LaxRedirectStrategy.INSTANCE)
+                                      .setMaxConnTotal(maxTotal)
+                                      .setMaxConnPerRoute(maxPerRoute)
+                                      .build());
         // if (proxy != null && credsProvider != null) {
         //     httpClientBuilder.setDefaultCredentialsProvider(credsProvider)
         //                      .setProxy(proxy)
         //                      .setRoutePlanner(resolveRoutePlanner(request, proxy));
         // }
 
-        // add basic auth, if specified
-        httpClientBuilder = addBasicAuth(httpClientBuilder, request);
-
-        // add digest auth, if specified
-        httpClientBuilder = addDigestAuth(httpClientBuilder, request);
-
-        CloseableHttpAsyncClient client = httpClientBuilder.build();
-
         HttpUriRequest http = request.prepRequest(requestConfig);
 
         CountDownLatch latch = new CountDownLatch(1);
@@ -269,33 +268,16 @@ public class AsyncWebServiceClient extends WebServiceClient implements ForcefulT
 
         logRequest(http, request, tickTock.getStartTime());
 
-        boolean digestAuth = isDigestAuth();
-        boolean basicAuth = isBasicAuth();
+        HttpClientContext httpContext = newHttpContext(request);
 
         ASYNC_EXEC_SERVICE.submit(() -> {
-            client.start();
-
             if (context != null) { INFLIGHTS.put(callbackId, collectAllResponseData); }
 
             try {
-                if (digestAuth || basicAuth) {
-                    HttpClientContext httpContext = digestAuth ?
-                                                    newDigestEnabledHttpContext(request) :
-                                                    newBasicEnabledHttpContext(request);
-                    client.execute(http, httpContext, collectAllResponseData);
-                } else {
-                    client.execute(http, collectAllResponseData);
-                }
-
+                client.execute(http, httpContext, collectAllResponseData);
                 latch.await();
-            } catch (InterruptedException | MalformedURLException e) {
+            } catch (InterruptedException e) {
                 ConsoleUtils.error("Error while invoking HTTP async: " + e.getMessage());
-            } finally {
-                try {
-                    client.close();
-                } catch (IOException e) {
-                    ConsoleUtils.error("Unable to cleanly close HTTP client: " + e.getMessage());
-                }
             }
         });
     }
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.ws;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.protocol.HttpContext;
+import org.nexial.core.utils.ConsoleUtils;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * registry of the HTTP clients shared by all the web service invocations of the same run, including those made by
+ * {@link WsCommand}, {@link AsyncWebServiceClient} and the various helpers built on top of {@link WebServiceClient}.
+ * One client is kept per distinct configuration (authentication, proxy, SSL and socket settings), each backed by a
+ * connection pool so that connections (and their TLS sessions) are reused across requests.
+ */
+public final class HttpClientRegistry {
+    /** context attribute holding the time (ms) spent in opening a new connection, including TLS handshake */
+    static final String ATTR_CONNECT_TIME = "nexial.ws.connectTime";
+
+    private static final Map<String, CloseableHttpClient> CLIENTS = new ConcurrentHashMap<>();
+    private static final Map<String, MeteredConnectionManager> MANAGERS = new ConcurrentHashMap<>();
+    private static final Map<String, CloseableHttpAsyncClient> ASYNC_CLIENTS = new ConcurrentHashMap<>();
+
+    private HttpClientRegistry() { }
+
+    /**
+     * connection pool that keeps track of the number of connections leased and opened, along with the time spent in
+     * opening connections.
+     */
+    static class MeteredConnectionManager extends PoolingHttpClientConnectionManager {
+        private final LongAdder leases = new LongAdder();
+        private final LongAdder connects = new LongAdder();
+        private final LongAdder connectNanos = new LongAdder();
+
+        MeteredConnectionManager(Registry<ConnectionSocketFactory> socketFactoryRegistry) {
+            super(socketFactoryRegistry);
+        }
+
+        @Override
+        public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+            leases.increment();
+            return super.requestConnection(route, state);
+        }
+
+        @Override
+        public void connect(HttpClientConnection conn, HttpRoute route, int connectTimeout, HttpContext context)
+            throws IOException {
+            long startNanos = System.nanoTime();
+            try {
+                super.connect(conn, route, connectTimeout, context);
+            } finally {
+                long elapsed = System.nanoTime() - startNanos;
+                connects.increment();
+                connectNanos.add(elapsed);
+                if (context != null) { context.setAttribute(ATTR_CONNECT_TIME, NANOSECONDS.toMillis(elapsed)); }
+            }
+        }
+
+        long getLeases() { return leases.sum(); }
+
+        @Override
+        public String toString() {
+            long leased = leases.sum();
+            long opened = connects.sum();
+            return String.format("%d lease(s), %d connection(s) opened, reuse rate %.1f%%, avg connect %d ms, %s",
+                                 leased, opened, leased == 0 ? 0 : (leased - opened) * 100d / leased,
+                                 opened == 0 ? 0 : NANOSECONDS.toMillis(connectNanos.sum() / opened),
+                                 getTotalStats());
+        }
+    }
+
+    /**
+     * create a new connection pool, to be used for the client registered under {@code key}. HTTPS connections are
+     * established via {@link WebServiceClient#SSL_SF}.
+     */
+    static PoolingHttpClientConnectionManager newConnectionManager(String key,
+                                                                   SocketConfig socketConfig,
+                                                                   int maxTotal,
+                                                                   int maxPerRoute) {
+        Registry<ConnectionSocketFactory> socketFactories =
+            RegistryBuilder.<ConnectionSocketFactory>create()
+                           .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                           .register("https", WebServiceClient.SSL_SF)
+                           .build();
+
+        MeteredConnectionManager manager = new MeteredConnectionManager(socketFactories);
+        manager.setDefaultSocketConfig(socketConfig);
+        manager.setMaxTotal(maxTotal);
+        manager.setDefaultMaxPerRoute(maxPerRoute);
+        MANAGERS.put(key, manager);
+        return manager;
+    }
+
+    /** retrieve the client registered under {@code key}, or create (via {@code factory}) and register one */
+    static CloseableHttpClient getClient(String key, Function<String, CloseableHttpClient> factory) {
+        return CLIENTS.computeIfAbsent(key, factory);
+    }
+
+    /** retrieve the started async client registered under {@code key}, or create and register one */
+    static CloseableHttpAsyncClient getAsyncClient(String key, Function<String, CloseableHttpAsyncClient> factory) {
+        return ASYNC_CLIENTS.computeIfAbsent(key, k -> {
+            CloseableHttpAsyncClient client = factory.apply(k);
+            client.start();
+            return client;
+        });
+    }
+
+    /** connection statistics of each pooled client, as a list of one-line description */
+    public static List<String> gatherStatistics() {
+        List<String> stats = new ArrayList<>();
+        MANAGERS.forEach((key, manager) -> { if (manager.getLeases() > 0) { stats.add(manager.toString()); } });
+        return stats;
+    }
+
+    /** close all the async clients, such as when no more asynchronous requests are expected */
+    public static void closeAsyncClients() { closeAll(ASYNC_CLIENTS); }
+
+    /** close all the (synchronous) clients; subsequent requests would be served by newly created clients */
+    public static void closeClients() {
+        gatherStatistics().forEach(stats -> ConsoleUtils.log("ws connection pool: " + stats));
+        closeAll(CLIENTS);
+        MANAGERS.clear();
+    }
+
+    private static void closeAll(Map<String, ? extends Closeable> clients) {
+        List<Closeable> toClose = new ArrayList<>(clients.values());
+        clients.clear();
+        toClose.forEach(client -> {
+            try {
+                client.close();
+            } catch (IOException e) {
+                ConsoleUtils.error("Unable to cleanly close HTTP client: " + e.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.ws;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * outcome of a {@link WsCommand#loadTest(String, String, String, String)} run: request count, throughput, latency
+ * distribution (in milliseconds) and the breakdown of errors encountered.
+ */
+public class LoadTestResult implements Serializable {
+    private static final double MICROS_PER_MS = 1000d;
+
+    private String method;
+    private String url;
+    private int concurrency;
+    private long requests;
+    private long errors;
+    private long durationMs;
+    private double throughput;
+    private double minMs;
+    private double meanMs;
+    private double p50Ms;
+    private double p90Ms;
+    private double p99Ms;
+    private double maxMs;
+    private Map<Integer, Long> statusCodes = new TreeMap<>();
+    private Map<String, Long> errorBreakdown = new TreeMap<>();
+
+    LoadTestResult(String method, String url, int concurrency) {
+        this.method = method;
+        this.url = url;
+        this.concurrency = concurrency;
+    }
+
+    void summarize(LatencyHistogram histogram, long durationMs) {
+        this.requests = histogram.getCount();
+        this.durationMs = durationMs;
+        this.throughput = durationMs == 0 ? 0 : requests * 1000d / durationMs;
+        this.minMs = histogram.getMin() / MICROS_PER_MS;
+        this.meanMs = histogram.getMean() / MICROS_PER_MS;
+        this.p50Ms = histogram.getValueAtPercentile(50) / MICROS_PER_MS;
+        this.p90Ms = histogram.getValueAtPercentile(90) / MICROS_PER_MS;
+        this.p99Ms = histogram.getValueAtPercentile(99) / MICROS_PER_MS;
+        this.maxMs = histogram.getMax() / MICROS_PER_MS;
+        this.errors = errorBreakdown.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    void setStatusCodes(Map<Integer, Long> statusCodes) { this.statusCodes = new TreeMap<>(statusCodes); }
+
+    void setErrorBreakdown(Map<String, Long> errorBreakdown) { this.errorBreakdown = new TreeMap<>(errorBreakdown); }
+
+    public String getMethod() { return method; }
+
+    public String getUrl() { return url; }
+
+    public int getConcurrency() { return concurrency; }
+
+    public long getRequests() { return requests; }
+
+    public long getErrors() { return errors; }
+
+    public long getDurationMs() { return durationMs; }
+
+    /** requests per second */
+    public double getThroughput() { return throughput; }
+
+    public double getMinMs() { return minMs; }
+
+    public double getMeanMs() { return meanMs; }
+
+    public double getP50Ms() { return p50Ms; }
+
+    public double getP90Ms() { return p90Ms; }
+
+    public double getP99Ms() { return p99Ms; }
+
+    public double getMaxMs() { return maxMs; }
+
+    public Map<Integer, Long> getStatusCodes() { return statusCodes; }
+
+    /** number of failed requests by cause, i.e. {@code HTTP <status code>} or the exception type */
+    public Map<String, Long> getErrorBreakdown() { return errorBreakdown; }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s: %d request(s) in %d ms via %d concurrent client(s), %.1f req/s, %d error(s); " +
+                             "latency (ms) min %.2f, mean %.2f, p50 %.2f, p90 %.2f, p99 %.2f, max %.2f",
+                             method, WebServiceClient.hideAuthDetails(url), requests, durationMs, concurrency,
+                             throughput, errors, minMs, meanMs, p50Ms, p90Ms, p99Ms, maxMs);
+    }
+}
@@ -47,6 +47,9 @@ public class Response implements Serializable {
     protected Map<String, String> headers = new HashMap<>();
     protected Map<String, Cookie> cookies = new HashMap<>();
     protected String payloadLocation;
+    // connection-level metrics, for logging only; connectTime includes TLS handshake, if any
+    protected transient Boolean connectionReused;
+    protected transient long connectTime = -1;
 
     public int getReturnCode() { return returnCode; }
 
@@ -95,6 +98,14 @@ public class Response implements Serializable {
 
     public long getContentLength() { return contentLength; }
 
+    public Boolean getConnectionReused() { return connectionReused; }
+
+    public void setConnectionReused(Boolean connectionReused) { this.connectionReused = connectionReused; }
+
+    public long getConnectTime() { return connectTime; }
+
+    public void setConnectTime(long connectTime) { this.connectTime = connectTime; }
+
     public void setContentLength(long contentLength) { this.contentLength = contentLength; }
 
     @Override
@@ -43,7 +43,6 @@ import org.apache.http.impl.auth.BasicScheme;
 import org.apache.http.impl.auth.DigestScheme;
 import org.apache.http.impl.client.*;
 import org.apache.http.impl.conn.DefaultProxyRoutePlanner;
-import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 import org.apache.http.protocol.HttpContext;
 import org.apache.http.util.EntityUtils;
 import org.nexial.commons.utils.DateUtility;
@@ -72,6 +71,7 @@ import java.net.URL;
 import java.util.*;
 
 import static java.io.File.separator;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.apache.http.HttpHeaders.AUTHORIZATION;
 import static org.nexial.core.NexialConst.DEF_CHARSET;
 import static org.nexial.core.NexialConst.Data.TEXT_DELIM;
@@ -79,6 +79,7 @@ import static org.nexial.core.NexialConst.NL;
 import static org.nexial.core.NexialConst.Ws.*;
 import static org.nexial.core.SystemVariables.getDefault;
 import static org.nexial.core.SystemVariables.getDefaultBool;
+import static org.nexial.core.SystemVariables.getDefaultInt;
 
 public class WebServiceClient {
     protected static final SSLConnectionSocketFactory SSL_SF = new NaiveConnectionSocketFactory();
@@ -338,7 +339,7 @@ public class WebServiceClient {
     }
 
     @Nonnull
-    private PutRequest toPutRequest(String url, String payload, byte[] payloadBytes, Map<String, Object> headers) {
+    protected PutRequest toPutRequest(String url, String payload, byte[] payloadBytes, Map<String, Object> headers) {
         PutRequest request = new PutRequest(resolveContextForRequest(), url, payload, payloadBytes);
         if (MapUtils.isNotEmpty(headers)) { request.setHeaders(headers); }
         if (MapUtils.isNotEmpty(priorityHeaders)) { priorityHeaders.forEach(request::addHeaderIfNotSpecified); }
@@ -391,10 +392,12 @@ public class WebServiceClient {
         try {
 
             CloseableHttpResponse httpResponse = null;
+            HttpClientContext httpContext = null;
             while (retried < maxRetry) {
                 retried++;
                 try {
-                    httpResponse = invokeRequest(request, client, http);
+                    httpContext = newHttpContext(request);
+                    httpResponse = client.execute(http, httpContext);
                     break;
                 } catch (SocketException e) {
                     // oops... shall we try again?
@@ -414,8 +417,17 @@ public class WebServiceClient {
             }
 
             StatusLine statusLine = httpResponse.getStatusLine();
-            Response response = gatherResponseData(request, httpResponse, tickTock.getTime());
-            try { httpResponse.close(); } catch (IOException e) { }
+            Response response;
+            try {
+                response = gatherResponseData(request, httpResponse, tickTock.getTime());
+            } finally {
+                // return the connection to pool, or discard it if the response is not fully consumed
+                try { httpResponse.close(); } catch (IOException e) { }
+            }
+
+            Object connectTime = httpContext.getAttribute(HttpClientRegistry.ATTR_CONNECT_TIME);
+            response.setConnectionReused(connectTime == null);
+            response.setConnectTime(connectTime instanceof Long ? (Long) connectTime : 0);
 
             tickTock.stop();
             response.setRequestTime(requestStartTime);
@@ -429,11 +441,17 @@ public class WebServiceClient {
         }
     }
 
-    private CloseableHttpResponse invokeRequest(Request request, CloseableHttpClient client, HttpUriRequest http)
-        throws IOException {
-        if (isDigestAuth()) { return client.execute(http, newDigestEnabledHttpContext(request)); }
-        if (isBasicAuth()) { return client.execute(http, newBasicEnabledHttpContext(request)); }
-        return client.execute(http);
+    /**
+     * context of a single request. Since clients are shared, cookies and authentication state are kept here instead of
+     * in the client so that they do not leak from one request to another.
+     */
+    @NotNull
+    protected HttpClientContext newHttpContext(Request request) throws MalformedURLException {
+        HttpClientContext httpContext = isDigestAuth() ? newDigestEnabledHttpContext(request) :
+                                        isBasicAuth() ? newBasicEnabledHttpContext(request) :
+                                        HttpClientContext.create();
+        httpContext.setCookieStore(new BasicCookieStore());
+        return httpContext;
     }
 
     protected Response gatherResponseData(Request request, HttpResponse httpResponse, long ttfb) throws IOException {
@@ -593,6 +611,8 @@ public class WebServiceClient {
                             error,
                             -1,
                             -1,
+                            -1,
+                            "",
                             -1);
         }
     }
@@ -655,7 +675,9 @@ public class WebServiceClient {
                             response.getStatusText(),
                             response.getTtfb(),
                             response.getElapsedTime(),
-                            payloadLength);
+                            payloadLength,
+                            Objects.toString(response.getConnectionReused(), ""),
+                            response.getConnectTime());
         }
     }
 
@@ -669,7 +691,8 @@ public class WebServiceClient {
             // for first use, let's add log file header
             String data = (!FileUtil.isFileReadable(log) ?
                            "request-time,script,scenario,row-id,url,method,request-body-length," +
-                           "return-code,status-code,ttfb,elapsed-time,response-body-length" + NL :
+                           "return-code,status-code,ttfb,elapsed-time,response-body-length," +
+                           "connection-reused,connect-time" + NL :
                            "") +
                           Arrays.stream(content)
                                 .reduce((previous, next) -> previous + "," +
@@ -761,35 +784,57 @@ public class WebServiceClient {
         return requestConfigBuilder.build();
     }
 
+    /**
+     * retrieve the pooled client that matches the configuration of {@code request}. Clients are shared across requests
+     * (and executions) so that connections and TLS sessions can be reused; see {@link HttpClientRegistry}.
+     */
     protected CloseableHttpClient prepHttpClient(final Request request,
                                                  RequestConfig requestConfig,
                                                  HttpHost proxy,
-                                                 CredentialsProvider credsProvider) throws IOException {
+                                                 CredentialsProvider credsProvider) {
 
         SocketConfig socketConfig = SocketConfig.custom()
                                                 .setSoKeepAlive(request.keepAlive)
                                                 .setSoTimeout(request.socketTimeout)
                                                 .setSoLinger(request.socketTimeout).build();
 
-        HttpClientBuilder httpClientBuilder = HttpClients.custom()
-                                                         .setRequestExecutor(new NexialHttpRequestExecutor())
-                                                         .setSSLSocketFactory(SSL_SF)
-                                                         .setDefaultRequestConfig(requestConfig)
-                                                         .setDefaultSocketConfig(socketConfig);
-
-        if (proxy != null && credsProvider != null) {
-            httpClientBuilder = httpClientBuilder.setDefaultCredentialsProvider(credsProvider)
-                                                 .setProxy(proxy)
-                                                 .setRoutePlanner(resolveRoutePlanner(request, proxy));
-        }
-
-        // add basic auth, if specified
-        httpClientBuilder = addBasicAuth(httpClientBuilder, request);
+        int maxTotal = getIntConfiguration(WS_POOL_MAX_TOTAL);
+        int maxPerRoute = getIntConfiguration(WS_POOL_MAX_PER_ROUTE);
+        int idleTimeout = getIntConfiguration(WS_POOL_IDLE_TIMEOUT);
+
+        String key = String.join("|",
+                                 "auth=" + resolveAuthIdentity(),
+                                 "proxy=" + (proxy != null ? proxy.toHostString() : ""),
+                                 "ssl=" + SSL_SF.getClass().getName(),
+                                 "socket=" + socketConfig,
+                                 "pool=" + maxTotal + "/" + maxPerRoute + "/" + idleTimeout);
+
+        return HttpClientRegistry.getClient(key, k -> {
+            HttpClientBuilder httpClientBuilder =
+                HttpClients.custom()
+                           .setConnectionManager(
+                               HttpClientRegistry.newConnectionManager(k, socketConfig, maxTotal, maxPerRoute))
+                           .setRequestExecutor(new NexialHttpRequestExecutor())
+                           .setDefaultRequestConfig(requestConfig)
+                           .evictExpiredConnections()
+                           .evictIdleConnections(idleTimeout, MILLISECONDS);
+
+            if (proxy != null && credsProvider != null) {
+                httpClientBuilder = httpClientBuilder.setDefaultCredentialsProvider(credsProvider)
+                                                     .setProxy(proxy)
+                                                     .setRoutePlanner(resolveRoutePlanner(request, proxy));
+            }
 
-        // add digest auth, if specified
-        httpClientBuilder = addDigestAuth(httpClientBuilder, request);
+            return httpClientBuilder.build();
+        });
+    }
 
-        return httpClientBuilder.build();
+    /** the authentication in effect for this client, if any (without password) */
+    @NotNull
+    protected String resolveAuthIdentity() {
+        if (isDigestAuth()) { return "digest:" + getConfiguration(WS_DIGEST_USER); }
+        if (isBasicAuth()) { return "basic:" + getBasicUsername(); }
+        return "";
     }
 
     protected boolean isIntranet(String hostname) {
@@ -798,18 +843,6 @@ public class WebServiceClient {
 
     protected boolean isBasicAuth() { return context != null && StringUtils.isNotBlank(getBasicUsername()); }
 
-    protected HttpClientBuilder addBasicAuth(HttpClientBuilder httpClientBuilder, Request request)
-        throws MalformedURLException {
-        if (!isBasicAuth()) { return httpClientBuilder; }
-        return httpClientBuilder.setDefaultCredentialsProvider(resolveBasicAuthCredentialProvider(request));
-    }
-
-    protected HttpAsyncClientBuilder addBasicAuth(HttpAsyncClientBuilder httpClientBuilder, Request request)
-        throws MalformedURLException {
-        if (!isBasicAuth()) { return httpClientBuilder; }
-        return httpClientBuilder.setDefaultCredentialsProvider(resolveBasicAuthCredentialProvider(request));
-    }
-
     protected CredentialsProvider resolveBasicAuthCredentialProvider(Request request) throws MalformedURLException {
         return resolveCredentialProvider(request, WS_BASIC_USER, WS_BASIC_PWD);
     }
@@ -821,9 +854,10 @@ public class WebServiceClient {
         BasicAuthCache authCache = new BasicAuthCache();
         authCache.put(target, new BasicScheme());
 
-        // Add AuthCache to the execution
+        // Add AuthCache and credential to the execution
         HttpClientContext httpContext = HttpClientContext.create();
         httpContext.setAuthCache(authCache);
+        httpContext.setCredentialsProvider(resolveBasicAuthCredentialProvider(request));
         return httpContext;
     }
 
@@ -834,18 +868,6 @@ public class WebServiceClient {
                StringUtils.isNotBlank(getConfiguration(WS_DIGEST_REALM));
     }
 
-    protected HttpClientBuilder addDigestAuth(HttpClientBuilder httpClientBuilder, Request request)
-        throws MalformedURLException {
-        if (!isDigestAuth()) { return httpClientBuilder; }
-        return httpClientBuilder.setDefaultCredentialsProvider(resolveDigestAuthCredentialProvider(request));
-    }
-
-    protected HttpAsyncClientBuilder addDigestAuth(HttpAsyncClientBuilder httpClientBuilder, Request request)
-        throws MalformedURLException {
-        if (!isDigestAuth()) { return httpClientBuilder; }
-        return httpClientBuilder.setDefaultCredentialsProvider(resolveDigestAuthCredentialProvider(request));
-    }
-
     protected CredentialsProvider resolveDigestAuthCredentialProvider(Request request) throws MalformedURLException {
         return resolveCredentialProvider(request, WS_DIGEST_USER, WS_DIGEST_PWD);
     }
@@ -885,9 +907,10 @@ public class WebServiceClient {
         AuthCache authCache = new BasicAuthCache();
         authCache.put(digestTarget, digestAuth);
 
-        // Add AuthCache to the execution
+        // Add AuthCache and credential to the execution
         HttpClientContext httpContext = HttpClientContext.create();
         httpContext.setAuthCache(authCache);
+        httpContext.setCredentialsProvider(resolveDigestAuthCredentialProvider(request));
         return httpContext;
     }
 
@@ -951,6 +974,11 @@ public class WebServiceClient {
         return MapUtils.getString(priorityConfigs, key, context.getStringData(key));
     }
 
+    protected int getIntConfiguration(String key) {
+        String value = MapUtils.getString(priorityConfigs, key, context == null ? null : context.getStringData(key));
+        return NumberUtils.toInt(value, getDefaultInt(key));
+    }
+
     protected boolean isContextAsConfigDisabled() {
         return MapUtils.getBoolean(priorityConfigs, WS_DISABLE_CONTEXT, false);
     }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.ws;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.nexial.core.NexialConst.Ws.WS_POOL_MAX_PER_ROUTE;
+import static org.nexial.core.NexialConst.Ws.WS_POOL_MAX_TOTAL;
+
+/**
+ * replay the same request repeatedly from a bounded pool of workers, either for a fixed number of requests or for a
+ * fixed duration, and gather the throughput, latency distribution and errors of these requests.
+ * <p>
+ * Each request is built by {@code requestFactory} (hence the same way as a regular {@link WebServiceClient} request,
+ * including the headers and timeouts in effect) and sent through the pooled client of {@code client}. Request and
+ * response logging is skipped so that only the round trip is measured.
+ */
+class WebServiceLoadTest {
+    private final WebServiceClient client;
+    private final Supplier<Request> requestFactory;
+    private final int concurrency;
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final Map<Integer, Long> statusCodes = new ConcurrentHashMap<>();
+    private final Map<String, Long> errors = new ConcurrentHashMap<>();
+
+    WebServiceLoadTest(WebServiceClient client, Supplier<Request> requestFactory, int concurrency) {
+        if (concurrency < 1) { throw new IllegalArgumentException("concurrency must be at least 1: " + concurrency); }
+        this.client = client;
+        this.requestFactory = requestFactory;
+        this.concurrency = concurrency;
+
+        // make sure the connection pool is not the bottleneck
+        String poolSize = String.valueOf(concurrency);
+        if (client.getIntConfiguration(WS_POOL_MAX_PER_ROUTE) < concurrency) {
+            client.setPriorityConfiguration(WS_POOL_MAX_PER_ROUTE, poolSize);
+        }
+        if (client.getIntConfiguration(WS_POOL_MAX_TOTAL) < concurrency) {
+            client.setPriorityConfiguration(WS_POOL_MAX_TOTAL, poolSize);
+        }
+    }
+
+    /** send {@code count} requests in total */
+    LoadTestResult runCount(long count) throws InterruptedException {
+        if (count < 1) { throw new IllegalArgumentException("request count must be at least 1: " + count); }
+        AtomicLong remaining = new AtomicLong(count);
+        return run(() -> remaining.getAndDecrement() > 0);
+    }
+
+    /** keep sending requests until {@code durationMs} has elapsed */
+    LoadTestResult runDuration(long durationMs) throws InterruptedException {
+        if (durationMs < 1) { throw new IllegalArgumentException("duration must be at least 1 ms: " + durationMs); }
+        long deadline = System.nanoTime() + MILLISECONDS.toNanos(durationMs);
+        return run(() -> System.nanoTime() < deadline);
+    }
+
+    private LoadTestResult run(Supplier<Boolean> proceed) throws InterruptedException {
+        Request first = newRequest();
+        LoadTestResult result = new LoadTestResult(first.getMethod(), first.getUrl(), concurrency);
+        RequestConfig requestConfig = client.prepRequestConfig(first, null, null);
+        CloseableHttpClient httpClient = client.prepHttpClient(first, requestConfig, null, null);
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            tasks.add(() -> {
+                while (proceed.get() && !Thread.currentThread().isInterrupted()) {
+                    invoke(httpClient, requestConfig);
+                }
+                return null;
+            });
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            workers.invokeAll(tasks);
+        } finally {
+            workers.shutdownNow();
+        }
+        long elapsed = NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        result.setStatusCodes(statusCodes);
+        result.setErrorBreakdown(errors);
+        result.summarize(histogram, elapsed);
+        return result;
+    }
+
+    private void invoke(CloseableHttpClient httpClient, RequestConfig requestConfig) {
+        long startNanos = 0;
+        try {
+            Request request = newRequest();
+            HttpUriRequest http = request.prepRequest(requestConfig);
+
+            startNanos = System.nanoTime();
+            try (CloseableHttpResponse response = httpClient.execute(http, client.newHttpContext(request))) {
+                EntityUtils.consume(response.getEntity());
+                histogram.record(NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+                startNanos = 0;
+
+                int statusCode = response.getStatusLine().getStatusCode();
+                statusCodes.merge(statusCode, 1L, Long::sum);
+                if (statusCode >= 400) { errors.merge("HTTP " + statusCode, 1L, Long::sum); }
+            }
+        } catch (IOException | RuntimeException e) {
+            if (startNanos != 0) { histogram.record(NANOSECONDS.toMicros(System.nanoTime() - startNanos)); }
+            errors.merge(e.getClass().getSimpleName(), 1L, Long::sum);
+        }
+    }
+
+    /** requests read their configuration from the execution context, hence one at a time */
+    private Request newRequest() {
+        synchronized (requestFactory) { return requestFactory.get(); }
+    }
+}
@@ -26,6 +26,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.nexial.commons.utils.FileUtil;
+import org.nexial.commons.utils.RegexUtils;
 import org.nexial.commons.utils.TextUtils;
 import org.nexial.commons.utils.web.URLEncodingUtils;
 import org.nexial.core.ExecutionThread;
@@ -48,6 +49,7 @@ import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javax.annotation.Nonnull;
@@ -57,6 +59,9 @@ import javax.validation.constraints.NotNull;
 import static io.jsonwebtoken.SignatureAlgorithm.HS256;
 import static io.jsonwebtoken.impl.TextCodec.BASE64URL;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.apache.http.HttpHeaders.AUTHORIZATION;
 import static org.apache.http.HttpHeaders.CONTENT_TYPE;
 import static org.nexial.core.NexialConst.*;
@@ -66,6 +71,8 @@ import static org.nexial.core.plugins.ws.WebServiceClient.hideAuthDetails;
 import static org.nexial.core.utils.CheckUtils.*;
 
 public class WsCommand extends BaseCommand {
+    private static final String REGEX_LOAD_TEST_DURATION = "^(\\d+)(ms|s|m|h)$";
+
     protected boolean verbose;
     protected Map<String, Map<String, String>> oauthProviderDetails;
 
@@ -131,6 +138,66 @@ public class WsCommand extends BaseCommand {
         return requestWithBody(url, body, var, "graphql");
     }
 
+    /**
+     * replay the same request from {@code concurrency} concurrent clients, either for a number of requests (e.g.
+     * {@code 500}) or for a duration (e.g. {@code 500ms}, {@code 30s}, {@code 5m}) as specified via
+     * {@code durationOrCount}. {@code request} is specified as {@code METHOD url} on its first line, optionally
+     * followed by the request body on the subsequent lines. The resulting throughput, latency percentiles and error
+     * breakdown are saved to {@code var} (as {@link LoadTestResult}) and to the output directory.
+     */
+    public StepResult loadTest(String request, String concurrency, String durationOrCount, String var) {
+        requiresNotBlank(request, "invalid request", request);
+        requiresPositiveNumber(concurrency, "invalid concurrency", concurrency);
+        requiresNotBlank(durationOrCount, "invalid duration or count", durationOrCount);
+        requiresValidAndNotReadOnlyVariableName(var);
+
+        String requestLine = StringUtils.trim(StringUtils.substringBefore(request, "\n"));
+        String method = StringUtils.upperCase(StringUtils.substringBefore(requestLine, " "));
+        String url = StringUtils.trim(StringUtils.substringAfter(requestLine, " "));
+        requiresNotBlank(url, "invalid request; expects METHOD url", requestLine);
+        requiresOneOf(method, "GET", "HEAD", "DELETE", "POST", "PUT", "PATCH");
+        String body = StringUtils.contains(request, "\n") ? StringUtils.substringAfter(request, "\n") : null;
+
+        String limit = StringUtils.lowerCase(StringUtils.trim(durationOrCount));
+        boolean byCount = NumberUtils.isDigits(limit);
+        requires(byCount || RegexUtils.isExact(limit, REGEX_LOAD_TEST_DURATION),
+                 "invalid duration or count; expects number of requests or duration such as 30s", durationOrCount);
+
+        // clear out any existing state of `var`
+        context.removeData(var);
+
+        WebServiceClient client = new WebServiceClient(context);
+        client.setVerbose(context.isVerbose());
+
+        try {
+            String payload = null;
+            byte[] payloadBytes = null;
+            if (StringUtils.isNotEmpty(body)) {
+                OutputResolver outputResolver = newOutputResolver(body);
+                if (outputResolver.getAsBinary()) {
+                    payloadBytes = outputResolver.getBytes();
+                } else {
+                    payload = outputResolver.getContent();
+                }
+            }
+
+            Supplier<Request> requestFactory = toRequestFactory(client, method, url, payload, payloadBytes);
+            WebServiceLoadTest loadTest =
+                new WebServiceLoadTest(client, requestFactory, NumberUtils.toInt(concurrency));
+            LoadTestResult result = byCount ?
+                                    loadTest.runCount(NumberUtils.toLong(limit)) :
+                                    loadTest.runDuration(toLoadTestDurationMs(limit));
+            context.setData(var, result);
+
+            if (context.getCurrentTestStep() != null) { addOutputAsLink("load test result", GSON.toJson(result), "json"); }
+
+            String message = result.toString();
+            return result.getErrors() == 0 ? StepResult.success(message) : StepResult.fail(message);
+        } catch (Throwable e) {
+            return toFailResult(url, e);
+        }
+    }
+
     /**
      * as of v4.2, `returnCode` now supports range or list
      */
@@ -748,6 +815,48 @@ public class WsCommand extends BaseCommand {
         return StepResult.fail("Unable to invoke '" + hideAuthDetails(url) + "': " + error);
     }
 
+    @NotNull
+    protected static Supplier<Request> toRequestFactory(WebServiceClient client,
+                                                        String method,
+                                                        String url,
+                                                        String payload,
+                                                        byte[] payloadBytes) {
+        boolean hasPayload = payload != null || payloadBytes != null;
+        switch (method) {
+            case "GET":
+                return () -> client.toGetRequest(url, null, null);
+            case "HEAD":
+                return () -> client.toHeadRequest(url);
+            case "DELETE":
+                return hasPayload ?
+                       () -> client.toDeleteRequestWithPayload(url, payload, payloadBytes) :
+                       () -> client.toDeleteRequest(url, null, null);
+            case "POST":
+                return () -> client.toPostRequest(url, payload, payloadBytes, null);
+            case "PUT":
+                return () -> client.toPutRequest(url, payload, payloadBytes, null);
+            case "PATCH":
+                return () -> client.toPatchRequest(url, payload, payloadBytes);
+            default:
+                throw new IllegalArgumentException("Unsupported HTTP method for load test: " + method);
+        }
+    }
+
+    protected static long toLoadTestDurationMs(String duration) {
+        List<String> groups = RegexUtils.collectGroups(duration, REGEX_LOAD_TEST_DURATION);
+        long amount = NumberUtils.toLong(groups.get(0));
+        switch (groups.get(1)) {
+            case "h":
+                return HOURS.toMillis(amount);
+            case "m":
+                return MINUTES.toMillis(amount);
+            case "s":
+                return SECONDS.toMillis(amount);
+            default:
+                return amount;
+        }
+    }
+
     protected void addDetailLogLink(WebServiceClient client) {
         // add detail log as link
         if (context.getBooleanData(WS_LOG_DETAIL, getDefaultBool(WS_LOG_DETAIL))) {
@@ -33,6 +33,7 @@ import org.nexial.core.model.StepResult;
 import org.nexial.core.plugins.base.BaseCommand;
 import org.nexial.core.utils.ConsoleUtils;
 import org.nexial.core.utils.OutputFileUtils;
+import org.nexial.core.utils.ParsedDocumentCache;
 import org.xml.sax.SAXException;
 
 import java.io.ByteArrayInputStream;
@@ -249,7 +250,7 @@ public class XmlCommand extends BaseCommand {
     public StepResult assertCorrectness(String xml, String schema) { return assertCorrectness(xml, schema, 0); }
 
     public StepResult assertWellformed(String xml) {
-        Document doc = deriveWellformedXml(xml);
+        Document doc = deriveWellformedXml(xml, true);
         return doc == null ? StepResult.fail("invalid xml: " + xml) : StepResult.success("xml is well-formed");
     }
 
@@ -352,7 +353,7 @@ public class XmlCommand extends BaseCommand {
 
     @NotNull
     protected StepResult assertCorrectness(String xml, String schema, int lineOffset) {
-        Document doc = deriveWellformedXml(xml);
+        Document doc = deriveWellformedXml(xml, true);
         if (doc == null) { return StepResult.fail("invalid xml: " + xml); }
 
         try {
@@ -516,7 +517,13 @@ public class XmlCommand extends BaseCommand {
         return sources.toArray(new Source[sources.size()]);
     }
 
-    protected Document deriveWellformedXml(String xml) {
+    protected Document deriveWellformedXml(String xml) { return deriveWellformedXml(xml, false); }
+
+    /**
+     * parse {@code xml} as a well-formed XML document. Use {@code readOnly} of {@code true} when the document will not
+     * be modified, so that the document parsed from the same xml earlier (if any) can be reused.
+     */
+    protected Document deriveWellformedXml(String xml, boolean readOnly) {
         requires(StringUtils.isNotBlank(xml), "invalid xml", xml);
 
         try {
@@ -526,7 +533,7 @@ public class XmlCommand extends BaseCommand {
                 ConsoleUtils.log("empty XML found");
                 return null;
             } else {
-                return XmlUtils.parse(xml);
+                return readOnly ? parsedDocuments().getXml(xml) : XmlUtils.parse(xml);
             }
         } catch (IOException e) {
             ConsoleUtils.log("Error reading as file '" + xml + "': " + e.getMessage());
@@ -564,7 +571,8 @@ public class XmlCommand extends BaseCommand {
             xml = cleanXmlContent(OutputFileUtils.resolveContent(xml, context, false));
             requiresNotBlank(xml, "empty XML found");
 
-            doc = XmlUtils.parse(xml);
+            // read-only use; reuse the document parsed from the same xml, if any
+            doc = parsedDocuments().getXml(xml);
             requires(doc != null, "invalid/malformed xml", xml);
         } catch (JDOMException | IOException e) {
             ConsoleUtils.log("invalid/malformed xml: " + e.getMessage());
@@ -573,6 +581,11 @@ public class XmlCommand extends BaseCommand {
         return doc;
     }
 
+    @NotNull
+    protected ParsedDocumentCache parsedDocuments() {
+        return context == null ? ParsedDocumentCache.current() : context.getParsedDocumentCache();
+    }
+
     protected int count(String xml, String xpath) throws JDOMException {
         return XmlUtils.count(resolveDoc(xml, xpath), xpath);
     }
@@ -677,7 +690,7 @@ public class XmlCommand extends BaseCommand {
         requiresValidAndNotReadOnlyVariableName(var);
         requiresNotBlank(xml, "invalid xml", xml);
 
-        Document doc = deriveWellformedXml(xml);
+        Document doc = deriveWellformedXml(xml, true);
         if (doc == null) { return StepResult.fail("invalid xml: " + xml); }
 
         String action = "XML " + (outputter == COMPRESSED_XML_OUTPUTTER ? "minification" : "beautification");
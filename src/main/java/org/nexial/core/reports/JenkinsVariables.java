@@ -48,7 +48,10 @@ public final class JenkinsVariables {
 
         // favor nexial.suite, then nexial.inputExcel, then nexial.excel
         // nexial.excel most likely modified to the output version by this point
-        testScript = System.getProperty(OPT_INPUT_EXCEL_FILE, System.getProperty(OPT_EXCEL_FILE));
+        // nexial.inputExcel is tracked per execution context (not as System property) due to parallel iterations
+        testScript = context != null ?
+                     context.getStringData(OPT_INPUT_EXCEL_FILE, System.getProperty(OPT_EXCEL_FILE)) :
+                     System.getProperty(OPT_INPUT_EXCEL_FILE, System.getProperty(OPT_EXCEL_FILE));
 
         invokedFromJenkins = StringUtils.isNotBlank(buildUserId) &&
                              StringUtils.isNotBlank(buildUser) &&
@@ -130,7 +130,8 @@ public class ReadScript {
             try {
                 TestScenario.validateActivity(activity,
                                               testCases,
-                                              scenarioRef + "[" + cellActivity.getReference() + "]:");
+                                              scenarioRef + "[" + cellActivity.getReference() + "]:",
+                                              worksheet.getFile().getAbsolutePath());
             } catch (RuntimeException e) {
                 System.err.println(e.getMessage());
                 System.exit(-1);
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * a {@link Method} bound, once, into a {@link MethodHandle} of the shape {@code (Object target, Object[] args)}.
+ * Used to dispatch Nexial commands and expression functions without the per-call access check and argument
+ * boxing of {@link Method#invoke(Object, Object...)}.
+ * <p>
+ * The invocation semantics follow that of {@link Method#invoke(Object, Object...)}: any exception thrown by the
+ * underlying method is wrapped in an {@link InvocationTargetException}. Methods that cannot be bound (e.g. due to
+ * access restriction) fall back to reflection.
+ */
+public final class BoundMethod {
+    private static final Map<Method, BoundMethod> BOUND_METHODS = new ConcurrentHashMap<>();
+    private static final MethodType GENERIC_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private final Method method;
+    private final MethodHandle handle;
+
+    private BoundMethod(Method method) {
+        this.method = method;
+        this.handle = toHandle(method);
+    }
+
+    /** bound methods are shared across instances of the same class (e.g. plugins initialized per script) */
+    public static BoundMethod of(Method method) { return BOUND_METHODS.computeIfAbsent(method, BoundMethod::new); }
+
+    public Method getMethod() { return method; }
+
+    public String getName() { return method.getName(); }
+
+    public int getParameterCount() { return method.getParameterCount(); }
+
+    public Object invoke(Object target, Object[] args) throws InvocationTargetException, IllegalAccessException {
+        if (handle == null) { return method.invoke(target, args); }
+
+        try {
+            return (Object) handle.invokeExact(target, args);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private static MethodHandle toHandle(Method method) {
+        try {
+            // e.g. public method of a package-private transformer
+            if (!Modifier.isPublic(method.getDeclaringClass().getModifiers())) { method.setAccessible(true); }
+
+            // varargs are passed as array, just like Method.invoke()
+            return MethodHandles.lookup().unreflect(method)
+                                .asFixedArity()
+                                .asSpreader(Object[].class, method.getParameterCount())
+                                .asType(GENERIC_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            ConsoleUtils.log("Unable to bind " + method.getDeclaringClass().getSimpleName() + "." + method.getName() +
+                             "(); reflection will be used instead: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.utils;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.text.DecimalFormat;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * JVM-wide call count and latency of Nexial commands (e.g. {@code web.click}) and expression functions (e.g.
+ * {@code TEXT.upper}), so that the "hot" ones in a long run can be identified.
+ */
+public final class InvocationStats {
+    private static final Map<String, Stat> STATS = new ConcurrentHashMap<>();
+    private static final DecimalFormat COUNT_FORMAT = new DecimalFormat("###,###");
+    private static final DecimalFormat MS_FORMAT = new DecimalFormat("###,##0.00");
+    private static final int NAME_LENGTH = 40;
+    private static final int VALUE_LENGTH = 12;
+
+    public static final class Stat {
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+        private Stat(String name) { this.name = name; }
+
+        public String getName() { return name; }
+
+        public long getCount() { return count.sum(); }
+
+        public double getTotalMs() { return totalNanos.sum() / 1_000_000d; }
+
+        public double getAverageMs() {
+            long calls = getCount();
+            return calls == 0 ? 0 : getTotalMs() / calls;
+        }
+
+        public double getMaxMs() { return maxNanos.get() / 1_000_000d; }
+
+        private void record(long elapsedNanos) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+        }
+    }
+
+    private InvocationStats() { }
+
+    public static void record(String name, long elapsedNanos) {
+        if (StringUtils.isBlank(name)) { return; }
+        STATS.computeIfAbsent(name, Stat::new).record(elapsedNanos);
+    }
+
+    public static Stat get(String name) { return STATS.get(name); }
+
+    /** all the recorded stats, most time-consuming first */
+    public static List<Stat> snapshot() {
+        return STATS.values().stream()
+                    .sorted(Comparator.comparingDouble(Stat::getTotalMs).reversed())
+                    .collect(Collectors.toList());
+    }
+
+    public static void reset() { STATS.clear(); }
+
+    /** tabular display of the {@code top} most time-consuming commands/functions; null if nothing is recorded. */
+    public static String showUsage(String logPrefix, int top) {
+        List<Stat> stats = snapshot();
+        if (stats.isEmpty()) { return null; }
+
+        StringBuilder buffer = new StringBuilder();
+        buffer.append(logPrefix)
+              .append(StringUtils.rightPad("command", NAME_LENGTH))
+              .append(StringUtils.leftPad("calls", VALUE_LENGTH))
+              .append(StringUtils.leftPad("total ms", VALUE_LENGTH))
+              .append(StringUtils.leftPad("avg ms", VALUE_LENGTH))
+              .append(StringUtils.leftPad("max ms", VALUE_LENGTH))
+              .append("\n");
+        stats.stream().limit(top).forEach(stat -> buffer.append(logPrefix)
+                                                        .append(StringUtils.rightPad(stat.getName(), NAME_LENGTH))
+                                                        .append(leftPad(COUNT_FORMAT.format(stat.getCount())))
+                                                        .append(leftPad(MS_FORMAT.format(stat.getTotalMs())))
+                                                        .append(leftPad(MS_FORMAT.format(stat.getAverageMs())))
+                                                        .append(leftPad(MS_FORMAT.format(stat.getMaxMs())))
+                                                        .append("\n"));
+        return buffer.toString();
+    }
+
+    private static String leftPad(String value) { return StringUtils.leftPad(value, VALUE_LENGTH); }
+}
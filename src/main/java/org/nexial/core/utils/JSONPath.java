@@ -18,6 +18,7 @@
 package org.nexial.core.utils;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.map.LRUMap;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
@@ -25,7 +26,6 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
-import org.nexial.commons.utils.RegexUtils;
 import org.nexial.commons.utils.TextUtils;
 import org.nexial.core.variable.NumberTransformer;
 import org.slf4j.Logger;
@@ -35,9 +35,12 @@ import javax.validation.constraints.NotNull;
 import java.lang.reflect.Array;
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.regex.Pattern;
 
 import static org.json.JSONObject.NULL;
+import static org.nexial.core.NexialConst.Data.JSON_PATH_CACHE_SIZE;
 import static org.nexial.core.NexialConst.REGEX_PREFIX;
+import static org.nexial.core.SystemVariables.getDefaultInt;
 import static org.nexial.core.utils.JSONPath.Option.*;
 import static org.nexial.core.utils.JsonUtils.isSimpleType;
 
@@ -90,7 +93,11 @@ public class JSONPath {
                                                                                       "\\[=~~{~~",
                                                                                       "|", "=");
     private static final String FUNCTION_PREFIX = "=>";
-    private static final String REGEX_NOT_SIMPLY_ARRAY = "\\[.*([\\{\\[].+[\\}\\]]\\,?)+.*\\]";
+    static final Pattern REGEX_NOT_SIMPLY_ARRAY = Pattern.compile("\\[.*([\\{\\[].+[\\}\\]]\\,?)+.*\\]");
+    static final int SEGMENT_CACHE_SIZE =
+        NumberUtils.toInt(System.getProperty(JSON_PATH_CACHE_SIZE), getDefaultInt(JSON_PATH_CACHE_SIZE));
+    // parsed path segments, shared by all instances since the same paths are evaluated repeatedly
+    private static final Map<String, Segment> SEGMENTS = Collections.synchronizedMap(new LRUMap<>(SEGMENT_CACHE_SIZE));
 
     private final transient Logger logger = LoggerFactory.getLogger(getClass());
     private final Object dataStruc;
@@ -259,7 +266,7 @@ public class JSONPath {
             if (!isArray(parsed)) { throw new IllegalArgumentException("not an array: " + parsed); }
 
             // check if `parsed` is an array wrapping JSON object or JSON array
-            if (RegexUtils.match(parsed, REGEX_NOT_SIMPLY_ARRAY)) {
+            if (REGEX_NOT_SIMPLY_ARRAY.matcher(parsed).find()) {
                 // match means this array is not simple/primitive array
                 return null;
             }
@@ -277,11 +284,42 @@ public class JSONPath {
         String nodeName;
         String nodeIndex;
         boolean isFilter;
+        // parsed once per key, as keys are shared via the segment cache
+        private JsonPathFilters filters;
+
+        JsonPathFilters filters() {
+            if (filters == null) { filters = new JsonPathFilters(nodeName); }
+            return filters;
+        }
 
         @Override
         public String toString() { return StringUtils.defaultString(nodeName, nodeIndex); }
     }
 
+    /**
+     * the parsed form of a path: the current segment along with the remaining path (if any). Immutable once created.
+     */
+    private static final class Segment {
+        private final String key;
+        private final JSONPathKey current;
+        private final String nextKey;
+        private final String childKey;
+
+        private Segment(String key) {
+            Pair<JSONPathKey, String> keyPair = parseKey(key);
+            // put it back, now that we've figured out the JSONPathKey
+            this.key = StringUtils.isBlank(key) ? key : postParseSubstitution(preParseSubstitution(key));
+            this.current = keyPair == null ? null : keyPair.getKey();
+            this.nextKey = keyPair == null ? null : keyPair.getValue();
+            this.childKey = postParseSubstitution(nextKey);
+        }
+
+        private static Segment of(String key) {
+            if (key == null) { return new Segment(null); }
+            return SEGMENTS.computeIfAbsent(key, Segment::new);
+        }
+    }
+
     public JSONPath(JSONObject dataStruc, String key, boolean simplePrimitives) {
         this.dataStruc = dataStruc;
         this.simplePrimitives = simplePrimitives;
@@ -306,6 +344,13 @@ public class JSONPath {
         init();
     }
 
+    /** drop all the parsed paths kept for reuse */
+    static void clearCache() { SEGMENTS.clear(); }
+
+    static int cacheSize() { return SEGMENTS.size(); }
+
+    static boolean isCached(String path) { return SEGMENTS.containsKey(path); }
+
     public String getKey() { return key; }
 
     public void setKey(String key) { this.key = key; }
@@ -708,11 +753,11 @@ public class JSONPath {
      *
      * @return a pair of 'current' and 'next' path
      */
-    private Pair<JSONPathKey, String> parseKey() {
+    private static Pair<JSONPathKey, String> parseKey(String key) {
         // fail-fast to avoid NPE
         if (StringUtils.isBlank(key)) { return null; }
 
-        preParseSubstitution();
+        key = preParseSubstitution(key);
 
         String current;
 
@@ -762,7 +807,7 @@ public class JSONPath {
         return new ImmutablePair<>(currentKey, cleanNextKey(StringUtils.substringAfter(key, current)));
     }
 
-    private String postParseSubstitution(String data) {
+    private static String postParseSubstitution(String data) {
         if (StringUtils.isEmpty(data)) { return data; }
         for (Map.Entry<String, String> subst : ESCAPED_CHARS_REPLACER.entrySet()) {
             String replaceWith = StringUtils.equals(subst.getKey(), "\\.") &&
@@ -774,10 +819,11 @@ public class JSONPath {
         return data;
     }
 
-    private void preParseSubstitution() {
+    private static String preParseSubstitution(String key) {
         for (Map.Entry<String, String> subst : ESCAPED_CHARS_REPLACER.entrySet()) {
             key = StringUtils.replace(key, subst.getKey(), subst.getValue());
         }
+        return key;
     }
 
     private static String cleanNextKey(String next) {
@@ -797,7 +843,7 @@ public class JSONPath {
 
         boolean isFilter = jsonPathKey.isFilter;
         if (isFilter) {
-            JsonPathFilters filters = new JsonPathFilters(key);
+            JsonPathFilters filters = jsonPathKey.filters();
             // jsonArray.forEach(item -> filters.filter(item, matches));
             for (int i = 0; i < jsonArray.length(); i++) { filters.filter(jsonArray.opt(i), matches); }
         } else {
@@ -822,16 +868,14 @@ public class JSONPath {
             return;
         }
 
-        Pair<JSONPathKey, String> keyPair = parseKey();
-
-        // put it back, now that we've figured out the JSONPathKey
-        key = postParseSubstitution(key);
+        Segment segment = Segment.of(key);
+        key = segment.key;
 
         // fail-fast to avoid NPE
-        if (keyPair == null) { return; }
+        if (segment.current == null) { return; }
 
-        JSONPathKey current = keyPair.getKey();
-        String nextKey = keyPair.getValue();
+        JSONPathKey current = segment.current;
+        String nextKey = segment.nextKey;
 
         // key can be either (1) node name, (2) ordinal node index, and (3) named node index
 
@@ -850,7 +894,7 @@ public class JSONPath {
 
         // now that we got the parsed value, it might be used by the child key (if any)
         if (StringUtils.isNotBlank(nextKey) && (parsedVal instanceof JSONArray || parsedVal instanceof JSONObject)) {
-            this.child = new JSONPath(parsedVal, postParseSubstitution(nextKey), this);
+            this.child = new JSONPath(parsedVal, segment.childKey, this);
         }
     }
 
@@ -866,14 +910,14 @@ public class JSONPath {
         //  (3) key of simple value
         if (dataStruc instanceof JSONObject json) {
             parsedVal = jsonPathKey.isFilter ?
-                        new JsonPathFilters(jsonPathKey.nodeName).find(json) : json.opt(jsonPathKey.nodeName);
+                        jsonPathKey.filters().find(json) : json.opt(jsonPathKey.nodeName);
             return;
         }
 
         parsedVal = null;
     }
 
-    private String fromIndexToSimpleKey(String key) {
+    private static String fromIndexToSimpleKey(String key) {
         return cleanNodeName(StringUtils.substringBetween(key, "[", "]"));
     }
 
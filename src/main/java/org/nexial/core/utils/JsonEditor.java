@@ -22,12 +22,15 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.json.JSONArray;
 import org.json.JSONObject;
-import org.nexial.commons.utils.RegexUtils;
 import org.nexial.commons.utils.TextUtils;
 
 import java.util.Map;
+import java.util.regex.Pattern;
 import javax.validation.constraints.NotNull;
 
+import static java.util.regex.Pattern.DOTALL;
+import static java.util.regex.Pattern.MULTILINE;
+import static java.util.regex.Pattern.UNIX_LINES;
 import static org.json.JSONObject.NULL;
 import static org.nexial.core.NexialConst.NL;
 import static org.nexial.core.NexialConst.REGEX_PREFIX;
@@ -36,6 +39,11 @@ import static org.nexial.core.NexialConst.REGEX_PREFIX;
  * Helper class to add or replace an existing JSON Document (JSONObject or JSONArray) via JSON Path.
  */
 public final class JsonEditor {
+    // compiled once, as the same edits are typically applied repeatedly
+    static final Pattern FILTERED_NODE = Pattern.compile(".+\\[.+\\]");
+    static final Pattern KEY_VALUE = Pattern.compile("\"?([^\".]+)\"?\\s*\\:\\s*(.+)",
+                                                             MULTILINE | UNIX_LINES | DOTALL);
+
     private boolean removeNull;
 
     public static class JsonEditorConfig {
@@ -70,7 +78,7 @@ public final class JsonEditor {
 
         // 2. check if we have filter
         // at this point, `nodeName` does not have filter
-        if (!RegexUtils.isExact(nodeName, ".+\\[.+\\]")) { return addToNode(json, nodeName, jsonPath, data); }
+        if (!isExact(nodeName, FILTERED_NODE)) { return addToNode(json, nodeName, jsonPath, data); }
 
         // 3. we have filter; current nodeName might be filter (e.g. node[key=value]) or ordinal position (e.g. node[2])
         // at this point, we have either filter or ordinal position
@@ -391,7 +399,7 @@ public final class JsonEditor {
                 return jsonObject;
             }
 
-            if (RegexUtils.isExact(nodeValue, "(true|false)")) {
+            if (isBoolean(nodeValue)) {
                 jsonObject.put(nodeName, BooleanUtils.toBoolean(nodeValue));
                 return jsonObject;
             }
@@ -408,7 +416,7 @@ public final class JsonEditor {
 
         if (isJsonArray) {
             if (TextUtils.isBetween(data, "\"", "\"")) { return jsonArray.put(StringUtils.unwrap(data, "\"")); }
-            if (RegexUtils.isExact(data, "(true|false)")) { return jsonArray.put(BooleanUtils.toBoolean(data)); }
+            if (isBoolean(data)) { return jsonArray.put(BooleanUtils.toBoolean(data)); }
             if (NumberUtils.isCreatable(data)) { return jsonArray.put(NumberUtils.createNumber(data)); }
             return jsonArray.put(data);
         }
@@ -440,7 +448,7 @@ public final class JsonEditor {
         if (TextUtils.isBetween(dataTrimmed, "{", "}")) { return new JSONObject(dataTrimmed); }
 
         // true or false means boolean
-        if (RegexUtils.isExact(data, "(true|false)")) { return BooleanUtils.toBoolean(data); }
+        if (isBoolean(data)) { return BooleanUtils.toBoolean(data); }
 
         // if it looks like a number, then it's a number
         if (NumberUtils.isCreatable(data)) { return NumberUtils.createNumber(data); }
@@ -450,7 +458,7 @@ public final class JsonEditor {
 
         // "...": .... means object, wrap it with { and }
         String dataOneLine = TextUtils.toOneLine(dataTrimmed, false);
-        if (RegexUtils.isExact(dataOneLine, "\"?([^\".]+)\"?\\s*\\:\\s*(.+)", true)) {
+        if (isExact(dataOneLine, KEY_VALUE)) {
             return new JSONObject("{" + data + "}");
         }
 
@@ -517,4 +525,10 @@ public final class JsonEditor {
         if (StringUtils.startsWith(jsonPath, ".")) { jsonPath = StringUtils.substringAfter(jsonPath, "."); }
         return jsonPath;
     }
+
+    static boolean isBoolean(String text) { return StringUtils.equalsAny(text, "true", "false"); }
+
+    static boolean isExact(String text, Pattern pattern) {
+        return StringUtils.isNotEmpty(text) && pattern.matcher(text).matches();
+    }
 }
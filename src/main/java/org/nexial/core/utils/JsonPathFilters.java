@@ -21,13 +21,13 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.json.JSONArray;
 import org.json.JSONObject;
-import org.nexial.commons.utils.RegexUtils;
 import org.nexial.core.utils.JSONPath.Option;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.regex.Pattern;
 
 import static org.nexial.core.NexialConst.REGEX_PREFIX;
 import static org.nexial.core.utils.JsonUtils.isSimpleType;
@@ -45,6 +45,9 @@ class JsonPathFilters {
         private String value;
         private boolean regexOnKey;
         private boolean regexOnValue;
+        // regex compiled once per filter, rather than once per candidate
+        private Pattern keyPattern;
+        private Pattern valuePattern;
 
         public FilterKey(String original) {
             if (StringUtils.isBlank(original)) { throw new IllegalArgumentException("filter key is empty/blank"); }
@@ -75,16 +78,18 @@ class JsonPathFilters {
         protected void parseValue(String value) {
             regexOnValue = StringUtils.startsWith(value, REGEX_PREFIX);
             this.value = regexOnValue ? StringUtils.substringAfter(value, REGEX_PREFIX) : value;
+            this.valuePattern = regexOnValue ? compile(this.value) : null;
         }
 
         protected void parseKey(String key) {
             regexOnKey = StringUtils.startsWith(key, REGEX_PREFIX);
             this.key = regexOnKey ? StringUtils.substringAfter(key, REGEX_PREFIX) : key;
+            this.keyPattern = regexOnKey ? compile(this.key) : null;
         }
 
         protected boolean accept(String jsonValue) {
             return !StringUtils.isEmpty(jsonValue) &&
-                   (regexOnKey ? RegexUtils.isExact(jsonValue, key) : StringUtils.equals(jsonValue, key));
+                   (regexOnKey ? isExact(jsonValue, keyPattern) : StringUtils.equals(jsonValue, key));
         }
 
         protected boolean accept(JSONObject json) {
@@ -94,7 +99,7 @@ class JsonPathFilters {
             while (childKeys.hasNext()) {
                 String childKey = childKeys.next();
 
-                if (regexOnKey && RegexUtils.isExact(childKey, key) ||
+                if (regexOnKey && isExact(childKey, keyPattern) ||
                     !regexOnKey && StringUtils.equals(childKey, key)) {
 
                     // at this point, key matched.
@@ -110,7 +115,7 @@ class JsonPathFilters {
                         break;
                     }
 
-                    if (regexOnValue && RegexUtils.isExact(childValue.toString(), value) ||
+                    if (regexOnValue && isExact(childValue.toString(), valuePattern) ||
                         (!regexOnValue && StringUtils.equals(childValue.toString(), value))) {
                         return true;
                     }
@@ -372,7 +377,7 @@ class JsonPathFilters {
             String filterValue = key.value;
             boolean regexOnValue = key.regexOnValue;
 
-            if (regexOnKey && !RegexUtils.isExact(childKey, filterKey)) {
+            if (regexOnKey && !isExact(childKey, key.keyPattern)) {
                 foundMatchingProp = false;
                 break;
             }
@@ -389,7 +394,7 @@ class JsonPathFilters {
                 break;
             }
 
-            if (regexOnValue && !RegexUtils.isExact(childValue.toString(), filterValue)) {
+            if (regexOnValue && !isExact(childValue.toString(), key.valuePattern)) {
                 foundMatchingProp = false;
                 break;
             }
@@ -402,4 +407,13 @@ class JsonPathFilters {
 
         return foundMatchingProp;
     }
+
+    /** compile {@code regex} for exact match; empty regex matches anything, as per RegexUtils#isExact */
+    static Pattern compile(String regex) { return StringUtils.isEmpty(regex) ? null : Pattern.compile(regex); }
+
+    static boolean isExact(String text, Pattern pattern) {
+        if (pattern == null) { return true; }
+        if (StringUtils.isEmpty(text)) { return false; }
+        return pattern.matcher(text).matches();
+    }
 }
@@ -33,9 +33,13 @@ import org.nexial.core.variable.Syspath;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.io.Reader;
 import java.io.StringWriter;
 import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.*;
 import javax.annotation.Nonnull;
 import javax.validation.constraints.NotNull;
@@ -69,6 +73,8 @@ public final class OutputFileUtils {
     // private static final String NAME = OutputFileUtils.class.getSimpleName();
     private static final String DELIM = FILE_PART_SEP;
     private static final String DELIM_ITER = "~";
+    private static final int SCAN_OVERLAP = 16;
+    private static final int SCAN_CHUNK_SIZE = 64 * 1024;
     private static final String[] UNSUPPORTED_FILE_CHARS =
         new String[]{"\\", "/", ":", "*", ">", "<", "\"", "?", "|", "#", "=", ";", DELIM};
     private static final String[] SUPPORTED_FILE_CHARS =
@@ -333,6 +339,25 @@ public final class OutputFileUtils {
                new File(contentOrFile).canRead();
     }
 
+    /**
+     * true if {@code file} contains no data variable, function or crypt token, hence its content can be read as is
+     * (no token replacement needed). The file is scanned in chunks so that it is never loaded in memory as a whole.
+     */
+    public static boolean isLiteralContent(File file, ExecutionContext context) throws IOException {
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file.toPath()), Charset.defaultCharset())) {
+            char[] buffer = new char[SCAN_CHUNK_SIZE];
+            String tail = "";
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                String chunk = tail + new String(buffer, 0, read);
+                if (!context.isLiteral(chunk)) { return false; }
+                // overlap with the previous chunk so that tokens spanning 2 chunks are detected
+                tail = StringUtils.right(chunk, SCAN_OVERLAP);
+            }
+            return true;
+        }
+    }
+
     public static boolean isContentReferencedAsClasspathResource(String resource, ExecutionContext context) {
         if (StringUtils.isBlank(resource) || StringUtils.equals(resource, context.getNullValueToken())) {
             return false;
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import javax.validation.constraints.NotNull;
+
+import org.jdom2.Document;
+import org.jdom2.JDOMException;
+import org.nexial.commons.utils.XmlUtils;
+import org.nexial.core.ExecutionThread;
+import org.nexial.core.model.ExecutionContext;
+
+/**
+ * content-addressed cache of parsed documents (such as JSON and XML), so that a series of assertions against the same
+ * payload parse it only once. Documents are keyed by their kind (i.e. representation) and the hash of their text;
+ * the text itself is retained to rule out hash collision. The cache is bounded by the total size of the cached text
+ * and evicts the least recently used documents first.
+ * <p>
+ * Cached documents are shared; callers that modify a document should either parse it anew or work on a copy.
+ */
+public class ParsedDocumentCache {
+    /** documents parsed via {@link org.json.JSONObject} or {@link org.json.JSONArray} */
+    public static final String KIND_JSON = "json";
+    /** documents parsed via GSON, as {@link com.google.gson.JsonElement} */
+    public static final String KIND_GSON = "gson";
+    /** documents parsed via JDOM, as {@link Document} */
+    public static final String KIND_XML = "xml";
+
+    private static final ParsedDocumentCache DISABLED = new ParsedDocumentCache(0);
+
+    private final long maxBytes;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long bytes;
+
+    @FunctionalInterface
+    public interface Parser<T, E extends Exception> {
+        T parse(String text) throws E;
+    }
+
+    private static final class Key {
+        private final String kind;
+        private final int length;
+        private final int hash;
+
+        private Key(String kind, String text) {
+            this.kind = kind;
+            this.length = text.length();
+            this.hash = text.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) { return true; }
+            if (!(o instanceof Key)) { return false; }
+            Key key = (Key) o;
+            return length == key.length && hash == key.hash && kind.equals(key.kind);
+        }
+
+        @Override
+        public int hashCode() { return Objects.hash(kind, length, hash); }
+    }
+
+    private static final class Entry {
+        private final String text;
+        private final Object document;
+
+        private Entry(String text, Object document) {
+            this.text = text;
+            this.document = document;
+        }
+    }
+
+    /** {@code maxBytes} of 0 or less disables caching */
+    public ParsedDocumentCache(long maxBytes) { this.maxBytes = maxBytes; }
+
+    /**
+     * return the document of {@code kind} previously parsed from {@code text}, or parse it via {@code parser} and
+     * cache the result. Parsing errors are not cached.
+     */
+    @SuppressWarnings("unchecked")
+    public <T, E extends Exception> T get(String kind, String text, Parser<T, E> parser) throws E {
+        if (text == null) { return parser.parse(null); }
+
+        long size = sizeOf(text);
+        if (size > maxBytes) {
+            misses.increment();
+            return parser.parse(text);
+        }
+
+        Key key = new Key(kind, text);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && (entry.text == text || entry.text.equals(text))) {
+                hits.increment();
+                return (T) entry.document;
+            }
+        }
+
+        misses.increment();
+        T document = parser.parse(text);
+        if (document == null) { return null; }
+
+        synchronized (this) {
+            Entry previous = entries.put(key, new Entry(text, document));
+            if (previous != null) { bytes -= sizeOf(previous.text); }
+            bytes += size;
+
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= sizeOf(eldest.next().text);
+                eldest.remove();
+            }
+        }
+
+        return document;
+    }
+
+    /** parse {@code xml} as JDOM document, or reuse the document previously parsed from the same text */
+    public Document getXml(String xml) throws JDOMException, IOException {
+        try {
+            return get(KIND_XML, xml, text -> {
+                try {
+                    return XmlUtils.parse(text);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /** the cache of the execution of the current thread, or a disabled cache if no execution is in progress */
+    @NotNull
+    public static ParsedDocumentCache current() {
+        ExecutionContext context = ExecutionThread.get();
+        return context == null ? DISABLED : context.getParsedDocumentCache();
+    }
+
+    /** drop all cached documents; the hit/miss counters are retained */
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    public long getHits() { return hits.sum(); }
+
+    public long getMisses() { return misses.sum(); }
+
+    public synchronized int size() { return entries.size(); }
+
+    public synchronized long getBytes() { return bytes; }
+
+    @Override
+    public String toString() {
+        long hit = getHits();
+        long total = hit + getMisses();
+        return String.format("%d hit(s), %d miss(es), hit rate %.1f%%, %d document(s) / %d bytes cached",
+                             hit, total - hit, total == 0 ? 0 : hit * 100d / total, size(), getBytes());
+    }
+
+    private static long sizeOf(String text) { return text.length() * 2L; }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.variable;
+
+import java.util.*;
+
+import org.apache.commons.lang3.StringUtils;
+import org.nexial.core.model.NexialFilter;
+
+import com.univocity.parsers.common.record.Record;
+
+/**
+ * columnar, dictionary-encoded view of one column of a {@link CsvDataType}. Each distinct value of the column is
+ * stored once in the dictionary (encoded via hash lookup), and each row is represented by the code of its value.
+ * <p>
+ * This allows a filter to be evaluated once per distinct value instead of once per row, and allows sorting to be
+ * done on pre-computed ranks instead of repeatedly comparing (and numerically parsing) the column values.
+ * <p>
+ * An index is bound to the row order of the CSV data at the time of its creation; {@link CsvDataType} discards its
+ * indices whenever its rows change.
+ */
+final class CsvColumnIndex {
+    private final String[] dictionary;
+    private final int[] codes;
+    private int[] ranks;
+
+    private CsvColumnIndex(String[] dictionary, int[] codes) {
+        this.dictionary = dictionary;
+        this.codes = codes;
+    }
+
+    static CsvColumnIndex build(List<Record> records, String column) {
+        int[] codes = new int[records.size()];
+        Map<String, Integer> lookup = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+
+        int row = 0;
+        for (Record record : records) {
+            String value = record.getString(column);
+            Integer code = lookup.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(value);
+                lookup.put(value, code);
+            }
+            codes[row++] = code;
+        }
+
+        return new CsvColumnIndex(dictionary.toArray(new String[0]), codes);
+    }
+
+    /** number of distinct values in this column */
+    int getCardinality() { return dictionary.length; }
+
+    /**
+     * rows matching {@code filter}. The filter is evaluated once per distinct value of this column, hence the filter
+     * must only depend on the value of its subject (i.e. not an "any subject" filter).
+     */
+    BitSet match(NexialFilter filter) {
+        boolean[] matchedCodes = new boolean[dictionary.length];
+        for (int code = 0; code < dictionary.length; code++) { matchedCodes[code] = filter.isMatch(dictionary[code]); }
+
+        BitSet matched = new BitSet(codes.length);
+        for (int row = 0; row < codes.length; row++) { if (matchedCodes[codes[row]]) { matched.set(row); } }
+        return matched;
+    }
+
+    /**
+     * row positions ordered by the value of this column, as per {@link Array#compare(String, String)}. Rows of equal
+     * value retain their current relative order.
+     */
+    int[] sortedRows(boolean ascending) {
+        int[] ranks = ranks();
+        int maxRank = 0;
+        for (int rank : ranks) { maxRank = Math.max(maxRank, rank); }
+
+        long[] keys = new long[codes.length];
+        for (int row = 0; row < codes.length; row++) {
+            long rank = ascending ? ranks[codes[row]] : maxRank - ranks[codes[row]];
+            keys[row] = rank << 32 | row;
+        }
+        Arrays.sort(keys);
+
+        int[] rows = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) { rows[i] = (int) keys[i]; }
+        return rows;
+    }
+
+    /** sort position of each dictionary code; values deemed equal share the same rank */
+    private int[] ranks() {
+        if (ranks != null) { return ranks; }
+
+        Integer[] sortedCodes = new Integer[dictionary.length];
+        for (int code = 0; code < sortedCodes.length; code++) { sortedCodes[code] = code; }
+        Arrays.sort(sortedCodes, (code1, code2) -> Array.compare(StringUtils.defaultString(dictionary[code1]),
+                                                                 StringUtils.defaultString(dictionary[code2])));
+
+        int[] ranks = new int[dictionary.length];
+        int rank = 0;
+        for (int i = 0; i < sortedCodes.length; i++) {
+            if (i > 0 && Array.compare(StringUtils.defaultString(dictionary[sortedCodes[i - 1]]),
+                                       StringUtils.defaultString(dictionary[sortedCodes[i]])) != 0) {
+                rank++;
+            }
+            ranks[sortedCodes[i]] = rank;
+        }
+
+        this.ranks = ranks;
+        return ranks;
+    }
+}
@@ -17,6 +17,9 @@
 
 package org.nexial.core.variable;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.io.StringReader;
 import java.util.*;
 import javax.validation.constraints.NotNull;
@@ -62,31 +65,93 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
     private Map<String, Map<String, Record>> flyweight;
     private boolean readyToParse;
     private boolean keepQuote;
+    private Map<String, CsvColumnIndex> columnIndices = new HashMap<>();
+    private List<Record> indexedRows;
+    // file that holds the content of this CSV (from backingOffset onwards), not yet loaded; see fromFile()
+    private File backingFile;
+    private long backingOffset;
 
     public CsvDataType(String textValue) throws TypeConversionException { super(textValue); }
 
     private CsvDataType() { super(); }
 
+    /**
+     * a CSV of the same configuration as {@code config}, whose content is that of {@code file} from {@code offset}
+     * onwards. The content is only read and parsed when first needed, so that a CSV just written to {@code file}
+     * need not be kept in memory as well.
+     */
+    static CsvDataType fromFile(CsvDataType config, File file, long offset) {
+        CsvDataType csv = config.snapshot();
+        csv.textValue = null;
+        csv.value = null;
+        csv.headers = null;
+        csv.flyweight = null;
+        csv.rowCount = 0;
+        csv.columnCount = 0;
+        csv.backingFile = file;
+        csv.backingOffset = offset;
+        return csv;
+    }
+
     @Override
     public String getName() { return "CSV"; }
 
     @Override
     public String toString() { return getName() + "(" + lineSeparator() + getTextValue() + lineSeparator() + ")"; }
 
+    @Override
+    public String getTextValue() {
+        ensureLoaded();
+        return super.getTextValue();
+    }
+
+    @Override
+    public void setTextValue(String textValue) {
+        backingFile = null;
+        super.setTextValue(textValue);
+    }
+
+    @Override
+    public List<Record> getValue() {
+        ensureLoaded();
+        return super.getValue();
+    }
+
+    @Override
+    public void setValue(List<Record> value) {
+        ensureLoaded();
+        super.setValue(value);
+    }
+
+    @Override
+    public String stringify() {
+        ensureLoaded();
+        return super.stringify();
+    }
+
     public List<String> getIndices() { return indices; }
 
     public void setIndices(List<String> indices) { this.indices = indices; }
 
-    public boolean isIndexed(String column) { return MapUtils.isNotEmpty(flyweight) && flyweight.containsKey(column); }
+    public boolean isIndexed(String column) {
+        ensureLoaded();
+        return MapUtils.isNotEmpty(flyweight) && flyweight.containsKey(column);
+    }
 
     public void addIndices(String... newIndices) {
         if (ArrayUtils.isEmpty(newIndices)) { return; }
         indices.addAll(Arrays.asList(newIndices));
     }
 
-    public int getColumnCount() { return columnCount; }
+    public int getColumnCount() {
+        ensureLoaded();
+        return columnCount;
+    }
 
-    public int getRowCount() { return rowCount; }
+    public int getRowCount() {
+        ensureLoaded();
+        return rowCount;
+    }
 
     public String getDelim() { return delim; }
 
@@ -96,9 +161,13 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
 
     public void setHeader(boolean header) { this.header = header; }
 
-    public boolean hasHeader(String header) { return CollectionUtils.isEmpty(headers) || headers.contains(header); }
+    public boolean hasHeader(String header) {
+        ensureLoaded();
+        return CollectionUtils.isEmpty(headers) || headers.contains(header);
+    }
 
     public int getHeaderPosition(String header) {
+        ensureLoaded();
         return CollectionUtils.isEmpty(headers) ? -1 : headers.indexOf(header);
     }
 
@@ -131,6 +200,8 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
     public Record retrieveFromCache(String column, String cacheKey) {
         if (StringUtils.isBlank(column)) { return null; }
         if (StringUtils.isEmpty(cacheKey)) { return null; }
+
+        ensureLoaded();
         if (CollectionUtils.isEmpty(headers)) { return null; }
         if (MapUtils.isEmpty(flyweight)) { return null; }
 
@@ -152,6 +223,7 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
     }
 
     public void removeRows(int... rowIndices) {
+        ensureLoaded();
         Arrays.sort(rowIndices);
         ArrayUtils.reverse(rowIndices);
         List<String> rows = TextUtils.toList(textValue, recordDelim, false);
@@ -164,12 +236,15 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
     }
 
     public void reset(List<Record> records) {
+        ensureLoaded();
         this.value = records;
         this.rowCount = CollectionUtils.size(this.value);
         if (!header) { columnCount = rowCount == 0 ? 0 : ArrayUtils.getLength(value.get(0).getValues()); }
         resetTextValue();
     }
 
+    public boolean isKeepQuote() { return keepQuote; }
+
     public void setKeepQuote(boolean keepQuote) { this.keepQuote = keepQuote; }
 
     @NotNull
@@ -179,6 +254,7 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
     @NotNull
     @Override
     CsvDataType snapshot() {
+        ensureLoaded();
         CsvDataType snapshot = new CsvDataType();
         snapshot.transformer = transformer;
         snapshot.delim = delim;
@@ -200,12 +276,16 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
         return snapshot;
     }
 
-    protected List<String> getHeaders() { return headers; }
+    protected List<String> getHeaders() {
+        ensureLoaded();
+        return headers;
+    }
 
     @Override
     protected void init() { parse(); }
 
     protected void sort(String column, boolean ascending) {
+        ensureLoaded();
         if (!headers.contains(column)) {
             ConsoleUtils.error("Invalid column " + column + "; sorting not performed");
             return;
@@ -216,7 +296,9 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
             return;
         }
 
-        value.sort((o1, o2) -> ascending ? compare(o1, o2, column) : compare(o2, o1, column));
+        List<Record> sorted = new ArrayList<>(value.size());
+        for (int row : columnIndex(column).sortedRows(ascending)) { sorted.add(value.get(row)); }
+        value = sorted;
         resetTextValue();
     }
 
@@ -227,7 +309,23 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
         return Array.compare(value1, value2);
     }
 
+    /**
+     * columnar index of {@code column}, built on first use and discarded whenever the rows of this CSV change. Null
+     * if this CSV has no header or {@code column} is not one of its headers.
+     */
+    protected CsvColumnIndex columnIndex(String column) {
+        ensureLoaded();
+        if (value == null || CollectionUtils.isEmpty(headers) || !headers.contains(column)) { return null; }
+        if (indexedRows != value) {
+            columnIndices.clear();
+            indexedRows = value;
+        }
+        return columnIndices.computeIfAbsent(column, key -> CsvColumnIndex.build(value, key));
+    }
+
     protected void resetTextValue() {
+        columnIndices.clear();
+
         StringBuilder output = new StringBuilder();
 
         if (CollectionUtils.isNotEmpty(headers)) {
@@ -239,6 +337,7 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
     }
 
     protected String surround(String surroundWith, Set<Integer> onColumns) {
+        ensureLoaded();
         StringBuilder output = new StringBuilder();
         if (CollectionUtils.isNotEmpty(headers)) {
             output.append(TextUtils.toString(headers, delim)).append(recordDelim);
@@ -262,6 +361,12 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
     }
 
     protected void configAndParse(String... configs) {
+        configure(configs);
+        parse();
+    }
+
+    /** apply the configurations of {@code parse(...)}, without parsing */
+    protected void configure(String... configs) {
         if (ArrayUtils.isNotEmpty(configs)) {
             ExecutionContext context = ExecutionThread.get();
 
@@ -303,7 +408,6 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
         }
 
         this.readyToParse = true;
-        parse();
     }
 
     protected void parse() {
@@ -315,6 +419,30 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
             value = null;
         }
 
+        parser = newParser();
+        value = parser.parseAllRecords(new StringReader(textValue));
+        rowCount = CollectionUtils.size(value);
+        if (header && ArrayUtils.isNotEmpty(parser.getRecordMetadata().headers())) {
+            headers = new ArrayList<>(Arrays.asList(parser.getRecordMetadata().headers()));
+            columnCount = CollectionUtils.size(headers);
+        } else {
+            headers = null;
+            columnCount = rowCount == 0 ? 0 : ArrayUtils.getLength(value.get(0).getValues());
+        }
+
+        applyDetectedFormat(parser);
+        resetTextValue();
+
+        if (CollectionUtils.isNotEmpty(indices) && CollectionUtils.isNotEmpty(headers)) {
+            flyweight = new HashMap<>();
+            indices.forEach(index -> flyweight.put(index, new HashMap<>()));
+            value.forEach(record -> indices.forEach(column ->
+                                                        flyweight.get(column).put(record.getString(column), record)));
+        }
+    }
+
+    /** new parser based on the current configuration */
+    protected CsvParser newParser() {
         ExecutionContext context = ExecutionThread.get();
         if (context != null) {
             if (maxColumns == 0) { maxColumns = context.getIntData(CSV_MAX_COLUMNS, getDefaultInt(CSV_MAX_COLUMNS)); }
@@ -340,38 +468,39 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
         //
         // parser = new CsvParser(settings);
 
-        parser = new CsvParserBuilder().setDelim(delim)
-                                       .setLineSeparator(recordDelim)
-                                       .setHasHeader(header)
-                                       .setMaxColumns(maxColumns)
-                                       .setMaxColumnWidth(maxColumnWidth)
-                                       .setQuote(quote)
-                                       .setKeepQuote(keepQuote)
-                                       .setTrimValue(trimValue)
-                                       .build();
+        return new CsvParserBuilder().setDelim(delim)
+                                     .setLineSeparator(recordDelim)
+                                     .setHasHeader(header)
+                                     .setMaxColumns(maxColumns)
+                                     .setMaxColumnWidth(maxColumnWidth)
+                                     .setQuote(quote)
+                                     .setKeepQuote(keepQuote)
+                                     .setTrimValue(trimValue)
+                                     .build();
+    }
 
-        value = parser.parseAllRecords(new StringReader(textValue));
-        rowCount = CollectionUtils.size(value);
-        if (header && ArrayUtils.isNotEmpty(parser.getRecordMetadata().headers())) {
-            headers = new ArrayList<>(Arrays.asList(parser.getRecordMetadata().headers()));
-            columnCount = CollectionUtils.size(headers);
-        } else {
-            headers = null;
-            columnCount = rowCount == 0 ? 0 : ArrayUtils.getLength(value.get(0).getValues());
+    /** read and parse the content of the backing file, if any and not yet done */
+    private void ensureLoaded() {
+        if (backingFile == null) { return; }
+
+        File file = backingFile;
+        backingFile = null;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            byte[] content = new byte[(int) Math.max(raf.length() - backingOffset, 0)];
+            raf.seek(backingOffset);
+            raf.readFully(content);
+            textValue = new String(content, DEF_FILE_ENCODING);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read CSV content from '" + file + "': " + e.getMessage(), e);
         }
+        parse();
+    }
 
+    /** adopt the quote, delimiter and record delimiter detected by {@code parser}, unless they are configured */
+    protected void applyDetectedFormat(CsvParser parser) {
         CsvFormat detectedFormat = parser.getDetectedFormat();
         if (StringUtils.isEmpty(quote)) { quote = detectedFormat.getQuote() + ""; }
         if (StringUtils.isEmpty(delim)) { delim = detectedFormat.getDelimiter() + ""; }
         if (StringUtils.isEmpty(recordDelim)) { recordDelim = detectedFormat.getLineSeparatorString(); }
-
-        resetTextValue();
-
-        if (CollectionUtils.isNotEmpty(indices) && CollectionUtils.isNotEmpty(headers)) {
-            flyweight = new HashMap<>();
-            indices.forEach(index -> flyweight.put(index, new HashMap<>()));
-            value.forEach(record -> indices.forEach(column ->
-                                                        flyweight.get(column).put(record.getString(column), record)));
-        }
     }
 }
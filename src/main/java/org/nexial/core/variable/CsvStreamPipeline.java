@@ -0,0 +1,795 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.variable;
+
+import java.io.*;
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.*;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.nexial.commons.utils.FileUtil;
+import org.nexial.commons.utils.RegexUtils;
+import org.nexial.commons.utils.TextUtils;
+import org.nexial.core.ExecutionThread;
+import org.nexial.core.excel.Excel;
+import org.nexial.core.excel.ExcelAddress;
+import org.nexial.core.model.ExecutionContext;
+import org.nexial.core.model.NexialFilter;
+import org.nexial.core.utils.ConsoleUtils;
+import org.nexial.core.utils.OutputFileUtils;
+import org.nexial.core.utils.OutputResolver;
+import org.nexial.core.variable.Expression.ExpressionFunction;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import com.univocity.parsers.csv.CsvParser;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static org.apache.poi.ss.usermodel.Row.MissingCellPolicy.CREATE_NULL_AS_BLANK;
+import static org.nexial.core.NexialConst.DEF_FILE_ENCODING;
+import static org.nexial.core.NexialConst.Expression.CSV_STREAMING;
+import static org.nexial.core.NexialConst.GSON;
+import static org.nexial.core.SystemVariables.getDefaultBool;
+import static org.nexial.core.excel.Excel.MIN_EXCEL_FILE_SIZE;
+
+/**
+ * stream a CSV file through a chain of row-local functions, one row at a time, instead of loading the entire file
+ * into memory first. This applies to expressions such as
+ * <pre>[CSV(file) => parse(...) filter(...) removeColumns(...) save(...)]</pre>
+ * where the first function is {@code parse}, followed by any number of row-local functions (filter, removeRows,
+ * retainColumns, removeColumns, renameColumn, replaceColumnRegex, reorder), and then by a function that consumes all
+ * the rows (save, rowCount, json, excel). The remaining functions of the expression, if any, are applied the usual
+ * way on the result of the last streamed function.
+ * <p>
+ * The outcome is the same as that of the non-streaming functions (see {@link CsvTransformer}). Expressions that
+ * cannot be streamed are left to the non-streaming path; namely CSV content that contains data variables (and thus
+ * requires token replacement over the whole content), CSV data that is parsed with {@code indexOn}, and CSV content
+ * that is not referenced as a file.
+ */
+final class CsvStreamPipeline {
+    private static final String TYPE = "CSV";
+    private static final List<String> ROW_FUNCTIONS = Arrays.asList("filter", "removeRows", "retainColumns",
+                                                                    "removeColumns", "renameColumn",
+                                                                    "replaceColumnRegex", "reorder");
+    private static final List<String> SINK_FUNCTIONS = Arrays.asList("save", "rowCount", "json", "excel");
+
+    private final File source;
+    private final CsvDataType config;
+    private final List<ExpressionFunction> functions;
+    private final List<String> functionNames;
+    private final boolean unixEOL;
+    private String currentFunction;
+
+    private CsvStreamPipeline(File source,
+                              CsvDataType config,
+                              List<ExpressionFunction> functions,
+                              List<String> functionNames,
+                              boolean unixEOL) {
+        this.source = source;
+        this.config = config;
+        this.functions = functions;
+        this.functionNames = functionNames;
+        this.unixEOL = unixEOL;
+    }
+
+    /**
+     * a new pipeline for {@code dataValue} and the leading {@code functions} that can be streamed, or {@code null}
+     * if this expression should be evaluated the non-streaming way.
+     */
+    static CsvStreamPipeline newInstance(String dataType, String dataValue, List<ExpressionFunction> functions) {
+        if (!StringUtils.equals(dataType, TYPE) || StringUtils.isBlank(dataValue)) { return null; }
+
+        ExecutionContext context = ExecutionThread.get();
+        if (context == null || !context.getBooleanData(CSV_STREAMING, getDefaultBool(CSV_STREAMING))) { return null; }
+
+        // data variable or expression snapshot takes precedence over file
+        if (context.hasData(dataValue) || !OutputResolver.isContentReferencedAsFile(dataValue, context)) {
+            return null;
+        }
+
+        List<String> functionNames = resolveFunctionNames(functions);
+        if (functionNames == null) { return null; }
+
+        CsvDataType config;
+        try {
+            config = new CsvDataType("");
+            config.configure(functions.get(0).getParams().toArray(new String[0]));
+        } catch (TypeConversionException | RuntimeException e) {
+            return null;
+        }
+
+        // flyweight index can only be built over the entire content
+        if (CollectionUtils.isNotEmpty(config.getIndices())) { return null; }
+        // non-streaming filters would fail (or be ignored) on CSV without header; let them do so as they would
+        if (!config.isHeader() && (functionNames.contains("filter") || functionNames.contains("removeRows"))) {
+            return null;
+        }
+
+        File source = new File(dataValue);
+        boolean replaceTokens = !context.isResolveTextAsIs();
+        try {
+            if (replaceTokens && !OutputFileUtils.isLiteralContent(source, context)) { return null; }
+        } catch (IOException e) {
+            return null;
+        }
+
+        return new CsvStreamPipeline(source,
+                                     config,
+                                     new ArrayList<>(functions.subList(0, functionNames.size())),
+                                     functionNames,
+                                     replaceTokens);
+    }
+
+    /** number of the leading functions of the expression handled by this pipeline */
+    int getFunctionCount() { return functions.size(); }
+
+    /** stream the CSV file through the functions of this pipeline; the result of the last function is returned */
+    ExpressionDataType execute() throws ExpressionException {
+        currentFunction = functionNames.get(0);
+        CsvParser parser = config.newParser();
+
+        try (Reader reader = newReader()) {
+            List<Stage> stages = new ArrayList<>();
+            for (int i = 1; i < functions.size(); i++) { stages.add(newStage(functionNames.get(i), functions.get(i))); }
+            Sink sink = (Sink) stages.get(stages.size() - 1);
+
+            parser.beginParsing(reader);
+            String[] row = parser.parseNext();
+
+            List<String> parsedHeaders = null;
+            if (config.isHeader() && ArrayUtils.isNotEmpty(parser.getRecordMetadata().headers())) {
+                parsedHeaders = new ArrayList<>(Arrays.asList(parser.getRecordMetadata().headers()));
+            }
+            config.applyDetectedFormat(parser);
+
+            while (row != null) {
+                List<String> headers = parsedHeaders;
+                for (Stage stage : stages) {
+                    currentFunction = stage.name;
+                    if (!stage.opened) { stage.open(headers, row); }
+                    headers = stage.headers;
+                    row = stage.apply(row);
+                    if (row == null) { break; }
+                }
+                row = parser.parseNext();
+            }
+
+            // stages not reached by any row
+            List<String> headers = parsedHeaders;
+            for (Stage stage : stages) {
+                currentFunction = stage.name;
+                if (!stage.opened) { stage.open(headers, null); }
+                headers = stage.headers;
+            }
+
+            currentFunction = sink.name;
+            return sink.finish();
+        } catch (IOException | RuntimeException e) {
+            throw new ExpressionFunctionException(TYPE, currentFunction, e.getMessage(), e);
+        } finally {
+            parser.stopParsing();
+        }
+    }
+
+    /**
+     * canonical names of the leading functions that can be streamed, or {@code null} if such chain of functions
+     * is not found
+     */
+    private static List<String> resolveFunctionNames(List<ExpressionFunction> functions) {
+        if (CollectionUtils.size(functions) < 2) { return null; }
+
+        CsvTransformer<CsvDataType> transformer = new CsvTransformer<>();
+        List<String> names = new ArrayList<>();
+        for (ExpressionFunction function : functions) {
+            if (!transformer.isValidFunction(function)) { return null; }
+
+            Method method = transformer.listSupportedMethods().get(function.getFunctionName());
+            if (method == null) { return null; }
+
+            String name = method.getName();
+            if (names.isEmpty()) {
+                if (!StringUtils.equals(name, "parse")) { return null; }
+            } else if (SINK_FUNCTIONS.contains(name)) {
+                names.add(name);
+                return names;
+            } else if (!ROW_FUNCTIONS.contains(name)) {
+                return null;
+            }
+
+            names.add(name);
+        }
+
+        return null;
+    }
+
+    /** same charset and EOL treatment as the non-streaming read (via {@link OutputResolver}) */
+    private Reader newReader() throws IOException {
+        Reader reader = new InputStreamReader(Files.newInputStream(source.toPath()), Charset.defaultCharset());
+        return unixEOL ? new UnixEOLReader(reader) : reader;
+    }
+
+    private Stage newStage(String name, ExpressionFunction function) {
+        String[] params = function.getParams().toArray(new String[0]);
+        return switch (name) {
+            case "filter" -> new FilterStage(name, params[0]);
+            case "removeRows" -> new RemoveRowsStage(name, params);
+            case "retainColumns" -> new ColumnsStage(name, params, true);
+            case "removeColumns" -> new ColumnsStage(name, params, false);
+            case "renameColumn" -> new RenameColumnStage(name, params[0], params[1]);
+            case "replaceColumnRegex" -> new ReplaceColumnRegexStage(name, params[0], params[1], params[2]);
+            case "reorder" -> new ReorderStage(name, params);
+            case "save" -> new SaveSink(name, params[0], params[1]);
+            case "rowCount" -> new RowCountSink(name);
+            case "json" -> new JsonSink(name);
+            case "excel" -> new ExcelSink(name, params[0], params[1], params[2]);
+            default -> throw new IllegalArgumentException("Unsupported streaming function: " + name);
+        };
+    }
+
+    /** {@code cell} as it would be after being rewritten via {@link TextUtils#csvSafe} and parsed again */
+    private String reparse(String cell) {
+        String safe = TextUtils.csvSafe(cell, config.getDelim(), true);
+        if (safe == null) { return ""; }
+
+        String quote = config.getQuote();
+        if (StringUtils.isNotEmpty(quote) &&
+            safe.length() > 1 &&
+            StringUtils.startsWith(safe, quote) &&
+            StringUtils.endsWith(safe, quote)) {
+            if (config.isKeepQuote()) { return safe; }
+            return StringUtils.replace(safe.substring(1, safe.length() - 1), quote + quote, quote);
+        }
+
+        return config.isTrimValue() ? StringUtils.trim(safe) : safe;
+    }
+
+    private static boolean matchAll(List<NexialFilter> filters, List<String> headers, String[] row) {
+        for (NexialFilter filter : filters) {
+            if (filter == null) { continue; }
+            if (filter.isAnySubject()) {
+                if (Arrays.stream(row).noneMatch(filter::isMatch)) { return false; }
+            } else {
+                int position = headers == null ? -1 : headers.indexOf(filter.getSubject());
+                if (!filter.isMatch(position < 0 || position >= row.length ? null : row[position])) { return false; }
+            }
+        }
+        return true;
+    }
+
+    /** a function applied to one row at a time; opened upon its first row, or at the end if no row reaches it */
+    private abstract static class Stage {
+        final String name;
+        List<String> headers;
+        int columnCount;
+        boolean opened;
+
+        Stage(String name) { this.name = name; }
+
+        void open(List<String> headers, String[] firstRow) throws IOException {
+            this.headers = headers;
+            columnCount = headers != null ? headers.size() : ArrayUtils.getLength(firstRow);
+            opened = true;
+            init();
+        }
+
+        void init() throws IOException { }
+
+        /** the transformed row, or {@code null} if such row is removed */
+        abstract String[] apply(String[] row) throws IOException;
+    }
+
+    /** the last function, which consumes all the rows */
+    private abstract static class Sink extends Stage {
+        Sink(String name) { super(name); }
+
+        @Override
+        String[] apply(String[] row) throws IOException {
+            accept(row);
+            return null;
+        }
+
+        abstract void accept(String[] row) throws IOException;
+
+        abstract ExpressionDataType finish() throws IOException, TypeConversionException;
+    }
+
+    private final class FilterStage extends Stage {
+        private final String conditions;
+        private List<NexialFilter> filters;
+
+        FilterStage(String name, String conditions) {
+            super(name);
+            this.conditions = conditions;
+        }
+
+        @Override
+        void init() {
+            if (StringUtils.isNotBlank(conditions)) { filters = new CsvTransformer<>().toFilters(conditions); }
+        }
+
+        @Override
+        String[] apply(String[] row) {
+            return CollectionUtils.isEmpty(filters) || matchAll(filters, headers, row) ? row : null;
+        }
+    }
+
+    private final class RemoveRowsStage extends Stage {
+        private final String[] conditions;
+        private Set<Integer> rowIndices;
+        private List<NexialFilter> filters;
+        private int rowIndex;
+
+        RemoveRowsStage(String name, String[] conditions) {
+            super(name);
+            this.conditions = conditions;
+        }
+
+        @Override
+        void init() {
+            if (ArrayUtils.isEmpty(conditions)) { return; }
+            if (Arrays.stream(conditions).allMatch(NumberUtils::isDigits)) {
+                rowIndices = new HashSet<>();
+                Arrays.stream(conditions).forEach(index -> rowIndices.add(NumberUtils.toInt(index)));
+            } else {
+                filters = new CsvTransformer<>().toFilters(conditions[0]);
+            }
+        }
+
+        @Override
+        String[] apply(String[] row) {
+            if (rowIndices != null) { return rowIndices.contains(rowIndex++) ? null : row; }
+            return CollectionUtils.isEmpty(filters) || !matchAll(filters, headers, row) ? row : null;
+        }
+    }
+
+    private final class ColumnsStage extends Stage {
+        private final String[] columnNamesOrIndices;
+        private final boolean retain;
+        private Set<Integer> indices;
+
+        ColumnsStage(String name, String[] columnNamesOrIndices, boolean retain) {
+            super(name);
+            this.columnNamesOrIndices = columnNamesOrIndices;
+            this.retain = retain;
+        }
+
+        @Override
+        void init() {
+            if (ArrayUtils.isEmpty(columnNamesOrIndices)) { return; }
+
+            indices = new TreeSet<>(CsvTransformer.toRepeatableIndices(config.isHeader(),
+                                                                       headers,
+                                                                       columnCount,
+                                                                       columnNamesOrIndices));
+            if (indices.isEmpty()) {
+                indices = null;
+                return;
+            }
+
+            if (headers != null) {
+                List<String> modified = new ArrayList<>();
+                for (int i = 0; i < headers.size(); i++) {
+                    if (indices.contains(i) == retain) { modified.add(reparse(headers.get(i))); }
+                }
+                headers = modified;
+                columnCount = modified.size();
+            } else {
+                columnCount = retain ? indices.size() : columnCount - indices.size();
+            }
+        }
+
+        @Override
+        String[] apply(String[] row) {
+            if (indices == null) { return row; }
+
+            List<String> modified = new ArrayList<>(row.length);
+            for (int i = 0; i < row.length; i++) {
+                if (indices.contains(i) == retain) { modified.add(reparse(row[i])); }
+            }
+            return modified.toArray(new String[0]);
+        }
+    }
+
+    private final class RenameColumnStage extends Stage {
+        private final String find;
+        private final String replace;
+
+        RenameColumnStage(String name, String find, String replace) {
+            super(name);
+            this.find = find;
+            this.replace = replace;
+        }
+
+        @Override
+        void init() {
+            if (headers == null || !config.isHeader() || StringUtils.isBlank(replace)) { return; }
+
+            String column = StringUtils.trim(find);
+            if (headers.contains(column)) {
+                headers = new ArrayList<>(headers);
+                headers.set(headers.indexOf(column), StringUtils.trim(replace));
+            }
+        }
+
+        @Override
+        String[] apply(String[] row) { return row; }
+    }
+
+    private final class ReplaceColumnRegexStage extends Stage {
+        private final String searchFor;
+        private final String replaceWith;
+        private final String columnNameOrIndices;
+        private Set<Integer> indices;
+
+        ReplaceColumnRegexStage(String name, String searchFor, String replaceWith, String columnNameOrIndices) {
+            super(name);
+            this.searchFor = searchFor;
+            this.replaceWith = replaceWith;
+            this.columnNameOrIndices = columnNameOrIndices;
+        }
+
+        @Override
+        void init() {
+            if (StringUtils.isBlank(columnNameOrIndices)) { return; }
+            indices = new TreeSet<>(CsvTransformer.toRepeatableIndices(config.isHeader(),
+                                                                       headers,
+                                                                       columnCount,
+                                                                       columnNameOrIndices));
+            if (indices.isEmpty()) { indices = null; }
+        }
+
+        @Override
+        String[] apply(String[] row) {
+            if (indices == null) { return row; }
+
+            String[] modified = new String[row.length];
+            for (int i = 0; i < row.length; i++) {
+                String cell = row[i];
+                if (indices.contains(i)) {
+                    if (StringUtils.equals(cell, searchFor)) {
+                        cell = replaceWith;
+                    } else if (StringUtils.isBlank(searchFor)) {
+                        cell = StringUtils.replace(cell, searchFor, replaceWith);
+                    } else {
+                        cell = RegexUtils.replace(cell, searchFor, replaceWith);
+                    }
+                }
+                modified[i] = reparse(cell);
+            }
+            return modified;
+        }
+    }
+
+    private final class ReorderStage extends Stage {
+        private final String[] columnNamesOrIndices;
+        private List<Integer> indices;
+
+        ReorderStage(String name, String[] columnNamesOrIndices) {
+            super(name);
+            this.columnNamesOrIndices = columnNamesOrIndices;
+        }
+
+        @Override
+        void init() {
+            if (ArrayUtils.isEmpty(columnNamesOrIndices)) { return; }
+
+            indices = CsvTransformer.toRepeatableIndices(config.isHeader(),
+                                                         headers,
+                                                         columnCount,
+                                                         columnNamesOrIndices);
+            if (indices.isEmpty()) {
+                indices = null;
+                return;
+            }
+
+            if (headers != null) {
+                List<String> reordered = new ArrayList<>();
+                indices.forEach(index -> reordered.add(reparse(headers.get(index))));
+                headers = reordered;
+            }
+            columnCount = indices.size();
+        }
+
+        @Override
+        String[] apply(String[] row) {
+            if (indices == null) { return row; }
+
+            String[] reordered = new String[indices.size()];
+            for (int i = 0; i < reordered.length; i++) { reordered[i] = reparse(row[indices.get(i)]); }
+            return reordered;
+        }
+    }
+
+    private final class SaveSink extends Sink {
+        private final String path;
+        private final boolean append;
+        private File target;
+        // where the saved content starts in target, such that the result can be read back from there
+        private long offset;
+        private File output;
+        private Writer writer;
+        private boolean firstLine = true;
+
+        SaveSink(String name, String path, String append) {
+            super(name);
+            this.path = path;
+            this.append = BooleanUtils.toBoolean(append);
+        }
+
+        @Override
+        void init() throws IOException {
+            if (StringUtils.isBlank(path)) { throw new IllegalArgumentException("path is empty/blank"); }
+
+            target = FileUtil.makeParentDir(path);
+            // the source file is still being read; hence write elsewhere and move (or append) when done
+            output = target.exists() && Files.isSameFile(target.toPath(), source.toPath()) ?
+                     Files.createTempFile(target.getParentFile().toPath(), target.getName(), ".tmp").toFile() :
+                     target;
+            offset = append && target.exists() ? target.length() : 0;
+            writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(output, append && output == target),
+                                                               DEF_FILE_ENCODING));
+
+            if (append && FileUtil.isFileReadable(target, 1) && !endsWithNewline(target)) {
+                writer.write(config.getRecordDelim());
+                offset += config.getRecordDelim().getBytes(DEF_FILE_ENCODING).length;
+            }
+
+            if (CollectionUtils.isNotEmpty(headers)) { write(TextUtils.toString(headers, config.getDelim())); }
+        }
+
+        @Override
+        void accept(String[] row) throws IOException {
+            String recordDelim = config.getRecordDelim();
+            write(StringUtils.removeEnd(TextUtils.toCsvLine(row, config.getDelim(), recordDelim), recordDelim));
+        }
+
+        @Override
+        ExpressionDataType finish() throws IOException {
+            writer.close();
+
+            if (output != target) {
+                if (append) {
+                    try (OutputStream out = Files.newOutputStream(target.toPath(), APPEND)) {
+                        Files.copy(output.toPath(), out);
+                    }
+                    Files.delete(output.toPath());
+                } else {
+                    Files.move(output.toPath(), target.toPath(), REPLACE_EXISTING);
+                }
+            }
+
+            ConsoleUtils.log("content " + (append ? "appended" : "saved") + " to '" + path + "'");
+
+            return CsvDataType.fromFile(config, target, offset);
+        }
+
+        private void write(String line) throws IOException {
+            if (!firstLine) { writer.write(config.getRecordDelim()); }
+            writer.write(line);
+            firstLine = false;
+        }
+
+        private boolean endsWithNewline(File file) throws IOException {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                raf.seek(raf.length() - 1);
+                return raf.read() == '\n';
+            }
+        }
+    }
+
+    private static final class RowCountSink extends Sink {
+        private int count;
+
+        RowCountSink(String name) { super(name); }
+
+        @Override
+        void accept(String[] row) { count++; }
+
+        @Override
+        ExpressionDataType finish() throws TypeConversionException {
+            NumberDataType rowCount = new NumberDataType("0");
+            rowCount.setValue(count);
+            rowCount.setTextValue(rowCount.getValue() + "");
+            return rowCount;
+        }
+    }
+
+    private final class JsonSink extends Sink {
+        private File json;
+        private JsonWriter writer;
+        private int count;
+
+        JsonSink(String name) { super(name); }
+
+        @Override
+        void init() throws IOException {
+            json = Files.createTempFile("nexial-csv-", ".json").toFile();
+            json.deleteOnExit();
+            writer = GSON.newJsonWriter(new BufferedWriter(new OutputStreamWriter(new FileOutputStream(json),
+                                                                                  DEF_FILE_ENCODING)));
+            writer.beginArray();
+        }
+
+        @Override
+        void accept(String[] row) {
+            if (config.isHeader() && headers != null) {
+                JsonObject oneRow = new JsonObject();
+                for (int i = 0; i < headers.size(); i++) {
+                    oneRow.addProperty(headers.get(i), i < row.length ? row[i] : null);
+                }
+                GSON.toJson(oneRow, writer);
+            } else {
+                JsonArray oneRow = new JsonArray();
+                Arrays.stream(row).forEach(oneRow::add);
+                GSON.toJson(oneRow, writer);
+            }
+            count++;
+        }
+
+        @Override
+        ExpressionDataType finish() throws IOException, TypeConversionException {
+            try {
+                writer.endArray();
+                writer.close();
+
+                JsonDataType jsonDataType = new JsonDataType("{}");
+                if (count == 0) { return jsonDataType; }
+
+                jsonDataType.setTextValue(FileUtils.readFileToString(json, DEF_FILE_ENCODING));
+                jsonDataType.init();
+                return jsonDataType;
+            } finally {
+                FileUtils.deleteQuietly(json);
+            }
+        }
+    }
+
+    private final class ExcelSink extends Sink {
+        // number of rows kept in memory when streaming rows to a new worksheet (or beyond its existing rows)
+        private static final int ROW_ACCESS_WINDOW = 100;
+        private final String file;
+        private final String sheet;
+        private final String startCell;
+        private Excel excel;
+        private SXSSFWorkbook streamed;
+        private Sheet target;
+        private int rowIndex;
+        private int startColumn;
+
+        ExcelSink(String name, String file, String sheet, String startCell) {
+            super(name);
+            this.file = file;
+            this.sheet = sheet;
+            this.startCell = startCell;
+        }
+
+        @Override
+        void accept(String[] row) throws IOException {
+            if (StringUtils.isEmpty(file) || StringUtils.isEmpty(sheet) || columnCount < 1) { return; }
+
+            if (target == null) {
+                open();
+                if (config.isHeader() && headers != null) { write(headers.toArray(new String[0])); }
+            }
+            write(row);
+        }
+
+        @Override
+        ExpressionDataType finish() throws IOException, TypeConversionException {
+            if (excel == null) { return null; }
+
+            try {
+                if (streamed != null) {
+                    try (OutputStream out = FileUtils.openOutputStream(new File(file))) { streamed.write(out); }
+                } else {
+                    excel.save();
+                }
+            } finally {
+                if (streamed != null) { streamed.dispose(); }
+                excel.close();
+            }
+
+            return new ExcelDataType(file);
+        }
+
+        private void open() throws IOException {
+            File f = new File(file);
+            excel = FileUtil.isFileReadable(file, MIN_EXCEL_FILE_SIZE) ? new Excel(f) : Excel.newExcel(f);
+            XSSFSheet worksheet = excel.worksheet(sheet, true).getSheet();
+
+            ExcelAddress start = new ExcelAddress(StringUtils.defaultIfBlank(startCell, "A1"));
+            rowIndex = start.getRowStartIndex();
+            startColumn = start.getColumnStartIndex();
+
+            if (worksheet.getPhysicalNumberOfRows() == 0 || worksheet.getLastRowNum() < rowIndex) {
+                // nothing to overwrite; rows are flushed to disk as they come
+                streamed = new SXSSFWorkbook(excel.getWorkbook(), ROW_ACCESS_WINDOW);
+                target = streamed.getSheet(worksheet.getSheetName());
+            } else {
+                // existing rows can only be overwritten on the worksheet itself
+                target = worksheet;
+            }
+        }
+
+        private void write(String[] values) {
+            Row row = target.getRow(rowIndex);
+            if (row == null) { row = target.createRow(rowIndex); }
+            for (int i = 0; i < values.length; i++) {
+                row.getCell(startColumn + i, CREATE_NULL_AS_BLANK).setCellValue(values[i]);
+            }
+            rowIndex++;
+        }
+    }
+
+    /** convert CRLF and CR into LF, as token replacement does for the non-streaming read */
+    private static final class UnixEOLReader extends FilterReader {
+        private boolean lastCR;
+
+        UnixEOLReader(Reader in) { super(in); }
+
+        @Override
+        public int read() throws IOException {
+            char[] one = new char[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0];
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            while (true) {
+                int read = in.read(buffer, offset, length);
+                if (read <= 0) { return read; }
+
+                int written = offset;
+                for (int i = offset; i < offset + read; i++) {
+                    char c = buffer[i];
+                    if (c == '\n' && lastCR) {
+                        lastCR = false;
+                        continue;
+                    }
+                    lastCR = c == '\r';
+                    buffer[written++] = lastCR ? '\n' : c;
+                }
+
+                if (written > offset) { return written - offset; }
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            char[] skipped = new char[(int) Math.min(n, 8192)];
+            int read = read(skipped, 0, skipped.length);
+            return Math.max(read, 0);
+        }
+
+        @Override
+        public boolean markSupported() { return false; }
+    }
+}
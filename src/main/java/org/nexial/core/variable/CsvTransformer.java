@@ -136,25 +136,14 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
                                               "Unable to filter() on CSV data that does not have header");
         }
 
-        conditions = getFormattedFilter(conditions);
-        ListItemConverter<NexialFilter> converter = new ListItemConverterImpl();
-        List<NexialFilter> filters = TextUtils.toList(conditions, PAIR_DELIM, converter);
+        List<NexialFilter> filters = toFilters(conditions);
         if (CollectionUtils.isEmpty(filters)) { return data; }
 
         List<Record> filtered = new ArrayList<>();
         List<Record> rows = data.getValue();
 
-        rows.forEach(row -> {
-            boolean matched = true;
-            for (NexialFilter f : filters) {
-                if (!matchFilter(row, f)) {
-                    matched = false;
-                    break;
-                }
-            }
-
-            if (matched) { filtered.add(row); }
-        });
+        BitSet matched = matchRows(data, filters);
+        for (int row = matched.nextSetBit(0); row >= 0; row = matched.nextSetBit(row + 1)) { filtered.add(rows.get(row)); }
 
         data.reset(filtered);
         return data;
@@ -163,9 +152,7 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
     public ListDataType fetch(T data, String conditions) {
         if (data == null || data.getValue() == null || StringUtils.isBlank(conditions)) { return null; }
 
-        conditions = getFormattedFilter(conditions);
-        ListItemConverter<NexialFilter> converter = new ListItemConverterImpl();
-        List<NexialFilter> filters = TextUtils.toList(conditions, PAIR_DELIM, converter);
+        List<NexialFilter> filters = toFilters(conditions);
         if (CollectionUtils.isEmpty(filters)) { return null; }
 
         // short-circuit via flyweight pattern: only if there's only 1 equal-filter
@@ -176,20 +163,8 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
             }
         }
 
-        List<Record> rows = data.getValue();
-        for (Record row : rows) {
-            boolean matched = true;
-            for (NexialFilter f : filters) {
-                if (!matchFilter(row, f)) {
-                    matched = false;
-                    break;
-                }
-            }
-
-            if (matched) { return recordToList(row); }
-        }
-
-        return null;
+        int firstMatched = matchRows(data, filters).nextSetBit(0);
+        return firstMatched < 0 ? null : recordToList(data.getValue().get(firstMatched));
     }
 
     public T sortAscending(T data, String column) {
@@ -228,9 +203,7 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
         }
 
         // if not row indices, then they must be filters (no varargs here; only first value considered)
-        String filter = getFormattedFilter(conditions[0]);
-        ListItemConverter<NexialFilter> converter = new ListItemConverterImpl();
-        List<NexialFilter> filters = TextUtils.toList(filter, PAIR_DELIM, converter);
+        List<NexialFilter> filters = toFilters(conditions[0]);
         if (CollectionUtils.isEmpty(filters)) { return data; }
 
         // short-circuit via flyweight pattern: only if there's only 1 equal-filter
@@ -244,18 +217,12 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
 
         List<Record> remained = new ArrayList<>();
         List<Record> rows = data.getValue();
-        rows.forEach(row -> {
-            // matched means such row must not be included in remained
-            boolean matched = true;
-            for (NexialFilter f : filters) {
-                if (!matchFilter(row, f)) {
-                    matched = false;
-                    break;
-                }
-            }
 
-            if (!matched) { remained.add(row); }
-        });
+        // matched means such row must not be included in remained
+        BitSet matched = matchRows(data, filters);
+        for (int row = matched.nextClearBit(0); row < rows.size(); row = matched.nextClearBit(row + 1)) {
+            remained.add(rows.get(row));
+        }
 
         data.reset(remained);
         return data;
@@ -444,7 +411,7 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
         StringBuilder csvModified = new StringBuilder();
 
         // track all the distinct rows
-        List<String> parsed = new ArrayList<>();
+        Set<String> parsed = new HashSet<>();
 
         if (data.isHeader()) { csvModified.append(TextUtils.toString(data.getHeaders(), delim)).append(recordDelim); }
 
@@ -453,11 +420,9 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
             StringBuilder rowModified = new StringBuilder();
             String[] values = one.getValues();
             String combinedValues = TextUtils.toString(values, "|", "", "");
-            if (parsed.contains(combinedValues)) {
+            if (!parsed.add(combinedValues)) {
                 ConsoleUtils.log(LOG, null, "[CSV] skipping duplicate row: %s", combinedValues);
             } else {
-                parsed.add(combinedValues);
-
                 for (String value : values) { rowModified.append(TextUtils.csvSafe(value, delim, true)).append(delim); }
                 csvModified.append(StringUtils.removeEnd(rowModified.toString(), delim)).append(recordDelim);
             }
@@ -836,21 +801,24 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
 
         assertValidColumns(data, columns);
 
-        Map<String, Integer> counts = new TreeMap<>();
+        // accumulate by hash; sort only the (far fewer) groups for output
+        Map<String, int[]> counts = new HashMap<>();
+        StringBuilder value = new StringBuilder();
         data.getValue().forEach(record -> {
-            String value = "";
+            value.setLength(0);
             for (String column : columns) {
-                value += (StringUtils.isNotEmpty(value) ? CSV_FIELD_DEIM : "") + record.getString(column);
-                counts.put(value, counts.containsKey(value) ? counts.get(value) + 1 : 1);
+                if (value.length() > 0) { value.append(CSV_FIELD_DEIM); }
+                value.append(record.getString(column));
+                counts.computeIfAbsent(value.toString(), group -> new int[1])[0]++;
             }
         });
 
         StringBuilder groupCsv = new StringBuilder(TextUtils.toString(columns, CSV_FIELD_DEIM, "", "") +
                                                    CSV_FIELD_DEIM + "Count" + CSV_ROW_SEP);
-        counts.forEach((value, count) -> {
-            int numMissingDelim = columns.length - StringUtils.countMatches(value, CSV_FIELD_DEIM) - 1;
-            groupCsv.append(value).append(StringUtils.repeat(CSV_FIELD_DEIM, numMissingDelim)).append(CSV_FIELD_DEIM)
-                    .append(count).append(CSV_ROW_SEP);
+        new TreeMap<>(counts).forEach((group, count) -> {
+            int numMissingDelim = columns.length - StringUtils.countMatches(group, CSV_FIELD_DEIM) - 1;
+            groupCsv.append(group).append(StringUtils.repeat(CSV_FIELD_DEIM, numMissingDelim)).append(CSV_FIELD_DEIM)
+                    .append(count[0]).append(CSV_ROW_SEP);
         });
 
         return (T) new CsvDataType(StringUtils.removeEnd(groupCsv.toString(), CSV_ROW_SEP));
@@ -867,7 +835,9 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
         String sumColumn = columns[columns.length - 1];
         String[] groupColumns = ArrayUtils.remove(columns, columns.length - 1);
 
-        Map<String, Number> sums = new TreeMap<>();
+        // accumulate by hash; sort only the (far fewer) groups for output
+        Map<String, Number> sums = new HashMap<>();
+        StringBuilder group = new StringBuilder();
         data.getValue().forEach(record -> {
             String sumValueText = StringUtils.trim(StringUtils.replaceChars(record.getString(sumColumn), "\"'$,", ""));
             BigDecimal sumValBD = new BigDecimal(sumValueText);
@@ -878,9 +848,11 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
                 sumValue = sumValBD.intValue();
             }
 
-            String value = "";
+            group.setLength(0);
             for (String column : groupColumns) {
-                value += (StringUtils.isNotEmpty(value) ? CSV_FIELD_DEIM : "") + record.getString(column);
+                if (group.length() > 0) { group.append(CSV_FIELD_DEIM); }
+                group.append(record.getString(column));
+                String value = group.toString();
                 if (sums.containsKey(value)) {
                     Number currentSum = sums.get(value);
                     if (currentSum instanceof Integer && sumValue instanceof Integer) {
@@ -901,7 +873,7 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
 
         StringBuilder groupCsv = new StringBuilder(TextUtils.toString(groupColumns, CSV_FIELD_DEIM, "", "") +
                                                    CSV_FIELD_DEIM + "Sum" + CSV_ROW_SEP);
-        sums.forEach((value, sum) -> {
+        new TreeMap<>(sums).forEach((value, sum) -> {
             int numMissingDelim = groupColumns.length - StringUtils.countMatches(value, CSV_FIELD_DEIM) - 1;
             String sumString = sum + "";
             groupCsv.append(value).append(StringUtils.repeat(CSV_FIELD_DEIM, numMissingDelim))
@@ -957,7 +929,7 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
         if (data == null || data.getValue() == null) { return text; }
 
         if (ArrayUtils.getLength(parameters) < 2) {
-            text.setValue(data.textValue);
+            text.setValue(data.getTextValue());
         } else {
             String surroundWith = parameters[0];
             String[] onColumns = ArrayUtils.remove(parameters, 0);
@@ -1051,13 +1023,21 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
 
     @NotNull
     protected List<Integer> toRepeatableIndices(T data, String... columnNamesOrIndices) {
+        return toRepeatableIndices(data.isHeader(), data.getHeaders(), data.getColumnCount(), columnNamesOrIndices);
+    }
+
+    @NotNull
+    static List<Integer> toRepeatableIndices(boolean header,
+                                             List<String> headers,
+                                             int columnCount,
+                                             String... columnNamesOrIndices) {
         List<Integer> indices = new ArrayList<>();
 
         // treat varargs and pipe-delimited list evenly.
         String[] selected = StringUtils.split(TextUtils.toString(columnNamesOrIndices, PAIR_DELIM, "", ""), PAIR_DELIM);
         if (ArrayUtils.isEmpty(selected)) { return indices; }
 
-        int maxColumnIndex = data.getColumnCount() - 1;
+        int maxColumnIndex = columnCount - 1;
 
         // special case: * means _ALL_ columns
         if (selected.length == 1 && StringUtils.equals(selected[0], "*")) {
@@ -1074,11 +1054,11 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
                 indices.add(index);
             } else {
                 // expects header name
-                if (!data.isHeader()) {
+                if (!header) {
                     throw new IllegalArgumentException("no header is configured; " + column + " is not valid");
                 }
 
-                int index = data.getHeaderPosition(column);
+                int index = CollectionUtils.isEmpty(headers) ? -1 : headers.indexOf(column);
                 if (index == -1) { throw new IllegalArgumentException(column + " is not a valid column"); }
 
                 indices.add(index);
@@ -1425,6 +1405,31 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
         return new ListDataType(TextUtils.toString(array, delim, "", ""), delim);
     }
 
+    /**
+     * positions of the rows that match all {@code filters}. Filters on a known column are evaluated once per distinct
+     * value of that column (via {@link CsvDataType#columnIndex(String)}); the rest are evaluated row by row.
+     */
+    private BitSet matchRows(T data, List<NexialFilter> filters) {
+        List<Record> rows = data.getValue();
+        BitSet matched = new BitSet(rows.size());
+        matched.set(0, rows.size());
+
+        for (NexialFilter filter : filters) {
+            if (matched.isEmpty()) { break; }
+
+            CsvColumnIndex index = filter == null || filter.isAnySubject() ? null : data.columnIndex(filter.getSubject());
+            if (index != null) {
+                matched.and(index.match(filter));
+            } else {
+                for (int row = matched.nextSetBit(0); row >= 0; row = matched.nextSetBit(row + 1)) {
+                    if (!matchFilter(rows.get(row), filter)) { matched.clear(row); }
+                }
+            }
+        }
+
+        return matched;
+    }
+
     private boolean matchFilter(Record row, NexialFilter filter) {
         if (row == null) { return false; }
         if (filter == null) { return true; }
@@ -1439,6 +1444,12 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
         return filter.isMatch(row.getString(filter.getSubject()));
     }
 
+    /** pipe-delimited filter conditions (as used by filter, fetch and removeRows) as a list of filters */
+    List<NexialFilter> toFilters(String conditions) {
+        ListItemConverter<NexialFilter> converter = new ListItemConverterImpl();
+        return TextUtils.toList(getFormattedFilter(conditions), PAIR_DELIM, converter);
+    }
+
     private String getFormattedFilter(String filter) {
         filter = StringUtils.replace(filter, "\\" + PAIR_DELIM, FILTER_TEMP_DELIM1);
 
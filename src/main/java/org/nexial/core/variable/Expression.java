@@ -25,6 +25,7 @@ import org.nexial.commons.utils.TextUtils;
 
 public class Expression {
     private ExpressionDataType dataType;
+    private CsvStreamPipeline pipeline;
     private List<ExpressionFunction> functions = new ArrayList<>();
     private String originalExpression = "";
 
@@ -49,6 +50,11 @@ public class Expression {
 
     public void setDataType(ExpressionDataType dataType) { this.dataType = dataType; }
 
+    /** CSV file and the leading functions to stream through it; in such case, there's no {@link #dataType} */
+    CsvStreamPipeline getPipeline() { return pipeline; }
+
+    void setPipeline(CsvStreamPipeline pipeline) { this.pipeline = pipeline; }
+
     public List<ExpressionFunction> getFunctions() { return functions; }
 
     public void setFunctions(List<ExpressionFunction> functions) { this.functions = functions; }
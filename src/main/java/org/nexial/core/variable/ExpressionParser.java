@@ -59,15 +59,8 @@ public class ExpressionParser {
         dataValue = StringUtils.removeStart(dataValue, DATATYPE_START);
         dataValue = StringUtils.removeEnd(dataValue, DATATYPE_END);
         if (StringUtils.equals(dataValue, "null")) { dataValue = null; }
-        ExpressionDataType dataType = null;
-        try {
-            dataType = typeBuilder.newDataType(datatype, dataValue);
-        } catch (TypeConversionException e) {
-            if (!syntaxOnly) { throw e; }
-        }
 
         Expression expr = new Expression();
-        expr.setDataType(dataType);
 
         String delim = context.getTextDelim();
         String EXPR_PARAM_DELIM = " %% ";
@@ -160,6 +153,20 @@ public class ExpressionParser {
         String fragment = typeGrouping.get(0) + typeGrouping.get(1) + typeGrouping.get(2) +
                           postFunctionParsingSubstitution(newText.toString(), false);
         expr.appendOriginalExpression(fragment);
+
+        // create data type, unless the functions can be streamed over a CSV file instead
+        CsvStreamPipeline pipeline =
+            syntaxOnly ? null : CsvStreamPipeline.newInstance(datatype, dataValue, expr.getFunctions());
+        if (pipeline != null) {
+            expr.setPipeline(pipeline);
+        } else {
+            try {
+                expr.setDataType(typeBuilder.newDataType(datatype, dataValue));
+            } catch (TypeConversionException e) {
+                if (!syntaxOnly) { throw e; }
+            }
+        }
+
         return expr;
     }
 
@@ -41,6 +41,15 @@ public class ExpressionProcessor {
 
         ExpressionDataType data = expr.getDataType();
         List<ExpressionFunction> functions = expr.getFunctions();
+
+        CsvStreamPipeline pipeline = expr.getPipeline();
+        if (pipeline != null) {
+            // the leading functions are streamed over the CSV file; the rest are evaluated as usual
+            data = pipeline.execute();
+            if (data == null) { return text; }
+            functions = functions.subList(pipeline.getFunctionCount(), functions.size());
+        }
+
         for (ExpressionFunction function : functions) {
             data = evaluate(data, function);
             if (data == null) { return text; }
@@ -28,12 +28,15 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.nexial.core.utils.ConsoleUtils;
+import org.nexial.core.utils.ParsedDocumentCache;
 
 import java.io.UnsupportedEncodingException;
 
 import static java.lang.System.lineSeparator;
 import static org.nexial.core.NexialConst.DEF_CHARSET;
 import static org.nexial.core.NexialConst.GSON;
+import static org.nexial.core.utils.ParsedDocumentCache.KIND_GSON;
+import static org.nexial.core.utils.ParsedDocumentCache.KIND_JSON;
 
 public class JsonDataType extends ExpressionDataType<JsonElement> {
     private Transformer transformer = new JsonTransformer();
@@ -54,6 +57,17 @@ public class JsonDataType extends ExpressionDataType<JsonElement> {
                                      value.getClass().getSimpleName() + " to JSON document");
     }
 
+    /**
+     * same as {@link #toJSONObject()}, but for read-only use. The resulting object may be shared with other read-only
+     * uses of the same JSON document, and thus must not be modified.
+     */
+    JSONObject toReadOnlyJSONObject() throws JSONException {
+        if (value instanceof JsonObject) {
+            return ParsedDocumentCache.current().get(KIND_JSON, value.toString(), JSONObject::new);
+        }
+        return toJSONObject();
+    }
+
     public JSONArray toJSONArray() throws JSONException {
         if (value instanceof JsonArray) { return new JSONArray(value.toString()); }
         throw new ClassCastException("Mismatched data type found: Unable to convert " +
@@ -81,7 +95,8 @@ public class JsonDataType extends ExpressionDataType<JsonElement> {
 
         try {
             textValue = escapeUnicode(textValue);
-            this.value = GSON.fromJson(textValue, JsonElement.class);
+            this.value = ParsedDocumentCache.current()
+                                            .get(KIND_GSON, textValue, text -> GSON.fromJson(text, JsonElement.class));
             if (value == null) { throw badJsonException; }
         } catch (JsonSyntaxException e) {
             ConsoleUtils.error("Unable to parse as JSON - " + textValue + ": " + ExceptionUtils.getRootCauseMessage(e));
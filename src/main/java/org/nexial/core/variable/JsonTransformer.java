@@ -105,7 +105,7 @@ public class JsonTransformer<T extends JsonDataType> extends Transformer {
 
         try {
             if (value instanceof JsonObject) {
-                return handleJsonPathResult(data, JSONPath.find(data.toJSONObject(), jsonpath));
+                return handleJsonPathResult(data, JSONPath.find(data.toReadOnlyJSONObject(), jsonpath));
             }
             if (value instanceof JsonArray) {
                 return handleJsonPathResult(data, JSONPath.find(data.toJSONArray(), jsonpath));
@@ -321,7 +321,7 @@ public class JsonTransformer<T extends JsonDataType> extends Transformer {
         jsonpathList.forEach(jsonpath -> {
             jsonpath = StringUtils.trim(StringUtils.replace(jsonpath, TEMP_TEXT_DELIM, textDelim));
             output.append(jsonpath).append(textDelim);
-            if (value instanceof JsonObject) { output.append(JSONPath.find(data.toJSONObject(), jsonpath, !jsonAsIs)); }
+            if (value instanceof JsonObject) { output.append(JSONPath.find(data.toReadOnlyJSONObject(), jsonpath, !jsonAsIs)); }
             if (value instanceof JsonArray) { output.append(JSONPath.find(data.toJSONArray(), jsonpath, !jsonAsIs)); }
             output.append("\r\n");
         });
@@ -340,7 +340,7 @@ public class JsonTransformer<T extends JsonDataType> extends Transformer {
 
         try {
             if (data.getValue() != null && data.getValue() instanceof JsonObject && StringUtils.isNotBlank(jsonpath)) {
-                return new ListDataType(JSONPath.keys(data.toJSONObject(), jsonpath).toArray(new String[0]));
+                return new ListDataType(JSONPath.keys(data.toReadOnlyJSONObject(), jsonpath).toArray(new String[0]));
             }
 
             return empty;
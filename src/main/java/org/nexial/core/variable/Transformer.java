@@ -28,7 +28,9 @@ import org.nexial.commons.utils.RegexUtils;
 import org.nexial.commons.utils.TextUtils;
 import org.nexial.core.ExecutionThread;
 import org.nexial.core.model.ExecutionContext;
+import org.nexial.core.utils.BoundMethod;
 import org.nexial.core.utils.ConsoleUtils;
+import org.nexial.core.utils.InvocationStats;
 import org.nexial.core.variable.Expression.ExpressionFunction;
 
 import java.io.File;
@@ -112,8 +114,9 @@ public abstract class Transformer<T extends ExpressionDataType> {
             }
         }
 
+        long startNanos = System.nanoTime();
         try {
-            Object outcome = method.invoke(this, args);
+            Object outcome = BoundMethod.of(method).invoke(this, args);
             if (outcome == null) { return null; }
             if (!(outcome instanceof ExpressionDataType)) {
                 throw new ExpressionFunctionException(typeName, functionName, "Invalid data type after transformation");
@@ -128,6 +131,8 @@ public abstract class Transformer<T extends ExpressionDataType> {
         } catch (IllegalAccessException | InvocationTargetException e) {
             ConsoleUtils.error(msgPrefix + e.getMessage());
             throw new ExpressionFunctionException(typeName, functionName, e.getMessage(), e);
+        } finally {
+            InvocationStats.record(typeName + "." + functionName, System.nanoTime() - startNanos);
         }
     }
 
@@ -24,6 +24,7 @@ import org.jdom2.Element;
 import org.jdom2.JDOMException;
 import org.nexial.commons.utils.XmlUtils;
 import org.nexial.core.utils.ConsoleUtils;
+import org.nexial.core.utils.ParsedDocumentCache;
 
 import static java.lang.System.lineSeparator;
 
@@ -68,7 +69,9 @@ public class XmlDataType extends ExpressionDataType<Element> {
 
     protected void parse() throws TypeConversionException {
         try {
-            document = XmlUtils.parse(textValue);
+            // the document may be modified via XmlTransformer, hence a copy of the cached one
+            Document parsed = ParsedDocumentCache.current().getXml(textValue);
+            document = parsed == null ? null : parsed.clone();
             if (document == null) {
                 throw new TypeConversionException(getName(), getTextValue(), "Invalid XML: " + textValue);
             }
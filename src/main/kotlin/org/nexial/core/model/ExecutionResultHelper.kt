@@ -33,7 +33,7 @@ import org.nexial.core.CommandConst.CMD_VERBOSE
 import org.nexial.core.CommandConst.shouldMergeCommandParams
 import org.nexial.core.ExecutionThread
 import org.nexial.core.NexialConst.Data.*
-import org.nexial.core.NexialConst.LogMessage.SAVING_TEST_SCENARIO
+import org.nexial.core.NexialConst.LogMessage.UPDATED_TEST_SCENARIO
 import org.nexial.core.NexialConst.MAX_VERBOSE_CHAR
 import org.nexial.core.excel.Excel
 import org.nexial.core.excel.Excel.Worksheet
@@ -44,7 +44,6 @@ import org.nexial.core.excel.ext.CipherHelper.CRYPT_IND
 import org.nexial.core.logs.ExecutionLogger
 import org.nexial.core.utils.ConsoleUtils
 import org.nexial.core.utils.MessageUtils
-import java.io.IOException
 import java.util.function.Consumer
 
 class ExecutionResultHelper(
@@ -446,25 +445,22 @@ class ExecutionResultHelper(
 		worksheet.setMinHeight(cellDescription, numOfLines)
 	}
 
-	@Throws(IOException::class)
+	/**
+	 * Update the scenario sheet with its execution summary. The workbook is not saved here; all the scenarios of an
+	 * iteration are written to disk at once, along with the execution summary of the iteration
+	 * (see [ExecutionSummary.generateExcelReport]).
+	 */
 	internal fun writeTestScenarioResult(worksheet: Worksheet, executionSummary: ExecutionSummary) {
 		// adjust width to fit column content
-		val excelSheet = worksheet.sheet
-		excelSheet.autoSizeColumn(COL_IDX_TESTCASE)
-		excelSheet.autoSizeColumn(COL_IDX_DESCRIPTION)
-		excelSheet.autoSizeColumn(COL_IDX_TARGET)
-		excelSheet.autoSizeColumn(COL_IDX_COMMAND)
-		excelSheet.autoSizeColumn(COL_IDX_FLOW_CONTROLS)
-		excelSheet.autoSizeColumn(COL_IDX_ELAPSED_MS)
-		excelSheet.autoSizeColumn(COL_IDX_RESULT)
+		ExcelStyleHelper.fitScenarioColumnWidths(worksheet.sheet)
+
+		updateSummary(worksheet, executionSummary)
 
 		val logId: String = ExecutionLogger.justFileName(worksheet.file) + "|" + worksheet.name
-		ConsoleUtils.log(logId, SAVING_TEST_SCENARIO)
-		save(worksheet, executionSummary)
+		ConsoleUtils.log(logId, UPDATED_TEST_SCENARIO)
 	}
 
-	@Throws(IOException::class)
-	private fun save(worksheet: Worksheet, executionSummary: ExecutionSummary) {
+	private fun updateSummary(worksheet: Worksheet, executionSummary: ExecutionSummary) {
 		val summaryCell = worksheet.cell(ADDR_SCENARIO_EXEC_SUMMARY)
 		if (summaryCell != null) {
 			if (executionSummary.endTime == 0L) executionSummary.endTime = System.currentTimeMillis()
@@ -482,7 +478,6 @@ class ExecutionResultHelper(
 			}
 		}
 		worksheet.sheet.setZoom(100)
-		worksheet.save()
 	}
 
 	companion object {
@@ -521,8 +516,7 @@ class ExecutionResultHelper(
 			})
 
 			// adjust width to fit column content
-			dataSheet.autoSizeColumn(0)
-			dataSheet.autoSizeColumn(1)
+			ExcelStyleHelper.fitDataColumnWidths(dataSheet)
 
 			// (2018/10/18,automike): omit saving here because this file will be saved later anyways
 			// outputFile.save();
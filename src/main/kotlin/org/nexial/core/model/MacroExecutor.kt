@@ -28,7 +28,6 @@ import org.nexial.core.CommandConst.CMD_SECTION
 import org.nexial.core.CommandConst.CMD_VERBOSE
 import org.nexial.core.ExecutionThread
 import org.nexial.core.NexialConst.*
-import org.nexial.core.NexialConst.Data.DEF_OPEN_EXCEL_AS_DUP
 import org.nexial.core.NexialConst.Data.MACRO_INVOKED_FROM
 import org.nexial.core.NexialConst.LogMessage.ERROR_LOG
 import org.nexial.core.excel.Excel
@@ -216,66 +215,37 @@ class MacroExecutor(private val initialTestStep: TestStep, val macro: Macro,
     fun harvestSteps(macro: Macro): MutableList<TestStep> {
         val macroFile = resolveMacroFile(macro.file)
 
-        // (2018/12/9,automike): remove to support dynamic macro changes during execution and interactive mode
-        // String macroKey = macroFile + ":" + paramSheet + ":" + paramMacro;
-        // if (MACRO_CACHE.containsKey(macroKey)) {
-        //     shortcut: in case the same macro is referenced
-        // ConsoleUtils.log("reading macro from cache: " + macroKey);
-        // return MACRO_CACHE.get(macroKey);
-        // }
+        // macro library is cached, but re-read whenever the macro file changes (dynamic macro changes during
+        // execution and interactive mode)
+        val macroLibrary = MacroLibrary.of(macroFile, macro.sheet)
+        val macroRows = macroLibrary.getSteps(macro.macroName)
+        if (macroRows.isEmpty()) {
+            throw IOException(
+                "Unable to read macro '${macro.macroName}' in sheet " + "'${macro.sheet}'" + " from file " + "'${macroFile.absolutePath}'")
+        }
 
         // open specified sheet
-        // try stylesheet to false
-        macroExcel = Excel(macroFile, DEF_OPEN_EXCEL_AS_DUP, true)
+        // each invocation records its own step results in the macro sheet, hence its own (in-memory) copy of the
+        // macro steps, made from the parsed macro sheet of the library
+        macroExcel = macroLibrary.copySteps(macroFile, macro.macroName)
         macroSheet = macroExcel!!.worksheet(macro.sheet)
         if (macroSheet == null) {
             throw IOException("Unable to read macro sheet '${macro.sheet}' from file '${macroFile.absolutePath}'")
         }
-        val lastMacroRow = macroSheet!!.findLastDataRow(ADDR_MACRO_COMMAND_START)
-        val macroArea = ExcelArea(macroSheet, ExcelAddress("A2:O$lastMacroRow"), false)
-        val macroStepArea = macroArea.wholeArea
-        var macroFound = false
-
-        // 6. read test steps based on macro name
-        for (macroRow in macroStepArea) {
-            val currentMacroName = Excel.getCellValue(macroRow[COL_IDX_TESTCASE])
 
+        // 6. read test steps of the macro, as indexed by the macro library
+        val firstMacroRow = macroRows.first().rowIndex + 1
+        val lastMacroRow = macroRows.last().rowIndex + 1
+        val macroStepArea = ExcelArea(macroSheet, ExcelAddress("A$firstMacroRow:O$lastMacroRow"), false).wholeArea
+        macroStepArea.forEachIndexed { index, macroRow ->
             val testStep = TestStep(initialTestStep.testCase, macroRow, macroSheet)
-            val macroName = macro.macroName
-            if (currentMacroName == macroName) {
-                macroFound = true
-                testStep.macro = macro
-                // setting macro name to empty for the first cell so that activity cell formatting avoided
-                testStep.row[COL_IDX_TESTCASE].setCellValue("")
-                testSteps.add(testStep)
-                continue
-            }
-            if (macroFound) {
-                if (StringUtils.isBlank(currentMacroName)) {
-                    testStep.macro = macro
-                    testSteps.add(testStep)
-                } else {
-                    return testSteps
-                    // (2018/12/9,automike): remove to support dynamic macro changes during execution and interactive mode
-                    // MACRO_CACHE.put(macroKey, steps);
-                    // steps = new ArrayList<>();
-                    // macroFound = false;
-                    // break;
-                }
-            }
-        }
-        if (!macroFound) {
-            throw IOException(
-                "Unable to read macro '${macro.macroName}' in sheet " + "'${macro.sheet}'" + " from file " + "'${macroFile.absolutePath}'")
+            testStep.macro = macro
+            // setting macro name to empty for the first cell so that activity cell formatting avoided
+            if (index == 0) testStep.row[COL_IDX_TESTCASE].setCellValue("")
+            testSteps.add(testStep)
         }
 
         return testSteps
-
-        // (2018/12/9,automike): remove to support dynamic macro changes during execution and interactive mode
-        // capture last one
-        // if (macroFound && !steps.isEmpty()) { MACRO_CACHE.put(macroKey, steps); }
-        // if (!MACRO_CACHE.containsKey(macroKey)) { ConsoleUtils.error("Unable to resolve macro via " + macroKey);}
-        // return MACRO_CACHE.get(macroKey);
     }
 
     @Throws(IOException::class)
@@ -18,14 +18,17 @@
 package org.nexial.core.plugins.aws
 
 import org.apache.commons.collections4.CollectionUtils
-import org.apache.commons.io.FileUtils
 import org.apache.commons.lang3.StringUtils
 import org.nexial.commons.utils.FileUtil
 import org.nexial.commons.utils.TextUtils
 import org.nexial.core.IntegrationConfigException
+import org.nexial.core.NexialConst.S3_PART_SIZE_MB
 import org.nexial.core.NexialConst.S3_PATH_SEP
+import org.nexial.core.NexialConst.S3_TRANSFER_THREADS
+import org.nexial.core.SystemVariables.getDefaultInt
 import org.nexial.core.aws.AwsS3Helper
 import org.nexial.core.aws.NexialS3Helper
+import org.nexial.core.aws.S3TransferEngine.Transfer
 import org.nexial.core.model.RemoteFileActionOutcome
 import org.nexial.core.model.RemoteFileActionOutcome.TransferAction.*
 import org.nexial.core.model.RemoteFileActionOutcome.TransferProtocol.AWS
@@ -281,22 +284,24 @@ class S3Command : BaseCommand() {
 
         if (CollectionUtils.isNotEmpty(keys)) {
             val bucketName = StringUtils.substringBefore(s3BucketPath, "/")
+            val targets = LinkedHashMap<String, File>()
             for (key in keys!!) {
-                val filePath = "$bucketName/$key"
-                try {
-                    val content = helper.copyFromS3(bucketName, key, removeFromBucket)
-                    val affectedFile = if (isSystemPathValidFile)
-                        systemPath
-                    else {
-                        StringUtils.appendIfMissing(systemPath, separator) +
-                        if (key.contains("/")) StringUtils.substringAfterLast(key, "/") else key
-                    }
-                    FileUtils.writeByteArrayToFile(File(affectedFile), content)
-                    outcome.addAffected(affectedFile)
-                } catch (e: Exception) {
-                    outcome.addFailed(filePath)
-                    outcome.appendError("${e.message}\n")
+                targets[key] = File(if (isSystemPathValidFile)
+                                        systemPath
+                                    else {
+                                        StringUtils.appendIfMissing(systemPath, separator) +
+                                        if (key.contains("/")) StringUtils.substringAfterLast(key, "/") else key
+                                    })
+            }
+
+            outcome.setChannels(transferThreads().coerceAtMost(targets.size))
+            try {
+                helper.copyFromS3(bucketName, targets, removeFromBucket).forEach { transfer ->
+                    collectTransfer(outcome, transfer, "$bucketName/${transfer.source}")
                 }
+            } catch (e: Exception) {
+                outcome.addFailed(*targets.keys.map { "$bucketName/$it" }.toTypedArray())
+                outcome.appendError("${e.message}\n")
             }
         } else {
             outcome.errors = msgNoMatches
@@ -352,13 +357,14 @@ class S3Command : BaseCommand() {
         }
 
         val helper = initS3helper(resolveAWSSettings(profile))
-        for (file in files) {
-            try {
-                outcome.addAffected(helper.importToS3(File(file), s3Path, removeLocal))
-            } catch (ase: Exception) {
-                outcome.addFailed(file)
-                outcome.appendError("${ase.message}\n")
+        outcome.setChannels(transferThreads().coerceAtMost(files.size))
+        try {
+            helper.importToS3(files.map { File(it) }, s3Path, removeLocal).forEach { transfer ->
+                collectTransfer(outcome, transfer, transfer.source)
             }
+        } catch (ase: Exception) {
+            outcome.addFailed(*files.toTypedArray())
+            outcome.appendError("${ase.message}\n")
         }
 
         outcome.end()
@@ -372,6 +378,22 @@ class S3Command : BaseCommand() {
                                "to the target path '$s3Path': ${TextUtils.toString(outcome.affected, "\n")}.")
     }
 
+    /**
+     * Track the outcome of a single file transfer; a failed transfer is tracked as [failedPath].
+     */
+    private fun collectTransfer(outcome: RemoteFileActionOutcome, transfer: Transfer, failedPath: String) {
+        val error = transfer.error
+        if (error == null)
+            outcome.addFileTransfer(transfer.target, transfer.bytes, transfer.elapsedTime)
+        else {
+            outcome.addFailed(failedPath)
+            outcome.appendError("${error.message}\n")
+        }
+    }
+
+    private fun transferThreads() =
+        context.getIntData(S3_TRANSFER_THREADS, getDefaultInt(S3_TRANSFER_THREADS)).coerceAtLeast(1)
+
     /**
      * Retrieves the AwsSettings corresponding to the profile name passed in.
      *
@@ -397,6 +419,10 @@ class S3Command : BaseCommand() {
         // added to avoid SSL certificate issue since the adding bucket as subdomain to Amazon's SSL cert would result
         // in cert to domain name mismatch
         helper.setS3PathStyleAccessEnabled(true)
+
+        // files are streamed concurrently, with large ones transferred in parts
+        helper.setTransferThreads(transferThreads())
+        helper.setPartSize(context.getIntData(S3_PART_SIZE_MB, getDefaultInt(S3_PART_SIZE_MB)) * 1024L * 1024L)
         return helper
     }
 
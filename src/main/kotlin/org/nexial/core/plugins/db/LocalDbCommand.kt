@@ -24,6 +24,8 @@ import org.nexial.commons.utils.RegexUtils
 import org.nexial.commons.utils.TextUtils
 import org.nexial.core.NexialConst.*
 import org.nexial.core.NexialConst.Rdbms.DAO_PREFIX
+import org.nexial.core.NexialConst.Rdbms.LOCALDB_IMPORT_PRAGMAS
+import org.nexial.core.SystemVariables.getDefault
 import org.nexial.core.excel.ExcelConfig.MSG_SCREENCAPTURE
 import org.nexial.core.model.ExecutionContext
 import org.nexial.core.model.StepResult
@@ -77,7 +79,8 @@ class LocalDbCommand : BaseCommand() {
 
         try {
             context.removeData(DAO_PREFIX + dbName)
-            dao.dataSource?.connection?.close()
+            // pool is shared; close it so that its connections to the purged file are not reused
+            DataAccess.closePool(dao.dataSource)
         } catch (e: SQLException) {
             // probably not yet connected... ignore
         }
@@ -186,41 +189,53 @@ class LocalDbCommand : BaseCommand() {
             .setMaxColumnWidth(context.getIntData(CSV_MAX_COLUMN_WIDTH, -1))
             .build()
 
-        // 3. parse csv and resolve csv metadata
-        val csvRecords = parser.parseAllRecords(StringReader(csvContent))
-        val headers = parser.recordMetadata.headers().asList()
-
-        val queries = StringBuilder()
+        // 3. parse csv header; the rows are parsed as they are being imported
+        parser.beginParsing(StringReader(csvContent))
+        var firstRow: Array<String?>? = parser.parseNext()
+        val headers = parser.recordMetadata.headers()?.asList()
+        if (headers.isNullOrEmpty()) {
+            parser.stopParsing()
+            return StepResult.fail("Unable to import CSV to '$table': no header found")
+        }
 
         // 4. if target table not exist, create it
         val tableInfo = dao.executeSqls(SqlComponent.toList(
             "SELECT name, \"notnull\" AS 'not_null', dflt_value FROM pragma_table_info('$table') ORDER BY cid;" +
             "SELECT upper(name) || '=' || dflt_value AS 'defaults' FROM pragma_table_info('$table') WHERE dflt_value IS NOT NULL"))
 
+        val outcome: JdbcOutcome
         val columns = if (tableInfo.rowCount < 1) {
             // target table does not exist, let's create it
-            val tableGenerator = SqliteTableSqlGenerator(table)
-            queries.append(tableGenerator.generateSql(headers)).append("\n")
-            TextUtils.toString(headers.map { treatColumnName(it) }, ",")
+            outcome = dao.executeSqls(SqlComponent.toList(SqliteTableSqlGenerator(table).generateSql(headers)))
+            if (StringUtils.isNotBlank(outcome.error)) {
+                parser.stopParsing()
+                context.setData(`var`, outcome)
+                return StepResult.fail("Error occurred while creating new table '$table': ${outcome.error}")
+            }
+
+            headers.map { treatColumnName(it) }
         } else {
+            outcome = JdbcOutcome()
+
             // target table exist, let's map out its columns
             val definedColumns = tableInfo[0].cells("name")
             // there are more columns in CSV than the existing table... FAIL this
-            if (definedColumns.size < headers.size)
+            if (definedColumns.size < headers.size) {
+                parser.stopParsing()
                 throw IllegalArgumentException("Existing table $table has ${definedColumns.size} columns " +
                                                "but the specified CSV has ${headers.size} columns")
+            }
 
             val normalizedDefinedColumns = definedColumns.map { it.toString().lowercase() }.sorted()
             val normalizedCsvHeaders = headers.map { it.lowercase() }.sorted()
 
-            TextUtils.toString(
-                if (normalizedDefinedColumns.containsAll(normalizedCsvHeaders)) {
-                    // all CSV headers are found as column name in the existing table. We'll use name-matching mapping
-                    headers
-                } else {
-                    // not all CSV headers are found in existing table as column. We'll use left-to-right mapping
-                    definedColumns.subList(0, headers.size)
-                }.map { treatColumnName(it.toString()) }, ",")
+            if (normalizedDefinedColumns.containsAll(normalizedCsvHeaders)) {
+                // all CSV headers are found as column name in the existing table. We'll use name-matching mapping
+                headers
+            } else {
+                // not all CSV headers are found in existing table as column. We'll use left-to-right mapping
+                definedColumns.subList(0, headers.size)
+            }.map { treatColumnName(it.toString()) }
         }
 
         val defaultValues = if (tableInfo.rowCount < 1)
@@ -232,33 +247,29 @@ class LocalDbCommand : BaseCommand() {
                 TextUtils.toMap(TextUtils.toString(tableInfo[1].cells("defaults"), ","), ",", "=")
         }
 
-        // 5. import data via INSERT generator
-        csvRecords.forEach { record ->
-            queries.append("INSERT INTO $table ($columns) VALUES (")
-                .append(record.values.mapIndexed { index, value ->
-                    "'" + treatColumnValue(
-                        if (StringUtils.isEmpty(value)) defaultValues[headers[index].lowercase()] ?: value
-                        else value
-                    ) + "'"
-                }.joinToString(separator = ","))
-                .append(");\n")
-        }
-
-        // 6. execute generated queries
-        val result = dao.executeSqls(SqlComponent.toList(queries.toString()))
-        context.setData(`var`, result)
-        return if (StringUtils.isNotBlank(result.error)) {
-            if (result[0].hasError())
-                StepResult.fail("Error occurred while creating new table '$table': ${result[0].error}")
-            else
-                StepResult.fail("Error occurred while importing CSV to '$table': ${result.error}")
-        } else {
-            val rowsInserted = result.rowsAffected - if (result.size > csvRecords.size) result[0].rowCount else 0
-            return StepResult.success("Successfully imported $rowsInserted rows from CSV to '$table'")
-        }
+        // 5. import data via batched inserts
+        val result = dao.importRows(table, columns, {
+            val row = firstRow ?: parser.parseNext()
+            firstRow = null
+            row?.mapIndexed<String?, Any?> { index, value ->
+                if (StringUtils.isEmpty(value) && index < headers.size)
+                    defaultValues[headers[index].lowercase()] ?: value
+                else
+                    value
+            }?.toTypedArray()
+        }, resolveImportPragmas())
+        parser.stopParsing()
+
+        outcome.addOutcome(null, result)
+        context.setData(`var`, outcome)
+        return if (result.hasError())
+            StepResult.fail("Error occurred while importing CSV to '$table': ${result.error}")
+        else
+            StepResult.success("Successfully imported ${result.rowCount} rows from CSV to '$table'")
     }
 
-    private fun treatColumnValue(value: String?) = StringUtils.replace(value, "'", "''")
+    private fun resolveImportPragmas(): Map<String, String> =
+        TextUtils.toMap(context.getStringData(LOCALDB_IMPORT_PRAGMAS, getDefault(LOCALDB_IMPORT_PRAGMAS)), ",", "=")
 
     // handle column names with spaces or commas
     private fun treatColumnName(column: String) = when {
@@ -19,6 +19,7 @@ package org.nexial.core.plugins.db
 import org.apache.commons.collections4.CollectionUtils
 import org.apache.commons.collections4.MapUtils
 import org.apache.commons.io.FileUtils
+import org.apache.commons.io.IOUtils
 import org.apache.commons.lang3.BooleanUtils
 import org.apache.commons.lang3.StringUtils
 import org.nexial.commons.utils.FileUtil
@@ -30,11 +31,17 @@ import org.nexial.core.NexialConst.Rdbms.DAO_PREFIX
 import org.nexial.core.model.ExecutionContext
 import org.nexial.core.model.StepResult
 import org.nexial.core.plugins.base.BaseCommand
+import org.nexial.core.plugins.io.CsvParserBuilder
 import org.nexial.core.utils.CheckUtils.*
 import org.nexial.core.utils.OutputFileUtils
 import java.io.File
 import java.io.File.separator
 import java.io.IOException
+import java.io.InputStreamReader
+import java.io.StringReader
+import java.nio.charset.Charset
+import java.nio.file.Files
+import java.nio.file.Paths
 
 class RdbmsCommand : BaseCommand() {
 
@@ -119,6 +126,57 @@ class RdbmsCommand : BaseCommand() {
         return runSQLs(`var`, db, file)
     }
 
+    /**
+     * import CSV content or file into the existing `table` of `db`, via batched inserts within one transaction.
+     * The first line of `csv` is expected to be the header, with each column name matching a column of `table`.
+     */
+    fun importCSV(`var`: String, db: String, csv: String, table: String): StepResult {
+        requiresValidAndNotReadOnlyVariableName(`var`)
+        requiresNotBlank(db, "invalid db", db)
+        requiresNotBlank(csv, "invalid csv", csv)
+        requiresNotBlank(table, "invalid target table name", table)
+
+        val reader = if (OutputFileUtils.isContentReferencedAsFile(csv, context) &&
+                         (context.isResolveTextAsIs || OutputFileUtils.isLiteralContent(File(csv), context))) {
+            // no token to replace; stream the CSV file instead of loading it in memory
+            InputStreamReader(Files.newInputStream(Paths.get(csv)), Charset.defaultCharset())
+        } else {
+            val csvContent = OutputFileUtils.resolveContent(csv, context, false, true)
+            requiresNotBlank(csvContent, "invalid csv content", csv)
+            StringReader(csvContent)
+        }
+
+        val parser = CsvParserBuilder()
+            .setDelim(context.textDelim)
+            .setHasHeader(true)
+            .setMaxColumns(context.getIntData(CSV_MAX_COLUMNS, -1))
+            .setMaxColumnWidth(context.getIntData(CSV_MAX_COLUMN_WIDTH, -1))
+            .build()
+
+        try {
+            parser.beginParsing(reader)
+            var firstRow: Array<String?>? = parser.parseNext()
+            val headers = parser.recordMetadata.headers()?.asList()
+            if (headers.isNullOrEmpty()) return StepResult.fail("Unable to import CSV to '$table': no header found")
+
+            val result = resolveDao(db).importRows(table, headers, {
+                val row = firstRow ?: parser.parseNext()
+                firstRow = null
+                row
+            }, null)
+            context.setData(`var`, result)
+
+            return if (result.hasError())
+                StepResult.fail("Error occurred while importing CSV to '$table': ${result.error}")
+            else
+                StepResult.success("Successfully imported ${result.rowCount} rows from CSV to '$table'")
+        } finally {
+            parser.stopParsing()
+            IOUtils.closeQuietly(reader)
+            unsetSslCert()
+        }
+    }
+
     /**
      * execute multiple SQL statements and save the corresponding output (as CSV) to the specific `outputDir`
      * directory. Note that only SQL with matching Nexial variable will result in its associated output saved to the
@@ -259,7 +317,7 @@ class RdbmsCommand : BaseCommand() {
         val searchColumns = TextUtils.toList(columns, context.textDelim, true)
         if (searchColumns.isEmpty()) return StepResult.fail("No columns specified")
 
-        val found = searchColumns.firstOrNull { col -> cellMatches(resultObj.cells(col), search) }
+        val found = searchColumns.firstOrNull { col -> cellMatches(resultObj, col, search) }
         return if (found != null)
             StepResult.success("match found in \${${`var`}} on '${search}' against columns '${columns}'")
         else
@@ -280,18 +338,19 @@ class RdbmsCommand : BaseCommand() {
         val searchColumns = TextUtils.toList(columns, context.textDelim, true)
         if (searchColumns.isEmpty()) return StepResult.fail("No columns specified")
 
-        val found = searchColumns.firstOrNull { col -> cellMatches(resultObj.cells(col), search) }
+        val found = searchColumns.firstOrNull { col -> cellMatches(resultObj, col, search) }
         return if (found != null)
             StepResult.fail("match FOUND in \${${`var`}} on '${search}' against columns '${columns}'")
         else
             StepResult.success("match not found in \${${`var`}} on '${search}' against columns '${columns}'")
     }
 
-    private fun cellMatches(cells: List<Any>, expected: String): Boolean =
-        when {
-            cells.isEmpty()  -> StringUtils.isEmpty(expected)
-            else             -> cells.firstOrNull { it is String && TextUtils.polyMatch(it, expected) } != null
-        }
+    /** scan `column` of `result` row by row, so that a file-backed result is not loaded in its entirety */
+    private fun cellMatches(result: JdbcResult, column: String, expected: String): Boolean =
+        if (result.data.isNullOrEmpty() || result.columns?.contains(column) != true)
+            StringUtils.isEmpty(expected)
+        else
+            result.data.any { row -> row[column].let { it is String && TextUtils.polyMatch(it, expected) } }
 
     fun executeSQLs(db: String, sqls: List<SqlComponent>): JdbcOutcome = resolveDao(db).executeSqls(sqls)
 
@@ -12,7 +12,7 @@ import java.io.File
 import java.util.stream.Collectors
 import javax.imageio.ImageIO
 
-class ImageComparison(expected: BufferedImage, actual: BufferedImage) {
+class ImageComparison(private val expected: BufferedImage, private val actual: BufferedImage) {
     private var ic: ImageComparison
     private val diffFillingOpacity = 5.0
     private val excludeFillingOpacity = 5.0
@@ -21,10 +21,19 @@ class ImageComparison(expected: BufferedImage, actual: BufferedImage) {
     private val pixelTolerance = 0.12
     private val minimalRectangleSize = 144
     private var result: ImageComparisonResult? = null
+    private var identical = false
 
     constructor(image1: File, image2: File) : this(ImageIO.read(image1), ImageIO.read(image2))
 
     fun compareImages(color: Color?): Float {
+        // shortcut: identical images (compared over bands of rows in parallel) need no pixel-by-pixel analysis
+        identical = ImageDifferenceTools.isIdentical(expected, actual)
+        if (identical) {
+            result = null
+            matchPercent = 100f
+            return matchPercent
+        }
+
         ic.differenceRectangleColor = color
         ic.excludedRectangleColor = color
         result = ic.compareImages()
@@ -38,7 +47,7 @@ class ImageComparison(expected: BufferedImage, actual: BufferedImage) {
         private set
 
     val diffImage: BufferedImage
-        get() = result!!.result
+        get() = if (identical) actual else result!!.result
 
     // return tools.getDifferences();
     val differences: List<Difference>
@@ -17,15 +17,13 @@
 package org.nexial.core.plugins.pdf
 
 import org.apache.commons.lang3.StringUtils
-import org.apache.pdfbox.pdmodel.PDDocument
-import org.apache.pdfbox.text.PDFTextStripper
-import org.nexial.core.NexialConst.Pdf.MIME_PDF
 import org.nexial.core.NexialConst.Pdf.PDF_USE_ASCII
 import org.nexial.core.SystemVariables.getDefaultBool
 import org.nexial.core.model.ExecutionContext
 import org.nexial.core.utils.CheckUtils.requiresReadableFile
 import org.nexial.core.utils.ConsoleUtils
-import java.io.*
+import java.io.File
+import java.io.IOException
 
 object PdfTextExtractor {
 
@@ -34,48 +32,8 @@ object PdfTextExtractor {
     fun extractText(file: String, context: ExecutionContext): String {
         requiresReadableFile(file)
 
-        val pdfFile = File(file)
-        val out = ByteArrayOutputStream()
-        val output = OutputStreamWriter(out)
-
-        var document: PDDocument? = null
-        try {
-            document = PDDocument.load(pdfFile)
-
-            //use default encoding
-            val stripper = PDFTextStripper()
-            stripper.sortByPosition = true
-            //stripper.setShouldSeparateByBeads(true);
-            //stripper.setAddMoreFormatting(false);
-
-            // Extract text for main document:
-            stripper.writeText(document, output)
-
-            // ... also for any embedded PDFs:
-            extractEmbeddedPDFs(document, stripper, output)
-        } finally {
-            try {
-                output.close()
-            } catch (e: IOException) {
-                ConsoleUtils.error("Unable to close output stream: ${e.message}")
-            }
-
-            try {
-                out.close()
-            } catch (e: IOException) {
-                ConsoleUtils.error("Unable to close underlying output stream: ${e.message}")
-            }
-
-            if (document != null) {
-                try {
-                    document.close()
-                } catch (e: IOException) {
-                    ConsoleUtils.error("Unable to close PDF document: ${e.message}")
-                }
-            }
-        }
-
-        val content = normalizePdfText(out.toString(), context)
+        // extracted text is cached per document (and re-extracted when the document changes)
+        val content = normalizePdfText(context.pdfTextCache.getText(File(file)), context)
         ConsoleUtils.log("extracted " + StringUtils.length(content) + " bytes from '" + file + "'")
         return content
     }
@@ -126,30 +84,4 @@ object PdfTextExtractor {
 
         return normalized
     }
-
-    @Throws(IOException::class)
-    private fun extractEmbeddedPDFs(document: PDDocument?, stripper: PDFTextStripper?, output: Writer?) {
-        if (document == null) return
-        if (stripper == null) return
-        if (output == null) return
-
-        val catalog = document.documentCatalog
-        val names = catalog.names ?: return
-        val embeddedFiles = names.embeddedFiles ?: return
-        val embeddedFileNames = embeddedFiles.names ?: return
-
-        for ((_, spec) in embeddedFileNames) {
-            val file = spec.embeddedFile
-            if (file != null && StringUtils.equals(file.subtype, MIME_PDF)) {
-                ConsoleUtils.log("Found embed PDF: '" + spec.filename + "', size: " + file.size)
-                var subDoc: PDDocument?
-                file.createInputStream().use { fis -> subDoc = PDDocument.load(fis) }
-                try {
-                    stripper.writeText(subDoc, output)
-                } finally {
-                    subDoc?.close()
-                }
-            }
-        }
-    }
-}
\ No newline at end of file
+}
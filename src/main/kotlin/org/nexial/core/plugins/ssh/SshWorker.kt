@@ -34,6 +34,9 @@ import org.nexial.core.utils.ConsoleUtils
 import java.io.File
 import java.io.File.separator
 import java.util.*
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicReference
 
 open class SshWorker(internal val action: TransferAction, val remote: String, val local: String?) {
     private val remoteMustBeFQ = listOf(COPY_FROM, COPY_TO, MOVE_FROM, MOVE_TO, LIST, DELETE)
@@ -103,25 +106,9 @@ open class SshWorker(internal val action: TransferAction, val remote: String, va
                 }
             }
 
+    /** borrow a pooled session, to be returned via [closeSshClient] */
     @Throws(JSchException::class)
-    internal fun connect(connection: SshClientConnection): Session {
-        val ssh = JSch()
-
-        val knownHostsFile = connection.knownHostsFile
-        if (knownHostsFile != null) ssh.setKnownHosts(knownHostsFile.absolutePath)
-
-        val config = Properties()
-        if (!connection.isStrictHostKeyChecking) config.setProperty("StrictHostKeyChecking", "no")
-        // https://stackoverflow.com/questions/10881981/sftp-connection-through-java-asking-for-weird-authentication
-        config.setProperty("PreferredAuthentications", "publickey,keyboard-interactive,password")
-
-        val session = ssh.getSession(connection.username, connection.host, connection.port)
-        session.setConfig(config)
-        if (StringUtils.isNotEmpty(connection.password)) session.setPassword(connection.password)
-
-        session.connect()
-        return session
-    }
+    internal fun connect(connection: SshClientConnection): Session = SshSessionPool.borrow(connection)
 
     @Throws(JSchException::class)
     internal fun openSftpChannel(session: Session): ChannelSftp {
@@ -131,14 +118,22 @@ open class SshWorker(internal val action: TransferAction, val remote: String, va
         return channel
     }
 
-    internal fun closeSshClient(session: Session?, channel: Channel?) {
+    internal fun closeChannel(channel: Channel?) {
         if (channel is ChannelSftp) channel.exit()
         channel?.disconnect()
-        session?.disconnect()
+    }
+
+    internal fun closeSshClient(session: Session?, channel: Channel?) {
+        closeChannel(channel)
+        // session stays connected in the pool for subsequent steps
+        SshSessionPool.release(session)
     }
 }
 
 class SftpWorker(action: TransferAction, remote: String, local: String?) : SshWorker(action, remote, local) {
+    /** maximum number of SFTP channels (over the same session) to transfer multiple files concurrently */
+    var parallelChannels = 1
+
     fun doAction(connection: SshClientConnection): RemoteFileActionOutcome {
         // make sure arguments meet pre-connection requirement
         preActionChecks()
@@ -147,17 +142,32 @@ class SftpWorker(action: TransferAction, remote: String, local: String?) : SshWo
         val outcome = RemoteFileActionOutcome()
             .setProtocol(SFTP).setAction(action).setRemotePath(remote).setLocalPath(local)
 
-        // connect
-        val session = connect(connection)
-        val channel = openSftpChannel(session)
+        // connect; a pooled session might have gone stale (e.g. dropped by the server) while still appearing to be
+        // connected. If so, it is evicted and the channel is opened once more over a new session
+        var session = connect(connection)
+        val channel = try {
+            openSftpChannel(session)
+        } catch (e: JSchException) {
+            ConsoleUtils.log("${logRemoteHeader(outcome)}unable to open channel (${e.message}); reconnecting...")
+            SshSessionPool.invalidate(session)
+            SshSessionPool.release(session)
+
+            session = connect(connection)
+            try {
+                openSftpChannel(session)
+            } catch (retryError: JSchException) {
+                SshSessionPool.release(session)
+                throw retryError
+            }
+        }
 
         // perform action
         return try {
             when (action) {
-                MOVE_FROM -> copyRemoteToLocal(channel, outcome, true)
-                MOVE_TO   -> copyLocalToRemote(channel, outcome, true)
-                COPY_FROM -> copyRemoteToLocal(channel, outcome, false)
-                COPY_TO   -> copyLocalToRemote(channel, outcome, false)
+                MOVE_FROM -> copyRemoteToLocal(session, channel, outcome, true)
+                MOVE_TO   -> copyLocalToRemote(session, channel, outcome, true)
+                COPY_FROM -> copyRemoteToLocal(session, channel, outcome, false)
+                COPY_TO   -> copyLocalToRemote(session, channel, outcome, false)
                 LIST      -> list(channel, outcome)
                 DELETE    -> delete(channel, outcome)
             }
@@ -220,8 +230,10 @@ class SftpWorker(action: TransferAction, remote: String, local: String?) : SshWo
         }
     }
 
-    private fun copyRemoteToLocal(channel: ChannelSftp, outcome: RemoteFileActionOutcome, move: Boolean):
-            RemoteFileActionOutcome {
+    private fun copyRemoteToLocal(session: Session,
+                                  channel: ChannelSftp,
+                                  outcome: RemoteFileActionOutcome,
+                                  move: Boolean): RemoteFileActionOutcome {
 
         // list remote files
         val remoteFiles = channel.ls(remote)
@@ -235,12 +247,10 @@ class SftpWorker(action: TransferAction, remote: String, local: String?) : SshWo
                 // if multiple files
                 val remotePath = StringUtils.substringBeforeLast(remote, "/") + "/"
                 val localPath = StringUtils.appendIfMissing(local, separator)
-                remoteFiles.forEach { file ->
-                    if (file is LsEntry && !file.attrs.isDir)
-                        copyRemoteToLocal(channel, file, remotePath + file.filename, localPath, outcome, move)
+                val files = remoteFiles.filterIsInstance<LsEntry>().filter { !it.attrs.isDir }
+                transferAll(session, channel, files, outcome) { sftp, file, fileOutcome ->
+                    copyRemoteToLocal(sftp, file, remotePath + file.filename, localPath, fileOutcome, move)
                 }
-
-                outcome
             }
         }
     }
@@ -268,6 +278,8 @@ class SftpWorker(action: TransferAction, remote: String, local: String?) : SshWo
         val failed = testFileSize(outcome, remoteEntry, File(localPath))
         if (failed != null) return failed
 
+        outcome.addTransferred(remoteEntry.attrs.size)
+
         // 4. remove remote file
         return try {
             if (move) channel.rm(remote)
@@ -277,8 +289,10 @@ class SftpWorker(action: TransferAction, remote: String, local: String?) : SshWo
         }
     }
 
-    private fun copyLocalToRemote(channel: ChannelSftp, outcome: RemoteFileActionOutcome, move: Boolean):
-            RemoteFileActionOutcome {
+    private fun copyLocalToRemote(session: Session,
+                                  channel: ChannelSftp,
+                                  outcome: RemoteFileActionOutcome,
+                                  move: Boolean): RemoteFileActionOutcome {
 
         // list local files
         val localFiles = listLocal(outcome.localPath)
@@ -300,10 +314,10 @@ class SftpWorker(action: TransferAction, remote: String, local: String?) : SshWo
             // then we must assume that the remote path is a directory
             if (!lstat.isDir)
                 addErrorOnRemote(outcome, "remote '${outcome.remotePath}' is NOT a directory as expected")
-            else {
-                for (f in localFiles) copyLocalToRemote(channel, f, remotePath + f.name, outcome, move)
-                outcome
-            }
+            else
+                transferAll(session, channel, localFiles, outcome) { sftp, file, fileOutcome ->
+                    copyLocalToRemote(sftp, file, remotePath + file.name, fileOutcome, move)
+                }
         }
     }
 
@@ -321,11 +335,83 @@ class SftpWorker(action: TransferAction, remote: String, local: String?) : SshWo
         val failed = testFileSize(outcome, remoteFileListing[0] as LsEntry, local)
         if (failed != null) return failed
 
+        outcome.addTransferred(local.length())
+
         if (move && !FileUtils.deleteQuietly(local)) return addErrorOnLocal(outcome, "Cannot delete local file $local")
 
         return addSingleFileSuccess(outcome, remotePath, "$local moved to $remotePath")
     }
 
+    /**
+     * transfer each of [files] via [transfer], over up to [parallelChannels] SFTP channels of [session]; [channel] is
+     * used by the current thread while additional channels are opened for the others. Each file is tracked by its own
+     * partial outcome, which is merged into [outcome] in the order of [files]. The first exception stops the remaining
+     * transfers, and is rethrown once the transfers in progress are done.
+     */
+    private fun <T> transferAll(session: Session,
+                                channel: ChannelSftp,
+                                files: List<T>,
+                                outcome: RemoteFileActionOutcome,
+                                transfer: (ChannelSftp, T, RemoteFileActionOutcome) -> RemoteFileActionOutcome):
+            RemoteFileActionOutcome {
+
+        val channels = parallelChannels.coerceIn(1, files.size.coerceAtLeast(1))
+        outcome.setChannels(channels)
+
+        val outcomes = arrayOfNulls<RemoteFileActionOutcome>(files.size)
+        val next = AtomicInteger()
+        val done = AtomicInteger()
+        val failure = AtomicReference<Exception>()
+        val progressInterval = (files.size / 10).coerceAtLeast(1)
+
+        val worker = { sftp: ChannelSftp ->
+            while (failure.get() == null) {
+                val index = next.getAndIncrement()
+                if (index >= files.size) break
+                try {
+                    outcomes[index] = transfer(sftp, files[index], outcome.newPartial())
+                } catch (e: Exception) {
+                    failure.compareAndSet(null, e)
+                }
+
+                val count = done.incrementAndGet()
+                if (channels > 1 && (count % progressInterval == 0 || count == files.size))
+                    ConsoleUtils.log("${logRemoteHeader(outcome)}$count/${files.size} file(s) processed")
+            }
+        }
+
+        if (channels == 1)
+            worker(channel)
+        else {
+            val executor = Executors.newFixedThreadPool(channels - 1)
+            try {
+                val futures = (1 until channels).map {
+                    executor.submit(Runnable {
+                        var sftp: ChannelSftp? = null
+                        try {
+                            sftp = openSftpChannel(session)
+                            worker(sftp)
+                        } catch (e: JSchException) {
+                            // server might limit the number of channels per session; the other channels carry on
+                            ConsoleUtils.log("${logRemoteHeader(outcome)}unable to open additional channel: ${e.message}")
+                        } finally {
+                            closeChannel(sftp)
+                        }
+                    })
+                }
+                worker(channel)
+                futures.forEach { it.get() }
+            } finally {
+                executor.shutdownNow()
+            }
+        }
+
+        outcomes.forEach { outcome.merge(it) }
+        val error = failure.get()
+        if (error != null) throw error
+        return outcome
+    }
+
     private fun testFileSize(outcome: RemoteFileActionOutcome, remote: LsEntry, local: File): RemoteFileActionOutcome? {
         val remoteSize = remote.attrs.size
         val localSize = local.length()
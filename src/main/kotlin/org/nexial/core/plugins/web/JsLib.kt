@@ -228,6 +228,13 @@ object JsLib {
 	fun installNexialToast(darkMode: Boolean = true): String =
 		ResourceUtils.loadResource("/org/nexial/core/plugins/web/NexialToast${if (darkMode) "Dark" else "Light"}.js")
 
+	/**
+	 * collect the visible text of the headers and cells of a grid in a single call. Arguments: container element,
+	 * header cells, rows and options; see `CollectGridData.js` for details. Returns the grid as JSON.
+	 */
+	@JvmStatic
+	fun collectGridData(): String = ResourceUtils.loadResource("/org/nexial/core/plugins/web/CollectGridData.js")
+
 	@JvmStatic
 	fun toast(darkMode: Boolean = true) =
 		"window.nexial.Toast${if (darkMode) "Dark" else "Light"}(arguments[0], arguments[1]);"
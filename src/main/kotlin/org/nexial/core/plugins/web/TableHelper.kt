@@ -16,6 +16,9 @@
 
 package org.nexial.core.plugins.web
 
+import com.google.gson.JsonArray
+import com.google.gson.JsonParseException
+import com.google.gson.JsonParser
 import com.univocity.parsers.csv.CsvFormat
 import com.univocity.parsers.csv.CsvWriter
 import com.univocity.parsers.csv.CsvWriterSettings
@@ -66,7 +69,20 @@ class TableHelper(private val webCommand: WebCommand) {
 	                                                                     "\t " to " "))
 	private val gridDataMeta = ResourceUtils.loadResource("/org/nexial/core/plugins/web/GridDataMeta.js")
 	private val collectInfiniteGrid = ResourceUtils.loadResource("/org/nexial/core/plugins/web/CollectInfiniteGrid.js")
+	private val collectGridData = JsLib.collectGridData()
 	private val metaRecSep = "#$#"
+	private val tableRowLocators = listOf(".//tbody/tr",
+	                                      // table has rows not trapped within tbody?
+	                                      // but we are not considering TH here because we are not under TBODY.
+	                                      // The TH in Table might be header
+	                                      ".//tr/*[name()='TD' or name()='td']")
+	private val tableCellLocator = "./*[name()='TD' or name()='td' or name()='TH' or name()='th']"
+
+	/**
+	 * headers and rows of a grid, as collected by `CollectGridData.js`. Each cell is represented by its visible text
+	 * (`text`) and, when deep scan applies, the metadata of its first form element (`tag`, `type`, `value`, etc.).
+	 */
+	internal class GridData(val headers: List<Map<String, String>>, val rows: List<List<Map<String, String>>>)
 
 	fun saveDivsAsCsv(
 		headerCellsLoc: String,
@@ -82,11 +98,22 @@ class TableHelper(private val webCommand: WebCommand) {
 		val writer = newCsvWriter(file)
 
 		val msgPrefix = "DIV table"
+		val deepScan = webCommand.context.getBooleanData(DEEP_SCAN, getDefaultBool(DEEP_SCAN))
+
+		// bulk extraction needs the cell locator to be evaluated by the browser
+		val cellScriptLocator = toScriptLocator(cellLocator)
+		var bulk = isBulkExtractEnabled() && cellScriptLocator != null
 
 		// header
 		if (!webCommand.context.isNullOrEmptyOrBlankValue(headerCellsLoc)) {
-			val deepScan = webCommand.context.getBooleanData(DEEP_SCAN, getDefaultBool(DEEP_SCAN))
-			writeCsvHeader(msgPrefix, writer, webCommand.findElements(headerCellsLoc), deepScan)
+			val headers = webCommand.findElements(headerCellsLoc)
+			val grid = if (bulk && !headers.isNullOrEmpty())
+				collectGrid(msgPrefix, null, headers, emptyList(), mapOf("deepScan" to deepScan))
+			else null
+			if (grid != null)
+				writeCsvHeader(msgPrefix, writer, grid.headers.map { toCellText(it, true, deepScan) })
+			else
+				writeCsvHeader(msgPrefix, writer, headers, deepScan)
 		}
 
 		var pageCount = 0
@@ -103,8 +130,15 @@ class TableHelper(private val webCommand: WebCommand) {
 			ConsoleUtils.log("$msgPrefix collecting data for page ${pageCount + 1}; ${rows.size} row(s) found")
 			var hasData = true
 
+			val grid = if (bulk)
+				collectGrid(msgPrefix, null, emptyList(), rows, mapOf("deepScan" to deepScan, cellScriptLocator!!))
+			else null
+			if (grid == null) bulk = false
+
 			for (i in rows.indices) {
-				val cellContent = toCellContent(rows[i], cellLocator)
+				val cellContent =
+					if (grid != null) grid.rows[i].map { toCellText(it, false, deepScan) }
+					else toCellContent(rows[i], cellLocator)
 				if (CollectionUtils.isEmpty(cellContent)) {
 					writer.writeEmptyRow()
 					hasData = false
@@ -154,28 +188,29 @@ class TableHelper(private val webCommand: WebCommand) {
 
 		val msgPrefix = "Table '$locator'"
 
-		var headers: List<WebElement> = ArrayList()
-		tableHeaderLocators.forEach(fun(locator: String) {
-			run {
-				if (CollectionUtils.isEmpty(headers))
-					headers = table.findElements(webCommand.locatorHelper.findBy(locator, true))
-			}
-		})
-
 		val deepScan = webCommand.context.getBooleanData(DEEP_SCAN, getDefaultBool(DEEP_SCAN))
-		writeCsvHeader(msgPrefix, writer, headers, deepScan)
+		var bulk = isBulkExtractEnabled()
 
 		var pageCount = 0
 		var firstRow = ""
 
 		while (true) {
-			// table has body?
-			var rows: List<WebElement> = table.findElements(By.xpath(".//tbody/tr"))
+			// collect the entire page (and the headers, for the first page) in one call, if possible
+			val options = mapOf("headerXpaths" to if (pageCount == 0) tableHeaderLocators else emptyList(),
+			                    "rowXpaths" to tableRowLocators,
+			                    "cellXpath" to tableCellLocator,
+			                    "deepScan" to deepScan)
+			val grid = if (bulk) collectGrid(msgPrefix, table, emptyList(), emptyList(), options) else null
+			if (grid == null) bulk = false
+
+			if (pageCount == 0) {
+				if (grid != null)
+					writeCsvHeader(msgPrefix, writer, grid.headers.map { toCellText(it, true, deepScan) })
+				else
+					writeCsvHeader(msgPrefix, writer, findTableHeaders(table), deepScan)
+			}
 
-			// table has rows not trapped within tbody?
-			// but we are not considering TH here because we are not under TBODY. The TH in Table might be header
-			if (CollectionUtils.isEmpty(rows))
-				rows = table.findElements(By.xpath(".//tr/*[name()='TD' or name()='td']"))
+			val rows: List<*> = grid?.rows ?: findTableRows(table)
 			if (CollectionUtils.isEmpty(rows)) {
 				if (pageCount < 1) ConsoleUtils.log("$msgPrefix does not contain usable data cells")
 				break
@@ -188,7 +223,9 @@ class TableHelper(private val webCommand: WebCommand) {
 				// ConsoleUtils.log("$msgPrefix scanning row $i...")
 
 				// cell can be TD or TH under TBODY
-				val cells = toCellContent(rows[i], "./*[name()='TD' or name()='td' or name()='TH' or name()='th']")
+				val cells =
+					if (grid != null) grid.rows[i].map { toCellText(it, false, deepScan) }
+					else toCellContent(rows[i] as WebElement, tableCellLocator)
 				if (CollectionUtils.isEmpty(cells)) {
 					writer.writeEmptyRow()
 					break
@@ -286,8 +323,16 @@ class TableHelper(private val webCommand: WebCommand) {
 
 		// header (not required)
 		val headerCellsLoc = configMap["header-cell"]
-		if (!context.isNullOrEmptyOrBlankValue(headerCellsLoc))
-			writeCsvHeader(msgPrefix, writer, webCommand.findElements(headerCellsLoc), deepScan)
+		if (!context.isNullOrEmptyOrBlankValue(headerCellsLoc)) {
+			val headers = webCommand.findElements(headerCellsLoc)
+			val grid = if (isBulkExtractEnabled() && !headers.isNullOrEmpty())
+				collectGrid(msgPrefix, null, headers, emptyList(), mapOf("deepScan" to deepScan))
+			else null
+			if (grid != null)
+				writeCsvHeader(msgPrefix, writer, grid.headers.map { toCellText(it, true, deepScan, configMap) })
+			else
+				writeCsvHeader(msgPrefix, writer, headers, deepScan)
+		}
 
 		// viewport
 		val viewportLoc = configMap["data-viewport"]
@@ -420,6 +465,101 @@ class TableHelper(private val webCommand: WebCommand) {
 		}
 	}
 
+	private fun writeCsvHeader(msgPrefix: String, writer: CsvWriter, headerNames: List<String>) {
+		if (headerNames.isEmpty()) {
+			ConsoleUtils.log("$msgPrefix does not contain usable headers")
+		} else {
+			ConsoleUtils.log("$msgPrefix - collected headers: $headerNames")
+			writer.writeHeaders(headerNames)
+		}
+	}
+
+	private fun findTableHeaders(table: WebElement): List<WebElement> {
+		var headers: List<WebElement> = ArrayList()
+		tableHeaderLocators.forEach(fun(locator: String) {
+			run {
+				if (CollectionUtils.isEmpty(headers))
+					headers = table.findElements(webCommand.locatorHelper.findBy(locator, true))
+			}
+		})
+		return headers
+	}
+
+	private fun findTableRows(table: WebElement): List<WebElement> {
+		var rows: List<WebElement> = ArrayList()
+		tableRowLocators.forEach { if (CollectionUtils.isEmpty(rows)) rows = table.findElements(By.xpath(it)) }
+		return rows
+	}
+
+	private fun isBulkExtractEnabled() =
+		webCommand.context.getBooleanData(BULK_EXTRACT, getDefaultBool(BULK_EXTRACT)) &&
+		webCommand.jsExecutor != null
+
+	/**
+	 * collect the visible text of the headers and cells of a grid via a single script execution, instead of
+	 * inspecting each cell over separate WebDriver calls. Returns `null` if the browser cannot run the script, in
+	 * which case the caller should fall back to cell-by-cell inspection.
+	 */
+	private fun collectGrid(msgPrefix: String,
+	                        container: WebElement?,
+	                        headers: List<WebElement>,
+	                        rows: List<WebElement>,
+	                        options: Map<String, Any>): GridData? {
+		val fallback = "$msgPrefix unable to collect grid data via script; scanning cell by cell instead"
+		return try {
+			val json = webCommand.jsExecutor.executeScript(collectGridData, container, headers, rows, options)
+			if (json is String && StringUtils.isNotBlank(json)) {
+				val grid = toGridData(json)
+				if (rows.isEmpty() || grid.rows.size == rows.size) grid
+				else {
+					ConsoleUtils.log("$fallback; expected ${rows.size} row(s) but found ${grid.rows.size}")
+					null
+				}
+			} else {
+				ConsoleUtils.log(fallback)
+				null
+			}
+		} catch (e: WebDriverException) {
+			ConsoleUtils.log("$fallback: ${e.message}")
+			null
+		} catch (e: JsonParseException) {
+			ConsoleUtils.log("$fallback: ${e.message}")
+			null
+		}
+	}
+
+	/** express a relative cell locator as script option (`cellXpath` or `cellCss`), if the browser can evaluate it */
+	private fun toScriptLocator(locator: String): Pair<String, String>? {
+		val by = webCommand.locatorHelper.findBy(locator, true)
+		// Selenium renders locators as `By.<type>: <expression>`
+		val expression = StringUtils.substringAfter(by.toString(), ": ")
+		return when (by) {
+			is By.ByXPath       -> "cellXpath" to expression
+			is By.ByCssSelector -> "cellCss" to expression
+			is By.ByClassName   -> "cellCss" to ".$expression"
+			is By.ByTagName     -> "cellCss" to expression
+			else                -> null
+		}
+	}
+
+	internal fun toGridData(json: String): GridData {
+		val grid = JsonParser.parseString(json).asJsonObject
+		return GridData(toCells(grid.getAsJsonArray("headers")),
+		                grid.getAsJsonArray("rows")?.map { toCells(it.asJsonArray) } ?: emptyList())
+	}
+
+	private fun toCells(cells: JsonArray?): List<Map<String, String>> =
+		cells?.map { cell -> cell.asJsonObject.entrySet().associate { it.key to it.value.asString } } ?: emptyList()
+
+	/** same as [deepScan], but based on the cell data collected via script */
+	internal fun toCellText(cell: Map<String, String>,
+	                        isHeader: Boolean,
+	                        deepScan: Boolean,
+	                        configMap: Map<String, String> = emptyMap()): String {
+		val cellText = cell["text"] ?: ""
+		return if (deepScan) resolveDeepScanText(cellText, cell, isHeader, configMap) else csvSafe(cellText)
+	}
+
 	private fun toCellContent(row: WebElement, cellLocator: String): List<String> {
 		val cells: List<WebElement> = row.findElements(webCommand.locatorHelper.findBy(cellLocator, true))
 
@@ -455,24 +595,29 @@ class TableHelper(private val webCommand: WebCommand) {
 		val inputs = cell.findElements<WebElement>(By.xpath(formElementLocator))
 		if (inputs.isEmpty()) return csvSafe(cellText)
 
-		val jsExec = webCommand.jsExecutor
-		val context = webCommand.context
-		val headerImage = context.getStringData(HEADER_IMAGE, getDefault(HEADER_IMAGE))
-		val dataImage = context.getStringData(DATA_IMAGE, getDefault(DATA_IMAGE))
-		val headerInput = context.getStringData(HEADER_INPUT, getDefault(HEADER_INPUT))
-		val dataInput = context.getStringData(DATA_INPUT, getDefault(DATA_INPUT))
+		return resolveDeepScanText(cellText, jsElementMeta(webCommand.jsExecutor, gridDataMeta, inputs[0]), isHeader)
+	}
+
+	private fun resolveDeepScanText(cellText: String,
+	                                metaMap: Map<String, String>,
+	                                isHeader: Boolean,
+	                                configMap: Map<String, String> = emptyMap()): String {
+		// no newline means the cell probably doesn't contain <SELECT> or <TEXTAREA>
+		if (StringUtils.isNotEmpty(cellText) && !StringUtils.contains(cellText, "\n")) return csvSafe(cellText)
 
-		val metaMap = jsElementMeta(jsExec, gridDataMeta, inputs[0])
 		// <SELECT> element will exhibit newline in its text representation. So if we are not dealing with
 		// <SELECT> then `cellText` should be returned as this point
-		if (metaMap.isEmpty() || (StringUtils.isNotEmpty(cellText) && metaMap["tag"] != "select"))
+		if (!metaMap.containsKey("tag") || (StringUtils.isNotEmpty(cellText) && metaMap["tag"] != "select"))
 			return csvSafe(cellText)
 
+		val context = webCommand.context
 		return csvSafe(
 			if (metaMap["tag"] == "img") {
-				extractImageData(metaMap, ImageOptions.valueOf(if (isHeader) headerImage else dataImage))
+				val imageOption = resolveConfig(configMap, context, if (isHeader) HEADER_IMAGE else DATA_IMAGE)
+				extractImageData(metaMap, ImageOptions.valueOf(imageOption))
 			} else {
-				extractInputData(context, metaMap, InputOptions.valueOf(if (isHeader) headerInput else dataInput))
+				val inputOption = resolveConfig(configMap, context, if (isHeader) HEADER_INPUT else DATA_INPUT)
+				extractInputData(context, metaMap, InputOptions.valueOf(inputOption))
 			})
 	}
 
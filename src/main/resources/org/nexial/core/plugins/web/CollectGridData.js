@@ -0,0 +1,85 @@
+// collect the visible text (and optionally the form element metadata) of a grid in one pass.
+// arguments[0]: container (optional); the element where `headerXpaths` and `rowXpaths` are evaluated from
+// arguments[1]: header cells (optional); when empty, the first of `headerXpaths` that yields cells is used instead
+// arguments[2]: rows (optional); when empty, the first of `rowXpaths` that yields rows is used instead
+// arguments[3]: options - headerXpaths, rowXpaths, cellXpath or cellCss, deepScan
+// returns a JSON string: {"headers":[cell, ...], "rows":[[cell, ...], ...]}, where each visible cell is represented
+// as {"text": "..."} plus the metadata of its first form element (tag, type, id, ...) when `deepScan` applies.
+if (!arguments || arguments.length < 4) { return ''; }
+
+var container = arguments[0] || document;
+var headers   = arguments[1] || [];
+var rows      = arguments[2] || [];
+var options   = arguments[3] || {};
+var deepScan  = options.deepScan === true || options.deepScan === 'true';
+
+var cellInputLocator = ".//*[name()='input' or name()='submit' or name()='button' or name()='textarea' or name()='select' or name()='img']";
+
+function isDisplayed(elem) {
+  if (!elem || elem.offsetParent === null) { return false; }
+  if ((elem.offsetWidth || elem.offsetHeight || elem.getClientRects().length) === 0) { return false; }
+  return window.getComputedStyle(elem).visibility === 'visible';
+}
+
+function evaluate(xpath, from) {
+  var found = [];
+  var results = document.evaluate(xpath, from, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+  for (var i = 0; i < results.snapshotLength; i++) { found.push(results.snapshotItem(i)); }
+  return found;
+}
+
+function evaluateFirst(xpaths, from) {
+  if (!xpaths) { return []; }
+  for (var i = 0; i < xpaths.length; i++) {
+    var found = evaluate(xpaths[i], from);
+    if (found.length > 0) { return found; }
+  }
+  return [];
+}
+
+function getSelectedOptions(elem) {
+  if (!elem.selectedOptions || elem.selectedOptions.length < 1) { return ''; }
+  var text = '';
+  for (var i = 0; i < elem.selectedOptions.length; i++) { text += elem.selectedOptions[i].text + '\n'; }
+  return text;
+}
+
+function toCell(elem) {
+  var cell = {text: elem.innerText || ''};
+  // no newline means the cell probably doesn't contain <SELECT> or <TEXTAREA>
+  if (!deepScan || (cell.text !== '' && cell.text.indexOf('\n') === -1)) { return cell; }
+
+  var inputs = evaluate(cellInputLocator, elem);
+  if (inputs.length < 1 || !isDisplayed(inputs[0])) { return cell; }
+
+  var input     = inputs[0];
+  cell.tag      = input.tagName.toLowerCase();
+  cell.type     = input.getAttribute('type') || '';
+  cell.id       = input.getAttribute('id') || '';
+  cell.name     = input.getAttribute('name') || '';
+  cell.value    = input.getAttribute('value') || '';
+  cell.alt      = input.getAttribute('alt') || '';
+  cell.src      = input.getAttribute('src') || '';
+  cell.checked  = input.hasAttribute('checked') ? 'true' : 'false';
+  cell.selected = getSelectedOptions(input);
+  return cell;
+}
+
+function toCells(elems) {
+  var cells = [];
+  for (var i = 0; i < elems.length; i++) { if (isDisplayed(elems[i])) { cells.push(toCell(elems[i])); } }
+  return cells;
+}
+
+function findCells(row) {
+  if (options.cellXpath) { return evaluate(options.cellXpath, row); }
+  if (options.cellCss) { return Array.prototype.slice.call(row.querySelectorAll(options.cellCss)); }
+  return [];
+}
+
+if (headers.length < 1) { headers = evaluateFirst(options.headerXpaths, container); }
+if (rows.length < 1) { rows = evaluateFirst(options.rowXpaths, container); }
+
+var result = {headers: toCells(headers), rows: []};
+for (var i = 0; i < rows.length; i++) { result.rows.push(toCells(findCells(rows[i]))); }
+return JSON.stringify(result);
@@ -26,7 +26,7 @@ var debug            = false;
 // var limit             = -1;
 // var waitBetweenScroll = 600;
 
-collectionResults    = {data: [], rowHashes: [], scannedRowHeights: 0, collected: 0};
+collectionResults    = {data: [], rowHashes: {}, scannedRowHeights: 0, collected: 0};
 totalCollected       = 0;
 collectionInProgress = true;
 
@@ -69,13 +69,13 @@ function collectRows(container, result) {
     var rowHash = hash(row.innerText);
 
     // we've done this one; skip it
-    if (result.rowHashes.includes(rowHash)) {
+    if (result.rowHashes[rowHash] === true) {
       if (debug) { console.log("\t\tfound duplicate at " + row.offsetTop); }
       row = rows.iterateNext();
       continue;
     }
 
-    result.rowHashes.push(rowHash);
+    result.rowHashes[rowHash] = true;
     result.collected++;
     if (debug) { console.log('scanning row ' + (totalCollected + result.collected) + ': ' + row); }
 
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.commons.utils;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jdom2.Attribute;
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.xpath.XPathExpression;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class XmlUtilsTest {
+    private static final String XML1 = "<catalog>" +
+                                       "<book id=\"b1\"><title>Dune</title><price>9.99</price></book>" +
+                                       "<book id=\"b2\"><title>Emma</title><price>4.50</price></book>" +
+                                       "</catalog>";
+    private static final String XML2 = "<catalog>" +
+                                       "<book id=\"b3\"><title>Ulysses</title><price>12.00</price></book>" +
+                                       "</catalog>";
+
+    @Test
+    public void compiledXPathReused() throws Exception {
+        Document doc1 = XmlUtils.parse(XML1);
+        Document doc2 = XmlUtils.parse(XML2);
+
+        // cache hits yield the same result as the first (uncached) lookup, for each document
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals("Dune", XmlUtils.findElement(doc1, "//book/title").getText());
+            Assert.assertEquals("Ulysses", XmlUtils.findElement(doc2, "//book/title").getText());
+            Assert.assertEquals(2, XmlUtils.findElements(doc1, "//book").size());
+            Assert.assertEquals(1, XmlUtils.findElements(doc2, "//book").size());
+            Assert.assertEquals("b2", ((Attribute) XmlUtils.findNode(doc1, "//book[title='Emma']/@id")).getValue());
+            Assert.assertNull(XmlUtils.findNode(doc2, "//book[title='Emma']/@id"));
+
+            List nodes = XmlUtils.findNodes(doc1, "//price/text()");
+            Assert.assertEquals(2, nodes.size());
+            Assert.assertEquals(1, XmlUtils.findNodes(doc2, "//price/text()").size());
+        }
+
+        XPathExpression<Object> compiled = XmlUtils.compile("//book/title");
+        Assert.assertSame(compiled, XmlUtils.compile("//book/title"));
+        XPathExpression<Element> compiledForElements = XmlUtils.compileForElements("//book/title");
+        Assert.assertSame(compiledForElements, XmlUtils.compileForElements("//book/title"));
+        Assert.assertNotSame(compiled, compiledForElements);
+    }
+
+    @Test
+    public void compiledXPathPerThread() throws Exception {
+        XPathExpression<Object> compiled = XmlUtils.compile("//book[@id='b1']");
+        XPathExpression<Object> compiledElsewhere = runInNewThread(() -> XmlUtils.compile("//book[@id='b1']"));
+        Assert.assertNotSame(compiled, compiledElsewhere);
+        Assert.assertSame(compiled, XmlUtils.compile("//book[@id='b1']"));
+    }
+
+    @Test
+    public void compiledXPathEviction() throws Exception {
+        // on a thread of its own so that the cache starts empty
+        runInNewThread(() -> {
+            XPathExpression<Object> compiled = XmlUtils.compile("//book/price");
+            XPathExpression<Object> first = XmlUtils.compile("//book[1]");
+
+            // fill up the cache while keeping `//book/price` in use
+            for (int i = 2; i < XmlUtils.XPATH_CACHE_SIZE; i++) {
+                XmlUtils.compile("//book[" + i + "]");
+                if (i % 100 == 0) { Assert.assertSame(compiled, XmlUtils.compile("//book/price")); }
+            }
+
+            // one more than the cache can hold: least recently used is evicted
+            XmlUtils.compile("//catalog");
+            Assert.assertSame(compiled, XmlUtils.compile("//book/price"));
+            XPathExpression<Object> recompiled = XmlUtils.compile("//book[1]");
+            Assert.assertNotSame(first, recompiled);
+            Assert.assertEquals(first.getExpression(), recompiled.getExpression());
+
+            // `//book/price` is evicted too, once no longer in use
+            for (int i = 0; i < XmlUtils.XPATH_CACHE_SIZE; i++) { XmlUtils.compile("//book[@id='" + i + "']"); }
+            Assert.assertNotSame(compiled, XmlUtils.compile("//book/price"));
+            return null;
+        });
+    }
+
+    private static <T> T runInNewThread(Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            return executor.submit(task).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error) { throw (Error) e.getCause(); }
+            throw e;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
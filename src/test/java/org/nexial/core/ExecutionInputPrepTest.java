@@ -44,6 +44,7 @@ import java.util.Map;
 
 import static java.io.File.separator;
 import static org.nexial.core.NexialConst.Data.SHEET_MERGED_DATA;
+import static org.nexial.core.NexialConst.Data.SHEET_SYSTEM;
 import static org.nexial.core.NexialConst.Project.DEF_DATAFILE_SUFFIX;
 import static org.nexial.core.NexialConst.Project.DEF_REL_LOC_OUTPUT;
 import static org.nexial.core.utils.ExecUtils.createUniqueTempDir;
@@ -215,6 +216,57 @@ public class ExecutionInputPrepTest {
         }
     }
 
+    @Test
+    public void prepWithScriptTemplate() throws Exception {
+        File fileTestScript = new File(getPath(ExecutionInputPrepTest.class.getSimpleName() + "_test1.xlsx"));
+        FileUtils.copyFileToDirectory(fileTestScript, dirScript);
+        String testScript = dirScript.getAbsolutePath() + separator + fileTestScript.getName();
+
+        File fileTestData =
+            new File(getPath(ExecutionInputPrepTest.class.getSimpleName() + "_test1" + DEF_DATAFILE_SUFFIX));
+        FileUtils.copyFileToDirectory(fileTestData, dirData);
+        String testData = dirData.getAbsolutePath() + separator + fileTestData.getName();
+
+        List<String> scenarios = Arrays.asList("scenario1", "scenario2");
+
+        ExecutionDefinition execDef = new ExecutionDefinition();
+        execDef.setTestScript(testScript);
+        execDef.setScenarios(scenarios);
+        execDef.setDataFile(new File(testData));
+        execDef.setDataSheets(scenarios);
+        execDef.setProject(TestProject.newInstance(new File(testScript)));
+        execDef.parse();
+
+        String runId = ExecUtils.createTimestampString(null);
+        File scriptTemplate = ExecutionInputPrep.prepScriptTemplate(runId, execDef);
+        Assert.assertTrue(FileUtil.isFileReadable(scriptTemplate));
+
+        try {
+            for (int iterationIndex = 1; iterationIndex <= 3; iterationIndex++) {
+                Excel targetExcel = ExecutionInputPrep.prep(runId, execDef, iterationIndex, scriptTemplate);
+                File targetOutputFile = targetExcel.getFile();
+                Assert.assertTrue(StringUtils.endsWith(targetOutputFile.getName(), ".00" + iterationIndex + ".xlsx"));
+
+                // only the required worksheets, plus the merged data
+                targetExcel.getWorksheetsStartWith("").forEach(worksheet -> {
+                    String name = worksheet.getName();
+                    Assert.assertTrue(name, scenarios.contains(name) ||
+                                            StringUtils.equals(name, SHEET_SYSTEM) ||
+                                            StringUtils.equals(name, SHEET_MERGED_DATA));
+                });
+
+                Worksheet worksheet = new Excel(targetOutputFile).worksheet(SHEET_MERGED_DATA);
+                Assert.assertNotNull(worksheet);
+                Assert.assertTrue(worksheet.findLastDataRow(new ExcelAddress("A1")) >=
+                                  expectedDataMap.get(iterationIndex).size());
+            }
+        } finally {
+            ExecutionInputPrep.removeScriptTemplate(scriptTemplate);
+        }
+
+        Assert.assertFalse(scriptTemplate.exists());
+    }
+
     public String getPath(String filename) throws FileNotFoundException {
         return ResourceUtils.getFile("classpath:" +
                                      StringUtils.replace(this.getClass().getPackage().getName(), ".", "/") +
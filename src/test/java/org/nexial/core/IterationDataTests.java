@@ -17,10 +17,18 @@
 
 package org.nexial.core;
 
+import java.io.File;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Assert;
 import org.junit.Test;
 import org.nexial.core.model.ExecutionSummary;
 
+import static org.nexial.core.NexialConst.Iteration.ITERATION_PARALLEL;
+
 public class IterationDataTests extends ExcelBasedTests {
     @Test
     public void fallback_true_contiguous_iterations() throws Exception {
@@ -39,6 +47,64 @@ public class IterationDataTests extends ExcelBasedTests {
         Assert.assertEquals(0, executionSummary.getFailCount());
     }
 
+    @Test
+    public void fallback_false_contiguous_iterations_parallel() throws Exception {
+        System.setProperty(ITERATION_PARALLEL, "2");
+        try {
+            ExecutionSummary executionSummary = testViaExcel("unitTest_IterationDataTests.xlsx",
+                                                             "fallback_false_multi_iter");
+            assertNoFail(executionSummary, "fallback_false_multi_iter");
+            Assert.assertEquals(0, executionSummary.getFailCount());
+
+            // iteration summaries are consolidated in iteration order, regardless of completion order
+            List<ExecutionSummary> iterations = executionSummary.getNestedExecutions().get(0).getNestedExecutions();
+            for (int i = 0; i < iterations.size(); i++) {
+                Assert.assertEquals(i + 1, iterations.get(i).getIterationIndex());
+            }
+        } finally {
+            System.clearProperty(ITERATION_PARALLEL);
+        }
+    }
+
+    @Test
+    public void parallel_iterations_output_and_counts() throws Exception {
+        System.setProperty(ITERATION_PARALLEL, "2");
+        try {
+            ExecutionSummary executionSummary = testViaExcel("unitTest_IterationDataTests.xlsx",
+                                                             "fallback_false_multi_iter");
+            assertNoFail(executionSummary, "fallback_false_multi_iter");
+
+            ExecutionSummary script = executionSummary.getNestedExecutions().get(0);
+            List<ExecutionSummary> iterations = script.getNestedExecutions();
+            Assert.assertTrue(iterations.size() > 1);
+
+            // each iteration reports its own output file, even though the iterations are prepped concurrently
+            Set<File> outputs = new HashSet<>();
+            int totalSteps = 0;
+            int passCount = 0;
+            for (ExecutionSummary iteration : iterations) {
+                File output = iteration.getTestScript();
+                Assert.assertNotNull(output);
+                Assert.assertTrue(output.canRead());
+                String iterationRef = "." + StringUtils.leftPad(iteration.getIterationIndex() + "", 3, "0") + ".";
+                Assert.assertTrue(output.getName(), StringUtils.contains(output.getName(), iterationRef));
+                outputs.add(output);
+
+                Assert.assertTrue(iteration.getTotalSteps() > 0);
+                totalSteps += iteration.getTotalSteps();
+                passCount += iteration.getPassCount();
+            }
+            Assert.assertEquals(iterations.size(), outputs.size());
+
+            // step counts of all iterations, regardless of the thread they ran on, are aggregated at script level
+            Assert.assertEquals(totalSteps, script.getTotalSteps());
+            Assert.assertEquals(passCount, script.getPassCount());
+            Assert.assertEquals(totalSteps, executionSummary.getTotalSteps());
+        } finally {
+            System.clearProperty(ITERATION_PARALLEL);
+        }
+    }
+
     @Test
     public void fallback_false_disparate_iterations() throws Exception {
         System.setProperty("Var5", "Still the one");
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.core.model.ExecutionDefinition;
+import org.nexial.core.model.ExecutionSummary;
+import org.nexial.core.model.TestData;
+
+import static org.nexial.core.NexialConst.DEF_CHARSET;
+import static org.nexial.core.NexialConst.Data.*;
+
+public class PlanSchedulerTest {
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    private final Map<String, Map<String, Object>> receivedData = new ConcurrentHashMap<>();
+    private final Map<String, Runnable> actions = new HashMap<>();
+    private File durationCache;
+
+    @Before
+    public void setUp() throws IOException {
+        durationCache = File.createTempFile("nexial-script-durations-", ".json");
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(durationCache);
+        System.clearProperty(PLAN_MAX_CONCURRENCY);
+        System.clearProperty(PLAN_CONCURRENT_SUBPLANS);
+        System.clearProperty(LAST_PLAN_STEP);
+        System.clearProperty(END_SCRIPT_IMMEDIATE);
+    }
+
+    @Test
+    public void chaining() throws Exception {
+        System.setProperty(PLAN_MAX_CONCURRENCY, "4");
+
+        ExecutionSummary summary = new ExecutionSummary();
+        execute(summary,
+                newExecution("A", true),
+                newExecution("B", false),
+                newExecution("C", false),
+                newExecution("D", true),
+                newExecution("E", true));
+
+        Assert.assertEquals(10, events.size());
+        // the steps after a serial step wait for its completion
+        for (String script : Arrays.asList("B", "C", "D")) { assertBefore("end:A", "start:" + script); }
+        assertBefore("end:D", "start:E");
+        Assert.assertEquals(5, summary.getNestedExecutions().size());
+
+        // the post-execution data of a serial step is passed on to the steps it gates
+        Assert.assertEquals(Collections.emptyMap(), receivedData.get("A"));
+        for (String script : Arrays.asList("B", "C", "D")) {
+            Assert.assertEquals(Collections.singletonMap("A", "done"), receivedData.get(script));
+        }
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("A", "done");
+        expected.put("D", "done");
+        Assert.assertEquals(expected, receivedData.get("E"));
+    }
+
+    @Test
+    public void longestFirst() throws Exception {
+        System.setProperty(PLAN_MAX_CONCURRENCY, "1");
+        FileUtils.writeStringToFile(durationCache, "{\"B#Scenario\":10,\"C#Scenario\":30,\"D#Scenario\":20}",
+                                    DEF_CHARSET);
+        // keep A running while the rest of the plan is scheduled
+        actions.put("A", () -> sleep(500));
+
+        execute(new ExecutionSummary(),
+                newExecution("A", true),
+                newExecution("B", false),
+                newExecution("C", false),
+                newExecution("D", false));
+
+        Assert.assertEquals(Arrays.asList("start:A", "end:A",
+                                          "start:C", "end:C",
+                                          "start:D", "end:D",
+                                          "start:B", "end:B"),
+                            events);
+
+        // durations of this run are kept for the next
+        String durations = FileUtils.readFileToString(durationCache, DEF_CHARSET);
+        for (String script : Arrays.asList("A", "B", "C", "D")) {
+            Assert.assertTrue(durations, durations.contains("\"" + script + "#Scenario\""));
+        }
+    }
+
+    @Test
+    public void pruneDurations() throws Exception {
+        long recent = System.currentTimeMillis();
+        long stale = recent - TimeUnit.DAYS.toMillis(60);
+        FileUtils.writeStringToFile(durationCache,
+                                    "{\"B#Scenario\":10," +
+                                    "\"C#Scenario\":{\"duration\":30,\"lastSeen\":" + recent + "}," +
+                                    "\"Z#Scenario\":{\"duration\":20,\"lastSeen\":" + stale + "}}",
+                                    DEF_CHARSET);
+
+        execute(new ExecutionSummary(), newExecution("A", true));
+
+        // scripts not run recently are dropped; the rest are kept, along with the script of this run
+        String durations = FileUtils.readFileToString(durationCache, DEF_CHARSET);
+        for (String script : Arrays.asList("A", "B", "C")) {
+            Assert.assertTrue(durations, durations.contains("\"" + script + "#Scenario\""));
+        }
+        Assert.assertFalse(durations, durations.contains("\"Z#Scenario\""));
+        Assert.assertTrue(durations, durations.contains("\"lastSeen\""));
+    }
+
+    @Test
+    public void lastPlanStep() throws Exception {
+        actions.put("B", () -> System.setProperty(LAST_PLAN_STEP, "true"));
+
+        ExecutionSummary summary = new ExecutionSummary();
+        execute(summary,
+                newExecution("A", true),
+                newExecution("B", true),
+                newExecution("C", true),
+                newExecution("D", false));
+
+        Assert.assertEquals(Arrays.asList("start:A", "end:A", "start:B", "end:B"), events);
+        Assert.assertEquals(2, summary.getNestedExecutions().size());
+    }
+
+    @Test
+    public void endScriptImmediate() throws Exception {
+        actions.put("A", () -> System.setProperty(END_SCRIPT_IMMEDIATE, "true"));
+
+        ExecutionSummary summary = new ExecutionSummary();
+        execute(summary, newExecution("A", true), newExecution("B", false), newExecution("C", true));
+
+        Assert.assertEquals(Arrays.asList("start:A", "end:A"), events);
+        Assert.assertEquals(1, summary.getNestedExecutions().size());
+    }
+
+    private void execute(ExecutionSummary summary, ExecutionDefinition... executions) throws InterruptedException {
+        new PlanScheduler("junit", new ArrayList<>(Arrays.asList(executions)), summary, durationCache, this::run)
+            .execute();
+    }
+
+    /** stands in for an actual script execution: records its start and end, and adds its name to the data */
+    private void run(ExecutionThread launcher) {
+        String script = launcher.getExecDef().getTestScript();
+        events.add("start:" + script);
+
+        ExecutionSummary summary = launcher.getExecutionSummary();
+        summary.setStartTime(System.currentTimeMillis());
+
+        Map<String, Object> data = new HashMap<>(launcher.getIntraExecutionData());
+        receivedData.put(script, new HashMap<>(data));
+        data.put(script, "done");
+        launcher.setIntraExecutionData(data);
+
+        if (actions.containsKey(script)) { actions.get(script).run(); }
+
+        summary.setEndTime(System.currentTimeMillis());
+        events.add("end:" + script);
+    }
+
+    private void assertBefore(String event, String laterEvent) {
+        Assert.assertTrue(events.toString(), events.indexOf(event) < events.indexOf(laterEvent));
+    }
+
+    /** execution without data file */
+    private static ExecutionDefinition newExecution(String script, boolean serial) {
+        ExecutionDefinition exec = new ExecutionDefinition() {
+            @Override
+            public TestData getTestData(boolean fetch) { return null; }
+        };
+        exec.setTestScript(script);
+        exec.setScenarios(Collections.singletonList("Scenario"));
+        exec.setSerialMode(serial);
+        return exec;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.aws;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.core.aws.S3TransferEngine.Transfer;
+
+import com.amazonaws.services.s3.AbstractAmazonS3;
+import com.amazonaws.services.s3.model.*;
+
+public class S3TransferEngineTest {
+    private static final String BUCKET = "bucket";
+    private static final int PART_SIZE = 1000;
+
+    private InMemoryS3 s3;
+    private File localDir;
+
+    /** minimal in-process stand-in for S3, covering the calls made by {@link S3TransferEngine} */
+    private static class InMemoryS3 extends AbstractAmazonS3 {
+        private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+        private final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+        private final AtomicInteger rangedGets = new AtomicInteger();
+        private final AtomicInteger partsUploaded = new AtomicInteger();
+
+        @Override
+        public ObjectMetadata getObjectMetadata(String bucketName, String key) {
+            ObjectMetadata metadata = new ObjectMetadata();
+            metadata.setContentLength(find(key).length);
+            return metadata;
+        }
+
+        @Override
+        public S3Object getObject(GetObjectRequest request) {
+            byte[] content = find(request.getKey());
+            long[] range = request.getRange();
+            if (range != null) {
+                rangedGets.incrementAndGet();
+                content = Arrays.copyOfRange(content, (int) range[0], (int) Math.min(range[1] + 1, content.length));
+            }
+
+            S3Object object = new S3Object();
+            object.setKey(request.getKey());
+            object.setObjectContent(new ByteArrayInputStream(content));
+            return object;
+        }
+
+        @Override
+        public PutObjectResult putObject(PutObjectRequest request) {
+            try {
+                objects.put(request.getKey(), FileUtils.readFileToByteArray(request.getFile()));
+                return new PutObjectResult();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public InitiateMultipartUploadResult initiateMultipartUpload(InitiateMultipartUploadRequest request) {
+            InitiateMultipartUploadResult result = new InitiateMultipartUploadResult();
+            result.setUploadId(request.getKey() + "#" + System.nanoTime());
+            uploads.put(result.getUploadId(), new ConcurrentHashMap<>());
+            return result;
+        }
+
+        @Override
+        public UploadPartResult uploadPart(UploadPartRequest request) {
+            byte[] part = new byte[(int) request.getPartSize()];
+            try (RandomAccessFile file = new RandomAccessFile(request.getFile(), "r")) {
+                file.seek(request.getFileOffset());
+                file.readFully(part);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+
+            uploads.get(request.getUploadId()).put(request.getPartNumber(), part);
+            partsUploaded.incrementAndGet();
+
+            UploadPartResult result = new UploadPartResult();
+            result.setPartNumber(request.getPartNumber());
+            result.setETag("etag" + request.getPartNumber());
+            return result;
+        }
+
+        @Override
+        public CompleteMultipartUploadResult completeMultipartUpload(CompleteMultipartUploadRequest request) {
+            Map<Integer, byte[]> parts = uploads.remove(request.getUploadId());
+            byte[] content = new byte[0];
+            for (PartETag etag : request.getPartETags()) {
+                byte[] part = parts.get(etag.getPartNumber());
+                byte[] joined = Arrays.copyOf(content, content.length + part.length);
+                System.arraycopy(part, 0, joined, content.length, part.length);
+                content = joined;
+            }
+            objects.put(request.getKey(), content);
+            return new CompleteMultipartUploadResult();
+        }
+
+        @Override
+        public void abortMultipartUpload(AbortMultipartUploadRequest request) { uploads.remove(request.getUploadId()); }
+
+        @Override
+        public void deleteObject(String bucketName, String key) { objects.remove(key); }
+
+        private byte[] find(String key) {
+            byte[] content = objects.get(key);
+            if (content == null) { throw new AmazonS3Exception("NoSuchKey: " + key); }
+            return content;
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        s3 = new InMemoryS3();
+        localDir = Files.createTempDirectory("S3TransferEngineTest").toFile();
+    }
+
+    @After
+    public void tearDown() { FileUtils.deleteQuietly(localDir); }
+
+    @Test
+    public void uploadAndDownload() throws Exception {
+        Random random = new Random(42);
+        // sizes around the part size: single GET/PUT, exactly one part, and multiple parts with a short last part
+        int[] sizes = {0, 10, PART_SIZE, PART_SIZE + 1, 5 * PART_SIZE + 123};
+        List<File> sources = new ArrayList<>();
+        for (int i = 0; i < sizes.length; i++) {
+            byte[] content = new byte[sizes[i]];
+            random.nextBytes(content);
+            File file = new File(localDir, "up/file" + i + ".bin");
+            FileUtils.writeByteArrayToFile(file, content);
+            sources.add(file);
+        }
+
+        S3TransferEngine engine = new S3TransferEngine(s3, 3, PART_SIZE);
+        List<Transfer> uploads = engine.upload(BUCKET, sources, file -> "data/" + file.getName(), null);
+
+        Assert.assertEquals(sources.size(), uploads.size());
+        for (int i = 0; i < sources.size(); i++) {
+            Transfer upload = uploads.get(i);
+            Assert.assertTrue(upload.getSource(), upload.isSuccess());
+            Assert.assertEquals(sources.get(i).getPath(), upload.getSource());
+            Assert.assertEquals("data/file" + i + ".bin", upload.getTarget());
+            Assert.assertEquals(sizes[i], upload.getBytes());
+            Assert.assertArrayEquals(FileUtils.readFileToByteArray(sources.get(i)), s3.objects.get(upload.getTarget()));
+        }
+        // only the last 2 files are larger than a part: 2 + 6 parts
+        Assert.assertEquals(8, s3.partsUploaded.get());
+
+        Map<String, File> targets = new LinkedHashMap<>();
+        for (int i = 0; i < sources.size(); i++) {
+            targets.put("data/file" + i + ".bin", new File(localDir, "down/" + i));
+        }
+        List<Transfer> downloads = engine.download(BUCKET, targets, true);
+
+        Assert.assertEquals(targets.size(), downloads.size());
+        for (int i = 0; i < sources.size(); i++) {
+            Transfer download = downloads.get(i);
+            Assert.assertTrue(download.getSource(), download.isSuccess());
+            Assert.assertEquals(sizes[i], download.getBytes());
+            Assert.assertTrue(FileUtils.contentEquals(sources.get(i), new File(localDir, "down/" + i)));
+        }
+        Assert.assertEquals(8, s3.rangedGets.get());
+        // moved
+        Assert.assertTrue(s3.objects.isEmpty());
+    }
+
+    @Test
+    public void downloadFailures() throws Exception {
+        s3.objects.put("a.txt", "first".getBytes());
+        s3.objects.put("b.txt", "second".getBytes());
+
+        // both objects into the same file: downloaded in order, last one wins
+        File same = new File(localDir, "same.txt");
+        Map<String, File> targets = new LinkedHashMap<>();
+        targets.put("a.txt", same);
+        targets.put("missing.txt", new File(localDir, "missing.txt"));
+        targets.put("b.txt", same);
+
+        List<Transfer> downloads = new S3TransferEngine(s3, 4, PART_SIZE).download(BUCKET, targets, false);
+        Assert.assertEquals(Arrays.asList("a.txt", "missing.txt", "b.txt"),
+                            downloads.stream().map(Transfer::getSource).collect(Collectors.toList()));
+        Assert.assertTrue(downloads.get(0).isSuccess());
+        Assert.assertFalse(downloads.get(1).isSuccess());
+        Assert.assertTrue(downloads.get(1).getError().getMessage().contains("NoSuchKey"));
+        Assert.assertFalse(new File(localDir, "missing.txt").exists());
+        Assert.assertTrue(downloads.get(2).isSuccess());
+        Assert.assertEquals("second", FileUtils.readFileToString(same, "UTF-8"));
+        Assert.assertEquals(2, s3.objects.size());
+    }
+}
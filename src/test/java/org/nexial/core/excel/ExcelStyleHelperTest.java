@@ -0,0 +1,46 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.nexial.core.excel;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.nexial.core.excel.ExcelConfig.MAX_CELL_WIDTH;
+
+public class ExcelStyleHelperTest {
+    @Test
+    public void fitColumnWidths() throws Exception {
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            XSSFSheet sheet = workbook.createSheet("test");
+            sheet.createRow(0).createCell(0).setCellValue("header is ignored because it is long");
+            sheet.createRow(1).createCell(0).setCellValue("12345");
+            sheet.createRow(3).createCell(0).setCellValue("123\n1234567\n12");
+            sheet.getRow(1).createCell(1).setCellValue(StringUtils.repeat('x', 1000));
+            int untouched = sheet.getColumnWidth(2);
+
+            ExcelStyleHelper.fitColumnWidths(sheet, 1, new int[]{0, 1, 2}, new int[]{100, 100, 100});
+
+            // longest line is 7 characters, plus 1 for padding
+            Assert.assertEquals(800, sheet.getColumnWidth(0));
+            Assert.assertEquals(MAX_CELL_WIDTH, sheet.getColumnWidth(1));
+            Assert.assertEquals(untouched, sheet.getColumnWidth(2));
+        }
+    }
+}
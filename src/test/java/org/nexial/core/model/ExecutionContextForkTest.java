@@ -0,0 +1,138 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.model;
+
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.core.ExecutionThread;
+import org.nexial.core.plugins.NexialCommand;
+
+import static org.junit.Assert.*;
+
+public class ExecutionContextForkTest {
+    private MockExecutionContext context;
+
+    @Before
+    public void setUp() {
+        context = new MockExecutionContext(true);
+        ExecutionDefinition execDef = new ExecutionDefinition();
+        execDef.setRunId(context.getRunId());
+        context.execDef = execDef;
+    }
+
+    @After
+    public void tearDown() {
+        if (context != null) {
+            context.cleanProject();
+            context.springContext.close();
+        }
+        ExecutionThread.unset();
+    }
+
+    @Test
+    public void fork_shares_spring_context_but_not_plugins() {
+        context.setData("fork.test", "parent");
+
+        ExecutionContext fork1 = context.fork();
+        ExecutionContext fork2 = context.fork();
+        try {
+            assertSame(context.springContext, fork1.springContext);
+            assertSame(context.springContext, fork2.springContext);
+
+            Map<String, NexialCommand> shared = context.springContext.getBean("plugins", Map.class);
+            Map<String, NexialCommand> plugins1 = fork1.plugins.plugins;
+            Map<String, NexialCommand> plugins2 = fork2.plugins.plugins;
+            assertEquals(shared.keySet(), plugins1.keySet());
+            assertEquals(shared.keySet(), plugins2.keySet());
+
+            // same plugins, configured the same way, but separate instances for each fork
+            NexialCommand base = shared.get("base");
+            assertSame(base.getClass(), plugins1.get("base").getClass());
+            assertNotSame(base, plugins1.get("base"));
+            assertNotSame(plugins1.get("base"), plugins2.get("base"));
+            assertNotSame(plugins1.get("ws"), plugins2.get("ws"));
+
+            // data is copied, not shared
+            assertEquals("parent", fork1.getStringData("fork.test"));
+            fork1.setData("fork.test", "fork1");
+            assertEquals("parent", context.getStringData("fork.test"));
+            assertEquals("parent", fork2.getStringData("fork.test"));
+        } finally {
+            fork1.dispose();
+            fork2.dispose();
+        }
+
+        // the shared spring context outlives the forks
+        assertTrue(context.springContext.isActive());
+        assertNotNull(context.springContext.getBean("plugins", Map.class));
+    }
+
+    @Test
+    public void addScriptCounts() {
+        ExecutionContext fork1 = context.fork();
+        ExecutionContext fork2 = context.fork();
+        try {
+            fork1.scriptStepCount = 5;
+            fork1.scriptPassCount = 4;
+            fork1.scriptFailCount = 1;
+            fork2.scriptStepCount = 3;
+            fork2.scriptPassCount = 2;
+            fork2.scriptWarnCount = 1;
+
+            context.addScriptCounts(fork1);
+            context.addScriptCounts(fork2);
+            context.addScriptCounts(null);
+
+            assertEquals(8, context.getScriptStepCount());
+            assertEquals(6, context.getScriptPassCount());
+            assertEquals(1, context.getScriptFailCount());
+            assertEquals(1, context.getScriptWarnCount());
+        } finally {
+            fork1.dispose();
+            fork2.dispose();
+        }
+    }
+
+    @Test
+    public void fork_has_own_event_listener() {
+        ExecutionEventListener listener = new ExecutionEventListener();
+        listener.setContext(context);
+        listener.setMailIncludeMeta(true);
+        context.executionEventListener = listener;
+
+        ExecutionContext fork1 = context.fork();
+        ExecutionContext fork2 = context.fork();
+        try {
+            ExecutionEventListener listener1 = fork1.getExecutionEventListener();
+            ExecutionEventListener listener2 = fork2.getExecutionEventListener();
+            assertNotSame(listener, listener1);
+            assertNotSame(listener1, listener2);
+            assertSame(fork1, listener1.getContext());
+            assertSame(fork2, listener2.getContext());
+            assertSame(context, listener.getContext());
+            assertTrue(listener1.getMailIncludeMeta());
+            assertFalse(listener1.getSmsIncludeMeta());
+        } finally {
+            fork1.dispose();
+            fork2.dispose();
+        }
+    }
+}
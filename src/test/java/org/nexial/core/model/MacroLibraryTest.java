@@ -0,0 +1,152 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.model;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFFont;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.core.excel.Excel;
+import org.nexial.core.excel.Excel.Worksheet;
+import org.nexial.core.excel.ExcelAddress;
+import org.nexial.core.model.MacroLibrary.MacroRow;
+
+import static java.io.File.separator;
+import static org.apache.commons.lang3.SystemUtils.JAVA_IO_TMPDIR;
+import static org.nexial.core.excel.ExcelConfig.*;
+
+public class MacroLibraryTest {
+    private final File macroFile = new File(JAVA_IO_TMPDIR + separator + "MacroLibraryTest.xlsx");
+
+    @Before
+    public void setUp() { MacroLibrary.clear(); }
+
+    @After
+    public void tearDown() {
+        MacroLibrary.clear();
+        FileUtils.deleteQuietly(macroFile);
+    }
+
+    @Test
+    public void indexMacros() throws Exception {
+        writeMacros("macro1", "macro2");
+
+        MacroLibrary library = MacroLibrary.of(macroFile, "macros");
+        Assert.assertEquals(2, library.size());
+
+        List<MacroRow> steps = library.getSteps("macro1");
+        Assert.assertEquals(3, steps.size());
+        Assert.assertEquals(1, steps.get(0).getRowIndex());
+        Assert.assertEquals("macro1", steps.get(0).getValue(COL_IDX_TESTCASE));
+        Assert.assertEquals("base", steps.get(0).getValue(COL_IDX_TARGET));
+        Assert.assertEquals("step 3", steps.get(2).getValue(COL_IDX_DESCRIPTION));
+        Assert.assertFalse(steps.get(2).isDisabled());
+
+        steps = library.getSteps("macro2");
+        Assert.assertEquals(2, steps.size());
+        Assert.assertEquals(4, steps.get(0).getRowIndex());
+        Assert.assertTrue(steps.get(1).isDisabled());
+
+        Assert.assertTrue(library.getSteps("macro3").isEmpty());
+        Assert.assertFalse(library.hasMacro("macro3"));
+    }
+
+    @Test
+    public void reloadChangedMacros() throws Exception {
+        writeMacros("macro1", "macro2");
+        MacroLibrary library = MacroLibrary.of(macroFile, "macros");
+        Assert.assertSame(library, MacroLibrary.of(macroFile, "macros"));
+
+        // same file, possibly same last modified time
+        writeMacros("macro1", "macro9");
+        MacroLibrary reloaded = MacroLibrary.of(macroFile, "macros");
+        Assert.assertNotSame(library, reloaded);
+        Assert.assertTrue(reloaded.hasMacro("macro9"));
+        Assert.assertFalse(reloaded.hasMacro("macro2"));
+    }
+
+    @Test
+    public void copySteps() throws Exception {
+        writeMacros("macro1", "macro2");
+        MacroLibrary library = MacroLibrary.of(macroFile, "macros");
+
+        Excel copy = library.copySteps(macroFile, "macro2");
+        Excel another = library.copySteps(macroFile, "macro2");
+        try {
+            Assert.assertSame(macroFile, copy.getFile());
+            Assert.assertNotSame(copy.getWorkbook(), another.getWorkbook());
+
+            // steps at the same rows as the macro sheet, preceded by blank rows
+            Worksheet sheet = copy.worksheet("macros");
+            Assert.assertNotNull(sheet);
+            List<List<XSSFCell>> area = sheet.cells(new ExcelAddress("A1:" + COL_REASON + "6"));
+            Assert.assertEquals(6, area.size());
+            Assert.assertEquals("", Excel.getCellValue(area.get(1).get(COL_IDX_TESTCASE)));
+            Assert.assertEquals("macro2", Excel.getCellValue(area.get(4).get(COL_IDX_TESTCASE)));
+            Assert.assertEquals("assertEqual(num1,num2)", Excel.getCellValue(area.get(4).get(COL_IDX_COMMAND)));
+            Assert.assertEquals("skipped", Excel.getCellValue(area.get(5).get(COL_IDX_PARAMS_START)));
+            Assert.assertTrue(area.get(5).get(COL_IDX_COMMAND).getCellStyle().getFont().getStrikeout());
+
+            // step results recorded by one invocation do not affect the others
+            area.get(4).get(COL_IDX_RESULT).setCellValue("PASS");
+            XSSFRow anotherRow = another.worksheet("macros").getSheet().getRow(4);
+            Assert.assertEquals("", Excel.getCellValue(anotherRow.getCell(COL_IDX_RESULT)));
+        } finally {
+            copy.close();
+            another.close();
+        }
+    }
+
+    private void writeMacros(String macro1, String macro2) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            XSSFSheet sheet = workbook.createSheet("macros");
+            writeRow(sheet, 0, "macro", "description", "cmd type", "command");
+            writeRow(sheet, 1, macro1, "step 1", "base", "verbose(text)", "hello");
+            writeRow(sheet, 2, "", "step 2", "base", "verbose(text)", "world");
+            writeRow(sheet, 3, "", "step 3", "base", "save(var,value)", "a", "b");
+            writeRow(sheet, 4, macro2, "step 1", "number", "assertEqual(num1,num2)", "1", "1");
+            XSSFRow disabled = writeRow(sheet, 5, "", "step 2", "base", "verbose(text)", "skipped");
+
+            XSSFFont strikeOut = workbook.createFont();
+            strikeOut.setStrikeout(true);
+            XSSFCellStyle style = workbook.createCellStyle();
+            style.setFont(strikeOut);
+            disabled.getCell(COL_IDX_COMMAND).setCellStyle(style);
+
+            try (FileOutputStream out = new FileOutputStream(macroFile)) { workbook.write(out); }
+        }
+    }
+
+    private static XSSFRow writeRow(XSSFSheet sheet, int rowIndex, String... values) {
+        XSSFRow row = sheet.createRow(rowIndex);
+        for (int i = 0; i < values.length; i++) { row.createCell(i).setCellValue(values[i]); }
+        return row;
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.model;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.nexial.commons.utils.RegexUtils;
+import org.nexial.commons.utils.TextUtils;
+import org.nexial.core.excel.ext.CellTextReader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static org.nexial.commons.utils.EnvUtils.enforceUnixEOL;
+import static org.nexial.core.NexialConst.*;
+import static org.nexial.core.NexialConst.Data.*;
+import static org.nexial.core.SystemVariables.getDefaultBool;
+import static org.nexial.core.excel.ext.CipherHelper.CRYPT_IND;
+
+/**
+ * compare {@link ExecutionContext#replaceTokens(String)} with a warm template cache (compiled), with a cold one
+ * (uncompiled; every call parses the cell text into a new template) and the replacement as it was prior to
+ * {@link TokenTemplate} (legacy; the baseline).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TokenReplacementBenchmark {
+    private static final List<Class> SIMPLE_VALUES = Arrays.asList(Boolean.class, Byte.class, Short.class,
+                                                                   Character.class, Integer.class, Long.class,
+                                                                   Float.class, Double.class, String.class);
+    private static final String ESCAPED_TOKEN_START = "\\$\\{";
+    private static final String ESCAPED_TOKEN_END = "\\}";
+
+    private MockExecutionContext context;
+
+    @Param({"https://www.example.com/api/v2/orders",
+            "${base.url}/api/v2/orders/${order.id}?status=${status}",
+            "${fruits}[1] and ${fruits}[${index}] from ${name}",
+            "[TEXT(${name}) => upper distinct]"})
+    public String text;
+
+    @Setup
+    public void setup() {
+        context = new MockExecutionContext();
+        context.setData("base.url", "https://www.example.com");
+        context.setData("order.id", "A-12345");
+        context.setData("status", "OPEN");
+        context.setData("fruits", "apple,banana,cherry");
+        context.setData("index", "2");
+        context.setData("name", "Johnny");
+        TokenTemplate.clearCache();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (context != null) { context.cleanProject(); }
+        TokenTemplate.clearCache();
+    }
+
+    @Benchmark
+    public String compiled() { return context.replaceTokens(text); }
+
+    @Benchmark
+    public String uncompiled() {
+        TokenTemplate.clearCache();
+        return context.replaceTokens(text);
+    }
+
+    @Benchmark
+    public String legacy() { return legacyReplaceTokens(text, false); }
+
+    /** copy of {@link ExecutionContext#replaceTokens(String, boolean)} as it was prior to {@link TokenTemplate} */
+    private String legacyReplaceTokens(String text, boolean retainCrypt) {
+        if (StringUtils.isBlank(text)) { return text; }
+        if (StringUtils.equals(text, context.getNullValueToken())) { return null; }
+
+        text = treatCommonValueShorthand(text);
+        if (text == null) { return null; }
+
+        // pre-first pass  ;-)
+        // substitute crypt value
+        if (!retainCrypt) { text = context.handleCryptValue(text); }
+
+        // first pass: cycle through the dyn var
+        text = context.handleFunction(text);
+
+        // second pass: simple value ONLY
+        Map<String, Object> collectionValues = new HashMap<>();
+        Map<String, Object> complexValues = new HashMap<>();
+        Set<String> tokens = ExecutionContext.findTokens(text);
+
+        List<String> ignoredVars =
+            TextUtils.toList(context.getRawStringData(OPT_VAR_EXCLUDE_LIST), context.getTextDelim(), false);
+        if (CollectionUtils.isNotEmpty(ignoredVars)) { ignoredVars.forEach(tokens::remove); }
+
+        boolean allTokenResolvedToNull = CollectionUtils.isNotEmpty(tokens);
+        boolean unresolvedAsIs = getDefaultBool(OPT_VAR_DEFAULT_AS_IS);
+        if (context.hasData(OPT_VAR_DEFAULT_AS_IS)) {
+            Object config = context.getObjectData(OPT_VAR_DEFAULT_AS_IS);
+            if (config != null) { unresolvedAsIs = BooleanUtils.toBoolean(config.toString()); }
+        }
+
+        for (String token : tokens) {
+            Object value = context.getObjectData(token);
+            String tokenized = TOKEN_START + token + TOKEN_END;
+
+            // special conditions: null or (null)
+            if (value == null || value.equals(NULL)) {
+                // if data contains a key (token) with value `null`, then we should just return null as is.
+                if (context.data.containsKey(token)) {
+                    // if this is the only token, then we are done
+                    if (tokens.size() == 1 && StringUtils.equals(text, tokenized)) { return null; }
+
+                    // if not, replace token with "" and continue.  Doesn't make sense to replace token with `null`
+                    text = StringUtils.replace(text, tokenized, "");
+                } else {
+                    // otherwise, this token is not defined in context nor system prop.
+                    // so we'll replace it with empty string
+                    if (tokens.size() == 1 && StringUtils.equals(text, tokenized)) {
+                        return unresolvedAsIs ? text : "";
+                    }
+                    if (!unresolvedAsIs) { text = StringUtils.replace(text, tokenized, ""); }
+                }
+
+                // NO LONGER APPLIES!! SEE CODE ABOVE
+                // otherwise, we skip this token (meaning no value was assigned to this token).  Most likely this
+                // token will not be replaced and remains intact.
+                continue;
+            }
+
+            allTokenResolvedToNull = false;
+
+            if (value.equals(NULL)) {
+                text = StringUtils.replace(text, tokenized, "");
+                continue;
+            }
+
+            if (NON_PRINTABLE_REPLACEMENTS.containsKey(value.toString())) {
+                text = StringUtils.replace(text, tokenized, NON_PRINTABLE_REPLACEMENTS.get(value.toString()));
+                continue;
+            }
+
+            Class valueType = value.getClass();
+            if (valueType.isPrimitive() || SIMPLE_VALUES.contains(valueType)) {
+
+                String stringValue = StringUtils.defaultString(context.getStringData(token));
+                // if we need to conceal crypt and this token resolves from a crypt value,
+                // then we'll revert to its crypt form
+                // stringValue = CellTextReader.readValue(stringValue);
+                if (retainCrypt && CellTextReader.isCrypt(stringValue)) { stringValue = tokenized; }
+
+                // it's possible that we might get a reference to an item of a string-based array (like "a,b,c,d")
+                // check to see if there's any reference to the ${var}[index] pattern
+                if (context.isListCompatible(stringValue)) {
+                    String regexIndexRef = ESCAPED_TOKEN_START + token + ESCAPED_TOKEN_END + "\\[.+?\\]";
+                    boolean hasIndexRef = RegexUtils.match(text, regexIndexRef, true);
+
+                    // if there's substitution for ${...}[#] and the `value` can be treated as list
+                    if (hasIndexRef) {
+                        String beforeIndex = TOKEN_START + token + TOKEN_END + TOKEN_ARRAY_START;
+                        String afterIndex = TOKEN_ARRAY_END;
+
+                        String[] array = StringUtils.splitPreserveAllTokens(stringValue, context.getTextDelim());
+
+                        List<String> indexRefs = RegexUtils.eagerCollectGroups(text, regexIndexRef, false, true);
+                        for (String indexRef : indexRefs) {
+                            String indexStr = StringUtils.substringBetween(indexRef, beforeIndex, afterIndex);
+                            String indexStr2;
+
+                            // in-place replacement for possible index value
+                            if (TextUtils.isBetween(indexStr, TOKEN_START, TOKEN_END)) {
+                                indexStr2 = legacyReplaceTokens(indexStr, false);
+                            } else {
+                                indexStr2 = indexStr;
+                            }
+
+                            if (!NumberUtils.isDigits(indexStr2)) { continue; }
+
+                            int index = NumberUtils.toInt(indexStr2);
+                            String itemValue;
+                            if (ArrayUtils.isArrayIndexValid(array, index)) {
+                                itemValue = array[index];
+                            } else {
+                                if (unresolvedAsIs) { continue; }
+                                itemValue = "";
+                            }
+                            text = StringUtils.replace(text, beforeIndex + indexStr + afterIndex, itemValue);
+                        }
+                    }
+
+                } else {
+                    // then only ${var}[0] would make sense; single value is the same as the first item
+                    String firstIndexRef = "${" + token + "}[0]";
+                    text = StringUtils.replace(text, firstIndexRef, stringValue);
+                }
+
+                // finally, replace token after all index ref's are handled
+                text = StringUtils.replace(text, tokenized, stringValue);
+            } else if (Collection.class.isAssignableFrom(valueType) || valueType.isArray()) {
+                collectionValues.put(token, value);
+            } else {
+                complexValues.put(token, value);
+            }
+        }
+
+        if (CollectionUtils.isNotEmpty(tokens) && allTokenResolvedToNull) {
+            // we'll return null ONLY if:
+            // at least one token was parsed out of `text`
+            // all parsed tokens resolved to null
+            // `text` contains ONLY tokens
+            String tmp = text;
+            for (String token : tokens) { tmp = StringUtils.remove(tmp, TOKEN_START + token + TOKEN_END); }
+
+            // `tmp` == null means all its content were tokens
+            if (tmp == null) { return null; }
+        }
+
+        // third pass: collection and array ONLY
+        if (MapUtils.isNotEmpty(collectionValues)) {
+            text = context.replaceCollectionTokens(text, collectionValues, complexValues);
+        }
+
+        // fourth pass: map and complex object type
+        if (MapUtils.isNotEmpty(complexValues)) { text = context.replaceComplexTokens(text, complexValues); }
+
+        // fifth pass: nexial expression
+        text = context.handleExpression(text);
+
+        // sixth pass: crypt
+        if (StringUtils.startsWith(text, CRYPT_IND) && !retainCrypt) { text = CellTextReader.getText(text); }
+
+        return enforceUnixEOL(text);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TokenReplacementBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.model;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TokenTemplateTest {
+    private MockExecutionContext context;
+
+    @Before
+    public void init() {
+        TokenTemplate.clearCache();
+        context = new MockExecutionContext();
+    }
+
+    @After
+    public void tearDown() {
+        if (context != null) { context.cleanProject(); }
+        TokenTemplate.clearCache();
+    }
+
+    @Test
+    public void parse() {
+        TokenTemplate template = TokenTemplate.parse("Hello World");
+        Assert.assertTrue(template.isLiteral());
+        Assert.assertFalse(template.hasTokens());
+
+        template = TokenTemplate.parse("Hello ${name}, ${greeting} ${name}[1]");
+        Assert.assertFalse(template.isLiteral());
+        Assert.assertFalse(template.hasFunction());
+        Assert.assertFalse(template.hasCrypt());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("name", "greeting")), template.newTokenSet());
+        Assert.assertTrue(template.indexRefPattern("name").matcher(template.getText()).find());
+        Assert.assertFalse(template.indexRefPattern("greeting").matcher(template.getText()).find());
+
+        template = TokenTemplate.parse("$(sysdate|now|yyyy)");
+        Assert.assertFalse(template.isLiteral());
+        Assert.assertTrue(template.hasFunction());
+
+        template = TokenTemplate.parse("[TEXT(abc) => upper]");
+        Assert.assertFalse(template.isLiteral());
+        Assert.assertFalse(template.hasTokens());
+
+        template = TokenTemplate.parse("crypt:1234abcd");
+        Assert.assertFalse(template.isLiteral());
+        Assert.assertTrue(template.hasCrypt());
+    }
+
+    @Test
+    public void newTokenSet_isolated() {
+        TokenTemplate template = TokenTemplate.compile("${a} and ${b}");
+        template.newTokenSet().remove("a");
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a", "b")), template.newTokenSet());
+    }
+
+    @Test
+    public void compile_cached() {
+        TokenTemplate template = TokenTemplate.compile("Hello ${name}");
+        Assert.assertSame(template, TokenTemplate.compile("Hello ${name}"));
+        Assert.assertNotSame(template, TokenTemplate.parse("Hello ${name}"));
+        Assert.assertEquals(1, TokenTemplate.cacheSize());
+    }
+
+    @Test
+    public void replaceTokens_withCompiledTemplate() {
+        context.setData("name", "Johnny");
+        context.setData("fruits", "apple,banana,cherry");
+        context.setData("index", "2");
+
+        String text = "Hi ${name}, have a ${fruits}[1] or a ${fruits}[${index}]";
+        Assert.assertEquals("Hi Johnny, have a banana or a cherry", context.replaceTokens(text));
+
+        // same template, new data
+        context.setData("name", "Samuel");
+        context.setData("index", "0");
+        Assert.assertEquals("Hi Samuel, have a banana or a apple", context.replaceTokens(text));
+
+        Assert.assertEquals("no tokens here", context.replaceTokens("no tokens here"));
+        Assert.assertEquals("a\nb", context.replaceTokens("a\r\nb"));
+    }
+
+    @Test
+    public void replaceTokens_ignoredVars() {
+        context.setData("name", "Johnny");
+        context.setData("nexial.var.ignored", "name");
+        Assert.assertEquals("Hello ${name}", context.replaceTokens("Hello ${name}"));
+
+        context.setData("nexial.var.ignored", "other");
+        Assert.assertEquals("Hello Johnny", context.replaceTokens("Hello ${name}"));
+    }
+}
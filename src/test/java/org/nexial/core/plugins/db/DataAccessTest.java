@@ -0,0 +1,196 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.db;
+
+import java.io.File;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.core.ExecutionThread;
+import org.nexial.core.model.MockExecutionContext;
+
+import static org.nexial.core.NexialConst.Rdbms.*;
+
+public class DataAccessTest {
+    private PoolTestContext context;
+    private DataAccess dataAccess;
+    private File dbFile;
+    private String url;
+
+    /** exposes the warm-up of the connection pools, as done at the start of each iteration */
+    private static class PoolTestContext extends MockExecutionContext {
+        void warmUpPools() { warmUpConnectionPools(); }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        DataAccess.closePools();
+
+        dbFile = File.createTempFile("nexial-pool-", ".db");
+        url = "jdbc:sqlite:" + dbFile.getAbsolutePath();
+
+        Map<String, String> dbTypes = new HashMap<>();
+        dbTypes.put("sqlite", "org.sqlite.JDBC");
+        dataAccess = new DataAccess();
+        dataAccess.setDbTypes(dbTypes);
+
+        context = new PoolTestContext();
+        RdbmsCommand rdbms = new RdbmsCommand();
+        rdbms.setDataAccess(dataAccess);
+        context.addPlugin("rdbms", rdbms);
+
+        defineDb("db1");
+        defineDb("db2");
+    }
+
+    @After
+    public void tearDown() {
+        DataAccess.closePools();
+        if (context != null) { context.cleanProject(); }
+        ExecutionThread.unset();
+        FileUtils.deleteQuietly(dbFile);
+    }
+
+    @Test
+    public void sameProfileSharesPool() {
+        DataSource pool = dataAccess.resolveDao("db1").getDataSource();
+        Assert.assertTrue(pool instanceof PooledDataSource);
+        Assert.assertEquals("db1", ((PooledDataSource) pool).getProfile());
+
+        Assert.assertSame(pool, dataAccess.resolveDao("db1").getDataSource());
+        // same database, credential and settings, even under another name
+        Assert.assertSame(pool, dataAccess.resolveDao("db2").getDataSource());
+        Assert.assertEquals(1, DataAccess.gatherPoolStatistics().size());
+    }
+
+    @Test
+    public void differentSettingsUseSeparatePools() {
+        DataSource pool = dataAccess.resolveDao("db1").getDataSource();
+
+        context.setData("db2" + OPT_DB_USER, "someone");
+        context.setData("db2" + OPT_DB_PASSWORD, "secret");
+        DataSource withCredential = dataAccess.resolveDao("db2").getDataSource();
+        Assert.assertNotSame(pool, withCredential);
+
+        context.setData("db2" + OPT_DB_PASSWORD, "another secret");
+        DataSource withOtherPassword = dataAccess.resolveDao("db2").getDataSource();
+        Assert.assertNotSame(withCredential, withOtherPassword);
+        Assert.assertNotSame(pool, withOtherPassword);
+
+        defineDb("db3");
+        context.setData("db3" + OPT_DB_AUTOCOMMIT, "false");
+        DataSource transacted = dataAccess.resolveDao("db3").getDataSource();
+        Assert.assertNotSame(pool, transacted);
+        Assert.assertFalse(((PooledDataSource) transacted).getDefaultAutoCommit());
+        Assert.assertTrue(((PooledDataSource) pool).getDefaultAutoCommit());
+
+        Assert.assertEquals(4, DataAccess.gatherPoolStatistics().size());
+    }
+
+    @Test
+    public void closePool() throws Exception {
+        PooledDataSource pool = (PooledDataSource) dataAccess.resolveDao("db1").getDataSource();
+        try (Connection connection = pool.getConnection()) { Assert.assertFalse(connection.isClosed()); }
+
+        DataAccess.closePool(pool);
+        Assert.assertTrue(pool.isClosed());
+        Assert.assertTrue(DataAccess.gatherPoolStatistics().isEmpty());
+
+        // reopened upon next use
+        DataSource reopened = dataAccess.resolveDao("db1").getDataSource();
+        Assert.assertNotSame(pool, reopened);
+        Assert.assertFalse(((PooledDataSource) reopened).isClosed());
+
+        // not a pool; nothing to close
+        DataAccess.closePool(null);
+        Assert.assertEquals(1, DataAccess.gatherPoolStatistics().size());
+    }
+
+    @Test
+    public void closePools() {
+        PooledDataSource pool1 = (PooledDataSource) dataAccess.resolveDao("db1").getDataSource();
+        context.setData("db2" + OPT_DB_AUTOCOMMIT, "false");
+        PooledDataSource pool2 = (PooledDataSource) dataAccess.resolveDao("db2").getDataSource();
+        Assert.assertEquals(2, DataAccess.gatherPoolStatistics().size());
+
+        DataAccess.closePools();
+        Assert.assertTrue(pool1.isClosed());
+        Assert.assertTrue(pool2.isClosed());
+        Assert.assertTrue(DataAccess.gatherPoolStatistics().isEmpty());
+    }
+
+    @Test
+    public void statistics() throws Exception {
+        PooledDataSource pool = (PooledDataSource) dataAccess.resolveDao("db1").getDataSource();
+        try (Connection ignored = pool.getConnection()) {
+            Assert.assertEquals(1, pool.getNumActive());
+        }
+        try (Connection ignored = pool.getConnection()) {
+            Assert.assertEquals(1, pool.getNumActive());
+        }
+
+        Assert.assertEquals(2, pool.getBorrowCount());
+        Assert.assertTrue(pool.getMaxBorrowMs() >= pool.getAverageBorrowMs());
+        Assert.assertTrue(pool.toString(), pool.toString().startsWith("active 0, idle 1, 2 borrow(s) at "));
+
+        // pools of the same profile name are told apart
+        context.setData("db1" + OPT_DB_AUTOCOMMIT, "false");
+        PooledDataSource transacted = (PooledDataSource) dataAccess.resolveDao("db1").getDataSource();
+        Assert.assertNotSame(pool, transacted);
+
+        Map<String, String> stats = DataAccess.gatherPoolStatistics();
+        Assert.assertEquals(Arrays.asList("db1", "db1 #2"), new ArrayList<>(stats.keySet()));
+        Assert.assertTrue(stats.containsValue(pool.toString()));
+        Assert.assertTrue(stats.containsValue(transacted.toString()));
+        Assert.assertTrue(transacted.toString().startsWith("active 0, idle 0, 0 borrow(s) at "));
+    }
+
+    @Test
+    public void warmUpConnectionPools() {
+        // not configured to warm up
+        context.warmUpPools();
+        Assert.assertTrue(DataAccess.gatherPoolStatistics().isEmpty());
+
+        context.setData("db1" + OPT_POOL_WARM_UP, "true");
+        context.setData("db1" + OPT_POOL_MIN_IDLE, "2");
+        context.warmUpPools();
+
+        Map<String, String> stats = DataAccess.gatherPoolStatistics();
+        Assert.assertEquals(1, stats.size());
+        PooledDataSource pool = (PooledDataSource) dataAccess.resolveDao("db1").getDataSource();
+        Assert.assertEquals(2, pool.getNumIdle());
+        // opened ahead, not borrowed
+        Assert.assertEquals(0, pool.getBorrowCount());
+    }
+
+    private void defineDb(String db) {
+        context.setData(db + OPT_DB_TYPE, "sqlite");
+        context.setData(db + OPT_DB_URL, url);
+        context.setData(db + OPT_DB_AUTOCOMMIT, "true");
+    }
+}
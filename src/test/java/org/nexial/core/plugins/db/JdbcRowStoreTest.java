@@ -0,0 +1,147 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.db;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.nexial.core.ExecutionThread;
+import org.nexial.core.model.MockExecutionContext;
+
+public class JdbcRowStoreTest {
+    @Test
+    public void appendAndRead() throws Exception {
+        JdbcRowStore store = new JdbcRowStore(Arrays.asList("id", "name", "photo"));
+        for (int i = 0; i < 5000; i++) {
+            store.append(new Object[]{i + "", i % 3 == 0 ? null : "name ☃ " + i, new byte[]{(byte) i, 1, 2}});
+        }
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", "5000");
+        row.put("name", "");
+        row.put("photo", null);
+        store.append(row);
+
+        Assert.assertEquals(5001, store.size());
+        Assert.assertEquals(Arrays.asList("id", "name", "photo"), Arrays.asList(store.get(0).keySet().toArray()));
+
+        Map<String, Object> row7 = store.get(7);
+        Assert.assertEquals("7", row7.get("id"));
+        Assert.assertEquals("name ☃ 7", row7.get("name"));
+        Assert.assertArrayEquals(new byte[]{7, 1, 2}, (byte[]) row7.get("photo"));
+
+        Assert.assertNull(store.get(3).get("name"));
+        Assert.assertEquals(row, store.get(5000));
+
+        int count = 0;
+        for (Map<String, Object> one : store) { Assert.assertEquals(count++ + "", one.get("id")); }
+        Assert.assertEquals(5001, count);
+
+        JdbcResult result = new JdbcResult("SELECT id, name, photo FROM junk");
+        result.setData(store);
+        Assert.assertEquals(5001, result.getRowCount());
+        List<Object> names = result.cells("name");
+        Assert.assertEquals("name ☃ 4999", names.get(4999));
+    }
+
+    @Test
+    public void close() throws Exception {
+        JdbcRowStore store = new JdbcRowStore(Arrays.asList("id", "name"));
+        store.append(new Object[]{"1", "one"});
+        store.append(new Object[]{"2", "two"});
+
+        // reading opens the channel to the underlying file
+        Assert.assertEquals("two", store.get(1).get("name"));
+        File file = store.getFile();
+        Assert.assertTrue(file.exists());
+
+        store.close();
+        Assert.assertFalse(file.exists());
+        Assert.assertEquals(2, store.size());
+        try {
+            store.get(0);
+            Assert.fail("expected rows to be unavailable after close");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        // closing again is harmless
+        store.close();
+    }
+
+    @Test
+    public void releasedAtExecutionEnd() throws Exception {
+        MockExecutionContext context = new MockExecutionContext();
+        try {
+            JdbcRowStore read = new JdbcRowStore(Arrays.asList("id"));
+            read.append(new Object[]{"1"});
+            Assert.assertEquals("1", read.get(0).get("id"));
+
+            // never read, hence still being written to
+            JdbcRowStore unread = new JdbcRowStore(Arrays.asList("id"));
+            unread.append(new Object[]{"2"});
+
+            context.addRowStore(read);
+            context.addRowStore(unread);
+            Assert.assertTrue(read.getFile().exists());
+            Assert.assertTrue(unread.getFile().exists());
+
+            context.releaseRowStores();
+            Assert.assertFalse(read.getFile().exists());
+            Assert.assertFalse(unread.getFile().exists());
+        } finally {
+            context.cleanProject();
+            ExecutionThread.unset();
+        }
+    }
+
+    @Test
+    public void keptWhileReferenced() throws Exception {
+        MockExecutionContext context = new MockExecutionContext();
+        try {
+            JdbcRowStore saved = new JdbcRowStore(Arrays.asList("id"));
+            saved.append(new Object[]{"1"});
+            context.addRowStore(saved);
+            JdbcResult result = new JdbcResult("select id from t");
+            result.setData(saved);
+            context.setData("result", result);
+
+            JdbcRowStore unsaved = new JdbcRowStore(Arrays.asList("id"));
+            unsaved.append(new Object[]{"2"});
+            context.addRowStore(unsaved);
+
+            // iteration end: rows saved to a data variable remain readable in the subsequent iterations
+            context.releaseUnreferencedRowStores();
+            Assert.assertEquals("1", result.getData().get(0).get("id"));
+            Assert.assertTrue(saved.getFile().exists());
+            Assert.assertFalse(unsaved.getFile().exists());
+
+            // rows of the replaced data variable are released
+            context.setData("result", "done");
+            Assert.assertFalse(saved.getFile().exists());
+        } finally {
+            context.cleanProject();
+            ExecutionThread.unset();
+        }
+    }
+}
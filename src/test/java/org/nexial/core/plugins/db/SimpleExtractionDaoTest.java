@@ -0,0 +1,121 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.db;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.core.model.MockExecutionContext;
+
+public class SimpleExtractionDaoTest {
+    private static final String DB = "importdb";
+    private static final String DDL = "CREATE TABLE items (" +
+                                      " id INTEGER NOT NULL," +
+                                      " price REAL," +
+                                      " qty NUMERIC," +
+                                      " \"unit name\" TEXT," +
+                                      " \"order\" INTEGER)";
+
+    private MockExecutionContext context;
+    private SimpleExtractionDao dao;
+    private File dbFile;
+
+    @Before
+    public void setUp() throws Exception {
+        dbFile = File.createTempFile("nexial-import-", ".db");
+
+        context = new MockExecutionContext();
+        context.setData(DB + ".type", "sqlite");
+        context.setData(DB + ".url", "jdbc:sqlite:" + dbFile.getAbsolutePath());
+        context.setData(DB + ".autocommit", "true");
+
+        Map<String, String> dbTypes = new HashMap<>();
+        dbTypes.put("sqlite", "org.sqlite.JDBC");
+        DataAccess da = new DataAccess();
+        da.setDbTypes(dbTypes);
+        da.setContext(context);
+
+        dao = da.resolveDao(DB);
+        Assert.assertFalse(dao.executeSql(DDL, null).hasError());
+    }
+
+    @After
+    public void tearDown() {
+        if (dao != null) { DataAccess.closePool(dao.getDataSource()); }
+        if (context != null) { context.cleanProject(); }
+        FileUtils.deleteQuietly(dbFile);
+    }
+
+    @Test
+    public void importRows_typedColumns() {
+        List<String> columns = Arrays.asList("id", "price", "qty", "unit name", "\"order\"");
+        JdbcResult result = dao.importRows("items", columns, rows(new Object[]{"1", "9.99", "3", "box", "10"},
+                                                                 new Object[]{"2", null, null, "each", null},
+                                                                 new Object[]{"3", "0.5", "7.25", "", "2"}), null);
+        Assert.assertFalse(result.getError(), result.hasError());
+        Assert.assertFalse(result.isRolledBack());
+        Assert.assertEquals(3, result.getRowCount());
+        Assert.assertTrue(result.getSql().contains("\"unit name\""));
+        Assert.assertFalse(result.getSql().contains("\"\"order\"\""));
+
+        assertQuery("SELECT typeof(id) || ',' || typeof(price) || ',' || typeof(qty) || ',' || typeof(\"order\")" +
+                    " AS types FROM items WHERE id = 1",
+                    "integer,real,integer,integer");
+        assertQuery("SELECT typeof(price) || ',' || typeof(qty) || ',' || typeof(\"order\")" +
+                    " AS types FROM items WHERE id = 2",
+                    "null,null,null");
+        assertQuery("SELECT typeof(id) || ',' || qty || ',' || \"unit name\" || ',' || \"order\"" +
+                    " AS types FROM items WHERE id = 3",
+                    "integer,7.25,,2");
+        assertQuery("SELECT sum(price) AS types FROM items", "10.49");
+    }
+
+    @Test
+    public void importRows_rollbackOnFailure() {
+        List<String> columns = Arrays.asList("id", "price", "qty", "unit name", "order");
+        // 3rd row violates the NOT NULL constraint of `id`
+        JdbcResult result = dao.importRows("items", columns, rows(new Object[]{"1", "1.5", "1", "box", "1"},
+                                                                 new Object[]{"2", "2.5", "2", "box", "2"},
+                                                                 new Object[]{null, "3.5", "3", "box", "3"}), null);
+        Assert.assertTrue(result.hasError());
+        Assert.assertTrue(result.isRolledBack());
+        Assert.assertEquals(0, result.getRowCount());
+
+        assertQuery("SELECT count(*) AS types FROM items", "0");
+    }
+
+    private void assertQuery(String sql, String expected) {
+        JdbcResult result = dao.executeSql(sql, null);
+        Assert.assertFalse(result.getError(), result.hasError());
+        Assert.assertEquals(expected, result.cells("types").get(0) + "");
+    }
+
+    private static SimpleExtractionDao.RowSupplier rows(Object[]... rows) {
+        Iterator<Object[]> iterator = Arrays.asList(rows).iterator();
+        return () -> iterator.hasNext() ? iterator.next() : null;
+    }
+}
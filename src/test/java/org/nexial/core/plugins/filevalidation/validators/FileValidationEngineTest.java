@@ -0,0 +1,199 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.filevalidation.validators;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.core.ExecutionThread;
+import org.nexial.core.model.MockExecutionContext;
+import org.nexial.core.plugins.filevalidation.RecordBean;
+import org.nexial.core.plugins.filevalidation.RecordData;
+import org.nexial.core.plugins.filevalidation.config.FieldConfig;
+import org.nexial.core.plugins.filevalidation.config.RecordConfig;
+import org.nexial.core.plugins.filevalidation.config.RecordConfig.RecordConfigBuilder;
+import org.nexial.core.plugins.filevalidation.validators.DelimitedFileValidator.DelimitedRecordParser;
+import org.nexial.core.plugins.filevalidation.validators.FileValidationEngine.RecordLookup;
+import org.nexial.core.plugins.filevalidation.validators.FixedLengthFileValidator.FixedLengthRecordParser;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class FileValidationEngineTest {
+    private MockExecutionContext context;
+    private File target;
+
+    /** {@link DelimitedRecordParser} that keeps every line it parses, keyed by line number */
+    private static class RecordingParser extends DelimitedRecordParser {
+        private final Map<Integer, String> lines = new ConcurrentSkipListMap<>();
+
+        @Override
+        public RecordBean parse(String line, int lineNumber, RecordConfig config) {
+            lines.put(lineNumber, line);
+            return super.parse(line, lineNumber, config);
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        context = new MockExecutionContext();
+        target = File.createTempFile("nexial-validate-", ".txt");
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(target);
+        if (context != null) { context.cleanProject(); }
+        ExecutionThread.unset();
+    }
+
+    @Test
+    public void lookupDelimitedRecords() {
+        RecordConfig header = newDelimitedConfig("H", "type", "type", "date");
+        RecordConfig detail = newDelimitedConfig("D", "type", "type", "amount", "desc");
+        RecordConfig detail2 = newDelimitedConfig("D", "type", "type", "amount");
+        RecordConfig trailer = newDelimitedConfig("T", "kind", "count", "kind");
+        List<RecordConfig> configs = Arrays.asList(header, detail, detail2, trailer);
+
+        DelimitedRecordParser parser = new DelimitedRecordParser();
+        RecordLookup lookup = new RecordLookup(configs, parser);
+        Assert.assertSame(header, lookup.find("H|20210101|"));
+        // first config wins
+        Assert.assertSame(detail, lookup.find("D|12.50|"));
+        Assert.assertSame(trailer, lookup.find("3|T|"));
+        Assert.assertNull(lookup.find("X|1|"));
+        // not enough tokens
+        Assert.assertNull(lookup.find("3"));
+        Assert.assertNull(lookup.find(""));
+
+        RecordBean record = parser.parse("D|12.50|lunch|", 5, detail);
+        Assert.assertFalse(record.isSkipped());
+        Assert.assertEquals(5, record.getRecordNumber());
+        Assert.assertEquals("12.50", record.get("amount").getFieldValue());
+        Assert.assertEquals("lunch", record.get("desc").getFieldValue());
+
+        record = parser.parse("D|12.50|", 6, detail);
+        Assert.assertTrue(record.isSkipped());
+        Assert.assertEquals("Skipped:6,D,Expected records 4. But Actual records found 3\n", record.getSkippedMsg());
+    }
+
+    @Test
+    public void lookupFixedLengthRecords() {
+        RecordConfig header = newFixedLengthConfig("HD", newField("type", 1, 2), newField("date", 3, 10));
+        RecordConfig detail = newFixedLengthConfig("DT", newField("type", 1, 2), newField("amount", 3, 7));
+        RecordConfig trailer = newFixedLengthConfig("TR", newField("count", 1, 3), newField("type", 4, 5));
+        List<RecordConfig> configs = Arrays.asList(header, detail, trailer);
+
+        FixedLengthRecordParser parser = new FixedLengthRecordParser();
+        RecordLookup lookup = new RecordLookup(configs, parser);
+        Assert.assertSame(header, lookup.find("HD20210101"));
+        Assert.assertSame(detail, lookup.find("DT01250"));
+        Assert.assertSame(trailer, lookup.find("002TR"));
+        Assert.assertNull(lookup.find("XX"));
+        Assert.assertNull(lookup.find(""));
+
+        RecordBean record = parser.parse("DT01250", 1, detail);
+        Assert.assertFalse(record.isSkipped());
+        Assert.assertEquals("01250", record.get("amount").getFieldValue());
+
+        record = parser.parse("DT012", 2, detail);
+        Assert.assertTrue(record.isSkipped());
+        Assert.assertEquals("Skipped:2,DT,Expected record length 7. But Actual length found 5\n",
+                            record.getSkippedMsg());
+    }
+
+    @Test
+    public void validateAcrossChunks() throws Exception {
+        // lines end with \n, \r\n or a lone \r; the last line has no line terminator
+        FileUtils.writeStringToFile(target,
+                                    "D|1.00|first|\n" +
+                                    "D|2.00|a line long enough to span over many chunks|\r\n" +
+                                    "D|3.00|\r" +
+                                    "X|not configured|\n" +
+                                    "D|4.00|fourth|\r\n" +
+                                    "\r\n" +
+                                    "D|5.00|\n" +
+                                    "D|6.00|last|",
+                                    UTF_8);
+
+        Map<Integer, String> expectedLines = new LinkedHashMap<>();
+        expectedLines.put(0, "D|1.00|first|");
+        expectedLines.put(1, "D|2.00|a line long enough to span over many chunks|");
+        expectedLines.put(2, "D|3.00|");
+        expectedLines.put(4, "D|4.00|fourth|");
+        expectedLines.put(6, "D|5.00|");
+        expectedLines.put(7, "D|6.00|last|");
+        String expectedReport = "Skipped:2,D,Expected records 4. But Actual records found 3\n" +
+                                "Skipped:6,D,Expected records 4. But Actual records found 3\n";
+
+        List<RecordConfig> configs = Arrays.asList(newDelimitedConfig("D", "type", "type", "amount", "desc"));
+        File report = new File(context.generateTestStepOutput("csv"));
+
+        // every possible chunk boundary, including those between \r and \n
+        for (int chunkSize = 1; chunkSize <= 120; chunkSize++) {
+            RecordingParser parser = new RecordingParser();
+            try {
+                RecordData recordData = new FileValidationEngine(configs, parser, chunkSize).validate(target, context);
+
+                String message = "chunk size " + chunkSize;
+                Assert.assertEquals(message, expectedLines, parser.lines);
+                Assert.assertEquals(message, 4, recordData.getTotalRecordsProcessed());
+                Assert.assertEquals(message, 2, recordData.getTotalRecordsSkipped());
+                Assert.assertEquals(message, 0, recordData.getTotalRecordsFailed());
+                // reported in file order
+                Assert.assertEquals(message, expectedReport, FileUtils.readFileToString(report, UTF_8));
+            } finally {
+                FileUtils.deleteQuietly(report);
+            }
+        }
+    }
+
+    private static RecordConfig newDelimitedConfig(String recordId, String recordIdField, String... fieldNames) {
+        FieldConfig[] fields = Arrays.stream(fieldNames).map(name -> newField(name, 0, 0)).toArray(FieldConfig[]::new);
+        return new RecordConfigBuilder().fieldConfigList(Arrays.asList(fields))
+                                        .fieldSeparator("|")
+                                        .recordIdField(recordIdField)
+                                        .recordId(recordId)
+                                        .build();
+    }
+
+    private static RecordConfig newFixedLengthConfig(String recordId, FieldConfig... fields) {
+        return new RecordConfigBuilder().fieldConfigList(Arrays.asList(fields))
+                                        .recordIdField("type")
+                                        .recordId(recordId)
+                                        .build();
+    }
+
+    private static FieldConfig newField(String name, int from, int to) {
+        FieldConfig field = new FieldConfig();
+        field.setFieldname(name);
+        field.setDatatype("any");
+        field.setPositionfrom(from);
+        field.setPositionto(to);
+        return field;
+    }
+}
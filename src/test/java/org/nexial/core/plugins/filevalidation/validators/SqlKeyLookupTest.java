@@ -0,0 +1,69 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.filevalidation.validators;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SqlKeyLookupTest {
+
+    @Test
+    public void parse() {
+        SqlKeyLookup lookup = SqlKeyLookup.parse("mydb", "SELECT * FROM STATES WHERE CODE = '${state}'");
+        Assert.assertNotNull(lookup);
+        Assert.assertEquals("mydb", lookup.getDbProfile());
+        Assert.assertEquals("state", lookup.getFieldName());
+        Assert.assertEquals("SELECT DISTINCT CODE FROM STATES WHERE CODE IN ('CA','NY')",
+                            lookup.toBatchQuery(Arrays.asList("CA", "NY")));
+
+        lookup = SqlKeyLookup.parse("mydb", "select name\nfrom states s join regions r on s.region = r.id\n" +
+                                            "where r.active = 'Y' and s.id = ${ stateId };");
+        Assert.assertNotNull(lookup);
+        Assert.assertEquals("stateId", lookup.getFieldName());
+        Assert.assertEquals("SELECT DISTINCT s.id FROM states s join regions r on s.region = r.id " +
+                            "WHERE r.active = 'Y' and s.id IN (1,2)",
+                            lookup.toBatchQuery(Arrays.asList("1", "2")));
+
+        // not a key lookup, or key not distinguishable in result
+        Assert.assertNull(SqlKeyLookup.parse("mydb", "SELECT * FROM STATES"));
+        Assert.assertNull(SqlKeyLookup.parse("mydb", "SELECT * FROM STATES WHERE CODE LIKE '${state}'"));
+        Assert.assertNull(SqlKeyLookup.parse("mydb", "SELECT * FROM STATES WHERE ACTIVE = 'Y' OR CODE = '${state}'"));
+        Assert.assertNull(SqlKeyLookup.parse("mydb", "SELECT * FROM STATES WHERE CODE = '${state}' ORDER BY 1"));
+        Assert.assertNull(SqlKeyLookup.parse("mydb", "SELECT * FROM STATES WHERE CODE = '${state}' AND ZIP = '${zip}'"));
+        Assert.assertNull(SqlKeyLookup.parse("mydb", "SELECT * FROM (SELECT * FROM STATES) S WHERE CODE = '${state}'"));
+    }
+
+    @Test
+    public void toKey() {
+        SqlKeyLookup quoted = SqlKeyLookup.parse("mydb", "SELECT * FROM STATES WHERE CODE = '${state}'");
+        Assert.assertNotNull(quoted);
+        Assert.assertEquals("CA ", quoted.toKey("CA "));
+        Assert.assertNull(quoted.toKey("C'A"));
+        Assert.assertNull(quoted.toKey(null));
+
+        SqlKeyLookup numeric = SqlKeyLookup.parse("mydb", "SELECT * FROM STATES WHERE ID = ${id}");
+        Assert.assertNotNull(numeric);
+        Assert.assertEquals("0012", numeric.toKey(" 0012 "));
+        Assert.assertEquals("-1.5", numeric.toKey("-1.5"));
+        // might be a column name or an expression
+        Assert.assertNull(numeric.toKey("ID"));
+        Assert.assertNotEquals(numeric.toCacheKey("1"), quoted.toCacheKey("1"));
+    }
+}
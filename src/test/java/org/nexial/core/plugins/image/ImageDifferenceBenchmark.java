@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.image;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static java.awt.image.BufferedImage.TYPE_INT_RGB;
+
+/**
+ * measure the pixel comparison and region grouping of {@link ImageDifferenceTools} against synthetic 4K screenshots,
+ * with differences either clustered in a few blocks or scattered across the whole image.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class ImageDifferenceBenchmark {
+    private static final int WIDTH = 3840;
+    private static final int HEIGHT = 2160;
+
+    @Param({"blocks", "scattered"})
+    public String differences;
+
+    private BufferedImage expected;
+    private BufferedImage actual;
+    private int[][] differenceMatrix;
+    private int[][] matrix;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        expected = newScreenshot();
+        actual = newScreenshot();
+
+        Random random = new Random(42);
+        if ("blocks".equals(differences)) {
+            Graphics2D graphics = actual.createGraphics();
+            graphics.setColor(Color.RED);
+            for (int i = 0; i < 20; i++) {
+                graphics.fillRect(random.nextInt(WIDTH - 400), random.nextInt(HEIGHT - 200), 400, 200);
+            }
+            graphics.dispose();
+        } else {
+            for (int i = 0; i < 200_000; i++) {
+                actual.setRGB(random.nextInt(WIDTH), random.nextInt(HEIGHT), 0xFF0000);
+            }
+        }
+
+        differenceMatrix = new int[WIDTH][HEIGHT];
+        for (int x = 0; x < WIDTH; x++) {
+            for (int y = 0; y < HEIGHT; y++) {
+                if (expected.getRGB(x, y) != actual.getRGB(x, y)) { differenceMatrix[x][y] = 1; }
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void copyMatrix() {
+        // grouping labels the matrix in place
+        matrix = new int[differenceMatrix.length][];
+        for (int i = 0; i < differenceMatrix.length; i++) { matrix[i] = differenceMatrix[i].clone(); }
+    }
+
+    @Benchmark
+    public boolean isIdentical() { return ImageDifferenceTools.isIdentical(expected, expected); }
+
+    @Benchmark
+    public int groupRegions() {
+        ImageDifferenceTools tools = new ImageDifferenceTools();
+        tools.setMatrix(matrix);
+        tools.groupRegions();
+
+        BufferedImage canvas = new BufferedImage(1, 1, TYPE_INT_RGB);
+        Graphics2D graphics = canvas.createGraphics();
+        tools.drawRectangles(graphics);
+        graphics.dispose();
+        return tools.getDifferences().size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ImageDifferenceBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static BufferedImage newScreenshot() {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, WIDTH, HEIGHT);
+        graphics.setColor(Color.DARK_GRAY);
+        for (int y = 40; y < HEIGHT; y += 40) { graphics.drawLine(0, y, WIDTH, y); }
+        graphics.dispose();
+        return image;
+    }
+}
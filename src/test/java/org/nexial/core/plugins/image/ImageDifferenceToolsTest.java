@@ -0,0 +1,94 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.image;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import static java.awt.image.BufferedImage.TYPE_INT_RGB;
+
+public class ImageDifferenceToolsTest {
+
+    @Test
+    public void groupRegions() {
+        int[][] matrix = new int[20][20];
+        // 2 pixels 5 apart diagonally: same region
+        matrix[1][1] = 1;
+        matrix[6][6] = 1;
+        // 6 apart from the region above: new region
+        matrix[12][6] = 1;
+        // within reach of the previous pixel only through a chain
+        matrix[12][10] = 1;
+        matrix[16][14] = 1;
+        // not on a straight or diagonal line from any other pixel: new region
+        matrix[19][0] = 1;
+
+        List<Difference> differences = group(matrix);
+        Assert.assertEquals(3, differences.size());
+        Assert.assertEquals(new Difference(1, 1, 5, 5), differences.get(0));
+        Assert.assertEquals(new Difference(12, 6, 4, 8), differences.get(1));
+        Assert.assertEquals(new Difference(19, 0, 0, 0), differences.get(2));
+
+        Assert.assertEquals(2, matrix[1][1]);
+        Assert.assertEquals(2, matrix[6][6]);
+        Assert.assertEquals(3, matrix[16][14]);
+        Assert.assertEquals(4, matrix[19][0]);
+        Assert.assertEquals(0, matrix[0][0]);
+    }
+
+    @Test
+    public void groupLargeRegion() {
+        // would overflow the stack when grouped recursively
+        int[][] matrix = new int[2000][1500];
+        for (int[] row : matrix) { Arrays.fill(row, 1); }
+        matrix[1999][1499] = 0;
+
+        List<Difference> differences = group(matrix);
+        Assert.assertEquals(1, differences.size());
+        Assert.assertEquals(new Difference(0, 0, 1999, 1499), differences.get(0));
+    }
+
+    @Test
+    public void compareImages() {
+        BufferedImage expected = new BufferedImage(50, 150, TYPE_INT_RGB);
+        BufferedImage actual = new BufferedImage(50, 150, TYPE_INT_RGB);
+        Assert.assertTrue(ImageDifferenceTools.isIdentical(expected, actual));
+        Assert.assertFalse(ImageDifferenceTools.isIdentical(expected, new BufferedImage(50, 149, TYPE_INT_RGB)));
+
+        actual.setRGB(3, 140, Color.RED.getRGB());
+        actual.setRGB(4, 140, Color.RED.getRGB());
+        Assert.assertFalse(ImageDifferenceTools.isIdentical(expected, actual));
+        Assert.assertFalse(ImageDifferenceTools.isIdentical(expected, null));
+    }
+
+    private static List<Difference> group(int[][] matrix) {
+        ImageDifferenceTools tools = new ImageDifferenceTools();
+        tools.setMatrix(matrix);
+        tools.groupRegions();
+
+        Graphics2D graphics = new BufferedImage(1, 1, TYPE_INT_RGB).createGraphics();
+        tools.drawRectangles(graphics);
+        graphics.dispose();
+        return tools.getDifferences();
+    }
+}
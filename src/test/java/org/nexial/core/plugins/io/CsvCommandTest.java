@@ -825,6 +825,62 @@ public class CsvCommandTest {
         }
     }
 
+    @Test
+    public void compareExtended_partitioned() throws Exception {
+        File expected = new File(TEMP + CLASSNAME + "_expected.csv");
+        File actual = new File(TEMP + CLASSNAME + "_actual.csv");
+        FileUtils.writeStringToFile(expected,
+                                    "ID,NAME,AMOUNT,TAGS\n" +
+                                    "3,Charlie,30.00,\"c,a\"\n" +
+                                    "1,Alpha,10,x\n" +
+                                    "2,Bravo,20,y\n" +
+                                    "5,Echo,50,z\n" +
+                                    "2,Bravo,21,y\n" +
+                                    "4,Delta,40,w\n",
+                                    DEF_FILE_ENCODING);
+        FileUtils.writeStringToFile(actual,
+                                    "ID,NAME,AMOUNT,TAGS\n" +
+                                    "1,ALPHA,10.0,x\n" +
+                                    "2,Bravo,22,y\n" +
+                                    "3,Charlie,30,\"a,c\"\n" +
+                                    "6,Foxtrot,60,v\n" +
+                                    "4,Delta,41,w\n",
+                                    DEF_FILE_ENCODING);
+
+        try {
+            CsvComparisonResult inMemory = newExtendedComparison(expected, actual, -1).compare();
+            CsvExtendedComparison partitioned = newExtendedComparison(expected, actual, 0);
+            partitioned.setPartitionSize(30);
+            CsvComparisonResult spilled = partitioned.compare();
+
+            Assert.assertEquals(inMemory.getDiscrepancies(), spilled.getDiscrepancies());
+            Assert.assertEquals(inMemory.getFailedIdentities(), spilled.getFailedIdentities());
+            Assert.assertEquals(inMemory.getExpectedRowCount(), spilled.getExpectedRowCount());
+            Assert.assertEquals(inMemory.getActualRowCount(), spilled.getActualRowCount());
+            Assert.assertEquals(inMemory.reportAsCSV(), spilled.reportAsCSV());
+            // 2 (dup), 4 (amount), 5 (missing in actual), 6 (missing in expected)
+            Assert.assertEquals(4, spilled.getFailCount());
+        } finally {
+            FileUtils.deleteQuietly(expected);
+            FileUtils.deleteQuietly(actual);
+        }
+    }
+
+    private CsvExtendedComparison newExtendedComparison(File expected, File actual, long spillThreshold) {
+        CsvExtendedComparison comparison = new CsvExtendedComparison();
+        comparison.setDelimiter(",");
+        comparison.setExpectedFile(expected);
+        comparison.setActualFile(actual);
+        comparison.setExpectedIdentityColumns(Collections.singletonList("ID"));
+        comparison.setActualIdentityColumns(Collections.singletonList("ID"));
+        comparison.setDisplayFields(Arrays.asList("ID", "NAME"));
+        comparison.setNumberFields(Collections.singletonList("AMOUNT"));
+        comparison.setCaseInsensitiveFields(Collections.singletonList("NAME"));
+        comparison.setUnorderedListFields(Collections.singletonList("TAGS"));
+        comparison.setSpillThreshold(spillThreshold);
+        return comparison;
+    }
+
     protected String formatSample(String[] testSample) {
         return StringUtils.substringBetween(StringUtils.trim(ArrayUtils.toString(testSample)), "{", "}");
     }
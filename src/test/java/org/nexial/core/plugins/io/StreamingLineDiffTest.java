@@ -0,0 +1,203 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.io;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.nexial.commons.utils.TextUtils;
+
+import static org.nexial.core.NexialConst.DEF_CHARSET;
+
+public class StreamingLineDiffTest {
+
+    @Test
+    public void lines() {
+        for (String content : Arrays.asList("a", "a\n", "a\r\nb\r\n", "\n", "a\rb\r\nc\n\nd", "a\r\r\nb", "x\n\r")) {
+            // same as splitting the entire content upfront
+            List<String> expected = TextUtils.toListPreserveEmpty(content.replace("\r\n", "\n"), "\n", false);
+            Assert.assertEquals(expected, new StreamingLineDiff.Lines(content));
+            Assert.assertEquals(TextUtils.toListPreserveEmpty(content, "\n", false).size(),
+                                StreamingLineDiff.countLines(content));
+        }
+
+        Assert.assertTrue(new StreamingLineDiff.Lines("").isEmpty());
+        Assert.assertEquals(0, StreamingLineDiff.countLines(""));
+    }
+
+    @Test
+    public void countLines() throws Exception {
+        File file = new File(FileUtils.getTempDirectory(), "StreamingLineDiffTest.txt");
+        try {
+            for (String content : Arrays.asList("a", "a\n", "a\r\n", "a\r", "\r\n", "a\rb\r\nc\n\nd", "x\n\r")) {
+                FileUtils.writeStringToFile(file, content, DEF_CHARSET);
+                Assert.assertEquals(FileUtils.readLines(file, DEF_CHARSET).size(), StreamingLineDiff.countLines(file));
+            }
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+    }
+
+    @Test
+    public void contentEqualsAcrossChunks() throws Exception {
+        int chunkSize = StreamingLineDiff.CHUNK_SIZE;
+        byte[] content = new byte[chunkSize + 100];
+        for (int i = 0; i < content.length; i++) { content[i] = (byte) ('a' + i % 26); }
+
+        File expected = new File(FileUtils.getTempDirectory(), "StreamingLineDiffTest-expected.txt");
+        File actual = new File(FileUtils.getTempDirectory(), "StreamingLineDiffTest-actual.txt");
+        try {
+            FileUtils.writeByteArrayToFile(expected, content);
+            FileUtils.writeByteArrayToFile(actual, content);
+            Assert.assertTrue(StreamingLineDiff.contentEquals(expected, actual));
+
+            // difference at either side of the chunk boundary, and at the very end
+            for (int position : new int[]{0, chunkSize - 1, chunkSize, content.length - 1}) {
+                byte[] changed = content.clone();
+                changed[position] = '#';
+                FileUtils.writeByteArrayToFile(actual, changed);
+                Assert.assertFalse("difference at " + position, StreamingLineDiff.contentEquals(expected, actual));
+            }
+
+            FileUtils.writeByteArrayToFile(actual, Arrays.copyOf(content, content.length - 1));
+            Assert.assertFalse(StreamingLineDiff.contentEquals(expected, actual));
+        } finally {
+            FileUtils.deleteQuietly(expected);
+            FileUtils.deleteQuietly(actual);
+        }
+    }
+
+    @Test
+    public void countLinesAcrossChunks() throws Exception {
+        int chunkSize = StreamingLineDiff.CHUNK_SIZE;
+        File file = new File(FileUtils.getTempDirectory(), "StreamingLineDiffTest.txt");
+        try {
+            // \r\n split by the chunk boundary is one line terminator
+            byte[] content = new byte[chunkSize + 4];
+            Arrays.fill(content, (byte) 'a');
+            content[chunkSize - 1] = '\r';
+            content[chunkSize] = '\n';
+            content[chunkSize + 2] = '\r';
+            FileUtils.writeByteArrayToFile(file, content);
+            Assert.assertEquals(3, StreamingLineDiff.countLines(file));
+
+            // lone \r at the end of a chunk
+            content[chunkSize] = 'a';
+            FileUtils.writeByteArrayToFile(file, content);
+            Assert.assertEquals(3, StreamingLineDiff.countLines(file));
+
+            // \n at the start of a chunk
+            content[chunkSize - 1] = 'a';
+            content[chunkSize] = '\n';
+            FileUtils.writeByteArrayToFile(file, content);
+            Assert.assertEquals(3, StreamingLineDiff.countLines(file));
+            Assert.assertEquals(FileUtils.readLines(file, DEF_CHARSET).size(), StreamingLineDiff.countLines(file));
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+    }
+
+    @Test
+    public void findDifferingRange() throws Exception {
+        File expected = new File(FileUtils.getTempDirectory(), "StreamingLineDiffTest-expected.txt");
+        File actual = new File(FileUtils.getTempDirectory(), "StreamingLineDiffTest-actual.txt");
+        try {
+            FileUtils.writeStringToFile(expected, "a\nb\nc\nd\ne", DEF_CHARSET);
+            FileUtils.writeStringToFile(actual, "a\nb\nx\ny\nd\ne", DEF_CHARSET);
+            StreamingLineDiff.DifferingRange range = StreamingLineDiff.findDifferingRange(expected, actual);
+            Assert.assertEquals(2, range.getLeadingLines());
+            Assert.assertEquals(2, range.getTrailingLines());
+            Assert.assertEquals("c\n", range.readExpected());
+            Assert.assertEquals("x\ny\n", range.readActual());
+
+            // the common lines and the differing lines make up the lines of either side
+            String[][] pairs = {{"a\nX\nb\n", "a\nY\nb\n"},
+                                {"a\nb\n", "a\r\nb\n"},
+                                {"a\nb\nc", "x\nb\nc\n"},
+                                {"a\nb\n", "a\nb\nc\n"},
+                                {"a\nb\nc\n", "c\n"},
+                                {"ab\n", "b\n"},
+                                {"a\n\nb", "a\n\n\nb"},
+                                {"same\n", "same\n"}};
+            for (String[] pair : pairs) {
+                FileUtils.writeStringToFile(expected, pair[0], DEF_CHARSET);
+                FileUtils.writeStringToFile(actual, pair[1], DEF_CHARSET);
+                range = StreamingLineDiff.findDifferingRange(expected, actual);
+                assertDifferingRange(pair[0], range.readExpected(), range);
+                assertDifferingRange(pair[1], range.readActual(), range);
+            }
+        } finally {
+            FileUtils.deleteQuietly(expected);
+            FileUtils.deleteQuietly(actual);
+        }
+    }
+
+    @Test
+    public void findDifferingRangeAcrossChunks() throws Exception {
+        int chunkSize = StreamingLineDiff.CHUNK_SIZE;
+        byte[] content = new byte[chunkSize * 2 + 100];
+        for (int i = 0; i < content.length; i++) { content[i] = (byte) (i % 10 == 9 ? '\n' : 'a' + i % 10); }
+
+        File expected = new File(FileUtils.getTempDirectory(), "StreamingLineDiffTest-expected.txt");
+        File actual = new File(FileUtils.getTempDirectory(), "StreamingLineDiffTest-actual.txt");
+        try {
+            FileUtils.writeByteArrayToFile(expected, content);
+            int lines = StreamingLineDiff.countLines(expected);
+
+            // one differing line either side of the chunk boundaries
+            for (int position : new int[]{chunkSize - 1, chunkSize, chunkSize + 5, content.length - chunkSize - 1}) {
+                byte[] changed = content.clone();
+                changed[position] = '#';
+                FileUtils.writeByteArrayToFile(actual, changed);
+
+                StreamingLineDiff.DifferingRange range = StreamingLineDiff.findDifferingRange(expected, actual);
+                Assert.assertEquals("difference at " + position, position / 10, range.getLeadingLines());
+                Assert.assertEquals("difference at " + position, lines - position / 10 - 1, range.getTrailingLines());
+                Assert.assertEquals(1, StreamingLineDiff.countLines(range.readExpected()));
+                Assert.assertEquals(1, StreamingLineDiff.countLines(range.readActual()));
+            }
+        } finally {
+            FileUtils.deleteQuietly(expected);
+            FileUtils.deleteQuietly(actual);
+        }
+    }
+
+    @Test
+    public void countCommonTrailingLines() {
+        Assert.assertEquals(2, StreamingLineDiff.countCommonTrailingLines(new StreamingLineDiff.Lines("a\nb\nc"),
+                                                                          new StreamingLineDiff.Lines("x\nb\nc\n")));
+        Assert.assertEquals(0, StreamingLineDiff.countCommonTrailingLines(new StreamingLineDiff.Lines("a\nb"),
+                                                                          new StreamingLineDiff.Lines("a\nc")));
+        Assert.assertEquals(2, StreamingLineDiff.countCommonTrailingLines(new StreamingLineDiff.Lines("a\nb"),
+                                                                          new StreamingLineDiff.Lines("x\na\nb")));
+    }
+
+    private static void assertDifferingRange(String content, String differing, StreamingLineDiff.DifferingRange range) {
+        List<String> lines = new StreamingLineDiff.Lines(content);
+        List<String> differingLines = new StreamingLineDiff.Lines(differing);
+        Assert.assertEquals(range.toString(),
+                            lines.size(), range.getLeadingLines() + differingLines.size() + range.getTrailingLines());
+        Assert.assertEquals(range.toString(),
+                            lines.subList(range.getLeadingLines(), range.getLeadingLines() + differingLines.size()),
+                            differingLines);
+    }
+}
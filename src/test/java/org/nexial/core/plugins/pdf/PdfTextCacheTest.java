@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.pdf;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static java.io.File.separator;
+import static org.apache.commons.lang3.SystemUtils.JAVA_IO_TMPDIR;
+
+public class PdfTextCacheTest {
+    private final File pdf = new File(JAVA_IO_TMPDIR + separator + "PdfTextCacheTest.pdf");
+
+    @After
+    public void tearDown() { FileUtils.deleteQuietly(pdf); }
+
+    @Test
+    public void extractPagesInParallel() throws Exception {
+        writePdf(pdf, 30, "statement");
+
+        String expected;
+        try (PDDocument document = PDDocument.load(pdf)) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setSortByPosition(true);
+            expected = stripper.getText(document);
+        }
+
+        PdfTextCache cache = new PdfTextCache(1024 * 1024, 4);
+        String text = cache.getText(pdf);
+        Assert.assertEquals(expected, text);
+        Assert.assertSame(text, cache.getText(pdf));
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(1, cache.getMisses());
+        Assert.assertEquals(1, cache.size());
+
+        // same as extracted in the calling thread
+        Assert.assertEquals(expected, new PdfTextCache(0, 1).getText(pdf));
+
+        // changed document is read anew
+        writePdf(pdf, 31, "statement");
+        Assert.assertTrue(pdf.setLastModified(pdf.lastModified() + 2000));
+        Assert.assertTrue(cache.getText(pdf).contains("statement line 1 of page 31"));
+        Assert.assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void reuseTextPositions() throws Exception {
+        writePdf(pdf, 2, "form");
+
+        List<Integer> pagesRead = new ArrayList<>();
+        PdfTextCache cache = new PdfTextCache(1024 * 1024, 4);
+        PdfTextCache.PageReader<List<TextPosition>> reader = (document, pageIndex) -> {
+            pagesRead.add(pageIndex);
+            return new ArrayList<>();
+        };
+
+        List<TextPosition> positions = cache.getTextPositions(pdf, null, 1, reader);
+        Assert.assertNotNull(positions);
+        Assert.assertSame(positions, cache.getTextPositions(pdf, null, 1, reader));
+        cache.getTextPositions(pdf, null, 0, reader);
+        Assert.assertNull(cache.getTextPositions(pdf, null, 2, reader));
+        Assert.assertNull(cache.getTextPositions(pdf, null, -1, reader));
+        Assert.assertEquals("[1, 0]", pagesRead.toString());
+
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.getBytes());
+    }
+
+    private static void writePdf(File file, int pageCount, String prefix) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 1; i <= pageCount; i++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 12);
+                    content.setLeading(14);
+                    content.newLineAtOffset(50, 700);
+                    for (int j = 1; j <= 3; j++) {
+                        content.showText(prefix + " line " + j + " of page " + i);
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            document.save(file);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.ssh;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sshd.common.file.virtualfs.VirtualFileSystemFactory;
+import org.apache.sshd.server.SshServer;
+import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider;
+import org.apache.sshd.sftp.server.SftpSubsystemFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.core.ExecutionThread;
+import org.nexial.core.model.MockExecutionContext;
+import org.nexial.core.model.RemoteFileActionOutcome;
+
+import static org.nexial.core.model.RemoteFileActionOutcome.TransferAction.COPY_FROM;
+import static org.nexial.core.model.RemoteFileActionOutcome.TransferAction.COPY_TO;
+
+public class SftpWorkerTest {
+    private static final int FILE_COUNT = 12;
+
+    private SshServer sshd;
+    private File remoteRoot;
+    private File localDir;
+    private MockExecutionContext context;
+
+    @Before
+    public void setUp() throws IOException {
+        SshSessionPool.closeSessions();
+
+        File testDir = new File(FileUtils.getTempDirectory(), "SftpWorkerTest_" + System.currentTimeMillis());
+        remoteRoot = new File(testDir, "remote");
+        localDir = new File(testDir, "local");
+        FileUtils.forceMkdir(new File(remoteRoot, "in"));
+        FileUtils.forceMkdir(localDir);
+        for (int i = 0; i < FILE_COUNT; i++) {
+            FileUtils.writeStringToFile(new File(remoteRoot, "out/batch" + i + ".txt"),
+                                        StringUtils.repeat("line " + i + "\n", 1000 * (i + 1)),
+                                        StandardCharsets.UTF_8);
+        }
+
+        sshd = SshServer.setUpDefaultServer();
+        sshd.setHost("localhost");
+        sshd.setPort(0);
+        sshd.setKeyPairProvider(new SimpleGeneratorHostKeyProvider());
+        sshd.setPasswordAuthenticator((username, password, session) -> "nexial".equals(username) &&
+                                                                       "secret".equals(password));
+        sshd.setSubsystemFactories(Collections.singletonList(new SftpSubsystemFactory()));
+        sshd.setFileSystemFactory(new VirtualFileSystemFactory(remoteRoot.toPath()));
+        sshd.start();
+
+        context = new MockExecutionContext();
+        context.setData("box.host", "localhost");
+        context.setData("box.port", String.valueOf(sshd.getPort()));
+        context.setData("box.username", "nexial");
+        context.setData("box.password", "secret");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        SshSessionPool.closeSessions();
+        if (sshd != null) { sshd.stop(true); }
+        if (context != null) { context.cleanProject(); }
+        ExecutionThread.unset();
+        FileUtils.deleteQuietly(remoteRoot.getParentFile());
+    }
+
+    @Test
+    public void transferMultipleFilesOverPooledSession() throws Exception {
+        SshClientConnection connection = SshClientConnection.resolveFrom(context, "box");
+
+        SftpWorker copyFrom = new SftpWorker(COPY_FROM, "/out/*.txt", localDir.getAbsolutePath());
+        copyFrom.setParallelChannels(4);
+        RemoteFileActionOutcome outcome = copyFrom.doAction(connection);
+
+        Assert.assertFalse(outcome.getErrors(), outcome.hasError());
+        Assert.assertEquals(FILE_COUNT, outcome.getAffected().size());
+        Assert.assertEquals(4, outcome.getChannels());
+        Assert.assertEquals(FileUtils.sizeOfDirectory(new File(remoteRoot, "out")), outcome.getTransferredBytes());
+        for (int i = 0; i < FILE_COUNT; i++) {
+            String filename = "batch" + i + ".txt";
+            Assert.assertTrue(FileUtils.contentEquals(new File(remoteRoot, "out/" + filename),
+                                                      new File(localDir, filename)));
+        }
+
+        SftpWorker copyTo = new SftpWorker(COPY_TO, "/in", localDir.getAbsolutePath());
+        copyTo.setParallelChannels(3);
+        outcome = copyTo.doAction(connection);
+
+        Assert.assertFalse(outcome.getErrors(), outcome.hasError());
+        Assert.assertEquals(FILE_COUNT, outcome.getAffected().size());
+        Assert.assertEquals(FileUtils.sizeOfDirectory(localDir), outcome.getTransferredBytes());
+        Assert.assertEquals(FILE_COUNT, new File(remoteRoot, "in").list().length);
+
+        // both transfers are served by the same session
+        Assert.assertEquals(1, SshSessionPool.size());
+        List<String> stats = SshSessionPool.gatherStatistics();
+        Assert.assertEquals(1, stats.size());
+        Assert.assertTrue(stats.get(0), stats.get(0).contains("2 borrow(s), 1 session(s) opened"));
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.ws;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.core.ExecutionThread;
+import org.nexial.core.model.MockExecutionContext;
+
+import com.sun.net.httpserver.HttpServer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.http.HttpHeaders.AUTHORIZATION;
+import static org.nexial.core.NexialConst.Ws.*;
+import static org.junit.Assert.*;
+
+public class HttpClientRegistryTest {
+    private MockExecutionContext context;
+
+    @Before
+    public void setUp() {
+        HttpClientRegistry.closeClients();
+        context = new MockExecutionContext();
+    }
+
+    @After
+    public void tearDown() {
+        HttpClientRegistry.closeClients();
+        if (context != null) { context.cleanProject(); }
+        ExecutionThread.unset();
+    }
+
+    @Test
+    public void sameConfigurationSharesClient() {
+        CloseableHttpClient client = prepHttpClient(new WebServiceClient(context), null);
+        assertSame(client, prepHttpClient(new WebServiceClient(context), null));
+
+        // same settings, different password: credential is kept in the context of each request instead
+        context.setData(WS_BASIC_USER, "user1");
+        context.setData(WS_BASIC_PWD, "password1");
+        CloseableHttpClient basicAuthClient = prepHttpClient(new WebServiceClient(context), null);
+        context.setData(WS_BASIC_PWD, "password2");
+        assertSame(basicAuthClient, prepHttpClient(new WebServiceClient(context), null));
+    }
+
+    @Test
+    public void differentAuthUsesSeparateClient() {
+        CloseableHttpClient noAuth = prepHttpClient(new WebServiceClient(context), null);
+
+        context.setData(WS_BASIC_USER, "user1");
+        context.setData(WS_BASIC_PWD, "password1");
+        CloseableHttpClient basicAuth1 = prepHttpClient(new WebServiceClient(context), null);
+        assertNotSame(noAuth, basicAuth1);
+
+        context.setData(WS_BASIC_USER, "user2");
+        CloseableHttpClient basicAuth2 = prepHttpClient(new WebServiceClient(context), null);
+        assertNotSame(noAuth, basicAuth2);
+        assertNotSame(basicAuth1, basicAuth2);
+
+        context.removeData(WS_BASIC_USER);
+        context.removeData(WS_BASIC_PWD);
+        context.setData(WS_DIGEST_USER, "user1");
+        context.setData(WS_DIGEST_PWD, "password1");
+        context.setData(WS_DIGEST_REALM, "realm");
+        CloseableHttpClient digestAuth = prepHttpClient(new WebServiceClient(context), null);
+        assertNotSame(noAuth, digestAuth);
+        assertNotSame(basicAuth1, digestAuth);
+    }
+
+    @Test
+    public void differentProxyUsesSeparateClient() {
+        CloseableHttpClient noProxy = prepHttpClient(new WebServiceClient(context), null);
+        CloseableHttpClient proxy1 = prepHttpClient(new WebServiceClient(context), new HttpHost("localhost", 3128));
+        CloseableHttpClient proxy2 = prepHttpClient(new WebServiceClient(context), new HttpHost("localhost", 8888));
+
+        assertNotSame(noProxy, proxy1);
+        assertNotSame(proxy1, proxy2);
+        assertSame(proxy1, prepHttpClient(new WebServiceClient(context), new HttpHost("localhost", 3128)));
+    }
+
+    @Test
+    public void differentConnectionSettingsUseSeparateClient() {
+        CloseableHttpClient client = prepHttpClient(new WebServiceClient(context), null);
+
+        context.setData(WS_READ_TIMEOUT, "1234");
+        CloseableHttpClient withTimeout = prepHttpClient(new WebServiceClient(context), null);
+        assertNotSame(client, withTimeout);
+
+        context.removeData(WS_READ_TIMEOUT);
+        context.setData(WS_POOL_MAX_PER_ROUTE, "5");
+        CloseableHttpClient withPoolSize = prepHttpClient(new WebServiceClient(context), null);
+        assertNotSame(client, withPoolSize);
+        assertNotSame(withTimeout, withPoolSize);
+
+        // closed clients are replaced upon next use
+        HttpClientRegistry.closeClients();
+        assertNotSame(withPoolSize, prepHttpClient(new WebServiceClient(context), null));
+    }
+
+    @Test
+    public void newHttpContext() throws Exception {
+        WebServiceClient wsClient = new WebServiceClient(context);
+        GetRequest request = newRequest("http://localhost/");
+
+        HttpClientContext httpContext1 = wsClient.newHttpContext(request);
+        HttpClientContext httpContext2 = wsClient.newHttpContext(request);
+        assertNotSame(httpContext1, httpContext2);
+        assertNotNull(httpContext1.getCookieStore());
+        assertNotSame(httpContext1.getCookieStore(), httpContext2.getCookieStore());
+        assertNull(httpContext1.getCredentialsProvider());
+        assertNull(httpContext1.getAuthCache());
+
+        context.setData(WS_BASIC_USER, "user1");
+        context.setData(WS_BASIC_PWD, "password1");
+        HttpClientContext authContext = new WebServiceClient(context).newHttpContext(request);
+        assertNotNull(authContext.getCredentialsProvider());
+        assertNotNull(authContext.getAuthCache());
+        assertNotSame(httpContext1.getCookieStore(), authContext.getCookieStore());
+
+        // credential stays with the context it is created for
+        assertNull(wsClient.newHttpContext(request).getCredentialsProvider());
+    }
+
+    @Test
+    public void cookiesAndCredentialsNotLeaked() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/login", exchange -> {
+            exchange.getResponseHeaders().add("Set-Cookie", "session=abc123; Path=/");
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.createContext("/echo", exchange -> {
+            List<String> cookies = exchange.getRequestHeaders().get("Cookie");
+            List<String> auth = exchange.getRequestHeaders().get(AUTHORIZATION);
+            byte[] body = ("cookie=" + (cookies == null ? "" : String.join(";", cookies)) + "\n" +
+                           "auth=" + (auth == null ? "" : String.join(";", auth))).getBytes(UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        try {
+            String baseUrl = "http://localhost:" + server.getAddress().getPort();
+            WebServiceClient wsClient = new WebServiceClient(context).configureAsQuiet();
+
+            assertEquals(204, wsClient.get(baseUrl + "/login", null).getReturnCode());
+            assertEquals("cookie=\nauth=", wsClient.get(baseUrl + "/echo", null).getBody());
+
+            context.setData(WS_BASIC_USER, "user1");
+            context.setData(WS_BASIC_PWD, "password1");
+            String body = new WebServiceClient(context).configureAsQuiet().get(baseUrl + "/echo", null).getBody();
+            assertTrue(body, StringUtils.contains(body, "auth=Basic "));
+
+            context.removeData(WS_BASIC_USER);
+            context.removeData(WS_BASIC_PWD);
+            assertEquals("cookie=\nauth=", wsClient.get(baseUrl + "/echo", null).getBody());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private CloseableHttpClient prepHttpClient(WebServiceClient wsClient, HttpHost proxy) {
+        GetRequest request = newRequest("https://localhost/");
+        RequestConfig requestConfig = wsClient.prepRequestConfig(request, proxy, null);
+        BasicCredentialsProvider credsProvider = proxy == null ? null : new BasicCredentialsProvider();
+        return wsClient.prepHttpClient(request, requestConfig, proxy, credsProvider);
+    }
+
+    private GetRequest newRequest(String url) {
+        GetRequest request = new GetRequest(context);
+        request.setUrl(url);
+        return request;
+    }
+}
@@ -20,6 +20,7 @@ package org.nexial.core.plugins.ws;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpServer;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -31,9 +32,13 @@ import org.nexial.core.model.MockExecutionContext;
 import org.nexial.core.model.StepResult;
 import org.nexial.core.utils.JsonUtils;
 
+import java.net.InetSocketAddress;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.apache.http.HttpHeaders.AUTHORIZATION;
 import static org.apache.http.HttpHeaders.CONTENT_TYPE;
 import static org.junit.Assert.*;
@@ -357,4 +362,48 @@ public class WsCommandTest {
         assertTrue(CollectionUtils.isEmpty(returnCodes));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void loadTest() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ok", exchange -> {
+            byte[] body = "{\"status\":\"ok\"}".getBytes(UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/fail", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        server.setExecutor(executor);
+        server.start();
+
+        try {
+            String baseUrl = "http://localhost:" + server.getAddress().getPort();
+            WsCommand subject = new WsCommand();
+            subject.init(context);
+
+            StepResult result = subject.loadTest("GET " + baseUrl + "/ok", "4", "200", "result");
+            assertTrue(result.getMessage(), result.isSuccess());
+            LoadTestResult loadTestResult = (LoadTestResult) context.getObjectData("result");
+            assertEquals(200, loadTestResult.getRequests());
+            assertEquals(0, loadTestResult.getErrors());
+            assertEquals(Long.valueOf(200), loadTestResult.getStatusCodes().get(200));
+            assertTrue(loadTestResult.getThroughput() > 0);
+            assertTrue(loadTestResult.getP50Ms() <= loadTestResult.getP99Ms());
+            assertTrue(loadTestResult.getP99Ms() <= loadTestResult.getMaxMs());
+
+            result = subject.loadTest("POST " + baseUrl + "/fail\n{\"a\":1}", "2", "300ms", "result");
+            assertFalse(result.isSuccess());
+            loadTestResult = (LoadTestResult) context.getObjectData("result");
+            assertTrue(loadTestResult.getRequests() > 0);
+            assertEquals(loadTestResult.getRequests(), loadTestResult.getErrors());
+            assertEquals(Long.valueOf(loadTestResult.getErrors()), loadTestResult.getErrorBreakdown().get("HTTP 503"));
+            assertTrue(loadTestResult.getDurationMs() >= 300);
+        } finally {
+            server.stop(0);
+            executor.shutdown();
+        }
+    }
+}
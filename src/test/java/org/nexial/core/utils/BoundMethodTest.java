@@ -0,0 +1,86 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.utils;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BoundMethodTest {
+
+    static class Target {
+        public String concat(String a, String b) { return a + b; }
+
+        public String join(String delim, String... values) { return String.join(delim, values); }
+
+        public int length(String a) { return StringUtils.length(a); }
+
+        public String fail(String message) { throw new IllegalArgumentException(message); }
+    }
+
+    @After
+    public void tearDown() { InvocationStats.reset(); }
+
+    @Test
+    public void invoke() throws Exception {
+        Target target = new Target();
+
+        BoundMethod concat = BoundMethod.of(Target.class.getMethod("concat", String.class, String.class));
+        Assert.assertSame(concat, BoundMethod.of(Target.class.getMethod("concat", String.class, String.class)));
+        Assert.assertEquals("ab", concat.invoke(target, new Object[]{"a", "b"}));
+        Assert.assertEquals("anull", concat.invoke(target, new Object[]{"a", null}));
+
+        BoundMethod join = BoundMethod.of(Target.class.getMethod("join", String.class, String[].class));
+        Assert.assertEquals("a,b,c", join.invoke(target, new Object[]{",", new String[]{"a", "b", "c"}}));
+
+        BoundMethod length = BoundMethod.of(Target.class.getMethod("length", String.class));
+        Assert.assertEquals(5, length.invoke(target, new Object[]{"hello"}));
+    }
+
+    @Test
+    public void invoke_exception() throws Exception {
+        BoundMethod fail = BoundMethod.of(Target.class.getMethod("fail", String.class));
+        try {
+            fail.invoke(new Target(), new Object[]{"oops"});
+            Assert.fail("expected InvocationTargetException");
+        } catch (InvocationTargetException e) {
+            Assert.assertTrue(e.getTargetException() instanceof IllegalArgumentException);
+            Assert.assertEquals("oops", e.getTargetException().getMessage());
+        }
+    }
+
+    @Test
+    public void invocationStats() {
+        InvocationStats.record("base.save", 2_000_000);
+        InvocationStats.record("base.save", 4_000_000);
+        InvocationStats.record("web.click", 10_000_000);
+
+        InvocationStats.Stat stat = InvocationStats.get("base.save");
+        Assert.assertEquals(2, stat.getCount());
+        Assert.assertEquals(6, stat.getTotalMs(), 0.001);
+        Assert.assertEquals(3, stat.getAverageMs(), 0.001);
+        Assert.assertEquals(4, stat.getMaxMs(), 0.001);
+
+        Assert.assertEquals("web.click", InvocationStats.snapshot().get(0).getName());
+        Assert.assertTrue(StringUtils.contains(InvocationStats.showUsage("", 1), "web.click"));
+        Assert.assertFalse(StringUtils.contains(InvocationStats.showUsage("", 1), "base.save"));
+    }
+}
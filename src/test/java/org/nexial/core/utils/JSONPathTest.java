@@ -25,17 +25,19 @@ import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.nexial.commons.utils.RegexUtils;
 import org.nexial.commons.utils.ResourceUtils;
 
 import java.util.Set;
+import java.util.regex.Pattern;
 
 public class JSONPathTest {
 
     @Before
-    public void setUp() { }
+    public void setUp() { JSONPath.clearCache(); }
 
     @After
-    public void tearDown() { }
+    public void tearDown() { JSONPath.clearCache(); }
 
     @Test
     public void testParsing() {
@@ -986,6 +988,96 @@ public class JSONPathTest {
         Assert.assertTrue(keys.contains("residents"));
     }
 
+    @Test
+    public void segmentCache() {
+        JSONObject fixture1 = new JSONObject("{ \"a\": { \"b\": \"1234\" }, " +
+                                             "  \"items\": [ { \"name\": \"SIT\", \"id\": \"5\" }, " +
+                                             "             { \"name\": \"SUI\", \"id\": \"6\" } ]," +
+                                             "  \"h\": { \"i.j\": \"yoyoma\" } }");
+        JSONObject fixture2 = new JSONObject("{ \"a\": { \"b\": \"5678\" }, " +
+                                             "  \"items\": [ { \"name\": \"SUX\", \"id\": \"9\" }, " +
+                                             "             { \"name\": \"SIT\", \"id\": \"7\" } ]," +
+                                             "  \"h\": { \"i.j\": \"cello\" } }");
+
+        testPathValue(fixture1, "a.b", "1234");
+        Assert.assertTrue(JSONPath.isCached("a.b"));
+        // the remaining path is parsed (and cached) on its own
+        Assert.assertTrue(JSONPath.isCached("b"));
+        int cacheSize = JSONPath.cacheSize();
+
+        // cache hits yield the same result as the first (uncached) lookup, for each document
+        testPathValue(fixture1, "a.b", "1234");
+        testPathValue(fixture2, "a.b", "5678");
+        Assert.assertEquals(cacheSize, JSONPath.cacheSize());
+
+        // filters are parsed once, but evaluated against each document
+        testPathValue(fixture1, "items[name=REGEX:SU.].id", "6");
+        testPathValue(fixture2, "items[name=REGEX:SU.].id", "9");
+        testPathValue(fixture1, "items[name=SIT].id", "5");
+        testPathValue(fixture2, "items[name=SIT].id", "7");
+        testPathValue(fixture1, "items[name=REGEX:SU.].id", "6");
+
+        // node names containing '.' are restored on cache hits too
+        testPathValue(fixture1, "h[i.j]", "yoyoma");
+        testPathValue(fixture2, "h[i.j]", "cello");
+
+        // modification via cached paths
+        JSONObject modified = JSONPath.overwrite(new JSONObject(fixture1.toString()), "a.b", "4321");
+        Assert.assertEquals("4321", JSONPath.find(modified, "a.b"));
+        Assert.assertEquals("1234", JSONPath.find(fixture1, "a.b"));
+    }
+
+    @Test
+    public void segmentCacheEviction() {
+        JSONObject fixture = new JSONObject("{ \"a\": { \"b\": \"1234\" } }");
+        testPathValue(fixture, "a.b", "1234");
+        Assert.assertTrue(JSONPath.isCached("a.b"));
+
+        // fill up the cache while keeping `a.b` in use
+        for (int i = 0; i < JSONPath.SEGMENT_CACHE_SIZE; i++) {
+            Assert.assertNull(JSONPath.find(fixture, "key" + i));
+            if (i % 100 == 0) { testPathValue(fixture, "a.b", "1234"); }
+        }
+        Assert.assertEquals(JSONPath.SEGMENT_CACHE_SIZE, JSONPath.cacheSize());
+        Assert.assertTrue(JSONPath.isCached("a.b"));
+        Assert.assertFalse(JSONPath.isCached("key0"));
+        Assert.assertTrue(JSONPath.isCached("key" + (JSONPath.SEGMENT_CACHE_SIZE - 1)));
+
+        // least recently used is evicted first
+        for (int i = 0; i < JSONPath.SEGMENT_CACHE_SIZE; i++) { JSONPath.find(fixture, "other" + i); }
+        Assert.assertEquals(JSONPath.SEGMENT_CACHE_SIZE, JSONPath.cacheSize());
+        Assert.assertFalse(JSONPath.isCached("a.b"));
+
+        // evicted path is parsed again, with the same result
+        testPathValue(fixture, "a.b", "1234");
+        Assert.assertTrue(JSONPath.isCached("a.b"));
+    }
+
+    @Test
+    public void precompiledPatterns() {
+        // same outcome as the regex previously evaluated via RegexUtils.match()
+        String notSimplyArray = "\\[.*([\\{\\[].+[\\}\\]]\\,?)+.*\\]";
+        for (String text : new String[]{"[1,2,3]", "[\"a\",\"b\"]", "[{\"a\":1},{\"b\":2}]", "[[1,2],[3,4]]",
+                                        "[]", "[{}]", "[ [1] ]", "{\"a\":[1]}", "[1,{\"a\":2}]", "[\n{\"a\":1}\n]"}) {
+            Assert.assertEquals(text,
+                                RegexUtils.match(text, notSimplyArray),
+                                JSONPath.REGEX_NOT_SIMPLY_ARRAY.matcher(text).find());
+        }
+
+        // same outcome as the filter regex previously evaluated via RegexUtils.isExact()
+        String[] regexes = {"(L|l)ocation", "2016-.+", ".+o.*n.*a.*", "8\\..+", ".{6}", "", "[0-9]+"};
+        String[] texts = {"Location", "location", "LOCATION", "2016-12-20", "2017-01-02", "California", "8.1", "80",
+                          "Orange", "Banana", "", "1234", "12a"};
+        for (String regex : regexes) {
+            Pattern pattern = JsonPathFilters.compile(regex);
+            for (String text : texts) {
+                Assert.assertEquals(regex + " vs " + text,
+                                    RegexUtils.isExact(text, regex),
+                                    JsonPathFilters.isExact(text, pattern));
+            }
+        }
+    }
+
     private void testPathValue(JSONObject fixture, String path, String expected) {
         String testVal = JSONPath.find(fixture, path);
         Assert.assertEquals(expected, testVal);
@@ -19,6 +19,7 @@ package org.nexial.core.utils;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.nexial.commons.utils.RegexUtils;
 import org.nexial.core.utils.JsonEditor.JsonEditorConfig;
 
 public class JsonEditorTest {
@@ -711,4 +712,25 @@ public class JsonEditorTest {
     //         }
     //     }
     // }
+
+    @Test
+    public void precompiledPatterns() {
+        // same outcome as the regex previously evaluated via RegexUtils.isExact()
+        for (String nodeName : new String[]{"a", "a[1]", "a[]", "[1]", "a[b=c]", "a[b=c].d", "a[1", "", null}) {
+            Assert.assertEquals(nodeName,
+                                RegexUtils.isExact(nodeName, ".+\\[.+\\]"),
+                                JsonEditor.isExact(nodeName, JsonEditor.FILTERED_NODE));
+        }
+
+        for (String data : new String[]{"\"color\": \"yellow\"", "color:yellow", "\"a.b\": 1", "a : [1,2]",
+                                        "\"a\":\n{\"b\": 2}", "no separator", ":value", "\"key\":", "", null}) {
+            Assert.assertEquals(data,
+                                RegexUtils.isExact(data, "\"?([^\".]+)\"?\\s*\\:\\s*(.+)", true),
+                                JsonEditor.isExact(data, JsonEditor.KEY_VALUE));
+        }
+
+        for (String data : new String[]{"true", "false", "TRUE", "False", " true", "truefalse", "yes", "", null}) {
+            Assert.assertEquals(data, RegexUtils.isExact(data, "(true|false)"), JsonEditor.isBoolean(data));
+        }
+    }
 }
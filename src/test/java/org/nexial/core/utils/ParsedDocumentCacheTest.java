@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jdom2.Document;
+import org.json.JSONObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.nexial.core.utils.ParsedDocumentCache.KIND_JSON;
+
+public class ParsedDocumentCacheTest {
+    @Test
+    public void reuseParsedDocument() throws Exception {
+        ParsedDocumentCache cache = new ParsedDocumentCache(1024 * 1024);
+        AtomicInteger parsed = new AtomicInteger();
+
+        String json = "{\"a\":{\"b\":[1,2,3]}}";
+        JSONObject first = cache.get(KIND_JSON, json, text -> {
+            parsed.incrementAndGet();
+            return new JSONObject(text);
+        });
+
+        // same content, different string instance
+        JSONObject second = cache.get(KIND_JSON, new String(json.toCharArray()), text -> {
+            parsed.incrementAndGet();
+            return new JSONObject(text);
+        });
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, parsed.get());
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(1, cache.getMisses());
+
+        Document doc = cache.getXml("<a><b>1</b></a>");
+        Assert.assertSame(doc, cache.getXml("<a><b>1</b></a>"));
+        Assert.assertNotSame(doc, cache.getXml("<a><b>2</b></a>"));
+        Assert.assertEquals(3, cache.size());
+
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.getBytes());
+        Assert.assertNotSame(first, cache.get(KIND_JSON, json, JSONObject::new));
+    }
+
+    @Test
+    public void boundedBySize() {
+        // room for 2 documents of 10 chars each
+        ParsedDocumentCache cache = new ParsedDocumentCache(40);
+        cache.get(KIND_JSON, "{\"a\":\"12\"}", JSONObject::new);
+        cache.get(KIND_JSON, "{\"b\":\"12\"}", JSONObject::new);
+        cache.get(KIND_JSON, "{\"a\":\"12\"}", JSONObject::new);
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(1, cache.getHits());
+
+        // least recently used ("b") is evicted
+        cache.get(KIND_JSON, "{\"c\":\"12\"}", JSONObject::new);
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(40, cache.getBytes());
+        cache.get(KIND_JSON, "{\"a\":\"12\"}", JSONObject::new);
+        Assert.assertEquals(2, cache.getHits());
+        cache.get(KIND_JSON, "{\"b\":\"12\"}", JSONObject::new);
+        Assert.assertEquals(2, cache.getHits());
+
+        // too big to cache
+        cache.get(KIND_JSON, "{\"d\":\"1234567890123\"}", JSONObject::new);
+        Assert.assertEquals(2, cache.size());
+
+        ParsedDocumentCache disabled = new ParsedDocumentCache(0);
+        Assert.assertNotSame(disabled.get(KIND_JSON, "{}", JSONObject::new),
+                             disabled.get(KIND_JSON, "{}", JSONObject::new));
+        Assert.assertEquals(0, disabled.size());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.utils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jdom2.Document;
+import org.jdom2.xpath.XPathFactory;
+import org.json.JSONObject;
+import org.nexial.commons.utils.XmlUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * compare JSONPath and XPath lookups with their compiled forms cached (as done by {@link JSONPath} and
+ * {@link XmlUtils}) against compiling the path on every lookup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PathLookupBenchmark {
+    private static final String JSON =
+        "{\"order\":{\"id\":\"A-12345\",\"status\":\"OPEN\",\"customer\":{\"name\":\"Johnny\",\"tier\":\"gold\"}," +
+        "\"items\":[{\"sku\":\"X-1\",\"qty\":2,\"price\":9.99},{\"sku\":\"X-2\",\"qty\":1,\"price\":19.5}," +
+        "{\"sku\":\"Y-7\",\"qty\":5,\"price\":1.25}]}}";
+    private static final String XML =
+        "<order id=\"A-12345\" status=\"OPEN\"><customer tier=\"gold\"><name>Johnny</name></customer><items>" +
+        "<item sku=\"X-1\"><qty>2</qty><price>9.99</price></item>" +
+        "<item sku=\"X-2\"><qty>1</qty><price>19.5</price></item>" +
+        "<item sku=\"Y-7\"><qty>5</qty><price>1.25</price></item></items></order>";
+
+    @Param({"order.customer.name", "order.items[1].sku", "order.items.price => sum", "order.items[sku=REGEX:Y-.+].qty"})
+    public String jsonPath;
+
+    @Param({"/order/customer/name", "//item[@sku='X-2']/price", "count(//item[qty > 1])"})
+    public String xpath;
+
+    private JSONObject json;
+    private Document xml;
+
+    @Setup
+    public void setup() throws Exception {
+        json = new JSONObject(JSON);
+        xml = XmlUtils.parse(XML);
+        JSONPath.clearCache();
+    }
+
+    @Benchmark
+    public String jsonPathCached() { return JSONPath.find(json, jsonPath); }
+
+    @Benchmark
+    public String jsonPathUncached() {
+        JSONPath.clearCache();
+        return JSONPath.find(json, jsonPath);
+    }
+
+    @Benchmark
+    public List xpathCached() { return XmlUtils.findNodes(xml, xpath); }
+
+    @Benchmark
+    public List xpathUncached() { return XPathFactory.instance().compile(xpath).evaluate(xml); }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PathLookupBenchmark.class.getSimpleName()).build()).run();
+    }
+}
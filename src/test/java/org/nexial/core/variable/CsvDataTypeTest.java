@@ -218,4 +218,61 @@ public class CsvDataTypeTest {
                             "1^14^000003868^CN,000003868,769.5800,114.8000",
                             fixture.getTextValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void sort_fetch_filter_via_column_index() throws Exception {
+        CsvTransformer<CsvDataType> transformer = new CsvTransformer<>();
+        CsvDataType fixture = newFixture("name,score,city\n" +
+                                         "a,10,NY\n" +
+                                         "b,9,LA\n" +
+                                         "c,10.0,NY\n" +
+                                         "d,abc,SF\n" +
+                                         "e,2,LA");
+
+        // numeric-aware and stable
+        transformer.sortAscending(fixture, "score");
+        Assert.assertEquals("name,score,city\n" +
+                            "e,2,LA\n" +
+                            "b,9,LA\n" +
+                            "a,10,NY\n" +
+                            "c,10.0,NY\n" +
+                            "d,abc,SF",
+                            fixture.getTextValue());
+
+        // index must follow the new row order
+        Assert.assertEquals("e,2,LA", transformer.fetch(fixture, "city = LA").getTextValue().replace("|", ","));
+
+        transformer.sortDescending(fixture, "score");
+        Assert.assertEquals("name,score,city\n" +
+                            "d,abc,SF\n" +
+                            "a,10,NY\n" +
+                            "c,10.0,NY\n" +
+                            "b,9,LA\n" +
+                            "e,2,LA",
+                            fixture.getTextValue());
+        Assert.assertEquals("b,9,LA", transformer.fetch(fixture, "city = LA").getTextValue().replace("|", ","));
+        Assert.assertNull(transformer.fetch(fixture, "city = LA | score > 10"));
+
+        transformer.filter(fixture, "city != SF | score >= 9");
+        Assert.assertEquals("name,score,city\n" +
+                            "a,10,NY\n" +
+                            "c,10.0,NY\n" +
+                            "b,9,LA",
+                            fixture.getTextValue());
+
+        transformer.removeRows(fixture, "score = 10");
+        Assert.assertEquals("name,score,city\n" +
+                            "b,9,LA",
+                            fixture.getTextValue());
+    }
+
+    private static CsvDataType newFixture(String csv) throws Exception {
+        CsvDataType fixture = new CsvDataType(csv);
+        fixture.setDelim(",");
+        fixture.setHeader(true);
+        fixture.setRecordDelim("\n");
+        fixture.setReadyToParse(true);
+        fixture.parse();
+        return fixture;
+    }
+}
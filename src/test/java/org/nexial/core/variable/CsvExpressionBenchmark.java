@@ -0,0 +1,165 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.variable;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.nexial.core.model.NexialFilter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.univocity.parsers.common.record.Record;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * compare the column-indexed CSV expression operations (filter, fetch, sort, groupCount) against the row-by-row
+ * approach they replaced, on a generated CSV file of a few hundred MB (~100 bytes per row). {@code fetch} reuses
+ * the index built on first use, while {@code filter} and {@code sort} work on a snapshot and hence include the
+ * index creation.
+ * <p>
+ * Requires a large heap; e.g. {@code -Xmx12g} for 3 million rows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g"})
+@State(Scope.Benchmark)
+public class CsvExpressionBenchmark {
+    private static final String[] REGIONS = {"AMER-EAST", "AMER-WEST", "AMER-SOUTH", "EMEA-NORTH", "EMEA-SOUTH",
+                                             "APAC-NORTH", "APAC-SOUTH", "LATAM", "ANZ", "INDIA"};
+    private static final String[] STATUSES = {"OPEN", "PENDING", "SHIPPED", "DELIVERED", "CANCELLED"};
+    private static final String CONDITIONS = "region = LATAM | status = SHIPPED | amount > 9000";
+
+    private final CsvTransformer<CsvDataType> transformer = new CsvTransformer<>();
+    private File csvFile;
+    private CsvDataType csv;
+    private List<NexialFilter> filters;
+
+    @Param({"1000000", "3000000"})
+    public int rows;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        csvFile = Files.createTempFile("CsvExpressionBenchmark", ".csv").toFile();
+        Random random = new Random(20120101);
+        try (BufferedWriter writer = Files.newBufferedWriter(csvFile.toPath(), UTF_8)) {
+            writer.write("id,region,category,status,amount,description\n");
+            for (int i = 0; i < rows; i++) {
+                writer.write("ORD-" + i + "," +
+                             REGIONS[random.nextInt(REGIONS.length)] + "," +
+                             "CAT-" + random.nextInt(200) + "," +
+                             STATUSES[random.nextInt(STATUSES.length)] + "," +
+                             random.nextInt(10000) + "." + (10 + random.nextInt(90)) + "," +
+                             "order placed via channel " + random.nextInt(50) + " for customer " +
+                             random.nextInt(100000) + "\n");
+            }
+        }
+
+        csv = new CsvDataType(FileUtils.readFileToString(csvFile, UTF_8));
+        csv.setDelim(",");
+        csv.setHeader(true);
+        csv.setRecordDelim("\n");
+        csv.setReadyToParse(true);
+        csv.parse();
+
+        filters = new ArrayList<>();
+        for (String condition : CONDITIONS.split("\\|")) { filters.add(NexialFilter.newInstance(condition)); }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() { FileUtils.deleteQuietly(csvFile); }
+
+    @Benchmark
+    public Object fetchIndexed() { return transformer.fetch(csv, CONDITIONS); }
+
+    @Benchmark
+    public Object fetchRowByRow() {
+        for (Record row : csv.getValue()) { if (matchAll(row)) { return row; } }
+        return null;
+    }
+
+    @Benchmark
+    public int filterIndexed() {
+        CsvDataType copy = csv.snapshot();
+        transformer.filter(copy, CONDITIONS);
+        return copy.getRowCount();
+    }
+
+    @Benchmark
+    public int filterRowByRow() {
+        CsvDataType copy = csv.snapshot();
+        List<Record> filtered = new ArrayList<>();
+        for (Record row : copy.getValue()) { if (matchAll(row)) { filtered.add(row); } }
+        copy.reset(filtered);
+        return copy.getRowCount();
+    }
+
+    @Benchmark
+    public int sortIndexed() {
+        CsvDataType copy = csv.snapshot();
+        copy.sortAscending("amount");
+        return copy.getRowCount();
+    }
+
+    @Benchmark
+    public int sortComparator() {
+        CsvDataType copy = csv.snapshot();
+        List<Record> sorted = new ArrayList<>(copy.getValue());
+        sorted.sort((row1, row2) -> copy.compare(row1, row2, "amount"));
+        copy.reset(sorted);
+        return copy.getRowCount();
+    }
+
+    @Benchmark
+    public Object groupCountHashed() throws TypeConversionException {
+        return transformer.groupCount(csv, "region", "category");
+    }
+
+    @Benchmark
+    public int groupCountSorted() {
+        Map<String, Integer> counts = new TreeMap<>();
+        csv.getValue().forEach(record -> {
+            String value = "";
+            for (String column : new String[]{"region", "category"}) {
+                value += (!value.isEmpty() ? "," : "") + record.getString(column);
+                counts.put(value, counts.containsKey(value) ? counts.get(value) + 1 : 1);
+            }
+        });
+        return counts.size();
+    }
+
+    private boolean matchAll(Record row) {
+        for (NexialFilter filter : filters) { if (!filter.isMatch(row.getString(filter.getSubject()))) { return false; } }
+        return true;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CsvExpressionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -33,10 +33,14 @@ import org.nexial.core.plugins.db.DataAccess;
 import org.nexial.core.plugins.db.RdbmsCommand;
 
 import java.io.File;
+import java.io.IOException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -44,6 +48,7 @@ import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
 import static org.junit.runners.MethodSorters.NAME_ASCENDING;
 import static org.nexial.core.NexialConst.DEF_FILE_ENCODING;
+import static org.nexial.core.NexialConst.Expression.CSV_STREAMING;
 import static org.nexial.core.NexialConst.FlowControls.ANY_FIELD;
 import static org.nexial.core.NexialConst.TEMP;
 
@@ -1837,6 +1842,84 @@ public class ExpressionProcessorTest {
         FileUtils.deleteQuietly(new File(tmp));
     }
 
+    @Test
+    public void processCSV2_streamed() throws Exception {
+        String csvFile = ResourceUtils.getResourceFilePath(resourcePath + className + "8.csv");
+        String saveTo = TEMP + className + "_streamed.csv";
+        String[] expressions = {
+            " parse(delim=\\,|header=true)" +
+            " removeRows(Department = Information Technology|Office Phone end with 1192)" +
+            " removeColumns(Job Title|Department|Office Number|Office Phone|Mobile Phone|Fax)" +
+            " renameColumn(First Name,Given Name)" +
+            " reorder(Given Name|User Name|Last Name)" +
+            " save(" + saveTo + ",false)" +
+            " text",
+            " parse(delim=\\,|header=true)" +
+            " filter(Department = Information Technology)" +
+            " replaceColumnRegex(\\d,#,Office Phone)" +
+            " json" +
+            " text",
+            " parse(delim=\\,|header=false)" +
+            " retainColumns(0|2)" +
+            " rowCount",
+            };
+        // number of leading functions expected to be streamed, for each of the expressions above
+        int[] streamedFunctions = {6, 4, 3};
+
+        ExpressionParser parser = new ExpressionParser(context);
+        ExpressionProcessor subject = new ExpressionProcessor(context);
+        for (int i = 0; i < expressions.length; i++) {
+            String expression = "[CSV(" + csvFile + ") =>" + expressions[i] + "]";
+
+            context.setData(CSV_STREAMING, false);
+            assertNull(parser.parse(expression).getPipeline());
+            String expected = subject.process(expression);
+            String expectedFile = expression.contains("save(") ?
+                                  FileUtils.readFileToString(new File(saveTo), DEF_FILE_ENCODING) : null;
+
+            context.setData(CSV_STREAMING, true);
+            CsvStreamPipeline pipeline = parser.parse(expression).getPipeline();
+            assertNotNull(pipeline);
+            assertEquals(streamedFunctions[i], pipeline.getFunctionCount());
+
+            assertEquals(expected, subject.process(expression));
+            if (expectedFile != null) {
+                assertEquals(expectedFile, FileUtils.readFileToString(new File(saveTo), DEF_FILE_ENCODING));
+            }
+        }
+
+        FileUtils.deleteQuietly(new File(saveTo));
+    }
+
+    @Test
+    public void processCSV2_streamedToExcel() throws Exception {
+        String csvFile = ResourceUtils.getResourceFilePath(resourcePath + className + "8.csv");
+        File excelFile = new File(TEMP + className + "_streamed.xlsx");
+        String expression = "[CSV(" + csvFile + ") => " +
+                            " parse(delim=\\,|header=true)" +
+                            " retainColumns(First Name|Last Name|Department)" +
+                            " excel(" + excelFile.getAbsolutePath() + ",people,B2)" +
+                            "]";
+
+        ExpressionProcessor subject = new ExpressionProcessor(context);
+
+        FileUtils.deleteQuietly(excelFile);
+        context.setData(CSV_STREAMING, false);
+        subject.process(expression);
+        List<List<String>> expected = readCells(excelFile, "people", "A1:E30");
+
+        FileUtils.deleteQuietly(excelFile);
+        context.setData(CSV_STREAMING, true);
+        assertNotNull(new ExpressionParser(context).parse(expression).getPipeline());
+        subject.process(expression);
+        List<List<String>> actual = readCells(excelFile, "people", "A1:E30");
+
+        assertEquals(Arrays.asList("", "First Name", "Last Name", "Department", ""), actual.get(0));
+        assertEquals(expected, actual);
+
+        FileUtils.deleteQuietly(excelFile);
+    }
+
     @Test
     public void processCSV3() throws Exception {
         String csvFile = ResourceUtils.getResourceFilePath(resourcePath + className + "8.csv");
@@ -4352,4 +4435,19 @@ public class ExpressionProcessorTest {
         da.setDbTypes(dbTypes);
         return da;
     }
+
+    private static List<List<String>> readCells(File file, String sheet, String range) throws IOException {
+        Excel excel = new Excel(file);
+        try {
+            List<List<String>> cells = new ArrayList<>();
+            excel.worksheet(sheet).cells(new ExcelAddress(range)).forEach(row -> {
+                List<String> values = new ArrayList<>();
+                row.forEach(cell -> values.add(Excel.getCellValue(cell)));
+                cells.add(values);
+            });
+            return cells;
+        } finally {
+            excel.close();
+        }
+    }
 }
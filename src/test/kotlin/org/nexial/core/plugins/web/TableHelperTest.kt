@@ -20,6 +20,7 @@ package org.nexial.core.plugins.web
 
 import org.junit.Assert.assertEquals
 import org.junit.Test
+import org.nexial.core.NexialConst.Data.SaveGridAsCSV.DATA_INPUT
 import org.nexial.core.NexialConst.Data.SaveGridAsCSV.DATA_TRIM
 import org.nexial.core.model.ExecutionContext
 import org.nexial.core.model.MockExecutionContext
@@ -63,4 +64,27 @@ class TableHelperTest {
         assertEquals("15,22.1", subject.csvSafe("15,22.1"))
         assertEquals("15,22.1  ", subject.csvSafe("15,22.1  \t"))
     }
-}
\ No newline at end of file
+
+    @Test
+    fun toGridData() {
+        val context = MockExecutionContext(true)
+        context.setData(DATA_TRIM, true)
+        context.setData(DATA_INPUT, "state")
+
+        val webCommand = object : WebCommand() {
+            override fun getContext(): ExecutionContext = context
+        }
+
+        val subject = TableHelper(webCommand)
+        val grid = subject.toGridData(
+            "{\"headers\":[{\"text\":\"Name \"},{\"text\":\"Active\"}]," +
+            "\"rows\":[[{\"text\":\"John\\nDoe\"},{\"text\":\"\",\"tag\":\"input\",\"type\":\"checkbox\"," +
+            "\"checked\":\"true\"}],[]]}")
+
+        assertEquals(listOf("Name", "Active"), grid.headers.map { subject.toCellText(it, true, false) })
+        assertEquals(2, grid.rows.size)
+        assertEquals(listOf("John Doe", "checked"), grid.rows[0].map { subject.toCellText(it, false, true) })
+        assertEquals(listOf("John Doe", ""), grid.rows[0].map { subject.toCellText(it, false, false) })
+        assertEquals(emptyList<String>(), grid.rows[1].map { subject.toCellText(it, false, true) })
+    }
+}